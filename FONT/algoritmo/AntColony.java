@@ -0,0 +1,556 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import structures.Pair;
+
+/**
+* La clase AntColony implementa la interfaz IAlgoritme con una colonia de hormigas (variante
+* Max-Min): en cada generación las hormigas construyen disposiciones en paralelo en el
+* ForkJoinPool común, eligiendo el siguiente producto según la feromona y la relación (0-100)
+* como deseabilidad heurística.
+* Para escalar a miles de productos, cada hormiga solo elige entre los K productos más
+* relacionados con el actual (sacados de las relaciones ordenadas); si ya están todos
+* colocados, pasa al producto pendiente con más relación.
+* La feromona es un vector double[] plano de n*n posiciones que las hormigas solo leen.
+* Se modifica en una fase de actualización por lotes, ejecutada por un único hilo cuando
+* todas las hormigas de la generación han acabado. La evaporación se aplica de forma perezosa
+* con un factor de escala global, de modo que no hay que recorrer toda la matriz en cada generación.
+*/
+public class AntColony implements IAlgoritme {
+    /**
+     * Tiempo límite por defecto en milisegundos.
+     */
+    public static final long TEMPS_LIMIT_DEFECTE = 5_000;
+    /**
+     * Número de hormigas por defecto.
+     */
+    public static final int NUM_FORMIGUES_DEFECTE = 16;
+    /**
+     * Número de candidatos por producto.
+     */
+    public static final int NUM_CANDIDATS = 15;
+    /**
+     * Exponente de la deseabilidad heurística (el de la feromona es 1).
+     */
+    private static final double BETA = 2.0;
+    /**
+     * Fracción de feromona que se evapora en cada generación.
+     */
+    private static final double EVAPORACIO = 0.1;
+    /**
+     * Probabilidad de elegir directamente el mejor candidato en lugar de sortearlo.
+     */
+    private static final double PROB_EXPLOTACIO = 0.9;
+    /**
+     * Escala por debajo de la cual se renormaliza la matriz de feromona.
+     */
+    private static final double ESCALA_MINIMA = 1e-100;
+    /**
+     * La instancia única de la clase AntColony.
+     */
+    private static final AntColony instance = new AntColony();
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * Las relaciones de productos ordenadas.
+     */
+    private ArrayList<ArrayList<Pair<Integer, Integer>>> relationMatrixSorted;
+    /**
+     * La disposición generada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición generada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private boolean solutionReady;
+    /**
+     * Tiempo límite de la búsqueda en milisegundos.
+     */
+    private long tempsLimit;
+    /**
+     * Número máximo de generaciones.
+     */
+    private int maxGeneracions;
+    /**
+     * Número de hormigas por generación.
+     */
+    private int numFormigues;
+    /**
+     * Semilla del generador aleatorio.
+     */
+    private long seed;
+    /**
+     * Número de generaciones de la última ejecución.
+     */
+    private int generacions;
+
+    /**
+    * Constructor privado para la clase AntColony.
+    */
+    private AntColony() {
+        reset();
+    }
+
+    /**
+    * Devuelve la instancia singleton de AntColony.
+    *
+    * @return la instancia singleton de AntColony
+    */
+    public static AntColony getInstance() {
+        return instance;
+    }
+
+    /**
+    * Restablece el estado y la configuración de AntColony.
+    */
+    public void reset() {
+        relationMatrix = null;
+        relationMatrixSorted = null;
+        disposicio = null;
+        cost = -1;
+        solutionReady = false;
+        tempsLimit = TEMPS_LIMIT_DEFECTE;
+        maxGeneracions = Integer.MAX_VALUE;
+        numFormigues = NUM_FORMIGUES_DEFECTE;
+        seed = 0;
+        generacions = 0;
+    }
+
+    /**
+    * Establece el tiempo de búsqueda.
+    * @param millis Tiempo límite en milisegundos.
+    * @throws IllegalArgumentException si el tiempo no es positivo.
+    */
+    public void setTempsLimit(long millis) {
+        if (millis <= 0) throw new IllegalArgumentException("El temps límit ha de ser positiu.");
+        tempsLimit = millis;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el número máximo de generaciones. La búsqueda se detiene en cuanto se llega a
+    * este número o se agota el tiempo límite.
+    * @param generacions El número máximo de generaciones.
+    * @throws IllegalArgumentException si el número no es positivo.
+    */
+    public void setMaxGeneracions(int generacions) {
+        if (generacions <= 0) throw new IllegalArgumentException("El nombre de generacions ha de ser positiu.");
+        maxGeneracions = generacions;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el número de hormigas por generación.
+    * @param formigues El número de hormigas.
+    * @throws IllegalArgumentException si el número no es positivo.
+    */
+    public void setNumFormigues(int formigues) {
+        if (formigues <= 0) throw new IllegalArgumentException("El nombre de formigues ha de ser positiu.");
+        numFormigues = formigues;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece la semilla del generador aleatorio.
+    * @param seed La semilla.
+    */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve el número de generaciones de la última ejecución.
+    * @return El número de generaciones.
+    */
+    public int getGeneracions() {
+        return generacions;
+    }
+
+    /**
+    * Genera la solución haciendo evolucionar la colonia.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        int n = relationMatrix.size();
+        generacions = 0;
+        if (n < 4) {
+            // Amb menys de quatre productes totes les disposicions són equivalents
+            disposicio = new ArrayList<>();
+            for (int i = 0; i < n; ++i) disposicio.add(i);
+            cost = ComputeCost.getCost(disposicio, relationMatrix);
+            solutionReady = true;
+            return;
+        }
+
+        ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades = relationMatrixSorted;
+        if (ordenades == null || ordenades.size() != n) ordenades = LinKernighan.sortRelations(relationMatrix);
+        Colonia colonia = new Colonia(ComputeCost.toArray(relationMatrix),
+            CandidateLists.build(ordenades, NUM_CANDIDATS));
+
+        // La solució voraz fixa la primera millor solució i la feromona inicial
+        int[] inicial = GreedySolutionGenerator.solucioInicial(colonia.w, ordenades);
+        System.arraycopy(inicial, 0, colonia.millorTour, 0, n);
+        colonia.millorCost = ComputeCost.getCost(colonia.millorTour, colonia.w);
+        colonia.inicialitzaFeromona();
+
+        SplittableRandom rnd = new SplittableRandom(seed);
+        ArrayList<Formiga> formigues = new ArrayList<>(numFormigues);
+        for (int f = 0; f < numFormigues; ++f) formigues.add(new Formiga(colonia, rnd.split()));
+
+        long fi = System.nanoTime() + tempsLimit * 1_000_000L;
+        while (generacions < maxGeneracions && System.nanoTime() < fi) {
+            // Construcció en paral·lel: la feromona només es llegeix
+            executa(formigues);
+            // Actualització per lots, en un sol fil
+            Formiga millorGeneracio = formigues.get(0);
+            for (Formiga f : formigues) {
+                if (f.cost > millorGeneracio.cost) millorGeneracio = f;
+            }
+            colonia.actualitza(millorGeneracio.tour, millorGeneracio.cost);
+            ++generacions;
+        }
+
+        disposicio = ComputeCost.toList(colonia.millorTour);
+        cost = colonia.millorCost;
+        solutionReady = true;
+    }
+
+    /**
+    * Ejecuta las hormigas en el ForkJoinPool común y espera a que acaben todas.
+    * @param formigues Las hormigas.
+    * @throws IllegalStateException si se interrumpe la espera o alguna hormiga falla.
+    */
+    private static void executa(ArrayList<Formiga> formigues) {
+        try {
+            for (Future<Void> futur : ForkJoinPool.commonPool().invokeAll(formigues)) futur.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cerca interrompuda.", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Error en la construcció d'una solució.", e.getCause());
+        }
+    }
+
+    /**
+     * Estado compartido de la colonia: relaciones, candidatos, feromona y mejor solución.
+     */
+    private static final class Colonia {
+      /**
+       * La matriz de relaciones de productos.
+       */
+      final int[][] w;
+      /**
+       * Número de productos.
+       */
+      final int n;
+      /**
+       * Los candidatos de cada producto.
+       */
+      final int[][] candidats;
+      /**
+       * Deseabilidad heurística (relación + 1)^BETA de cada candidato, en el mismo orden.
+       */
+      final double[][] heuristica;
+      /**
+       * Feromona de cada relación, en un vector plano; el valor real es feromona[i*n+j]*escala.
+       */
+      final double[] feromona;
+      /**
+       * Factor de escala global de la feromona (evaporación perezosa).
+       */
+      double escala;
+      /**
+       * Límites de la feromona (Max-Min).
+       */
+      double tauMax, tauMin;
+      /**
+       * Mejor disposición encontrada.
+       */
+      final int[] millorTour;
+      /**
+       * Coste de la mejor disposición encontrada.
+       */
+      int millorCost;
+
+      /**
+       * Constructor de la colonia.
+       * @param w La matriz de relaciones de productos.
+       * @param candidats Los candidatos de cada producto.
+       */
+      Colonia(int[][] w, int[][] candidats) {
+        this.w = w;
+        this.n = w.length;
+        this.candidats = candidats;
+        heuristica = new double[n][];
+        for (int i = 0; i < n; ++i) {
+          heuristica[i] = new double[candidats[i].length];
+          for (int c = 0; c < candidats[i].length; ++c) {
+            heuristica[i][c] = Math.pow(Math.max(w[i][candidats[i][c]], 0) + 1, BETA);
+          }
+        }
+        feromona = new double[n * n];
+        millorTour = new int[n];
+      }
+
+      /**
+       * Calcula los límites a partir de la mejor solución y pone toda la feromona al máximo.
+       */
+      void inicialitzaFeromona() {
+        calculaLimits();
+        Arrays.fill(feromona, tauMax);
+        escala = 1.0;
+      }
+
+      /**
+       * Calcula los límites Max-Min de la feromona a partir del coste de la mejor solución.
+       */
+      private void calculaLimits() {
+        tauMax = aportacio(millorCost) / EVAPORACIO;
+        tauMin = tauMax / (2.0 * n);
+      }
+
+      /**
+       * Feromona que deposita una disposición en cada una de sus relaciones.
+       * @param c El coste de la disposición.
+       * @return La cantidad de feromona.
+       */
+      private double aportacio(int c) {
+        return Math.max(c, 1) / (100.0 * n);
+      }
+
+      /**
+       * Devuelve la feromona real de una relación, acotada a los límites Max-Min.
+       * @param i Un producto.
+       * @param j Otro producto.
+       * @return La feromona.
+       */
+      double tau(int i, int j) {
+        double t = feromona[i * n + j] * escala;
+        if (t < tauMin) return tauMin;
+        return Math.min(t, tauMax);
+      }
+
+      /**
+       * Fase de actualización por lotes: evapora la feromona y la deposita en las relaciones
+       * de la mejor disposición de la generación. Solo se llama cuando ninguna hormiga trabaja.
+       * @param tour La mejor disposición de la generación.
+       * @param c Su coste.
+       */
+      synchronized void actualitza(int[] tour, int c) {
+        if (c > millorCost) {
+          millorCost = c;
+          System.arraycopy(tour, 0, millorTour, 0, n);
+          calculaLimits();
+        }
+        escala *= 1.0 - EVAPORACIO;
+        if (escala < ESCALA_MINIMA) {
+          for (int k = 0; k < feromona.length; ++k) feromona[k] *= escala;
+          escala = 1.0;
+        }
+        double delta = aportacio(c) / escala;
+        for (int k = 0; k < n; ++k) {
+          int a = tour[k], b = tour[(k + 1) % n];
+          feromona[a * n + b] += delta;
+          feromona[b * n + a] += delta;
+        }
+      }
+    }
+
+    /**
+     * Una hormiga: construye una disposición con sus propios vectores, que reutiliza en
+     * cada generación.
+     */
+    private static final class Formiga implements Callable<Void> {
+      /**
+       * La colonia.
+       */
+      private final Colonia colonia;
+      /**
+       * Generador aleatorio propio de la hormiga.
+       */
+      private final SplittableRandom rnd;
+      /**
+       * La disposición construida.
+       */
+      final int[] tour;
+      /**
+       * Coste de la disposición construida.
+       */
+      int cost;
+      /**
+       * Productos pendientes (solo son válidas las primeras posiciones).
+       */
+      private final int[] pendents;
+      /**
+       * Posición de cada producto en pendents, o -1 si ya está colocado.
+       */
+      private final int[] posicio;
+      /**
+       * Peso de cada candidato en el sorteo.
+       */
+      private final double[] pes;
+
+      /**
+       * Constructor de una hormiga.
+       * @param colonia La colonia.
+       * @param rnd El generador aleatorio de la hormiga.
+       */
+      Formiga(Colonia colonia, SplittableRandom rnd) {
+        this.colonia = colonia;
+        this.rnd = rnd;
+        int n = colonia.n;
+        tour = new int[n];
+        pendents = new int[n];
+        posicio = new int[n];
+        pes = new double[NUM_CANDIDATS];
+      }
+
+      /**
+       * Construye una disposición completa y calcula su coste.
+       * @return null
+       */
+      @Override
+      public Void call() {
+        int n = colonia.n;
+        int[][] w = colonia.w;
+        for (int i = 0; i < n; ++i) {
+          pendents[i] = i;
+          posicio[i] = i;
+        }
+        int numPendents = n;
+        int actual = rnd.nextInt(n);
+        numPendents = treu(actual, numPendents);
+        tour[0] = actual;
+        cost = 0;
+        for (int k = 1; k < n; ++k) {
+          int seguent = escull(actual);
+          if (seguent < 0) {
+            // Tots els candidats ja hi són: el pendent amb més relació
+            seguent = pendents[0];
+            for (int p = 1; p < numPendents; ++p) {
+              if (w[actual][pendents[p]] > w[actual][seguent]) seguent = pendents[p];
+            }
+          }
+          numPendents = treu(seguent, numPendents);
+          tour[k] = seguent;
+          cost += w[actual][seguent];
+          actual = seguent;
+        }
+        cost += w[actual][tour[0]];
+        return null;
+      }
+
+      /**
+       * Elige el siguiente producto entre los candidatos pendientes del actual.
+       * @param actual El producto actual.
+       * @return El producto elegido, o -1 si no queda ningún candidato pendiente.
+       */
+      private int escull(int actual) {
+        int[] cand = colonia.candidats[actual];
+        double[] heur = colonia.heuristica[actual];
+        double total = 0;
+        int millor = -1;
+        for (int c = 0; c < cand.length; ++c) {
+          if (posicio[cand[c]] < 0) {
+            pes[c] = 0;
+            continue;
+          }
+          pes[c] = colonia.tau(actual, cand[c]) * heur[c];
+          total += pes[c];
+          if (millor < 0 || pes[c] > pes[millor]) millor = c;
+        }
+        if (millor < 0) return -1;
+        if (rnd.nextDouble() < PROB_EXPLOTACIO) return cand[millor];
+        double r = rnd.nextDouble() * total;
+        for (int c = 0; c < cand.length; ++c) {
+          r -= pes[c];
+          if (r <= 0 && pes[c] > 0) return cand[c];
+        }
+        return cand[millor];
+      }
+
+      /**
+       * Quita un producto de los pendientes.
+       * @param producte El producto.
+       * @param numPendents Número de productos pendientes.
+       * @return El nuevo número de productos pendientes.
+       */
+      private int treu(int producte, int numPendents) {
+        int p = posicio[producte];
+        int ultim = pendents[numPendents - 1];
+        pendents[p] = ultim;
+        posicio[ultim] = p;
+        posicio[producte] = -1;
+        return numPendents - 1;
+      }
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Establece las relaciones de productos ordenadas, de las que salen los candidatos.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    * @throws IllegalArgumentException si las relaciones ordenadas son nulas o están vacías.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        if (productRelationsSorted == null || productRelationsSorted.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrixSorted = productRelationsSorted;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve la solución. Si la solución aún no se ha generado, la genera.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si la solución aún no se ha generado, la genera.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
@@ -0,0 +1,96 @@
+package algoritmo;
+
+import interfaces.ITour;
+import java.util.ArrayList;
+
+/**
+* Disposición cíclica sobre un vector con la posición de cada producto, para las búsquedas locales
+* con listas de candidatos. Un movimiento 2-opt invierte el más corto de los dos tramos que separa,
+* ya que en una disposición cíclica invertir un tramo o su complementario da las mismas relaciones
+* (solo cambia el sentido de recorrido).
+*/
+final class ArrayTour implements ITour {
+    /**
+     * Los productos en el orden de la disposición.
+     */
+    private final int[] tour;
+    /**
+     * La posición de cada producto en tour.
+     */
+    private final int[] pos;
+
+    /**
+    * Constructor de la disposición.
+    * @param tour Los productos en orden; el vector se modifica in situ con cada movimiento.
+    */
+    ArrayTour(int[] tour) {
+        this.tour = tour;
+        pos = new int[tour.length];
+        for (int i = 0; i < tour.length; ++i) pos[tour[i]] = i;
+    }
+
+    @Override
+    public int next(int x) {
+        int p = pos[x] + 1;
+        return tour[p == tour.length ? 0 : p];
+    }
+
+    @Override
+    public int prev(int x) {
+        int p = pos[x] - 1;
+        return tour[p < 0 ? tour.length - 1 : p];
+    }
+
+    @Override
+    public boolean between(int a, int b, int c) {
+        int pa = pos[a], pb = pos[b], pc = pos[c];
+        if (pa <= pc) return pa <= pb && pb <= pc;
+        return pb >= pa || pb <= pc;
+    }
+
+    @Override
+    public void flip(int a, int b, int c, int d) {
+        if (next(a) == b) reverse(b, c);
+        else reverse(a, d);
+    }
+
+    /**
+    * Invierte el tramo que va de a hasta b en el sentido de la disposición, o su complementario
+    * si es más corto.
+    * @param a Primer producto del tramo.
+    * @param b Último producto del tramo.
+    */
+    private void reverse(int a, int b) {
+        int n = tour.length;
+        int i = pos[a];
+        int j = pos[b];
+        int longitud = j - i;
+        if (longitud < 0) longitud += n;
+        ++longitud;
+        if (2 * longitud > n) {
+            // El complementari va del següent de b a l'anterior de a
+            i = j + 1 == n ? 0 : j + 1;
+            j = pos[a] == 0 ? n - 1 : pos[a] - 1;
+            longitud = n - longitud;
+        }
+        for (int k = 0; k < longitud / 2; ++k) {
+            int x = tour[i], y = tour[j];
+            tour[i] = y;
+            pos[y] = i;
+            tour[j] = x;
+            pos[x] = j;
+            if (++i == n) i = 0;
+            if (--j < 0) j = n - 1;
+        }
+    }
+
+    @Override
+    public int[] toArray() {
+        return tour.clone();
+    }
+
+    @Override
+    public ArrayList<Integer> toList() {
+        return ComputeCost.toList(tour);
+    }
+}
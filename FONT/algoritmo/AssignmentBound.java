@@ -0,0 +1,21 @@
+package algoritmo;
+
+/**
+* La clase AssignmentBound calcula una cota superior del coste de cualquier disposición de los
+* productos: el peso del recubrimiento por ciclos de máximo peso, que es la relajación del problema
+* de asignación. Una disposición es un único ciclo que pasa por todos los productos, es decir, un
+* recubrimiento por ciclos particular, así que su coste nunca supera la cota.
+* La asignación se resuelve con el algoritmo húngaro (Hungarian) en O(n^3).
+*/
+public class AssignmentBound {
+    /**
+    * Calcula la cota superior.
+    *
+    * @param w Matriz de relaciones entre productos.
+    * @return El peso del recubrimiento por ciclos de máximo peso, o 0 si hay menos de dos productos.
+    */
+    public static int upperBound(int[][] w) {
+        if (w.length < 2) return 0;
+        return Hungarian.weight(w, Hungarian.maxAssignment(w, true));
+    }
+}
@@ -1,8 +1,12 @@
 package algoritmo;
 
 import interfaces.IAlgoritme;
+import interfaces.IUpperBound;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import structures.Pair;
 
 
@@ -10,6 +14,14 @@ import structures.Pair;
 * La clase BruteForceGenerator implementa la interfaz IAlgoritme y proporciona
 * un algoritmo de fuerza bruta basado en la poda para resolver el problema de 
 * la disposición de productos en un supermercado.
+* Dispone de un modo paralelo que reparte los subárboles de búsqueda entre los hilos
+* de un ForkJoinPool, compartiendo entre ellos el coste de la mejor solución.
+* La poda consulta en cada nodo una cota superior intercambiable (IUpperBound).
+* Los productos pendientes se guardan también en una máscara de bits (long[]). Si la matriz es
+* simétrica, una disposición y su inversa tienen el mismo coste, así que solo se exploran las que
+* cumplen path[1] &lt; path[n-1], lo que reduce el árbol de búsqueda a la mitad.
+* Opcionalmente usa una tabla de transposición (TaulaTransposicio) compartida por todos los hilos
+* para podar los nodos que llegan a un estado ya visitado con un coste parcial peor.
 */
 public class BruteForce2 implements IAlgoritme {
     /**
@@ -34,12 +46,59 @@ public class BruteForce2 implements IAlgoritme {
      */
     private ArrayList<ArrayList<Integer>> relationMatrix;
 
+    /**
+     * Indica si la búsqueda se reparte entre varios hilos.
+     */
+    private boolean parallel;
+
+    /**
+     * La cota superior utilizada para podar la búsqueda.
+     */
+    private IUpperBound bound;
+
+    /**
+     * Número de nodos explorados en la última ejecución.
+     */
+    private long nodesExplorats;
+
+    /**
+     * Indica si se usa la tabla de transposición.
+     */
+    private boolean memoritzacio;
+
+    /**
+     * Número máximo de entradas de la tabla de transposición.
+     */
+    private int midaTaula;
+
+    /**
+     * Tasa de aciertos de la tabla de transposición en la última ejecución.
+     */
+    private double taxaEncerts;
+
+    /**
+     * Número de entradas por defecto de la tabla de transposición.
+     */
+    private static final int MIDA_TAULA_DEFECTE = 1 << 18;
+
+    /**
+     * Longitud del prefijo a partir de la cual las tareas paralelas dejan de dividirse.
+     */
+    private static final int PROFUNDITAT_PARTICIO = 3;
+    /**
+     * Número de productos por colocar por debajo del cual no vale la pena crear más tareas.
+     */
+    private static final int MIN_PRODUCTES_PARTICIO = 6;
+
     /**
     * Constructor privado para la clase BruteForceGenerator.
     */
     private BruteForce2() {
         cost = -1;
         solutionReady = false;
+        bound = new LagrangianBound();
+        memoritzacio = true;
+        midaTaula = MIDA_TAULA_DEFECTE;
     }
 
     /**
@@ -50,6 +109,12 @@ public class BruteForce2 implements IAlgoritme {
         relationMatrix = null;
         cost = -1;
         solutionReady = false;
+        parallel = false;
+        bound = new LagrangianBound();
+        nodesExplorats = 0;
+        memoritzacio = true;
+        midaTaula = MIDA_TAULA_DEFECTE;
+        taxaEncerts = 0;
     }
 
     /**
@@ -63,6 +128,8 @@ public class BruteForce2 implements IAlgoritme {
 
     /**
     * Genera una solución llamando a un mètodo que es recursivo para hacer backtracking.
+    * Cada ejecución trabaja sobre su propia mejor solución (Incumbent) y solo al acabar
+    * se copia el resultado a los atributos de la instancia.
     * @throws IllegalStateException si la matriz de relación es nula o está vacía.
     */
     private void generateSolution() {
@@ -71,65 +138,435 @@ public class BruteForce2 implements IAlgoritme {
         throw new IllegalStateException("Matriu de relacions no inicialitzada.");  
       }
 
-      if (relationMatrix.size() == 1) {
+      int n = relationMatrix.size();
+      if (n == 1) {
         disposicio = new ArrayList<>();
         disposicio.add(0);
         cost = 0;
+        nodesExplorats = 1;
+        taxaEncerts = 0;
         solutionReady = true;
         return;
       }
 
-      ArrayList<Integer> current = new ArrayList<>();
-      current.add(0);
-      HashSet<Integer> notUsed = new HashSet<>();
-      for (Integer i = 1; i < relationMatrix.size(); ++i) {
-        notUsed.add(i);
+      int[][] w = ComputeCost.toArray(relationMatrix);
+      bound.prepare(w);
+
+      int[] path = new int[n];
+      path[0] = 0;
+      int[] pending = new int[n - 1];
+      long[] pendents = new long[(n + 63) >>> 6];
+      for (int i = 1; i < n; ++i) {
+        pending[i - 1] = i;
+        pendents[i >>> 6] |= 1L << i;
       }
-      disposicio = new ArrayList<>();
-      generateSolRec(current, notUsed, relationMatrix, 0);
+      TaulaTransposicio taula = null;
+      if (memoritzacio && n > 3) {
+        // No cal més espai que el nombre d'estats possibles
+        long estats = n < 32 ? ((long) n << (n - 1)) * n : Long.MAX_VALUE;
+        taula = new TaulaTransposicio(n, (int) Math.min(midaTaula, estats));
+      }
+      Incumbent best = new Incumbent(esSimetrica(w), taula);
+      if (parallel) {
+        ForkJoinPool.commonPool().invoke(new SubarbreTask(w, bound, best, path, 1, pending, n - 1, pendents, 0));
+      }
+      else {
+        Cerca cerca = new Cerca(w, bound, best, path, pending, pendents);
+        cerca.generateSolRec(1, n - 1, 0);
+        best.nodes.add(cerca.nodes);
+      }
+      disposicio = best.disposicio;
+      cost = best.cost.get();
+      nodesExplorats = best.nodes.sum();
+      taxaEncerts = taula == null ? 0 : taula.getTaxaEncerts();
       solutionReady = true;
       
     }
 
     /**
-     * Genera una solución recursiva evaluando las disposiciones sobre la marcha.
-     * @param current La permutación actual.
-     * @param notUsed Los elementos que aún no se han utilizado.
-     * @param relationMatrix La matriz de relaciones de productos.
-     * @param best La mejor permutación encontrada hasta ahora.
-     * @param currentCost El coste de la permutación actual.
+     * Indica si la matriz de relaciones es simétrica.
+     * @param w La matriz de relaciones de productos.
+     * @return true si w[i][j] == w[j][i] para todo i, j.
      */
-    private void generateSolRec(ArrayList<Integer> current, HashSet<Integer> notUsed, ArrayList<ArrayList<Integer>> relationMatrix, int currentCost) {
-      //cas base
-      Integer last = current.get(current.size()-1);
-      if (notUsed.isEmpty()) {
-        if (currentCost + relationMatrix.get(0).get(last) > cost) {
-          cost = currentCost + relationMatrix.get(0).get(last);
-          disposicio = new ArrayList<>(current);
+    private static boolean esSimetrica(int[][] w) {
+      for (int i = 0; i < w.length; ++i) {
+        for (int j = 0; j < i; ++j) {
+          if (w[i][j] != w[j][i]) return false;
         }
-        return;
       }
+      return true;
+    }
+
+    /**
+     * Indica si queda algún producto pendiente con índice mayor que s.
+     * @param pendents Máscara de bits de los productos pendientes.
+     * @param s Un producto.
+     * @return true si algún bit mayor que s está activo.
+     */
+    private static boolean hiHaMajor(long[] pendents, int s) {
+      int p = s + 1;
+      int paraula = p >>> 6;
+      if (paraula >= pendents.length) return false;
+      if ((pendents[paraula] & (-1L << p)) != 0) return true;
+      for (int k = paraula + 1; k < pendents.length; ++k) {
+        if (pendents[k] != 0) return true;
+      }
+      return false;
+    }
+
+    /**
+     * Indica si colocar un producto llevaría a disposiciones que son la inversa de otra que
+     * también se explora, es decir, que no pueden cumplir path[1] &lt; path[n-1].
+     * @param best La mejor solución compartida, que sabe si la matriz es simétrica.
+     * @param path La permutación actual.
+     * @param depth Posición en la que se coloca el producto.
+     * @param i El producto que se coloca.
+     * @param pendents Máscara de los productos pendientes, ya sin i.
+     * @param restants Número de productos pendientes sin contar i.
+     * @return true si la rama se puede descartar.
+     */
+    private static boolean descartaReflexio(Incumbent best, int[] path, int depth, int i, long[] pendents, int restants) {
+      if (!best.simetrica || (depth == 1 && restants == 0)) return false;
+      int segon = depth == 1 ? i : path[1];
+      return restants > 0 ? !hiHaMajor(pendents, segon) : i < segon;
+    }
 
-      //cas recursiu
-      //copia notUsed
-      ArrayList<Integer> notUsedCopy = new ArrayList<>();
-      //copiar productes no vistos en un vector per evitar que quan s'esborrin o afegeixin elements peti bucle de recorrer els no usats
-      for (Integer i : notUsed) notUsedCopy.add(i);
-      for (Integer i : notUsedCopy) {
-        //poda
-        if (currentCost + relationMatrix.get(last).get(i) + 100*notUsed.size() > cost) {
-          //fwd
-          notUsed.remove(i);
-          current.add(i);
-          //call
-          generateSolRec(current, notUsed, relationMatrix, currentCost + relationMatrix.get(last).get(i));
-          //bkwd
-          notUsed.add(i);
-          current.remove(current.size()-1);
+    /**
+     * Estado de una búsqueda secuencial: el camino actual y los productos pendientes,
+     * que se modifican in situ al avanzar y retroceder.
+     */
+    private static final class Cerca {
+      /**
+       * La matriz de relaciones de productos.
+       */
+      private final int[][] w;
+      /**
+       * La cota superior utilizada para podar.
+       */
+      private final IUpperBound bound;
+      /**
+       * La mejor solución compartida.
+       */
+      private final Incumbent best;
+      /**
+       * La permutación actual (solo son válidas las primeras posiciones).
+       */
+      private final int[] path;
+      /**
+       * Los productos pendientes (solo son válidas las primeras posiciones).
+       */
+      private final int[] pending;
+      /**
+       * Máscara de bits de los productos pendientes.
+       */
+      private final long[] pendents;
+      /**
+       * Hash de Zobrist de los productos pendientes, si hay tabla de transposición.
+       */
+      private long hashPendents;
+      /**
+       * Número de nodos visitados por esta búsqueda.
+       */
+      long nodes;
+
+      /**
+       * Constructor de la búsqueda. La búsqueda pasa a ser propietaria de path, pending y pendents.
+       * @param w La matriz de relaciones de productos.
+       * @param bound La cota superior utilizada para podar.
+       * @param best La mejor solución compartida.
+       * @param path La permutación actual.
+       * @param pending Los productos pendientes.
+       * @param pendents Máscara de bits de los productos pendientes.
+       */
+      Cerca(int[][] w, IUpperBound bound, Incumbent best, int[] path, int[] pending, long[] pendents) {
+        this.w = w;
+        this.bound = bound;
+        this.best = best;
+        this.path = path;
+        this.pending = pending;
+        this.pendents = pendents;
+        if (best.taula != null) {
+          for (int k = 0; k < w.length; ++k) {
+            if ((pendents[k >>> 6] & (1L << k)) != 0) hashPendents ^= best.taula.hashProducte(k);
+          }
+        }
+      }
+
+      /**
+       * Genera una solución recursiva evaluando las disposiciones sobre la marcha.
+       * @param depth Número de productos colocados en path.
+       * @param numPending Número de productos pendientes.
+       * @param currentCost El coste de la permutación actual.
+       */
+      void generateSolRec(int depth, int numPending, int currentCost) {
+        ++nodes;
+        int last = path[depth-1];
+        //cas base
+        if (numPending == 0) {
+          best.offer(currentCost + w[last][path[0]], path);
+          return;
+        }
+
+        //poda per dominància: el mateix estat ja s'ha assolit amb un cost parcial igual o millor
+        TaulaTransposicio taula = best.taula;
+        if (taula != null && depth > 1 && numPending > 1) {
+          long clau = taula.clau(hashPendents, last, best.simetrica ? path[1] : -1);
+          if (taula.dominat(clau, numPending, currentCost)) return;
+        }
+
+        //poda (es torna a llegir la cota perquè altres fils la poden haver millorat)
+        if (currentCost + bound.bound(last, path[0], pending, numPending, best.cost.get() - currentCost) <= best.cost.get()) return;
+
+        //cas recursiu
+        for (int k = 0; k < numPending; ++k) {
+          int i = pending[k];
+          //fwd: es mou el producte al final dels pendents
+          pendents[i >>> 6] &= ~(1L << i);
+          if (!descartaReflexio(best, path, depth, i, pendents, numPending - 1)) {
+            long z = taula != null ? taula.hashProducte(i) : 0;
+            hashPendents ^= z;
+            pending[k] = pending[numPending-1];
+            pending[numPending-1] = i;
+            path[depth] = i;
+            //call
+            generateSolRec(depth + 1, numPending - 1, currentCost + w[last][i]);
+            //bkwd
+            pending[numPending-1] = pending[k];
+            pending[k] = i;
+            hashPendents ^= z;
+          }
+          pendents[i >>> 6] |= 1L << i;
         }
       }
     }
 
+    /**
+     * Mejor solución encontrada durante una ejecución. El coste es atómico para que una
+     * poda encontrada por un hilo endurezca la cota de todos los demás.
+     */
+    private static final class Incumbent {
+      /**
+       * Coste de la mejor disposición encontrada, -1 si todavía no hay ninguna.
+       */
+      final AtomicInteger cost = new AtomicInteger(-1);
+      /**
+       * Mejor disposición encontrada.
+       */
+      ArrayList<Integer> disposicio = new ArrayList<>();
+      /**
+       * Número total de nodos explorados por todas las búsquedas.
+       */
+      final LongAdder nodes = new LongAdder();
+      /**
+       * Indica si la matriz es simétrica y, por tanto, se pueden descartar las disposiciones inversas.
+       */
+      final boolean simetrica;
+      /**
+       * La tabla de transposición compartida, o null si no se usa.
+       */
+      final TaulaTransposicio taula;
+
+      /**
+       * Constructor de la mejor solución, todavía vacía.
+       * @param simetrica Si la matriz de relaciones es simétrica.
+       * @param taula La tabla de transposición compartida, o null.
+       */
+      Incumbent(boolean simetrica, TaulaTransposicio taula) {
+        this.simetrica = simetrica;
+        this.taula = taula;
+      }
+
+      /**
+       * Propone una disposición completa y la guarda si mejora la actual.
+       * @param newCost El coste de la disposición.
+       * @param current La disposición, que se copia si se acepta.
+       */
+      synchronized void offer(int newCost, int[] current) {
+        if (newCost > cost.get()) {
+          disposicio = ComputeCost.toList(current);
+          cost.set(newCost);
+        }
+      }
+    }
+
+    /**
+     * Tarea de ForkJoin que explora el subárbol de todas las disposiciones que empiezan por un prefijo.
+     * Mientras el prefijo es corto se divide en una subtarea por cada producto siguiente; a partir de
+     * PROFUNDITAT_PARTICIO se explora el subárbol secuencialmente.
+     */
+    private static final class SubarbreTask extends RecursiveAction {
+      /**
+       * Versión de serialización; las tareas no se serializan nunca.
+       */
+      private static final long serialVersionUID = 1L;
+      /**
+       * La matriz de relaciones de productos.
+       */
+      private final int[][] w;
+      /**
+       * La cota superior utilizada para podar.
+       */
+      private final transient IUpperBound bound;
+      /**
+       * La mejor solución compartida.
+       */
+      private final transient Incumbent best;
+      /**
+       * El prefijo de la disposición.
+       */
+      private final int[] path;
+      /**
+       * Longitud del prefijo.
+       */
+      private final int depth;
+      /**
+       * Los productos que aún no se han colocado.
+       */
+      private final int[] pending;
+      /**
+       * Número de productos pendientes.
+       */
+      private final int numPending;
+      /**
+       * Máscara de bits de los productos que aún no se han colocado.
+       */
+      private final long[] pendents;
+      /**
+       * El coste del prefijo.
+       */
+      private final int currentCost;
+
+      /**
+       * Constructor de la tarea. La tarea pasa a ser propietaria de path, pending y pendents.
+       * @param w La matriz de relaciones de productos.
+       * @param bound La cota superior utilizada para podar.
+       * @param best La mejor solución compartida.
+       * @param path El prefijo de la disposición.
+       * @param depth Longitud del prefijo.
+       * @param pending Los productos que aún no se han colocado.
+       * @param numPending Número de productos pendientes.
+       * @param pendents Máscara de bits de los productos pendientes.
+       * @param currentCost El coste del prefijo.
+       */
+      SubarbreTask(int[][] w, IUpperBound bound, Incumbent best, int[] path, int depth, int[] pending, int numPending, long[] pendents, int currentCost) {
+        this.w = w;
+        this.bound = bound;
+        this.best = best;
+        this.path = path;
+        this.depth = depth;
+        this.pending = pending;
+        this.numPending = numPending;
+        this.pendents = pendents;
+        this.currentCost = currentCost;
+      }
+
+      /**
+       * Explora el subárbol, dividiéndolo en subtareas si el prefijo es suficientemente corto.
+       */
+      @Override
+      protected void compute() {
+        if (depth >= PROFUNDITAT_PARTICIO || numPending <= MIN_PRODUCTES_PARTICIO) {
+          Cerca cerca = new Cerca(w, bound, best, path, pending, pendents);
+          cerca.generateSolRec(depth, numPending, currentCost);
+          best.nodes.add(cerca.nodes);
+          return;
+        }
+        best.nodes.increment();
+        int last = path[depth-1];
+        if (currentCost + bound.bound(last, path[0], pending, numPending, best.cost.get() - currentCost) <= best.cost.get()) return;
+        ArrayList<SubarbreTask> tasques = new ArrayList<>();
+        for (int k = 0; k < numPending; ++k) {
+          int i = pending[k];
+          long[] nousPendents = pendents.clone();
+          nousPendents[i >>> 6] &= ~(1L << i);
+          if (descartaReflexio(best, path, depth, i, nousPendents, numPending - 1)) continue;
+          int[] nouPath = path.clone();
+          nouPath[depth] = i;
+          int[] nouPending = pending.clone();
+          nouPending[k] = nouPending[numPending-1];
+          tasques.add(new SubarbreTask(w, bound, best, nouPath, depth + 1, nouPending, numPending - 1, nousPendents, currentCost + w[last][i]));
+        }
+        invokeAll(tasques);
+      }
+    }
+
+    /**
+    * Selecciona la cota superior que se utiliza para podar la búsqueda.
+    * @param bound La cota superior a utilizar.
+    * @throws IllegalArgumentException si la cota es nula.
+    */
+    public void setBound(IUpperBound bound) {
+        if (bound == null) throw new IllegalArgumentException("La cota no pot ser null.");
+        this.bound = bound;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve el número de nodos del árbol de búsqueda explorados en la última ejecución.
+    * Permite comparar la efectividad de las distintas cotas.
+    * @return el número de nodos explorados, o 0 si aún no se ha generado ninguna solución.
+    */
+    public long getNodesExplorats() {
+        return nodesExplorats;
+    }
+
+    /**
+    * Activa o desactiva la tabla de transposición, que poda los nodos que llegan a un estado
+    * (productos pendientes y último producto) ya visitado con un coste parcial igual o mejor.
+    * @param memoritzacio true para usar la tabla.
+    */
+    public void setMemoritzacio(boolean memoritzacio) {
+        if (this.memoritzacio != memoritzacio) solutionReady = false;
+        this.memoritzacio = memoritzacio;
+    }
+
+    /**
+    * Indica si se usa la tabla de transposición.
+    * @return true si se usa la tabla.
+    */
+    public boolean isMemoritzacio() {
+        return memoritzacio;
+    }
+
+    /**
+    * Establece el número máximo de entradas de la tabla de transposición. Cuando se llena, las
+    * entradas nuevas reemplazan a las existentes.
+    * @param midaTaula El número de entradas.
+    * @throws IllegalArgumentException si no es positivo.
+    */
+    public void setMidaTaula(int midaTaula) {
+        if (midaTaula <= 0) throw new IllegalArgumentException("La mida de la taula ha de ser positiva.");
+        this.midaTaula = midaTaula;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve la fracción de consultas a la tabla de transposición que han podado el nodo
+    * en la última ejecución.
+    * @return la tasa de aciertos, entre 0 y 1, o 0 si no se ha usado la tabla.
+    */
+    public double getTaxaEncerts() {
+        return taxaEncerts;
+    }
+
+    /**
+    * Selecciona si la búsqueda se reparte entre varios hilos (ForkJoin) o se hace de forma secuencial.
+    * Si el modo cambia, la solución se tendrá que volver a generar.
+    * @param parallel true para usar la versión paralela, false para la secuencial.
+    */
+    public void setParallel(boolean parallel) {
+        if (this.parallel != parallel) solutionReady = false;
+        this.parallel = parallel;
+    }
+
+    /**
+    * Indica si la búsqueda se hace en paralelo.
+    * @return true si se usa la versión paralela.
+    */
+    public boolean isParallel() {
+        return parallel;
+    }
+
     /**
     * Establece la matriz de relaciones de productos.
     * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
@@ -168,14 +605,16 @@ public class BruteForce2 implements IAlgoritme {
     }
 
     /**
-    * Este método tiene como objetivo establecer las relaciones de productos de manera ordenada,
-    * funcionalidad no necesaria para este algoritmo.
+    * Recibe las relaciones de productos ordenadas, que este algoritmo no necesita: las cotas se
+    * calculan a partir de la matriz.
     * @param productRelationsSorted Una ArrayList anidada que contiene pares de números enteros
     * que representan las relaciones de productos ordenadas.
-    * @throws UnsupportedOperationException Siempre se genera ya que este método no es necesario.
+    * @throws IllegalArgumentException si las relaciones ordenadas son nulas o están vacías.
     */
     @Override
     public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
-        throw new UnsupportedOperationException("Not necessary.");
+        if (productRelationsSorted == null || productRelationsSorted.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
     }
 }
@@ -2,7 +2,10 @@ package algoritmo;
 
 import interfaces.IAlgoritme;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import structures.Pair;
 
 
@@ -11,6 +14,10 @@ import structures.Pair;
 * un generador de soluciones de fuerza bruta para una matriz de relación dada. Genera todas
 * las permutaciones posibles de la entrada y calcula el coste de cada permutación
 * para encontrar la solución óptima.
+* Las permutaciones se generan in situ sobre un int[] intercambiando posiciones, con el coste
+* parcial acumulado, de modo que cada permutación completa se evalúa en O(1) y sin crear objetos.
+* Dispone de un modo paralelo que reparte las permutaciones según sus primeras posiciones en
+* unidades de trabajo independientes, las ejecuta en un ForkJoinPool y se queda con la mejor.
 */
 public class BruteForceGenerator implements IAlgoritme {
     /**
@@ -35,6 +42,16 @@ public class BruteForceGenerator implements IAlgoritme {
      */
     private ArrayList<ArrayList<Integer>> relationMatrix;
 
+    /**
+     * Indica si la enumeración se reparte entre varios hilos.
+     */
+    private boolean parallel;
+
+    /**
+     * Número de posiciones (después del primer producto) que se fijan para crear las unidades de trabajo.
+     */
+    private static final int PROFUNDITAT_PARTICIO = 2;
+
     /**
     * Constructor privado para la clase BruteForceGenerator.
     */
@@ -52,6 +69,7 @@ public class BruteForceGenerator implements IAlgoritme {
         relationMatrix = null;
         cost = -1;
         solutionReady = false;
+        parallel = false;
     }
 
     /**
@@ -84,16 +102,12 @@ public class BruteForceGenerator implements IAlgoritme {
             //System.exit(1);
         }
         else {
-            // Fixar el primer element i ordenar la resta
-            ArrayList<Integer> input = new ArrayList<>();
-            for (int i = 0; i < n; i++) {
-                input.add(i);
-            }
-            Integer first = input.get(0);
-            ArrayList<Integer> rest = new ArrayList<>(input.subList(1, input.size()));
-            Collections.sort(rest); // Generar permutacions en ordre canònic
-
-            checkPermutations(first, rest, new ArrayList<>());
+            // Fixar el primer element i permutar la resta
+            int[][] w = ComputeCost.toArray(relationMatrix);
+            Enumerador enumerador = parallel ? enumeraParallel(w) : new Enumerador(w);
+            if (!parallel) enumerador.permuta(1, 0);
+            cost = enumerador.millorCost;
+            permutacioOptima = ComputeCost.toList(enumerador.millor);
             solutionReady = true;
         }
     }
@@ -118,42 +132,176 @@ public class BruteForceGenerator implements IAlgoritme {
 
 
     /**
-    * Genera y verifica recursivamente todas las permutaciones de una lista de números enteros.
-    *
-    * @param first El primer número entero que se agregará a la permutación.
-    * @param remain La lista de números enteros restantes para permutar.
-    * @param current La permutación actual que se está construyendo.
+    * Enumera todas las permutaciones en paralelo: fija las PROFUNDITAT_PARTICIO posiciones siguientes
+    * al primer producto de todas las maneras posibles, enumera cada prefijo en una tarea independiente
+    * y combina los resultados en el orden de los prefijos.
+    * @param w La matriz de relaciones de productos.
+    * @return El enumerador de la unidad con la mejor permutación.
+    * @throws IllegalStateException si se interrumpe la espera o alguna unidad falla.
+    */
+    private static Enumerador enumeraParallel(int[][] w) {
+        int fi = Math.min(PROFUNDITAT_PARTICIO + 1, w.length);
+        ArrayList<Enumerador> unitats = new ArrayList<>();
+        particiona(new Enumerador(w), 1, fi, 0, unitats);
+        ArrayList<Callable<Void>> tasques = new ArrayList<>();
+        for (Enumerador unitat : unitats) {
+            tasques.add(() -> {
+                unitat.permuta(fi, unitat.parcialPrefix);
+                return null;
+            });
+        }
+        // Si una unitat falla no es pot donar el resultat com a òptim
+        try {
+            for (Future<Void> futur : ForkJoinPool.commonPool().invokeAll(tasques)) futur.get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cerca interrompuda.", e);
+        }
+        catch (ExecutionException e) {
+            throw new IllegalStateException("Error en l'enumeració d'un prefix.", e.getCause());
+        }
+        Enumerador millor = unitats.get(0);
+        for (Enumerador unitat : unitats) {
+            if (unitat.millorCost > millor.millorCost) millor = unitat;
+        }
+        return millor;
+    }
+
+    /**
+    * Crea una unidad de trabajo por cada manera de fijar las posiciones pos..fi-1.
+    * @param plantilla Enumerador cuya permutación se modifica in situ para construir los prefijos.
+    * @param pos Siguiente posición a fijar.
+    * @param fi Primera posición que no se fija.
+    * @param parcial El coste de perm[0..pos-1].
+    * @param unitats Lista donde se añaden las unidades de trabajo.
     */
-    private void checkPermutations(Integer first, ArrayList<Integer> remaining, ArrayList<Integer> current) {
-        if (remaining.isEmpty()) {
-            ArrayList<Integer> perm = new ArrayList<>();
-            perm.add(first);
-            perm.addAll(current);
-            //comprovar perm
-            int tmp = ComputeCost.getCostWithMax(perm, relationMatrix, cost);
-            if (tmp > cost) {
-                cost = tmp;
-                permutacioOptima = perm;
-            }
+    private static void particiona(Enumerador plantilla, int pos, int fi, int parcial, ArrayList<Enumerador> unitats) {
+        int[] perm = plantilla.perm;
+        if (pos >= fi) {
+            unitats.add(new Enumerador(plantilla.w, perm, parcial));
             return;
         }
+        int anterior = perm[pos-1];
+        for (int i = pos; i < perm.length; ++i) {
+            int x = perm[i];
+            perm[i] = perm[pos];
+            perm[pos] = x;
+            particiona(plantilla, pos + 1, fi, parcial + plantilla.w[anterior][x], unitats);
+            perm[pos] = perm[i];
+            perm[i] = x;
+        }
+    }
+
+    /**
+     * Motor de enumeración de permutaciones: genera todas las permutaciones de perm[k..n-1]
+     * intercambiando posiciones in situ y acumulando el coste parcial.
+     */
+    static final class Enumerador {
+      /**
+       * La matriz de relaciones de productos.
+       */
+      private final int[][] w;
+      /**
+       * La permutación actual, que se modifica in situ.
+       */
+      final int[] perm;
+      /**
+       * La mejor permutación encontrada.
+       */
+      final int[] millor;
+      /**
+       * El coste de la mejor permutación encontrada, -1 si todavía no hay ninguna.
+       */
+      int millorCost;
+      /**
+       * El coste del prefijo fijado de la permutación inicial.
+       */
+      final int parcialPrefix;
 
+      /**
+       * Constructor del motor, con la permutación identidad.
+       * @param w La matriz de relaciones de productos.
+       */
+      Enumerador(int[][] w) {
+        this(w, identitat(w.length), 0);
+      }
 
-        for (int i = 0; i < remaining.size(); i++) {
-            // Evitar duplicats si els elements són iguals
-            if (i > 0 && remaining.get(i).equals(remaining.get(i - 1))) {
-                continue;
-            }
+      /**
+       * Constructor del motor a partir de una permutación con un prefijo fijado.
+       * @param w La matriz de relaciones de productos.
+       * @param perm La permutación inicial, que se copia.
+       * @param parcialPrefix El coste del prefijo fijado.
+       */
+      Enumerador(int[][] w, int[] perm, int parcialPrefix) {
+        this.w = w;
+        this.perm = perm.clone();
+        this.parcialPrefix = parcialPrefix;
+        millor = perm.clone();
+        millorCost = -1;
+      }
 
-            ArrayList<Integer> newRemaining = new ArrayList<>(remaining);
-            ArrayList<Integer> newCurrent = new ArrayList<>(current);
+      /**
+       * Crea la permutación identidad.
+       * @param n Número de elementos.
+       * @return El vector 0, 1, ..., n-1.
+       */
+      private static int[] identitat(int n) {
+        int[] perm = new int[n];
+        for (int i = 0; i < n; ++i) perm[i] = i;
+        return perm;
+      }
 
-            newCurrent.add(newRemaining.remove(i));
-            checkPermutations(first, newRemaining, newCurrent);
+      /**
+       * Enumera todas las permutaciones de las posiciones k..n-1 dejando fijas las anteriores.
+       * @param k Primera posición que se permuta (como mínimo 1).
+       * @param parcial El coste de perm[0..k-1].
+       */
+      void permuta(int k, int parcial) {
+        int n = perm.length;
+        if (k >= n) {
+          //cas base: es tanca el cicle
+          int total = n > 1 ? parcial + w[perm[n-1]][perm[0]] : 0;
+          if (total > millorCost) {
+            millorCost = total;
+            System.arraycopy(perm, 0, millor, 0, n);
+          }
+          return;
         }
+        int anterior = perm[k-1];
+        for (int i = k; i < n; ++i) {
+          //fwd
+          int x = perm[i];
+          perm[i] = perm[k];
+          perm[k] = x;
+          //call
+          permuta(k + 1, parcial + w[anterior][x]);
+          //bkwd
+          perm[k] = perm[i];
+          perm[i] = x;
+        }
+      }
     }
 
 
+    /**
+    * Selecciona si la enumeración se reparte entre varios hilos (ForkJoin) o se hace de forma secuencial.
+    * Si el modo cambia, la solución se tendrá que volver a generar.
+    * @param parallel true para usar la versión paralela, false para la secuencial.
+    */
+    public void setParallel(boolean parallel) {
+        if (this.parallel != parallel) solutionReady = false;
+        this.parallel = parallel;
+    }
+
+    /**
+    * Indica si la enumeración se hace en paralelo.
+    * @return true si se usa la versión paralela.
+    */
+    public boolean isParallel() {
+        return parallel;
+    }
+
     /**
     * Recupera la solución de permutación óptima.
     *
@@ -0,0 +1,82 @@
+package algoritmo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import structures.Pair;
+
+/**
+* La clase CandidateLists construye las listas de candidatos de las búsquedas locales: para cada
+* producto, los k productos con los que tiene más relación, de mayor a menor, en un int[][].
+* Las búsquedas que solo prueban movimientos que añaden una relación de estas listas hacen O(k)
+* trabajo por producto en lugar de O(n), de modo que una pasada es casi lineal incluso con
+* decenas de miles de productos.
+*/
+public final class CandidateLists {
+    /**
+     * Número de candidatos por producto que se usa por defecto.
+     */
+    public static final int NUM_CANDIDATS = 10;
+
+    /**
+    * Constructor privado: la clase solo tiene métodos estáticos.
+    */
+    private CandidateLists() {
+    }
+
+    /**
+    * Construye las listas de candidatos a partir de las relaciones ordenadas (por ejemplo las de
+    * Supermercat.getProductRelationsSorted), sin recorrer la matriz.
+    * @param ordenades Las relaciones de cada producto ordenadas de mayor a menor.
+    * @param k Número máximo de candidatos por producto.
+    * @return Para cada producto, los k productos con los que tiene más relación; la fila es más
+    * corta si sus relaciones ordenadas tienen menos productos.
+    * @throws IllegalArgumentException si k no es positivo.
+    */
+    public static int[][] build(ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades, int k) {
+        if (k <= 0) throw new IllegalArgumentException("El nombre de candidats ha de ser positiu.");
+        int n = ordenades.size();
+        int[][] result = new int[n][];
+        for (int i = 0; i < n; ++i) {
+            int[] fila = new int[Math.min(k, n - 1)];
+            int m = 0;
+            for (Pair<Integer, Integer> p : ordenades.get(i)) {
+                if (m == fila.length) break;
+                if (p.getSecond() == i) continue;
+                fila[m++] = p.getSecond();
+            }
+            // Sense retallar, els zeros finals semblarien candidats reals al producte 0
+            result[i] = m < fila.length ? Arrays.copyOf(fila, m) : fila;
+        }
+        return result;
+    }
+
+    /**
+    * Construye las listas de candidatos directamente de la matriz de relaciones, en O(n^2 k) y sin
+    * ordenar las filas enteras. En caso de empate va primero el producto de índice más pequeño.
+    * @param w La matriz de relaciones.
+    * @param k Número máximo de candidatos por producto.
+    * @return Para cada producto, los k productos con los que tiene más relación.
+    * @throws IllegalArgumentException si k no es positivo.
+    */
+    public static int[][] build(int[][] w, int k) {
+        if (k <= 0) throw new IllegalArgumentException("El nombre de candidats ha de ser positiu.");
+        int n = w.length;
+        int[][] result = new int[n][];
+        for (int i = 0; i < n; ++i) {
+            int[] fila = new int[Math.min(k, n - 1)];
+            int m = 0;
+            for (int j = 0; j < n; ++j) {
+                if (j == i || (m == fila.length && w[i][j] <= w[i][fila[m - 1]])) continue;
+                // Inserció ordenada a la llista dels millors, que té com a molt k elements
+                int p = m < fila.length ? m++ : m - 1;
+                while (p > 0 && w[i][fila[p - 1]] < w[i][j]) {
+                    fila[p] = fila[p - 1];
+                    --p;
+                }
+                fila[p] = j;
+            }
+            result[i] = fila;
+        }
+        return result;
+    }
+}
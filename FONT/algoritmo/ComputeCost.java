@@ -51,4 +51,54 @@ public class ComputeCost {
     }
     return acum;
   }
-}
\ No newline at end of file
+
+
+  /**
+  * Calcula el coste total de una disposición representada con arrays primitivos.
+  * Es equivalente a getCost pero sin el coste de desempaquetar los Integer, pensado
+  * para los algoritmos que evalúan muchas disposiciones.
+  *
+  * @param prestatgeria Un array con la secuencia de nodos que se visitarán.
+  * @param adjMatrix La matriz de adyacencia como array de arrays de enteros.
+  * @return El coste total (cíclico) de la disposición.
+  */
+  public static int getCost(int[] prestatgeria, int[][] adjMatrix) {
+    if (prestatgeria.length <= 1) return 0;
+
+    int acum = adjMatrix[prestatgeria[prestatgeria.length-1]][prestatgeria[0]];
+    for (int i = 1; i < prestatgeria.length; ++i) {
+      acum += adjMatrix[prestatgeria[i-1]][prestatgeria[i]];
+    }
+    return acum;
+  }
+
+
+  /**
+  * Convierte una matriz de adyacencia de ArrayLists a un array de arrays de enteros.
+  *
+  * @param adjMatrix La matriz de adyacencia representada como una ArrayList de ArrayLists de enteros.
+  * @return Una copia de la matriz como int[][].
+  */
+  public static int[][] toArray(ArrayList<ArrayList<Integer>> adjMatrix) {
+    int n = adjMatrix.size();
+    int[][] m = new int[n][n];
+    for (int i = 0; i < n; ++i) {
+      ArrayList<Integer> fila = adjMatrix.get(i);
+      for (int j = 0; j < n; ++j) m[i][j] = fila.get(j);
+    }
+    return m;
+  }
+
+
+  /**
+  * Convierte una disposición representada como array a una ArrayList.
+  *
+  * @param prestatgeria La disposición como array de enteros.
+  * @return Una ArrayList con los mismos elementos y en el mismo orden.
+  */
+  public static ArrayList<Integer> toList(int[] prestatgeria) {
+    ArrayList<Integer> result = new ArrayList<>(prestatgeria.length);
+    for (int p : prestatgeria) result.add(p);
+    return result;
+  }
+}
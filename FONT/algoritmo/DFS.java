@@ -17,6 +17,20 @@ public class DFS {
     * @return Una lista de enteros que representa los nodos en el orden en que fueron visitados.
     */
     static public ArrayList<Integer> dfs(ArrayList<ArrayList<Integer>> graph) {
+        //comencem per un producte aleatori
+        Random rnd = new Random();
+        return dfs(graph, rnd.nextInt(graph.size()));
+    }
+
+    /**
+    * Realiza una búsqueda en profundidad (DFS) empezando por un nodo dado.
+    *
+    * @param graph Una lista de adyacencia que representa el gráfico. Cada índice de la lista externa
+    * corresponde a un nodo y las listas internas contienen los nodos adyacentes.
+    * @param first_prod El nodo por el que se empieza.
+    * @return Una lista de enteros que representa los nodos en el orden en que fueron visitados.
+    */
+    static public ArrayList<Integer> dfs(ArrayList<ArrayList<Integer>> graph, int first_prod) {
         //Li arriba un graf amb LLISTA D'ADJACÈNCIES
         ArrayList<Integer> result = new ArrayList<>();
         Stack<Integer> stk = new Stack<>();
@@ -24,10 +38,6 @@ public class DFS {
         for(int i = 0; i < graph.size(); ++i) {
             visited.add(false);
         }
-        
-        //comencem per un producte aleatori
-        Random rnd = new Random();
-        int first_prod = rnd.nextInt(graph.size());
 
         //utilitzem stack per fer dfs
         stk.push(first_prod);
@@ -0,0 +1,64 @@
+package algoritmo;
+
+/**
+* La clase DontLookQueue es la cola de productos pendientes de examinar de una búsqueda local con
+* "don't-look bits": un producto sale de la cola (se activa su bit) cuando se examina sin
+* encontrar ninguna mejora, y vuelve a entrar (se desactiva) cuando un movimiento cambia sus
+* vecinos. Cada producto está como mucho una vez en la cola, así que cabe en un vector circular
+* de n posiciones.
+*/
+public final class DontLookQueue {
+    /**
+     * Vector circular con los productos de la cola.
+     */
+    private final int[] cua;
+    /**
+     * Indica si un producto está en la cola.
+     */
+    private final boolean[] enCua;
+    /**
+     * Índices de cabeza y número de elementos de la cola.
+     */
+    private int cap, mida;
+
+    /**
+    * Constructor de una cola vacía.
+    * @param n Número de productos.
+    */
+    public DontLookQueue(int n) {
+        cua = new int[n];
+        enCua = new boolean[n];
+    }
+
+    /**
+    * Añade un producto a la cola si no estaba (desactiva su don't-look bit).
+    * @param x El producto.
+    */
+    public void push(int x) {
+        if (enCua[x]) return;
+        enCua[x] = true;
+        int p = cap + mida;
+        cua[p >= cua.length ? p - cua.length : p] = x;
+        ++mida;
+    }
+
+    /**
+    * Saca el primer producto de la cola (activa su don't-look bit).
+    * @return El producto.
+    */
+    public int pop() {
+        int x = cua[cap];
+        if (++cap == cua.length) cap = 0;
+        --mida;
+        enCua[x] = false;
+        return x;
+    }
+
+    /**
+    * Indica si la cola está vacía.
+    * @return true si no queda ningún producto por examinar.
+    */
+    public boolean isEmpty() {
+        return mida == 0;
+    }
+}
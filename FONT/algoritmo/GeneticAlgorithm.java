@@ -0,0 +1,592 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import structures.Pair;
+
+/**
+* La clase GeneticAlgorithm implementa la interfaz IAlgoritme con un algoritmo genético de
+* modelo de islas: cada isla es una población independiente que evoluciona en su propio hilo
+* (por defecto, una por núcleo) y cada cierto número de generaciones envía sus mejores
+* individuos a la isla vecina, formando un anillo.
+* Los cromosomas son permutaciones int[], el cruce es el de orden (OX), que conserva la
+* permutación, y la mutación invierte un tramo. Cada isla reserva toda su memoria al empezar
+* (población actual y siguiente, vector de aptitudes y marcas del cruce), de modo que el bucle
+* de generaciones y la evaluación por lotes de la aptitud no crean objetos.
+* La isla 0 incluye la solución de GreedySolutionGenerator y el elitismo garantiza que el
+* resultado nunca es peor que ella.
+*/
+public class GeneticAlgorithm implements IAlgoritme {
+    /**
+     * Tiempo límite por defecto en milisegundos.
+     */
+    public static final long TEMPS_LIMIT_DEFECTE = 5_000;
+    /**
+     * Número de individuos de cada isla.
+     */
+    public static final int MIDA_POBLACIO = 64;
+    /**
+     * Número de mejores individuos que pasan intactos a la siguiente generación.
+     */
+    private static final int NUM_ELITS = 2;
+    /**
+     * Número de individuos que compiten en cada torneo de selección.
+     */
+    private static final int MIDA_TORNEIG = 3;
+    /**
+     * Probabilidad de mutar un hijo.
+     */
+    private static final double PROB_MUTACIO = 0.3;
+    /**
+     * Número de generaciones entre migraciones.
+     */
+    private static final int INTERVAL_MIGRACIO = 25;
+    /**
+     * Número de individuos que emigran en cada migración.
+     */
+    private static final int NUM_MIGRANTS = 2;
+    /**
+     * La instancia única de la clase GeneticAlgorithm.
+     */
+    private static final GeneticAlgorithm instance = new GeneticAlgorithm();
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * Las relaciones de productos ordenadas, para la solución voraz inicial.
+     */
+    private ArrayList<ArrayList<Pair<Integer, Integer>>> relationMatrixSorted;
+    /**
+     * La disposición generada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición generada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private boolean solutionReady;
+    /**
+     * Tiempo límite de la búsqueda en milisegundos.
+     */
+    private long tempsLimit;
+    /**
+     * Número máximo de generaciones de cada isla.
+     */
+    private int maxGeneracions;
+    /**
+     * Número de islas (hilos).
+     */
+    private int numIlles;
+    /**
+     * Semilla del generador aleatorio.
+     */
+    private long seed;
+    /**
+     * Número total de generaciones de la última ejecución, sumando todas las islas.
+     */
+    private long generacions;
+
+    /**
+    * Constructor privado para la clase GeneticAlgorithm.
+    */
+    private GeneticAlgorithm() {
+        reset();
+    }
+
+    /**
+    * Devuelve la instancia singleton de GeneticAlgorithm.
+    *
+    * @return la instancia singleton de GeneticAlgorithm
+    */
+    public static GeneticAlgorithm getInstance() {
+        return instance;
+    }
+
+    /**
+    * Restablece el estado y la configuración de GeneticAlgorithm.
+    */
+    public void reset() {
+        relationMatrix = null;
+        relationMatrixSorted = null;
+        disposicio = null;
+        cost = -1;
+        solutionReady = false;
+        tempsLimit = TEMPS_LIMIT_DEFECTE;
+        maxGeneracions = Integer.MAX_VALUE;
+        numIlles = Runtime.getRuntime().availableProcessors();
+        seed = 0;
+        generacions = 0;
+    }
+
+    /**
+    * Establece el tiempo de búsqueda.
+    * @param millis Tiempo límite en milisegundos.
+    * @throws IllegalArgumentException si el tiempo no es positivo.
+    */
+    public void setTempsLimit(long millis) {
+        if (millis <= 0) throw new IllegalArgumentException("El temps límit ha de ser positiu.");
+        tempsLimit = millis;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el número máximo de generaciones de cada isla. La búsqueda se detiene en cuanto
+    * se llega a este número o se agota el tiempo límite.
+    * @param generacions El número máximo de generaciones.
+    * @throws IllegalArgumentException si el número no es positivo.
+    */
+    public void setMaxGeneracions(int generacions) {
+        if (generacions <= 0) throw new IllegalArgumentException("El nombre de generacions ha de ser positiu.");
+        maxGeneracions = generacions;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el número de islas, cada una en su propio hilo.
+    * @param illes El número de islas.
+    * @throws IllegalArgumentException si el número no es positivo.
+    */
+    public void setNumIlles(int illes) {
+        if (illes <= 0) throw new IllegalArgumentException("El nombre d'illes ha de ser positiu.");
+        numIlles = illes;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece la semilla del generador aleatorio.
+    * @param seed La semilla.
+    */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve el número total de generaciones de la última ejecución, sumando todas las islas.
+    * @return El número de generaciones.
+    */
+    public long getGeneracions() {
+        return generacions;
+    }
+
+    /**
+    * Genera la solución haciendo evolucionar las islas en paralelo.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades = relationMatrixSorted;
+        if (ordenades == null || ordenades.size() != relationMatrix.size()) {
+            ordenades = LinKernighan.sortRelations(relationMatrix);
+        }
+        int[] llavor = GreedySolutionGenerator.solucioInicial(ComputeCost.toArray(relationMatrix), ordenades);
+        int n = llavor.length;
+        generacions = 0;
+
+        // Amb menys de quatre productes totes les disposicions són equivalents
+        if (n < 4) {
+            disposicio = ComputeCost.toList(llavor);
+            cost = ComputeCost.getCost(disposicio, relationMatrix);
+            solutionReady = true;
+            return;
+        }
+
+        // Matriu plana, compartida només en lectura per totes les illes
+        int[] w = new int[n * n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) w[i * n + j] = relationMatrix.get(i).get(j);
+        }
+
+        long fi = System.nanoTime() + tempsLimit * 1_000_000L;
+        SplittableRandom rnd = new SplittableRandom(seed);
+        AtomicBoolean atura = new AtomicBoolean();
+        Illa[] illes = new Illa[numIlles];
+        for (int k = 0; k < numIlles; ++k) {
+            illes[k] = new Illa(w, n, rnd.split(), k == 0 ? llavor : null, fi, maxGeneracions, atura);
+        }
+        for (int k = 0; k < numIlles; ++k) illes[k].veina = illes[(k + 1) % numIlles];
+
+        Thread[] fils = new Thread[numIlles];
+        for (int k = 1; k < numIlles; ++k) {
+            fils[k] = new Thread(illes[k], "GeneticAlgorithm-" + k);
+            fils[k].start();
+        }
+        // El fil que crida també treballa; si falla, les altres illes s'aturen igualment
+        illes[0].run();
+        try {
+            for (int k = 1; k < numIlles; ++k) fils[k].join();
+        }
+        catch (InterruptedException e) {
+            atura.set(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cerca interrompuda.", e);
+        }
+        for (Illa illa : illes) {
+            if (illa.error != null) throw new IllegalStateException("Error en l'evolució d'una illa.", illa.error);
+        }
+
+        Illa millor = illes[0];
+        for (Illa illa : illes) {
+            generacions += illa.generacio;
+            if (illa.millorCost > millor.millorCost) millor = illa;
+        }
+        disposicio = ComputeCost.toList(millor.millorTour);
+        cost = millor.millorCost;
+        solutionReady = true;
+    }
+
+    /**
+     * Una isla: una población que evoluciona en un hilo y recibe emigrantes de la isla anterior
+     * del anillo a través de un buzón.
+     */
+    private static final class Illa implements Runnable {
+      /**
+       * La matriz de relaciones, aplanada.
+       */
+      private final int[] w;
+      /**
+       * Número de productos.
+       */
+      private final int n;
+      /**
+       * Generador aleatorio propio de la isla.
+       */
+      private final SplittableRandom rnd;
+      /**
+       * Instante (System.nanoTime) en el que se acaba el tiempo.
+       */
+      private final long fi;
+      /**
+       * Número máximo de generaciones.
+       */
+      private final int maxGeneracions;
+      /**
+       * Indicador compartido por todas las islas para detenerse si alguna falla.
+       */
+      private final AtomicBoolean atura;
+      /**
+       * Población actual y siguiente, que se intercambian en cada generación.
+       */
+      private int[][] poblacio, seguent;
+      /**
+       * Aptitud (coste) de cada individuo de la población actual y siguiente.
+       */
+      private int[] aptitud, aptitudSeguent;
+      /**
+       * Marcas del cruce: un producto está copiado del primer padre si su marca es la actual.
+       */
+      private final int[] marca;
+      /**
+       * Marca actual del cruce.
+       */
+      private int marcaActual;
+      /**
+       * Índices auxiliares para elegir los mejores y los peores individuos.
+       */
+      private final int[] index;
+      /**
+       * Buzón de inmigrantes, protegido por el monitor de la isla.
+       */
+      private final int[][] bustia;
+      /**
+       * Aptitud de los inmigrantes del buzón.
+       */
+      private final int[] aptitudBustia;
+      /**
+       * Indica si hay inmigrantes pendientes en el buzón.
+       */
+      private boolean bustiaPlena;
+      /**
+       * Isla a la que se envían los emigrantes.
+       */
+      Illa veina;
+      /**
+       * Mejor individuo encontrado por la isla.
+       */
+      final int[] millorTour;
+      /**
+       * Coste del mejor individuo encontrado por la isla.
+       */
+      int millorCost;
+      /**
+       * Número de generaciones completadas.
+       */
+      int generacio;
+      /**
+       * La excepción con la que ha fallado la isla, o null.
+       */
+      volatile Throwable error;
+
+      /**
+       * Constructor de una isla con la población inicial aleatoria.
+       * @param w La matriz de relaciones aplanada.
+       * @param n El número de productos.
+       * @param rnd El generador aleatorio de la isla.
+       * @param llavor Un individuo a incluir en la población inicial, o null.
+       * @param fi Instante en el que se acaba el tiempo.
+       * @param maxGeneracions Número máximo de generaciones.
+       * @param atura Indicador compartido para detener todas las islas.
+       */
+      Illa(int[] w, int n, SplittableRandom rnd, int[] llavor, long fi, int maxGeneracions, AtomicBoolean atura) {
+        this.w = w;
+        this.n = n;
+        this.rnd = rnd;
+        this.fi = fi;
+        this.maxGeneracions = maxGeneracions;
+        this.atura = atura;
+        poblacio = new int[MIDA_POBLACIO][n];
+        seguent = new int[MIDA_POBLACIO][n];
+        aptitud = new int[MIDA_POBLACIO];
+        aptitudSeguent = new int[MIDA_POBLACIO];
+        marca = new int[n];
+        index = new int[Math.max(NUM_ELITS, NUM_MIGRANTS)];
+        bustia = new int[NUM_MIGRANTS][n];
+        aptitudBustia = new int[NUM_MIGRANTS];
+        millorTour = new int[n];
+        millorCost = -1;
+
+        for (int[] individu : poblacio) {
+          for (int i = 0; i < n; ++i) individu[i] = i;
+          for (int i = n - 1; i > 0; --i) swap(individu, i, rnd.nextInt(i + 1));
+        }
+        if (llavor != null) System.arraycopy(llavor, 0, poblacio[0], 0, n);
+        avalua(poblacio, aptitud, 0);
+      }
+
+      /**
+       * Hace evolucionar la población; si falla, guarda la excepción y detiene las demás islas.
+       */
+      @Override
+      public void run() {
+        try {
+          evoluciona();
+        }
+        catch (Throwable e) {
+          error = e;
+          atura.set(true);
+        }
+      }
+
+      /**
+       * Hace evolucionar la población hasta agotar el tiempo o las generaciones, o hasta que
+       * alguna isla falle.
+       */
+      private void evoluciona() {
+        while (generacio < maxGeneracions && System.nanoTime() < fi && !atura.get()) {
+          // Elitisme: els millors passen intactes
+          millors(aptitud, NUM_ELITS);
+          for (int e = 0; e < NUM_ELITS; ++e) {
+            System.arraycopy(poblacio[index[e]], 0, seguent[e], 0, n);
+            aptitudSeguent[e] = aptitud[index[e]];
+          }
+          for (int k = NUM_ELITS; k < MIDA_POBLACIO; ++k) {
+            int[] pare = poblacio[torneig()];
+            int[] mare = poblacio[torneig()];
+            creuament(pare, mare, seguent[k]);
+            if (rnd.nextDouble() < PROB_MUTACIO) mutacio(seguent[k]);
+          }
+          avalua(seguent, aptitudSeguent, NUM_ELITS);
+
+          int[][] p = poblacio; poblacio = seguent; seguent = p;
+          int[] a = aptitud; aptitud = aptitudSeguent; aptitudSeguent = a;
+          ++generacio;
+
+          if (generacio % INTERVAL_MIGRACIO == 0 && veina != this) {
+            millors(aptitud, NUM_MIGRANTS);
+            veina.rep(poblacio, aptitud, index);
+            acull();
+          }
+        }
+      }
+
+      /**
+       * Evalúa por lotes la aptitud de los individuos desde una posición y actualiza el mejor.
+       * @param individus Los individuos.
+       * @param resultat Vector donde se escribe la aptitud de cada individuo.
+       * @param desde Primer individuo a evaluar.
+       */
+      private void avalua(int[][] individus, int[] resultat, int desde) {
+        for (int k = desde; k < individus.length; ++k) {
+          int[] t = individus[k];
+          int c = w[t[n - 1] * n + t[0]];
+          for (int i = 1; i < n; ++i) c += w[t[i - 1] * n + t[i]];
+          resultat[k] = c;
+          if (c > millorCost) {
+            millorCost = c;
+            System.arraycopy(t, 0, millorTour, 0, n);
+          }
+        }
+      }
+
+      /**
+       * Selecciona un individuo por torneo.
+       * @return El índice del ganador.
+       */
+      private int torneig() {
+        int millor = rnd.nextInt(MIDA_POBLACIO);
+        for (int k = 1; k < MIDA_TORNEIG; ++k) {
+          int altre = rnd.nextInt(MIDA_POBLACIO);
+          if (aptitud[altre] > aptitud[millor]) millor = altre;
+        }
+        return millor;
+      }
+
+      /**
+       * Cruce de orden (OX): el hijo hereda un tramo del primer padre en las mismas posiciones
+       * y el resto de productos en el orden en el que aparecen en el segundo padre.
+       * @param pare El primer padre.
+       * @param mare El segundo padre.
+       * @param fill El hijo, que se sobrescribe.
+       */
+      private void creuament(int[] pare, int[] mare, int[] fill) {
+        int a = rnd.nextInt(n);
+        int b = rnd.nextInt(n);
+        if (a > b) { int t = a; a = b; b = t; }
+        ++marcaActual;
+        for (int i = a; i <= b; ++i) {
+          fill[i] = pare[i];
+          marca[pare[i]] = marcaActual;
+        }
+        int pos = (b + 1) % n;
+        for (int k = 1; k <= n; ++k) {
+          int gen = mare[(b + k) % n];
+          if (marca[gen] == marcaActual) continue;
+          fill[pos] = gen;
+          pos = (pos + 1) % n;
+        }
+      }
+
+      /**
+       * Mutación por inversión de un tramo aleatorio.
+       * @param t El individuo.
+       */
+      private void mutacio(int[] t) {
+        int i = rnd.nextInt(n);
+        int j = rnd.nextInt(n);
+        if (i > j) { int x = i; i = j; j = x; }
+        while (i < j) swap(t, i++, j--);
+      }
+
+      /**
+       * Deja en index los k individuos con mayor aptitud, sin ordenar la población.
+       * @param apt La aptitud de la población.
+       * @param k El número de individuos.
+       */
+      private void millors(int[] apt, int k) {
+        for (int e = 0; e < k; ++e) {
+          int millor = -1;
+          for (int i = 0; i < MIDA_POBLACIO; ++i) {
+            boolean escollit = false;
+            for (int f = 0; f < e; ++f) escollit |= index[f] == i;
+            if (!escollit && (millor < 0 || apt[i] > apt[millor])) millor = i;
+          }
+          index[e] = millor;
+        }
+      }
+
+      /**
+       * Recibe emigrantes de otra isla copiándolos en el buzón.
+       * @param origen La población de la isla de origen.
+       * @param apt La aptitud de la población de origen.
+       * @param escollits Los índices de los emigrantes.
+       */
+      synchronized void rep(int[][] origen, int[] apt, int[] escollits) {
+        for (int m = 0; m < NUM_MIGRANTS; ++m) {
+          System.arraycopy(origen[escollits[m]], 0, bustia[m], 0, n);
+          aptitudBustia[m] = apt[escollits[m]];
+        }
+        bustiaPlena = true;
+      }
+
+      /**
+       * Sustituye a los peores individuos por los inmigrantes del buzón, si los hay.
+       */
+      private synchronized void acull() {
+        if (!bustiaPlena) return;
+        for (int m = 0; m < NUM_MIGRANTS; ++m) {
+          int pitjor = 0;
+          for (int i = 1; i < MIDA_POBLACIO; ++i) {
+            if (aptitud[i] < aptitud[pitjor]) pitjor = i;
+          }
+          if (aptitudBustia[m] <= aptitud[pitjor]) continue;
+          System.arraycopy(bustia[m], 0, poblacio[pitjor], 0, n);
+          aptitud[pitjor] = aptitudBustia[m];
+          if (aptitud[pitjor] > millorCost) {
+            millorCost = aptitud[pitjor];
+            System.arraycopy(bustia[m], 0, millorTour, 0, n);
+          }
+        }
+        bustiaPlena = false;
+      }
+
+      /**
+       * Intercambia dos posiciones de un individuo.
+       * @param t El individuo.
+       * @param i Una posición.
+       * @param j Otra posición.
+       */
+      private static void swap(int[] t, int i, int j) {
+        int x = t[i];
+        t[i] = t[j];
+        t[j] = x;
+      }
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Establece las relaciones de productos ordenadas, que usa la solución voraz inicial.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    * @throws IllegalArgumentException si las relaciones ordenadas son nulas o están vacías.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        if (productRelationsSorted == null || productRelationsSorted.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrixSorted = productRelationsSorted;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve la solución. Si la solución aún no se ha generado, la genera.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si la solución aún no se ha generado, la genera.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
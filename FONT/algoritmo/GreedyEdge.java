@@ -0,0 +1,246 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import java.util.ArrayList;
+import java.util.Arrays;
+import structures.Pair;
+
+/**
+* La clase GreedyEdge implementa la interfaz IAlgoritme con la construcción voraz por aristas:
+* recorre las relaciones de mayor a menor y acepta una si los dos productos aún tienen menos de
+* dos vecinos y no cierra un ciclo antes de tiempo (se comprueba con un union-find sobre int[]).
+* Como todos los productos están relacionados entre sí, al acabar las aristas aceptadas forman un
+* único camino, que se cierra para obtener la disposición.
+* Las relaciones se ordenan con counting sort, ya que son enteros en un rango pequeño (de 0 a 100
+* en cada sentido), de modo que el coste total es O(n^2).
+*/
+public class GreedyEdge implements IAlgoritme {
+    /**
+     * Rango máximo de valores para el que se ordena con counting sort.
+     */
+    private static final int MAX_RANG = 1 << 16;
+
+    /**
+     * La instancia única de la clase GreedyEdge.
+     */
+    private static final GreedyEdge instance = new GreedyEdge();
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * La disposición generada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición generada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private boolean solutionReady;
+
+    /**
+    * Constructor privado para la clase GreedyEdge.
+    */
+    private GreedyEdge() {
+        reset();
+    }
+
+    /**
+    * Devuelve la instancia singleton de GreedyEdge.
+    *
+    * @return la instancia singleton de GreedyEdge
+    */
+    public static GreedyEdge getInstance() {
+        return instance;
+    }
+
+    /**
+    * Restablece el estado de GreedyEdge.
+    */
+    public void reset() {
+        relationMatrix = null;
+        disposicio = null;
+        cost = -1;
+        solutionReady = false;
+    }
+
+    /**
+    * Genera la solución.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        int[][] w = ComputeCost.toArray(relationMatrix);
+        int n = w.length;
+        if (n < 3) {
+            // Amb menys de tres productes només hi ha una disposició
+            disposicio = new ArrayList<>();
+            for (int i = 0; i < n; ++i) disposicio.add(i);
+            cost = ComputeCost.getCost(disposicio, relationMatrix);
+            solutionReady = true;
+            return;
+        }
+
+        int[] tour = recorregut(cami(w), w);
+        disposicio = ComputeCost.toList(tour);
+        cost = ComputeCost.getCost(tour, w);
+        solutionReady = true;
+    }
+
+    /**
+    * Ordena las aristas {i, j} de mayor a menor w[i][j] + w[j][i]; en caso de empate quedan en el
+    * orden de (i, j), para que el resultado sea determinista.
+    * @param w La matriz de relaciones.
+    * @return Las aristas ordenadas, codificadas como i * n + j con i &lt; j.
+    */
+    private static int[] ordenaArestes(int[][] w) {
+        int n = w.length;
+        int m = n * (n - 1) / 2;
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int i = 0; i < n; ++i) {
+            for (int j = i + 1; j < n; ++j) {
+                int pes = w[i][j] + w[j][i];
+                if (pes < min) min = pes;
+                if (pes > max) max = pes;
+            }
+        }
+        int[] arestes = new int[m];
+        if ((long) max - min < MAX_RANG) {
+            // Counting sort: primer es compta quantes arestes hi ha de cada pes
+            int[] inici = new int[max - min + 2];
+            for (int i = 0; i < n; ++i) {
+                for (int j = i + 1; j < n; ++j) ++inici[max - (w[i][j] + w[j][i]) + 1];
+            }
+            for (int k = 1; k < inici.length; ++k) inici[k] += inici[k - 1];
+            for (int i = 0; i < n; ++i) {
+                for (int j = i + 1; j < n; ++j) arestes[inici[max - (w[i][j] + w[j][i])]++] = i * n + j;
+            }
+            return arestes;
+        }
+        // Rang massa gran per comptar: s'ordenen les claus (pes invertit, aresta)
+        long[] claus = new long[m];
+        int k = 0;
+        for (int i = 0; i < n; ++i) {
+            for (int j = i + 1; j < n; ++j) claus[k++] = ((long) max - (w[i][j] + w[j][i])) << 32 | (i * n + j);
+        }
+        Arrays.sort(claus);
+        for (k = 0; k < m; ++k) arestes[k] = (int) claus[k];
+        return arestes;
+    }
+
+    /**
+    * Acepta las aristas de mayor a menor relación mientras los dos productos tengan menos de dos
+    * vecinos y no cierren un ciclo.
+    * @param w La matriz de relaciones.
+    * @return Los dos vecinos de cada producto en el camino (-1 en los extremos).
+    */
+    private static int[][] cami(int[][] w) {
+        int n = w.length;
+        int[] arestes = ordenaArestes(w);
+        int[][] veins = new int[2][n];
+        Arrays.fill(veins[0], -1);
+        Arrays.fill(veins[1], -1);
+        int[] pare = new int[n];
+        for (int i = 0; i < n; ++i) pare[i] = i;
+        int acceptades = 0;
+        for (int k = 0; k < arestes.length && acceptades < n - 1; ++k) {
+            int u = arestes[k] / n, v = arestes[k] % n;
+            if (veins[1][u] >= 0 || veins[1][v] >= 0) continue;
+            int ru = find(pare, u), rv = find(pare, v);
+            if (ru == rv) continue;
+            pare[ru] = rv;
+            veins[veins[0][u] < 0 ? 0 : 1][u] = v;
+            veins[veins[0][v] < 0 ? 0 : 1][v] = u;
+            ++acceptades;
+        }
+        return veins;
+    }
+
+    /**
+    * Recorre el camino desde un extremo y devuelve la disposición en el sentido de más coste.
+    * @param veins Los dos vecinos de cada producto en el camino.
+    * @param w La matriz de relaciones.
+    * @return La disposición.
+    */
+    private static int[] recorregut(int[][] veins, int[][] w) {
+        int n = w.length;
+        int extrem = 0;
+        while (veins[1][extrem] >= 0) ++extrem;
+        int[] tour = new int[n];
+        int anterior = -1, actual = extrem;
+        for (int pos = 0; pos < n; ++pos) {
+            tour[pos] = actual;
+            int seguent = veins[0][actual] != anterior ? veins[0][actual] : veins[1][actual];
+            anterior = actual;
+            actual = seguent;
+        }
+        int[] invers = new int[n];
+        for (int i = 0; i < n; ++i) invers[i] = tour[n - 1 - i];
+        return ComputeCost.getCost(invers, w) > ComputeCost.getCost(tour, w) ? invers : tour;
+    }
+
+    /**
+    * Busca el representante de un producto en el union-find.
+    * @param pare Vector de padres del union-find.
+    * @param x El producto.
+    * @return El representante de su componente.
+    */
+    private static int find(int[] pare, int x) {
+        while (pare[x] != x) {
+            pare[x] = pare[pare[x]];
+            x = pare[x];
+        }
+        return x;
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Este algoritmo no necesita las relaciones ordenadas.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    * @throws UnsupportedOperationException siempre.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        throw new UnsupportedOperationException("Not necessary.");
+    }
+
+    /**
+    * Devuelve la solución. Si la solución aún no se ha generado, la genera.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si la solución aún no se ha generado, la genera.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
@@ -2,13 +2,20 @@ package algoritmo;
 
 import interfaces.IAlgoritme;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import structures.Pair;
 
 /**
 * La clase GreedySolutionGenerator implementa un algoritmo voraz para generar una solución
 * para organizar productos en un estante en función de sus relaciones. Sigue el patrón de diseño Singleton
 * para garantizar que solo se cree una instancia de la clase.
+* En modo multiarranque la construcción se repite en paralelo desde varias parejas iniciales,
+* cada una con su propio estado, y se devuelve la mejor disposición.
+* Los algoritmos que parten de la solución voraz usan construeix, que no depende del estado
+* de la instancia.
 */
 public class GreedySolutionGenerator implements IAlgoritme {
     
@@ -24,10 +31,6 @@ public class GreedySolutionGenerator implements IAlgoritme {
      * prestatgeria contiene la solución.
      */
     private ArrayList<Integer> prestatgeria; // Contiene la solución
-    /**
-     * l y r son los índices de la izquierda y derecha de la estantería.
-     */
-    private int l, r;
     /**
      * adjMatrix es la matriz de adyacencia de las relaciones entre productos.
      */
@@ -36,19 +39,119 @@ public class GreedySolutionGenerator implements IAlgoritme {
      * adjMatrix es la matriz de adyacencia de las relaciones entre productos.
      */
     private ArrayList<ArrayList<Integer>> adjMatrix;
-    /**
-     * productosColocados es un ArrayList que indica si un producto ya ha sido colocado.
-     */
-    private ArrayList<Boolean> productosColocados; 
     /**
      * cost es el cost total de la solución.
      */
     private int cost; 
+    /**
+     * Indica si se construye la solución desde varias parejas iniciales en paralelo.
+     */
+    private boolean multiStart;
+    /**
+     * Número de parejas iniciales del modo multiarranque: las numLlavors relaciones más grandes,
+     * o la mejor relación de cada producto si vale 0.
+     */
+    private int numLlavors;
 
     /**
      * La instancia singleton de GreedySolutionGenerator.
      */
     private static final GreedySolutionGenerator instance = new GreedySolutionGenerator();
+
+    /**
+     * Estado de una construcción voraz: la estantería se llena por los dos extremos desde una
+     * pareja inicial. Cada construcción tiene el suyo, de modo que se pueden hacer varias a la vez.
+     */
+    private static final class Execucio {
+      /**
+       * Matriz de relaciones.
+       */
+      private final int[][] w;
+      /**
+       * Productos de cada fila de la matriz ordenados de mayor a menor relación.
+       */
+      private final int[][] ordre;
+      /**
+       * Productos de la estantería, o -1 en las posiciones vacías.
+       */
+      private final int[] prestatgeria;
+      /**
+       * Indica si cada producto ya está colocado.
+       */
+      private final boolean[] colocats;
+      /**
+       * l y r son los índices de la izquierda y derecha de la estantería.
+       */
+      private int l, r;
+
+      /**
+       * Constructor del estado.
+       * @param w Matriz de relaciones.
+       * @param ordre Productos de cada fila ordenados de mayor a menor relación.
+       */
+      Execucio(int[][] w, int[][] ordre) {
+        this.w = w;
+        this.ordre = ordre;
+        prestatgeria = new int[w.length];
+        colocats = new boolean[w.length];
+      }
+
+      /**
+       * Coloca un producto en la posición p.
+       * @param p Posición de la estantería.
+       * @param producte El producto.
+       */
+      private void coloca(int p, int producte) {
+        prestatgeria[p] = producte;
+        colocats[producte] = true;
+      }
+
+      /**
+       * Llena la estantería desde la pareja inicial (a, b): en cada paso añade, por el extremo que
+       * la tenga, la relación más grande entre un extremo y un producto aún no colocado.
+       * @param a Producto inicial de la izquierda.
+       * @param b Producto inicial de la derecha.
+       * @return El coste de la disposición.
+       */
+      int construeix(int a, int b) {
+        int n = w.length;
+        Arrays.fill(prestatgeria, -1);
+        Arrays.fill(colocats, false);
+        coloca(0, a);
+        coloca(1, b);
+        l = n - 1;
+        r = 2 % n;
+        int esquerre = a, dret = b;
+        int posEsquerre = 0, posDret = 0;
+        while (l != r) {
+          // Se salta los productos ya colocados de cada extremo
+          while (colocats[ordre[esquerre][posEsquerre]]) ++posEsquerre;
+          while (colocats[ordre[dret][posDret]]) ++posDret;
+          int candidatEsquerre = ordre[esquerre][posEsquerre];
+          int candidatDret = ordre[dret][posDret];
+          if (w[dret][candidatDret] > w[esquerre][candidatEsquerre]) {
+            coloca(r, candidatDret);
+            dret = candidatDret;
+            posDret = 0;
+            if (++r >= n) r = 0;
+          }
+          else {
+            coloca(l, candidatEsquerre);
+            esquerre = candidatEsquerre;
+            posEsquerre = 0;
+            if (--l < 0) l = n - 1;
+          }
+        }
+        // Añadir el que falta por añadir
+        for (int i = 0; i < n; ++i) {
+          if (!colocats[i]) {
+            coloca(l, i);
+            break;
+          }
+        }
+        return ComputeCost.getCost(prestatgeria, w);
+      }
+    }
     
     /**
     * Constructor privado para la clase GreedySolutionGenerator.
@@ -56,6 +159,8 @@ public class GreedySolutionGenerator implements IAlgoritme {
     */
     private GreedySolutionGenerator() {
         resetSolution();
+        multiStart = false;
+        numLlavors = 0;
     }
 
 
@@ -65,107 +170,75 @@ public class GreedySolutionGenerator implements IAlgoritme {
     private void resetSolution() {
         solutionReady = false;
         cost = -1;
-        l = 0;
-        r = 1;
-    }
-
-
-    /**
-    * Mueve el contador hacia la izquierda disminuyendo su valor.
-    * Si el contador baja a menos de cero, vuelve al último producto.
-    */
-    private void moveCounterLeft() {
-        --l;
-        if (l < 0) l = numProductes - 1;
     }
 
     
     /**
-    * Mueve el contador hacia la derecha incrementando el valor de 'r'.
-    * Si 'r' alcanza o supera el número de productos ('numProductes'),
-    * da la vuelta y restablece 'r' a 0.
-    */
-    private void moveCounterRight() {
-        ++r;
-        if (r >= numProductes) r = 0;
-    }
-
-    /**
-    * Agrega un producto al lado izquierdo del estante en el índice especificado.
+    * Devuelve la instancia singleton de GreedySolutionGenerator.
     *
-    * @param indexProducte el índice del producto que se agregará al estante
+    * @return la instancia singleton de GreedySolutionGenerator
     */
-    private void addProductLeft(Integer indexProducte) {
-        prestatgeria.set(l, indexProducte);
-        productosColocados.set(indexProducte, true);
-        moveCounterLeft();
+    public static GreedySolutionGenerator getInstance() {
+        return instance;
     }
-    
 
     /**
-    * Agrega un producto al lado derecho del estante en el índice especificado.
-    *
-    * @param indexProducte el índice del producto que se agregará al estante
+    * Restablece el estado de GreedySolutionGenerator borrando las matrices de adyacencia. Se utiliza en los tests.
     */
-    private void addProductRight(Integer indexProducte) {
-        prestatgeria.set(r, indexProducte);
-        productosColocados.set(indexProducte, true);
-        moveCounterRight();
+    public void reset() {
+        adjMatrix = null;
+        adjMatrixOrdered = null;
+        prestatgeria = null;
+        cost = -1;
+        solutionReady = false;
+        multiStart = false;
+        numLlavors = 0;
     }
 
 
     /**
-    * Recupera el producto a la izquierda de la posición actual en el estante.
+    * Selecciona si la solución se construye desde varias parejas iniciales en paralelo
+    * (quedándose con la mejor) o solo desde la pareja con más relación.
     *
-    * @return el producto ubicado a la izquierda de la posición actual en el estante.
+    * @param multiStart true para usar el modo multiarranque.
     */
-    private Integer getLeftProduct() {
-        int index = (l + 1) % numProductes; 
-        return prestatgeria.get(index);
+    public void setMultiStart(boolean multiStart) {
+        if (this.multiStart != multiStart) solutionReady = false;
+        this.multiStart = multiStart;
     }
 
 
     /**
-    * Recupera el producto ubicado a la derecha de la posición actual en el estante.
-    * El método asegura que el índice esté dentro del rango válido de productos.
+    * Indica si se usa el modo multiarranque.
     *
-    * @return El producto ubicado a la derecha de la posición actual.
+    * @return true si se construye desde varias parejas iniciales.
     */
-    private Integer getRightProduct() {
-        int index = (r - 1 + numProductes) % numProductes; 
-        return prestatgeria.get(index);
+    public boolean isMultiStart() {
+        return multiStart;
     }
 
 
     /**
-    * Comprueba si un producto está colocado en el estante.
+    * Establece el número de parejas iniciales del modo multiarranque: las numLlavors relaciones
+    * más grandes de la matriz, o la mejor relación de cada producto si vale 0.
     *
-    * @param producte el identificador del producto
-    * @return true si el producto está colocado en el estante, false en caso contrario
+    * @param numLlavors El número de parejas iniciales.
+    * @throws IllegalArgumentException si numLlavors es negativo.
     */
-    private boolean producteEnPrestatgeria(Integer producte) {
-        return productosColocados.get(producte);
+    public void setNumLlavors(int numLlavors) {
+        if (numLlavors < 0) throw new IllegalArgumentException("El nombre de llavors no pot ser negatiu.");
+        if (this.numLlavors != numLlavors) solutionReady = false;
+        this.numLlavors = numLlavors;
     }
 
-    
-    /**
-    * Devuelve la instancia singleton de GreedySolutionGenerator.
-    *
-    * @return la instancia singleton de GreedySolutionGenerator
-    */
-    public static GreedySolutionGenerator getInstance() {
-        return instance;
-    }
 
     /**
-    * Restablece el estado de GreedySolutionGenerator borrando las matrices de adyacencia. Se utiliza en los tests.
+    * Devuelve el número de parejas iniciales del modo multiarranque.
+    *
+    * @return el número de parejas iniciales, o 0 si se usa la mejor relación de cada producto.
     */
-    public void reset() {
-        adjMatrix = null;
-        adjMatrixOrdered = null;
-        prestatgeria = null;
-        cost = -1;
-        solutionReady = false;
+    public int getNumLlavors() {
+        return numLlavors;
     }
 
 
@@ -205,110 +278,170 @@ public class GreedySolutionGenerator implements IAlgoritme {
 
     /**
     * Genera una solución para colocar productos en un estante utilizando un algoritmo voraz.
-    * El método inicializa las variables necesarias y coloca iterativamente los productos
-    * en el estante en función de sus relaciones, con el objetivo de maximizar el coste total de la relación.
+    * El método parte de la pareja de productos con más relación (o, en modo multiarranque, de
+    * varias parejas en paralelo) y coloca iterativamente los productos en los dos extremos del
+    * estante en función de sus relaciones, con el objetivo de maximizar el coste total de la relación.
     *
     * @throws  IllegalStateException si la matriz de adyacencia no está inicializada.
     */
     private void generateSolution() {
-        // Inicializar variables
-        cost = 0;
-        // La estantería está vacía
-        prestatgeria = new ArrayList<>(Collections.nCopies(numProductes, -1));
-        // Asignar que todos los productos estás por colocar
-        productosColocados = new ArrayList<>(Collections.nCopies(numProductes, false));
-
         if (adjMatrix == null || adjMatrix.isEmpty()) {
             throw new IllegalStateException("Matriu d'adjacències no inicialitzada.");
         }
         // Comprueba si la entrada de productos es válida (y los casos base)
         else if (numProductes == 1) {
-            prestatgeria.set(0, 0);
+            prestatgeria = new ArrayList<>(Collections.nCopies(1, 0));
+            cost = 0;
             solutionReady = true;
             return;
         }
         else if (numProductes == 2) {
-            prestatgeria.set(0, 0);
-            prestatgeria.set(1, 1);
+            prestatgeria = new ArrayList<>(Arrays.asList(0, 1));
             cost = adjMatrix.get(0).get(1)*2; // Es relaciona el primer producte amb l'últim dues vegades degut al seu comportament circular
             solutionReady = true;
             return;
         }
 
-        // Quedarse con la relación más grande de entre todos los productos (y los dos productos que la conforman)
-        int relacioMax = -1;
-        Integer indexProducteMax1 = -1;
-        Integer indexProducteMax2 = -1;
-        for (int i = 0; i < numProductes; ++i) {
-            ArrayList<Pair<Integer, Integer>> relacionsProducte = adjMatrixOrdered.get(i);
-            for (Pair<Integer, Integer> relacioPair : relacionsProducte) {
-                int relacio = relacioPair.getFirst();
-                Integer indexProducte1 = i;
-                Integer indexProducte2 = relacioPair.getSecond();
-                
-                if (relacio > relacioMax) {
-                    relacioMax = relacio;
-                    indexProducteMax1 = indexProducte1;
-                    indexProducteMax2 = indexProducte2;
-                }
+        int[][] w = ComputeCost.toArray(adjMatrix);
+        int[][] ordre = ordre(adjMatrixOrdered);
+
+        int[][] llavors = multiStart ? llavors(w, ordre) : new int[][] {relacioMaxima(w, ordre)};
+        int millor = 0;
+        if (llavors.length > 1) {
+            // Cada bloc de llavors reutilitza el seu estat; les construccions són independents
+            int[] costos = new int[llavors.length];
+            int numBlocs = Math.min(llavors.length, 4 * ForkJoinPool.getCommonPoolParallelism());
+            IntStream.range(0, numBlocs).parallel().forEach(bloc -> {
+                Execucio execucio = new Execucio(w, ordre);
+                for (int s = bloc; s < llavors.length; s += numBlocs) costos[s] = execucio.construeix(llavors[s][0], llavors[s][1]);
+            });
+            // En cas d'empat es queda la primera llavor, perquè el resultat sigui determinista
+            for (int s = 1; s < llavors.length; ++s) {
+                if (costos[s] > costos[millor]) millor = s;
             }
         }
+        Execucio execucio = new Execucio(w, ordre);
+        cost = execucio.construeix(llavors[millor][0], llavors[millor][1]);
+        prestatgeria = ComputeCost.toList(execucio.prestatgeria);
+        solutionReady = true;
+    }
 
-        // Añadir a la estantería los productos con mayor relación
-        addProductLeft(indexProducteMax1);
-        addProductRight(indexProducteMax2);
-        // Añadir el coste
-        cost += relacioMax;
-
-        // Ir añadiendo a la estantería los productos con más relación con los que ya están en la estantería
-        int posicioMaxProductLeft = 1;
-        int posicioMaxProductRight = 1;
-        Pair<Integer,Integer> relacioMaxLeftPair = adjMatrixOrdered.get(getLeftProduct()).get(posicioMaxProductLeft);
-        Pair<Integer,Integer> relacioMaxRightPair = adjMatrixOrdered.get(getRightProduct()).get(posicioMaxProductRight);
-        while (l != r) {
-            // Se queda con la relación máxima entre los dos productos que hay en la estantería
-            if (relacioMaxRightPair.getFirst() > relacioMaxLeftPair.getFirst()) {
-                Integer product = relacioMaxRightPair.getSecond();
-                // Añadir el producto a la estantería (si no estaba ya)
-                if (!producteEnPrestatgeria(product)) {
-                    addProductRight(product);
-                    posicioMaxProductRight = 0;
-                    cost += relacioMaxRightPair.getFirst();
-                }
-                else ++posicioMaxProductRight; // Se escoge el siguiente con más relación
-                
-                // Actualizar relacioMaxRightPair
-                relacioMaxRightPair = adjMatrixOrdered.get(getRightProduct()).get(posicioMaxProductRight);
-            }
-            else {
-                Integer product = relacioMaxLeftPair.getSecond();
-                // Añade el producto a la estantería (si no estaba antes)
-                if (!producteEnPrestatgeria(product)) {
-                    addProductLeft(product);
-                    posicioMaxProductLeft = 0;
-                    cost += relacioMaxLeftPair.getFirst();
-                }
-                else ++posicioMaxProductLeft; // Se escoge el siguiente con más relación
-                
-                // Actualizar relacioMaxRightPair
-                relacioMaxLeftPair = adjMatrixOrdered.get(getLeftProduct()).get(posicioMaxProductLeft);
-            }
+
+    /**
+    * Construye la disposición voraz desde la pareja con más relación sin usar el estado de la
+    * instancia, de modo que la pueden llamar a la vez varios algoritmos e hilos sin cambiar la
+    * configuración (por ejemplo, el modo multiarranque) que haya elegido el usuario.
+    *
+    * @param w La matriz de relaciones.
+    * @param ordre Productos de cada fila ordenados de mayor a menor relación.
+    * @return La disposición.
+    */
+    public static int[] construeix(int[][] w, int[][] ordre) {
+        int n = w.length;
+        if (n <= 2) {
+            int[] disposicio = new int[n];
+            for (int i = 0; i < n; ++i) disposicio[i] = i;
+            return disposicio;
         }
+        int[] llavor = relacioMaxima(w, ordre);
+        Execucio execucio = new Execucio(w, ordre);
+        execucio.construeix(llavor[0], llavor[1]);
+        return execucio.prestatgeria;
+    }
 
-        // Añadir el que falta por añadir.
-        for (int i = 0; i < numProductes; ++i) {
-            if (!productosColocados.get(i)) {
-                int leftProd = getLeftProduct();
-                int rightProd = getRightProduct();
-                addProductLeft(i);
 
-                // Añadir el coste que tiene con los dos productos adjacentes (porque es el último en colocar)
-                cost += adjMatrix.get(i).get(leftProd) + adjMatrix.get(i).get(rightProd);
-                break;
-            }
+    /**
+    * Calcula la solución inicial de los algoritmos que mejoran la solución voraz.
+    *
+    * @param w La matriz de relaciones.
+    * @param ordenades Las relaciones de cada producto ordenadas de mayor a menor.
+    * @return La disposición voraz.
+    */
+    static int[] solucioInicial(int[][] w, ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades) {
+        return construeix(w, ordre(ordenades));
+    }
+
+
+    /**
+    * Extrae de las relaciones ordenadas los productos de cada fila, de mayor a menor relación.
+    *
+    * @param ordenades Las relaciones de cada producto ordenadas de mayor a menor.
+    * @return Los productos de cada fila ordenados.
+    */
+    private static int[][] ordre(ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades) {
+        int[][] ordre = new int[ordenades.size()][];
+        for (int i = 0; i < ordre.length; ++i) {
+            ArrayList<Pair<Integer, Integer>> relacionsProducte = ordenades.get(i);
+            ordre[i] = new int[relacionsProducte.size()];
+            for (int k = 0; k < ordre[i].length; ++k) ordre[i][k] = relacionsProducte.get(k).getSecond();
         }
+        return ordre;
+    }
 
-        solutionReady = true;
+
+    /**
+    * Busca la relación más grande de entre todos los productos.
+    *
+    * @param w La matriz de relaciones.
+    * @param ordre Productos de cada fila ordenados de mayor a menor relación.
+    * @return Los dos productos que la conforman.
+    */
+    private static int[] relacioMaxima(int[][] w, int[][] ordre) {
+        int[] llavor = null;
+        for (int i = 0; i < w.length; ++i) {
+            int j = millorVei(i, ordre);
+            if (llavor == null || w[i][j] > w[llavor[0]][llavor[1]]) llavor = new int[] {i, j};
+        }
+        return llavor;
+    }
+
+
+    /**
+    * Devuelve el producto con más relación con un producto dado.
+    *
+    * @param i El producto.
+    * @param ordre Productos de cada fila ordenados de mayor a menor relación.
+    * @return El producto, distinto de i, con más relación con él.
+    */
+    private static int millorVei(int i, int[][] ordre) {
+        return ordre[i][0] != i ? ordre[i][0] : ordre[i][1];
+    }
+
+
+    /**
+    * Calcula las parejas iniciales del modo multiarranque. Si numLlavors vale 0, la mejor
+    * relación de cada producto (sin repetir las parejas que son la mejor de los dos productos);
+    * si no, las numLlavors relaciones más grandes de la matriz, de mayor a menor.
+    *
+    * @param w La matriz de relaciones.
+    * @param ordre Productos de cada fila ordenados de mayor a menor relación.
+    * @return Las parejas iniciales.
+    */
+    private int[][] llavors(int[][] w, int[][] ordre) {
+        int n = w.length;
+        ArrayList<int[]> llavors = new ArrayList<>();
+        if (numLlavors == 0) {
+            for (int i = 0; i < n; ++i) {
+                int j = millorVei(i, ordre);
+                if (j < i && millorVei(j, ordre) == i) continue;
+                llavors.add(new int[] {i, j});
+            }
+        }
+        else {
+            // Les numLlavors relacions més grans són entre les numLlavors primeres de cada fila
+            for (int i = 0; i < n; ++i) {
+                int afegides = 0;
+                for (int k = 0; k < ordre[i].length && afegides < numLlavors; ++k) {
+                    if (ordre[i][k] == i) continue;
+                    llavors.add(new int[] {i, ordre[i][k]});
+                    ++afegides;
+                }
+            }
+            llavors.sort((x, y) -> w[x[0]][x[1]] != w[y[0]][y[1]] ? Integer.compare(w[y[0]][y[1]], w[x[0]][x[1]])
+                    : x[0] != y[0] ? Integer.compare(x[0], y[0]) : Integer.compare(x[1], y[1]));
+            if (llavors.size() > numLlavors) llavors.subList(numLlavors, llavors.size()).clear();
+        }
+        return llavors.toArray(new int[0][]);
     }
 
 
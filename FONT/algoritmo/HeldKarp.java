@@ -0,0 +1,211 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import java.util.ArrayList;
+import java.util.Arrays;
+import structures.Pair;
+
+
+/**
+* La clase HeldKarp implementa la interfaz IAlgoritme y proporciona un algoritmo exacto
+* de programación dinámica sobre subconjuntos (Held-Karp) para resolver el problema de
+* la disposición de productos en un supermercado.
+* Fija el producto 0 al inicio de la estantería y calcula, para cada subconjunto de productos
+* colocados y cada último producto, el mejor coste parcial. El tiempo es O(2^n * n^2) y la
+* memoria O(2^n * n), por lo que resulta útil hasta unos 22 productos.
+*/
+public class HeldKarp implements IAlgoritme {
+    /**
+     * Número máximo de productos que admite el algoritmo (limitado por la memoria de la tabla).
+     */
+    public static final int MAX_PRODUCTES = 22;
+    /**
+     * Valor que marca un estado de la tabla todavía no alcanzado.
+     */
+    private static final int NO_VISITAT = Integer.MIN_VALUE;
+    /**
+     * La instancia única de la clase HeldKarp.
+     */
+    private static final HeldKarp instance = new HeldKarp();
+    /**
+     * La disposición óptima generada por el algoritmo.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición óptima.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución óptima está lista.
+     */
+    private boolean solutionReady;
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+
+    /**
+    * Constructor privado para la clase HeldKarp.
+    */
+    private HeldKarp() {
+        cost = -1;
+        solutionReady = false;
+    }
+
+    /**
+    * Restablece el estado de HeldKarp.
+    */
+    public void reset() {
+        disposicio = null;
+        relationMatrix = null;
+        cost = -1;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve la instancia singleton de HeldKarp.
+    *
+    * @return la instancia singleton de HeldKarp
+    */
+    public static HeldKarp getInstance() {
+        return instance;
+    }
+
+    /**
+    * Genera la solución óptima rellenando la tabla de programación dinámica y
+    * reconstruyendo después el camino a partir de ella.
+    * @throws IllegalStateException si la matriz de relación es nula o está vacía,
+    * o si tiene más productos de los que admite el algoritmo.
+    */
+    private void generateSolution() {
+      if (relationMatrix == null || relationMatrix.isEmpty()) {
+        throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+      }
+
+      int n = relationMatrix.size();
+      if (n > MAX_PRODUCTES) {
+        throw new IllegalStateException("HeldKarp només admet fins a " + MAX_PRODUCTES + " productes.");
+      }
+
+      if (n == 1) {
+        disposicio = new ArrayList<>();
+        disposicio.add(0);
+        cost = 0;
+        solutionReady = true;
+        return;
+      }
+
+      int[][] w = ComputeCost.toArray(relationMatrix);
+
+      // El producte 0 queda fixat a l'inici; el bit j de la màscara representa el producte j+1
+      int m = n - 1;
+      int full = (1 << m) - 1;
+      int[] dp = new int[(full + 1) * m];
+      Arrays.fill(dp, NO_VISITAT);
+      for (int j = 0; j < m; ++j) {
+        dp[(1 << j) * m + j] = w[0][j + 1];
+      }
+
+      for (int mask = 1; mask <= full; ++mask) {
+        int base = mask * m;
+        for (int j = 0; j < m; ++j) {
+          int actual = dp[base + j];
+          if (actual == NO_VISITAT) continue;
+          int[] fila = w[j + 1];
+          for (int k = 0; k < m; ++k) {
+            if ((mask & (1 << k)) != 0) continue;
+            int idx = (mask | (1 << k)) * m + k;
+            int candidat = actual + fila[k + 1];
+            if (candidat > dp[idx]) dp[idx] = candidat;
+          }
+        }
+      }
+
+      // Tancar el cicle tornant al producte 0
+      int best = NO_VISITAT;
+      int last = -1;
+      for (int j = 0; j < m; ++j) {
+        int total = dp[full * m + j] + w[j + 1][0];
+        if (total > best) {
+          best = total;
+          last = j;
+        }
+      }
+
+      // Reconstruir el camí enrere buscant el predecessor que dóna el valor de la taula
+      int[] cami = new int[n];
+      cami[0] = 0;
+      int mask = full;
+      for (int pos = n - 1; pos >= 1; --pos) {
+        cami[pos] = last + 1;
+        int prevMask = mask & ~(1 << last);
+        if (prevMask != 0) {
+          int valor = dp[mask * m + last];
+          for (int i = 0; i < m; ++i) {
+            if ((prevMask & (1 << i)) == 0) continue;
+            int prev = dp[prevMask * m + i];
+            if (prev != NO_VISITAT && prev + w[i + 1][last + 1] == valor) {
+              last = i;
+              break;
+            }
+          }
+        }
+        mask = prevMask;
+      }
+
+      disposicio = ComputeCost.toList(cami);
+      cost = best;
+      solutionReady = true;
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * No puede ser nula o estar vacía.
+    * @throws IllegalArgumentException si la matriz productRelations es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        solutionReady = false;
+        relationMatrix = productRelations;
+        cost = -1;
+    }
+
+    /**
+    * Recupera la solución de permutación óptima.
+    * @return Una lista de enteros que representa la solución de permutación óptima.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si la solución no está lista, primero genera la solución.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) {
+            generateSolution();
+        }
+        return cost;
+    }
+
+    /**
+    * Este método tiene como objetivo establecer las relaciones de productos de manera ordenada,
+    * funcionalidad no necesaria para este algoritmo.
+    * @param productRelationsSorted Una ArrayList anidada que contiene pares de números enteros
+    * que representan las relaciones de productos ordenadas.
+    * @throws UnsupportedOperationException Siempre se genera ya que este método no es necesario.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        throw new UnsupportedOperationException("Not necessary.");
+    }
+}
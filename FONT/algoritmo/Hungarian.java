@@ -0,0 +1,101 @@
+package algoritmo;
+
+import java.util.Arrays;
+
+/**
+* La clase Hungarian resuelve el problema de asignación de máximo peso con el algoritmo húngaro
+* (versión con potenciales, O(n^3)) sobre arrays primitivos.
+* Aplicado a la matriz de relaciones prohibiendo que un producto se asigne a sí mismo, da un
+* recubrimiento por ciclos de máximo peso: cada producto elige un sucesor y los sucesores
+* forman ciclos disjuntos que cubren todos los productos.
+*/
+public class Hungarian {
+    /**
+     * Coste que se usa para prohibir una asignación.
+     */
+    private static final long PROHIBIT = Long.MAX_VALUE / 4;
+
+    /**
+    * Calcula la asignación de máximo peso.
+    *
+    * @param w Matriz cuadrada de pesos.
+    * @param senseDiagonal Si es true, ninguna fila se asigna a su propia columna.
+    * @return Un vector succ en el que succ[i] es la columna asignada a la fila i.
+    * @throws IllegalArgumentException si la matriz está vacía o, sin diagonal, tiene un solo elemento.
+    */
+    public static int[] maxAssignment(int[][] w, boolean senseDiagonal) {
+        int n = w.length;
+        if (n == 0 || (senseDiagonal && n == 1)) {
+            throw new IllegalArgumentException("No hi ha cap assignació possible.");
+        }
+        int max = 0;
+        for (int[] fila : w) {
+            for (int x : fila) max = Math.max(max, x);
+        }
+        // Es minimitza max - w, que és no negatiu (índexs des d'1 com al mètode clàssic)
+        long[] u = new long[n + 1];
+        long[] v = new long[n + 1];
+        int[] p = new int[n + 1];
+        int[] way = new int[n + 1];
+        long[] minv = new long[n + 1];
+        boolean[] used = new boolean[n + 1];
+        for (int i = 1; i <= n; ++i) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Long.MAX_VALUE);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                int[] fila = w[i0 - 1];
+                long ui0 = u[i0];
+                long delta = Long.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= n; ++j) {
+                    if (used[j]) continue;
+                    long cost = (senseDiagonal && i0 == j) ? PROHIBIT : (long) max - fila[j - 1];
+                    long cur = cost - ui0 - v[j];
+                    if (cur < minv[j]) {
+                        minv[j] = cur;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= n; ++j) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    }
+                    else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+        int[] succ = new int[n];
+        for (int j = 1; j <= n; ++j) succ[p[j] - 1] = j - 1;
+        return succ;
+    }
+
+    /**
+    * Calcula el peso de una asignación.
+    *
+    * @param w Matriz cuadrada de pesos.
+    * @param succ La asignación.
+    * @return La suma de w[i][succ[i]].
+    */
+    public static int weight(int[][] w, int[] succ) {
+        int total = 0;
+        for (int i = 0; i < succ.length; ++i) total += w[i][succ[i]];
+        return total;
+    }
+}
@@ -0,0 +1,459 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import interfaces.ITour;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import structures.Pair;
+
+/**
+* La clase IteratedLocalSearch implementa la interfaz IAlgoritme con una búsqueda local iterada
+* con presupuesto de tiempo. Parte de la solución de GreedySolutionGenerator, la lleva a un óptimo
+* local con 2-opt y Or-opt (con listas de candidatos) y a partir de ahí repite:
+* - Perturba la disposición actual con un double-bridge aleatorio: la corta en cuatro tramos
+*   A B C D y la recompone como A C B D, un cambio que 2-opt y Or-opt no deshacen fácilmente.
+*   Los tramos B y C son cortos, de modo que la perturbación es local.
+* - Reoptimiza solo alrededor de las relaciones cambiadas: las búsquedas locales empiezan con los
+*   extremos del double-bridge en la cola de don't-look bits.
+* - Acepta o rechaza el resultado según el criterio configurado; si lo rechaza, deshace los
+*   movimientos en orden inverso, de modo que cada iteración cuesta lo que cuestan sus movimientos
+*   y no O(n).
+* Como los movimientos suponen una matriz simétrica, se trabaja con w[i][j] = r[i][j] + r[j][i]
+* y al final se elige el sentido de la disposición que más coste da con las relaciones originales.
+*/
+public class IteratedLocalSearch implements IAlgoritme {
+    /**
+     * Criterios de aceptación de la disposición perturbada y reoptimizada.
+     */
+    public enum Acceptance {
+        /**
+         * Solo se acepta si mejora el coste de la disposición actual.
+         */
+        BETTER,
+        /**
+         * Se acepta si no empeora el coste, de modo que la búsqueda se puede mover por mesetas.
+         */
+        BETTER_OR_EQUAL,
+        /**
+         * Se acepta siempre (paseo aleatorio entre óptimos locales); la mejor disposición se
+         * guarda aparte.
+         */
+        ALWAYS
+    }
+
+    /**
+     * Tiempo límite por defecto en milisegundos.
+     */
+    public static final long TEMPS_LIMIT_DEFECTE = 5_000;
+    /**
+     * Longitud máxima de los tramos que intercambia el double-bridge.
+     */
+    public static final int MAX_LONGITUD_TRAM = 50;
+    /**
+     * Número mínimo de productos para perturbar; con menos solo se aplica la búsqueda local.
+     */
+    private static final int MIN_PRODUCTES = 8;
+    /**
+     * Número de iteraciones entre consultas del reloj.
+     */
+    private static final int ITERACIONS_PER_CONSULTA = 16;
+    /**
+     * La instancia única de la clase IteratedLocalSearch.
+     */
+    private static final IteratedLocalSearch instance = new IteratedLocalSearch();
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * Las relaciones de productos ordenadas, para la solución inicial.
+     */
+    private ArrayList<ArrayList<Pair<Integer, Integer>>> relationMatrixSorted;
+    /**
+     * La disposición generada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición generada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private boolean solutionReady;
+    /**
+     * Tiempo límite de la búsqueda en milisegundos.
+     */
+    private long tempsLimit;
+    /**
+     * Número máximo de perturbaciones.
+     */
+    private long maxIteracions;
+    /**
+     * Semilla del generador aleatorio.
+     */
+    private long seed;
+    /**
+     * Criterio de aceptación.
+     */
+    private Acceptance acceptance;
+
+    /**
+    * Constructor privado para la clase IteratedLocalSearch.
+    */
+    private IteratedLocalSearch() {
+        reset();
+    }
+
+    /**
+    * Devuelve la instancia singleton de IteratedLocalSearch.
+    *
+    * @return la instancia singleton de IteratedLocalSearch
+    */
+    public static IteratedLocalSearch getInstance() {
+        return instance;
+    }
+
+    /**
+    * Restablece el estado y la configuración de IteratedLocalSearch.
+    */
+    public void reset() {
+        relationMatrix = null;
+        relationMatrixSorted = null;
+        disposicio = null;
+        cost = -1;
+        solutionReady = false;
+        tempsLimit = TEMPS_LIMIT_DEFECTE;
+        maxIteracions = Long.MAX_VALUE;
+        seed = 0;
+        acceptance = Acceptance.BETTER_OR_EQUAL;
+    }
+
+    /**
+    * Establece el tiempo de búsqueda.
+    * @param millis Tiempo límite en milisegundos.
+    * @throws IllegalArgumentException si el tiempo no es positivo.
+    */
+    public void setTempsLimit(long millis) {
+        if (millis <= 0) throw new IllegalArgumentException("El temps límit ha de ser positiu.");
+        tempsLimit = millis;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el número máximo de perturbaciones; la búsqueda acaba al llegar a él o al agotar
+    * el tiempo, lo que pase antes.
+    * @param iteracions El número máximo de perturbaciones.
+    * @throws IllegalArgumentException si el número no es positivo.
+    */
+    public void setMaxIteracions(long iteracions) {
+        if (iteracions <= 0) throw new IllegalArgumentException("El nombre d'iteracions ha de ser positiu.");
+        maxIteracions = iteracions;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece la semilla del generador aleatorio.
+    * @param seed La semilla.
+    */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el criterio de aceptación.
+    * @param acceptance El criterio.
+    * @throws IllegalArgumentException si el criterio es nulo.
+    */
+    public void setAcceptance(Acceptance acceptance) {
+        if (acceptance == null) throw new IllegalArgumentException("Criteri d'acceptació no vàlid.");
+        this.acceptance = acceptance;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve el criterio de aceptación.
+    * @return El criterio.
+    */
+    public Acceptance getAcceptance() {
+        return acceptance;
+    }
+
+    /**
+    * Genera la solución partiendo de la del algoritmo voraz.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        long limit = System.nanoTime() + tempsLimit * 1_000_000L;
+        int n = relationMatrix.size();
+
+        ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades = relationMatrixSorted;
+        if (ordenades == null || ordenades.size() != n) ordenades = LinKernighan.sortRelations(relationMatrix);
+        int[][] original = ComputeCost.toArray(relationMatrix);
+        int[] tour = GreedySolutionGenerator.solucioInicial(original, ordenades);
+
+        int[][] w = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) w[i][j] = original[i][j] + original[j][i];
+        }
+        if (n >= MIN_PRODUCTES) tour = cerca(tour, w, limit);
+        else if (n >= 4) new TwoOpt().improve(tour, w);
+
+        // Es tria el sentit de la disposició que dona més cost amb les relacions originals
+        int[] invers = new int[n];
+        for (int i = 0; i < n; ++i) invers[i] = tour[n - 1 - i];
+        if (ComputeCost.getCost(invers, original) > ComputeCost.getCost(tour, original)) tour = invers;
+        disposicio = ComputeCost.toList(tour);
+        cost = ComputeCost.getCost(tour, original);
+        solutionReady = true;
+    }
+
+    /**
+    * Bucle principal de la búsqueda local iterada.
+    * @param inicial La disposición inicial.
+    * @param w La matriz de relaciones simetrizada.
+    * @param limit Instante (System.nanoTime) en el que se acaba el tiempo.
+    * @return La mejor disposición encontrada.
+    */
+    private int[] cerca(int[] inicial, int[][] w, long limit) {
+        int n = inicial.length;
+        int[][] candidats = CandidateLists.build(w, CandidateLists.NUM_CANDIDATS);
+        TwoOpt twoOpt = new TwoOpt(candidats);
+        OrOpt orOpt = new OrOpt(candidats);
+        TourRegistrat t = new TourRegistrat(TwoOpt.creaTour(inicial));
+        DontLookQueue cua = new DontLookQueue(n);
+        SplittableRandom rnd = new SplittableRandom(seed);
+
+        for (int x : inicial) cua.push(x);
+        int actual = ComputeCost.getCost(inicial, w) + milloraLocal(t, w, twoOpt, orOpt, cua, null);
+        int millor = actual;
+        int[] millorTour = t.toArray();
+        int[] extrems = new int[8];
+        int maxTram = Math.min(MAX_LONGITUD_TRAM, (n - 2) / 3);
+
+        for (long it = 0; it < maxIteracions; ++it) {
+            if (it % ITERACIONS_PER_CONSULTA == 0 && System.nanoTime() >= limit) break;
+            t.buida();
+            int candidat = actual + doubleBridge(t, w, rnd, maxTram, extrems);
+            for (int x : extrems) cua.push(x);
+            candidat += milloraLocal(t, w, twoOpt, orOpt, cua, extrems);
+
+            boolean accepta;
+            if (acceptance == Acceptance.BETTER) accepta = candidat > actual;
+            else if (acceptance == Acceptance.BETTER_OR_EQUAL) accepta = candidat >= actual;
+            else accepta = true;
+            if (!accepta) {
+                t.desfes();
+                continue;
+            }
+            actual = candidat;
+            if (actual > millor) {
+                millor = actual;
+                millorTour = t.toArray();
+            }
+        }
+        return millorTour;
+    }
+
+    /**
+    * Aplica 2-opt y después Or-opt a partir de los productos de la cola, y repite mientras Or-opt
+    * mejore.
+    * @param t La disposición.
+    * @param w La matriz de relaciones simetrizada.
+    * @param twoOpt La búsqueda 2-opt.
+    * @param orOpt La búsqueda Or-opt.
+    * @param cua Los productos pendientes de examinar por 2-opt.
+    * @param extrems Los productos con los que empieza Or-opt, o null para empezar con todos.
+    * @return La mejora total del coste.
+    */
+    private static int milloraLocal(ITour t, int[][] w, TwoOpt twoOpt, OrOpt orOpt, DontLookQueue cua, int[] extrems) {
+        int n = w.length;
+        int total = 0;
+        while (true) {
+            total += twoOpt.improve(t, w, cua);
+            if (extrems == null) {
+                for (int x = 0; x < n; ++x) cua.push(x);
+            }
+            else {
+                for (int x : extrems) cua.push(x);
+            }
+            int guany = orOpt.improve(t, w, cua);
+            if (guany <= 0) return total;
+            total += guany;
+            // Els moviments d'Or-opt poden haver obert millores 2-opt al voltant dels extrems
+            if (extrems == null) {
+                for (int x = 0; x < n; ++x) cua.push(x);
+            }
+            else {
+                for (int x : extrems) cua.push(x);
+            }
+        }
+    }
+
+    /**
+    * Aplica un double-bridge aleatorio: elige un producto x y dos tramos consecutivos B = (x, y] y
+    * C = (y, z] de como mucho maxTram productos, y coloca C delante de B.
+    * @param t La disposición.
+    * @param w La matriz de relaciones simetrizada.
+    * @param rnd El generador aleatorio.
+    * @param maxTram Longitud máxima de los tramos.
+    * @param extrems Vector donde se devuelven los ocho productos de las relaciones cambiadas.
+    * @return La variación del coste.
+    */
+    private static int doubleBridge(ITour t, int[][] w, SplittableRandom rnd, int maxTram, int[] extrems) {
+        int x = rnd.nextInt(w.length);
+        int y = x;
+        for (int k = 1 + rnd.nextInt(maxTram); k > 0; --k) y = t.next(y);
+        int z = y;
+        for (int k = 1 + rnd.nextInt(maxTram); k > 0; --k) z = t.next(z);
+        int s1 = t.next(x), q = t.next(y), b = t.next(z);
+        extrems[0] = x;
+        extrems[1] = s1;
+        extrems[2] = y;
+        extrems[3] = q;
+        extrems[4] = z;
+        extrems[5] = b;
+        extrems[6] = t.prev(x);
+        extrems[7] = t.next(b);
+        int delta = w[x][q] + w[z][s1] + w[y][b] - w[x][s1] - w[y][q] - w[z][b];
+        // A B C D passa a A C B D: és moure el tram B, sense invertir, entre z i b
+        OrOpt.mouTram(t, x, s1, y, q, z, b, false);
+        return delta;
+    }
+
+    /**
+    * Disposición que anota los movimientos 2-opt que se le aplican, para poder deshacerlos.
+    * Deshacer flip(a, b, c, d) es flip(a, c, b, d): después del movimiento c es el vecino de a y
+    * d el de b en el mismo sentido.
+    */
+    private static final class TourRegistrat implements ITour {
+        /**
+         * La disposición.
+         */
+        private final ITour tour;
+        /**
+         * Los cuatro productos de cada movimiento anotado.
+         */
+        private int[] moviments = new int[64];
+        /**
+         * Número de productos anotados (cuatro por movimiento).
+         */
+        private int mida;
+
+        /**
+        * Constructor.
+        * @param tour La disposición.
+        */
+        TourRegistrat(ITour tour) {
+            this.tour = tour;
+        }
+
+        /**
+        * Olvida los movimientos anotados.
+        */
+        void buida() {
+            mida = 0;
+        }
+
+        /**
+        * Deshace los movimientos anotados, del último al primero.
+        */
+        void desfes() {
+            while (mida > 0) {
+                mida -= 4;
+                tour.flip(moviments[mida], moviments[mida + 2], moviments[mida + 1], moviments[mida + 3]);
+            }
+        }
+
+        @Override
+        public int next(int x) {
+            return tour.next(x);
+        }
+
+        @Override
+        public int prev(int x) {
+            return tour.prev(x);
+        }
+
+        @Override
+        public boolean between(int a, int b, int c) {
+            return tour.between(a, b, c);
+        }
+
+        @Override
+        public void flip(int a, int b, int c, int d) {
+            if (mida + 4 > moviments.length) moviments = Arrays.copyOf(moviments, 2 * moviments.length);
+            moviments[mida++] = a;
+            moviments[mida++] = b;
+            moviments[mida++] = c;
+            moviments[mida++] = d;
+            tour.flip(a, b, c, d);
+        }
+
+        @Override
+        public int[] toArray() {
+            return tour.toArray();
+        }
+
+        @Override
+        public ArrayList<Integer> toList() {
+            return tour.toList();
+        }
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Establece las relaciones ordenadas, que usa el algoritmo voraz de la solución inicial.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    * @throws IllegalArgumentException si las relaciones son nulas o están vacías.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        if (productRelationsSorted == null || productRelationsSorted.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrixSorted = productRelationsSorted;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Devuelve la solución. Si la solución aún no se ha generado, la genera.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si la solución aún no se ha generado, la genera.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
@@ -0,0 +1,281 @@
+package algoritmo;
+
+import interfaces.IUpperBound;
+import java.util.Arrays;
+
+/**
+* La clase LagrangianBound es la cota de Held-Karp: un 1-árbol de expansión máximo con penalizaciones
+* de Lagrange en los nodos. El camino que falta (de last, por todos los pendientes, hasta first) con
+* los pesos w(u, v) - pi[u] - pi[v] pesa exactamente su coste menos 2 * (suma de pi de los pendientes),
+* porque cada pendiente tiene grado 2; y como camino es un árbol de los pendientes más una arista desde
+* last y otra hasta first, no pesa más que el 1-árbol máximo con esos pesos. Así, para cualquier pi,
+* 1-árbol penalizado + 2 * suma(pi) es una cota superior.
+* En prepare() se optimizan las penalizaciones con el método del subgradiente sobre el recorrido
+* completo (la cota de la raíz, que queda en getCotaArrel()); después bound() parte de esas
+* penalizaciones en cada nodo y, si la búsqueda indica a partir de qué valor poda, hace unas pocas
+* iteraciones más sobre los pendientes hasta que la cota baja de ese valor. Cada iteración es un
+* Prim denso en O(k^2) que no reserva memoria.
+* Entre pendientes se usa max(w[u][v], w[v][u]), así que la cota es válida en matrices no simétricas.
+* Después de prepare() solo se leen datos compartidos y se puede consultar desde varios hilos.
+*/
+public class LagrangianBound implements IUpperBound {
+    /**
+     * Número máximo de iteraciones del subgradiente en la raíz.
+     */
+    private static final int MAX_ITERACIONS = 1000;
+    /**
+     * Iteraciones sin mejorar la cota después de las cuales se reduce el paso a la mitad.
+     */
+    private static final int ITERACIONS_SENSE_MILLORA = 20;
+    /**
+     * Factor del paso por debajo del cual se deja de optimizar.
+     */
+    private static final double LAMBDA_MINIMA = 1e-4;
+    /**
+     * Tolerancia del redondeo de la cota a entero.
+     */
+    private static final double EPSILON = 1e-6;
+    /**
+     * Número máximo de iteraciones del subgradiente en cada nodo de la búsqueda.
+     */
+    private static final int ITERACIONS_NODE = 10;
+
+    /**
+     * Matriz de relaciones entre productos.
+     */
+    private int[][] relations;
+    /**
+     * Peso de cada arista sin dirección: max(w[u][v], w[v][u]).
+     */
+    private double[][] simetrica;
+    /**
+     * Penalizaciones de Lagrange de cada producto.
+     */
+    private double[] pi;
+    /**
+     * Cota de la raíz: el coste de cualquier disposición completa no la supera.
+     */
+    private int cotaArrel;
+    /**
+     * Vectores auxiliares de cada hilo.
+     */
+    private final ThreadLocal<Auxiliar> scratch = ThreadLocal.withInitial(Auxiliar::new);
+
+    /**
+     * Vectores auxiliares de una evaluación de la cota.
+     */
+    private static final class Auxiliar {
+      /**
+       * Copia de los productos pendientes, que Prim reordena.
+       */
+      int[] nodes = new int[0];
+      /**
+       * Mejor peso de cada producto con el árbol.
+       */
+      double[] best = new double[0];
+      /**
+       * Producto del árbol que da el mejor peso.
+       */
+      int[] parent = new int[0];
+      /**
+       * Penalizaciones de los pendientes durante las iteraciones de un nodo.
+       */
+      double[] pi = new double[0];
+      /**
+       * Grado de cada producto en el 1-árbol.
+       */
+      int[] grau = new int[0];
+
+      /**
+       * Se asegura de que los vectores tienen como mínimo n posiciones.
+       * @param n Número de productos.
+       */
+      void reserva(int n) {
+        if (nodes.length < n) {
+          nodes = new int[n];
+          best = new double[n];
+          parent = new int[n];
+          pi = new double[n];
+          grau = new int[n];
+        }
+      }
+    }
+
+    /**
+    * Guarda la matriz de relaciones y optimiza las penalizaciones con el método del subgradiente.
+    * @param relations Matriz de relaciones entre productos.
+    */
+    @Override
+    public void prepare(int[][] relations) {
+        this.relations = relations;
+        int n = relations.length;
+        simetrica = new double[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) simetrica[i][j] = Math.max(relations[i][j], relations[j][i]);
+        }
+        pi = new double[n];
+        cotaArrel = n < 2 ? 0 : optimitza();
+    }
+
+    /**
+    * Devuelve la cota de la raíz calculada en prepare().
+    * @return una cota superior del coste de cualquier disposición completa.
+    */
+    public int getCotaArrel() {
+        return cotaArrel;
+    }
+
+    /**
+    * Método del subgradiente sobre el recorrido completo (last = first = 0): si un producto tiene
+    * grado mayor que 2 en el 1-árbol se penaliza y si tiene grado 1 se favorece. El paso es el de
+    * Polyak, con el coste de un recorrido del vecino más próximo como estimación del óptimo.
+    * Al acabar, pi contiene las penalizaciones de la mejor cota.
+    * @return la mejor cota de la raíz.
+    */
+    private int optimitza() {
+        int n = relations.length;
+        int[] pendents = new int[n - 1];
+        for (int i = 1; i < n; ++i) pendents[i - 1] = i;
+        int[] grau = new int[n];
+        double[] millorPi = new double[n];
+        double inferior = veiMesProper();
+        double millor = Double.POSITIVE_INFINITY;
+        double lambda = 2;
+        int senseMillora = 0;
+        for (int it = 0; it < MAX_ITERACIONS && lambda > LAMBDA_MINIMA; ++it) {
+            Arrays.fill(grau, 0);
+            double cota = avalua(0, 0, pendents, n - 1, pi, grau);
+            if (cota < millor - EPSILON) {
+                millor = cota;
+                System.arraycopy(pi, 0, millorPi, 0, n);
+                senseMillora = 0;
+            }
+            else if (++senseMillora >= ITERACIONS_SENSE_MILLORA) {
+                lambda /= 2;
+                senseMillora = 0;
+            }
+            long norma = 0;
+            for (int i = 1; i < n; ++i) norma += (long) (grau[i] - 2) * (grau[i] - 2);
+            // Si tots els graus són 2 el 1-arbre és un recorregut: la cota és exacta
+            if (norma == 0 || millor - inferior < 1 - EPSILON) break;
+            double pas = lambda * (cota - inferior) / norma;
+            for (int i = 1; i < n; ++i) pi[i] += pas * (grau[i] - 2);
+        }
+        System.arraycopy(millorPi, 0, pi, 0, n);
+        return (int) Math.floor(millor + EPSILON);
+    }
+
+    /**
+    * Calcula el coste del recorrido del vecino más próximo desde el producto 0.
+    * @return el coste del recorrido, que no supera el óptimo.
+    */
+    private double veiMesProper() {
+        int n = relations.length;
+        boolean[] visitat = new boolean[n];
+        visitat[0] = true;
+        int actual = 0;
+        long total = 0;
+        for (int pas = 1; pas < n; ++pas) {
+            int seguent = -1;
+            for (int j = 0; j < n; ++j) {
+                if (!visitat[j] && (seguent < 0 || relations[actual][j] > relations[actual][seguent])) seguent = j;
+            }
+            total += relations[actual][seguent];
+            visitat[seguent] = true;
+            actual = seguent;
+        }
+        return total + relations[actual][0];
+    }
+
+    /**
+    * Evalúa la cota con las penalizaciones actuales.
+    * @param last Último producto colocado.
+    * @param first Primer producto de la disposición.
+    * @param pending Productos pendientes de colocar.
+    * @param numPending Número de productos pendientes, como mínimo 1.
+    * @param pi Penalizaciones de los pendientes.
+    * @param grau Si no es null, se suma a cada producto su grado en el 1-árbol.
+    * @return la cota sin redondear.
+    */
+    private double avalua(int last, int first, int[] pending, int numPending, double[] pi, int[] grau) {
+        Auxiliar aux = scratch.get();
+        aux.reserva(relations.length);
+        double millorLast = Double.NEGATIVE_INFINITY, millorFirst = Double.NEGATIVE_INFINITY;
+        int argLast = -1, argFirst = -1;
+        double sumaPi = 0;
+        for (int k = 0; k < numPending; ++k) {
+            int u = pending[k];
+            aux.nodes[k] = u;
+            sumaPi += pi[u];
+            double r = relations[last][u] - pi[u];
+            if (r > millorLast) {
+                millorLast = r;
+                argLast = u;
+            }
+            r = relations[u][first] - pi[u];
+            if (r > millorFirst) {
+                millorFirst = r;
+                argFirst = u;
+            }
+        }
+        if (grau != null) {
+            ++grau[argLast];
+            ++grau[argFirst];
+        }
+        double arbre = Prim.primsAlgorithm(simetrica, pi, aux.nodes, numPending, aux.best, aux.parent, grau);
+        return arbre + millorLast + millorFirst + 2 * sumaPi;
+    }
+
+    /**
+    * Devuelve la cota de Held-Karp del camino que falta con las penalizaciones de la raíz.
+    * @param last Último producto colocado.
+    * @param first Primer producto de la disposición.
+    * @param pending Productos pendientes de colocar.
+    * @param numPending Número de productos pendientes.
+    * @return La cota superior del coste restante.
+    */
+    @Override
+    public int bound(int last, int first, int[] pending, int numPending) {
+        if (numPending == 0) return relations[last][first];
+        return (int) Math.floor(avalua(last, first, pending, numPending, pi, null) + EPSILON);
+    }
+
+    /**
+    * Devuelve la cota de Held-Karp del camino que falta. Parte de las penalizaciones de la raíz y,
+    * mientras la cota supera llindar, hace hasta ITERACIONS_NODE iteraciones del subgradiente sobre
+    * los pendientes, con el paso de Polyak hacia llindar.
+    * @param last Último producto colocado.
+    * @param first Primer producto de la disposición.
+    * @param pending Productos pendientes de colocar.
+    * @param numPending Número de productos pendientes.
+    * @param llindar Valor de la cota a partir del cual el nodo se poda.
+    * @return La cota superior del coste restante.
+    */
+    @Override
+    public int bound(int last, int first, int[] pending, int numPending, int llindar) {
+        if (numPending == 0) return relations[last][first];
+        if (llindar < 0) return bound(last, first, pending, numPending);
+        Auxiliar aux = scratch.get();
+        aux.reserva(relations.length);
+        double[] p = aux.pi;
+        int[] grau = aux.grau;
+        for (int k = 0; k < numPending; ++k) p[pending[k]] = pi[pending[k]];
+        double millor = Double.POSITIVE_INFINITY;
+        for (int it = 0; ; ++it) {
+            for (int k = 0; k < numPending; ++k) grau[pending[k]] = 0;
+            double cota = avalua(last, first, pending, numPending, p, grau);
+            if (cota < millor) millor = cota;
+            if (millor < llindar + 1 - EPSILON || it == ITERACIONS_NODE) break;
+            long norma = 0;
+            for (int k = 0; k < numPending; ++k) {
+                int g = grau[pending[k]] - 2;
+                norma += (long) g * g;
+            }
+            // Si tots els graus són 2 el 1-arbre és el camí: la cota és exacta
+            if (norma == 0) break;
+            double pas = (cota - llindar) / norma;
+            for (int k = 0; k < numPending; ++k) p[pending[k]] += pas * (grau[pending[k]] - 2);
+        }
+        return (int) Math.floor(millor + EPSILON);
+    }
+}
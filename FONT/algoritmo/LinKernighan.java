@@ -0,0 +1,361 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import java.util.ArrayList;
+import structures.Pair;
+
+/**
+* La clase LinKernighan implementa la interfaz IAlgoritme con una búsqueda local de
+* profundidad variable al estilo Lin-Kernighan, pensada para supermercados grandes.
+* Parte de la solución de GreedySolutionGenerator y, para cada producto base, construye
+* cadenas de movimientos 2-opt encadenados mientras la ganancia parcial sea positiva,
+* quedándose con el prefijo de la cadena que más mejora el coste.
+* Solo se consideran como nuevas relaciones las de las listas de candidatos (los K productos
+* más relacionados con cada uno) y se usan "don't-look bits" para no volver a examinar
+* productos cuyo entorno no ha cambiado. La búsqueda se detiene al llegar a un óptimo
+* local o al agotar el tiempo límite.
+*/
+public class LinKernighan implements IAlgoritme {
+    /**
+     * Número de candidatos por producto.
+     */
+    public static final int NUM_CANDIDATS = 8;
+    /**
+     * Profundidad máxima de una cadena de movimientos.
+     */
+    public static final int MAX_PROFUNDITAT = 50;
+    /**
+     * Tiempo límite por defecto en milisegundos.
+     */
+    public static final long TEMPS_LIMIT_DEFECTE = 30_000;
+    /**
+     * La instancia única de la clase LinKernighan.
+     */
+    private static final LinKernighan instance = new LinKernighan();
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * Las relaciones de productos ordenadas.
+     */
+    private ArrayList<ArrayList<Pair<Integer, Integer>>> relationMatrixSorted;
+    /**
+     * La disposición generada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición generada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private boolean solutionReady;
+    /**
+     * Tiempo límite de la búsqueda en milisegundos.
+     */
+    private long tempsLimit;
+
+    // Estat de la cerca (vàlid només durant generateSolution)
+
+    /**
+     * Matriz de relaciones como array.
+     */
+    private int[][] w;
+    /**
+     * La disposición actual.
+     */
+    private int[] tour;
+    /**
+     * La posición de cada producto en tour.
+     */
+    private int[] pos;
+    /**
+     * Los candidatos de cada producto, ordenados de mayor a menor relación.
+     */
+    private int[][] candidats;
+    /**
+     * Movimientos aplicados en la cadena actual, como pares (posición inicial, longitud) del tramo invertido.
+     */
+    private int[] movimentsInici, movimentsLongitud;
+    /**
+     * Productos de los extremos de cada movimiento de la cadena actual.
+     */
+    private int[] tocats;
+    /**
+     * Cola de productos a examinar (los que no tienen el don't-look bit activado).
+     */
+    private DontLookQueue cua;
+
+    /**
+    * Constructor privado para la clase LinKernighan.
+    */
+    private LinKernighan() {
+        cost = -1;
+        solutionReady = false;
+        tempsLimit = TEMPS_LIMIT_DEFECTE;
+    }
+
+    /**
+    * Devuelve la instancia singleton de LinKernighan.
+    *
+    * @return la instancia singleton de LinKernighan
+    */
+    public static LinKernighan getInstance() {
+        return instance;
+    }
+
+    /**
+    * Restablece el estado de LinKernighan.
+    */
+    public void reset() {
+        relationMatrix = null;
+        relationMatrixSorted = null;
+        disposicio = null;
+        cost = -1;
+        solutionReady = false;
+        tempsLimit = TEMPS_LIMIT_DEFECTE;
+    }
+
+    /**
+    * Establece el tiempo límite de la búsqueda.
+    * @param millis Tiempo límite en milisegundos.
+    * @throws IllegalArgumentException si el tiempo no es positivo.
+    */
+    public void setTempsLimit(long millis) {
+        if (millis <= 0) throw new IllegalArgumentException("El temps límit ha de ser positiu.");
+        tempsLimit = millis;
+        solutionReady = false;
+    }
+
+    /**
+    * Genera la solución partiendo de la del algoritmo voraz y mejorándola con cadenas de movimientos.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        long limit = System.currentTimeMillis() + tempsLimit;
+        int n = relationMatrix.size();
+
+        ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades = relationMatrixSorted;
+        if (ordenades == null || ordenades.size() != n) ordenades = sortRelations(relationMatrix);
+
+        w = ComputeCost.toArray(relationMatrix);
+        tour = GreedySolutionGenerator.solucioInicial(w, ordenades);
+        pos = new int[n];
+        for (int i = 0; i < n; ++i) pos[tour[i]] = i;
+
+        if (n >= 5) {
+            candidats = CandidateLists.build(ordenades, NUM_CANDIDATS);
+            movimentsInici = new int[MAX_PROFUNDITAT];
+            movimentsLongitud = new int[MAX_PROFUNDITAT];
+            tocats = new int[2 * MAX_PROFUNDITAT + 2];
+            cua = new DontLookQueue(n);
+            for (int i = 0; i < n; ++i) cua.push(tour[i]);
+
+            while (!cua.isEmpty() && System.currentTimeMillis() < limit) {
+                int t1 = cua.pop();
+                if (!improveFrom(t1, true)) improveFrom(t1, false);
+            }
+        }
+
+        disposicio = ComputeCost.toList(tour);
+        cost = ComputeCost.getCost(tour, w);
+        solutionReady = true;
+        // S'allibera l'estat de la cerca
+        w = null;
+        tour = pos = tocats = movimentsInici = movimentsLongitud = null;
+        candidats = null;
+        cua = null;
+    }
+
+    /**
+    * Intenta mejorar la disposición con una cadena de movimientos que empieza quitando
+    * la relación entre t1 y su vecino en la dirección indicada.
+    * @param t1 El producto base.
+    * @param endavant true para empezar por el siguiente de t1, false para el anterior.
+    * @return true si se ha mejorado la disposición.
+    */
+    private boolean improveFrom(int t1, boolean endavant) {
+        int t2 = endavant ? succ(t1) : pred(t1);
+        int guany = 0;
+        int millorGuany = 0;
+        int millorPas = 0;
+        int passos = 0;
+        int numTocats = 0;
+        tocats[numTocats++] = t1;
+        tocats[numTocats++] = t2;
+
+        while (passos < MAX_PROFUNDITAT) {
+            int obert = guany - w[t1][t2];
+            int millorT3 = -1, millorT4 = -1;
+            int millorValor = Integer.MIN_VALUE;
+            for (int t3 : candidats[t2]) {
+                int g1 = obert + w[t2][t3];
+                // Criteri de guany: la cadena oberta ha de ser positiva (candidats ordenats)
+                if (g1 <= 0) break;
+                if (t3 == t1) continue;
+                int t4 = endavant ? pred(t3) : succ(t3);
+                if (t4 == t2 || t3 == (endavant ? succ(t2) : pred(t2))) continue;
+                int valor = w[t2][t3] - w[t4][t3];
+                if (valor > millorValor) {
+                    millorValor = valor;
+                    millorT3 = t3;
+                    millorT4 = t4;
+                }
+            }
+            if (millorT3 < 0) break;
+
+            int t3 = millorT3, t4 = millorT4;
+            guany += w[t2][t3] + w[t1][t4] - w[t1][t2] - w[t4][t3];
+            if (endavant) reverse(t2, t4, passos);
+            else reverse(t4, t2, passos);
+            ++passos;
+            tocats[numTocats++] = t3;
+            tocats[numTocats++] = t4;
+            if (guany > millorGuany) {
+                millorGuany = guany;
+                millorPas = passos;
+            }
+            t2 = t4;
+        }
+
+        // Desfer els moviments posteriors al millor punt de la cadena
+        for (int k = passos - 1; k >= millorPas; --k) {
+            reversePositions(movimentsInici[k], movimentsLongitud[k]);
+        }
+        if (millorGuany <= 0) return false;
+
+        for (int k = 0; k < numTocats; ++k) cua.push(tocats[k]);
+        return true;
+    }
+
+    /**
+    * Invierte el tramo de la disposición que va del producto a al producto b (en el sentido
+    * de la disposición) y lo anota como movimiento número pas de la cadena.
+    * @param a Primer producto del tramo.
+    * @param b Último producto del tramo.
+    * @param pas Número del movimiento dentro de la cadena.
+    */
+    private void reverse(int a, int b, int pas) {
+        int n = tour.length;
+        int inici = pos[a];
+        int longitud = (pos[b] - inici + n) % n + 1;
+        movimentsInici[pas] = inici;
+        movimentsLongitud[pas] = longitud;
+        reversePositions(inici, longitud);
+    }
+
+    /**
+    * Invierte in situ el tramo de la disposición que empieza en la posición inici, de forma cíclica.
+    * @param inici Posición inicial del tramo.
+    * @param longitud Longitud del tramo.
+    */
+    private void reversePositions(int inici, int longitud) {
+        int n = tour.length;
+        int i = inici;
+        int j = (inici + longitud - 1) % n;
+        for (int k = 0; k < longitud / 2; ++k) {
+            int a = tour[i], b = tour[j];
+            tour[i] = b;
+            pos[b] = i;
+            tour[j] = a;
+            pos[a] = j;
+            if (++i == n) i = 0;
+            if (--j < 0) j = n - 1;
+        }
+    }
+
+    /**
+    * Devuelve el producto siguiente en la disposición.
+    * @param x El producto.
+    * @return El siguiente producto.
+    */
+    private int succ(int x) {
+        int p = pos[x] + 1;
+        return tour[p == tour.length ? 0 : p];
+    }
+
+    /**
+    * Devuelve el producto anterior en la disposición.
+    * @param x El producto.
+    * @return El producto anterior.
+    */
+    private int pred(int x) {
+        int p = pos[x] - 1;
+        return tour[p < 0 ? tour.length - 1 : p];
+    }
+
+    /**
+    * Ordena las relaciones de cada producto de mayor a menor, sin incluir el propio producto,
+    * en el mismo formato que Supermercat.getProductRelationsSorted.
+    * @param relations La matriz de relaciones.
+    * @return Las relaciones ordenadas de cada producto.
+    */
+    static ArrayList<ArrayList<Pair<Integer, Integer>>> sortRelations(ArrayList<ArrayList<Integer>> relations) {
+        ArrayList<ArrayList<Pair<Integer, Integer>>> result = new ArrayList<>();
+        for (int i = 0; i < relations.size(); ++i) {
+            ArrayList<Pair<Integer, Integer>> fila = new ArrayList<>();
+            for (int j = 0; j < relations.get(i).size(); ++j) {
+                if (j == i) continue;
+                fila.add(new Pair<>(relations.get(i).get(j), j));
+            }
+            fila.sort((a, b) -> b.getFirst().compareTo(a.getFirst()));
+            result.add(fila);
+        }
+        return result;
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Establece las relaciones de productos ordenadas, de donde se toman las listas de candidatos.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    * @throws IllegalArgumentException si las relaciones ordenadas son nulas o están vacías.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        if (productRelationsSorted == null || productRelationsSorted.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrixSorted = productRelationsSorted;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve la solución. Si no está lista, primero la genera.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si no está lista, primero la genera.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
@@ -0,0 +1,130 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import interfaces.ILocalSearch;
+import java.util.ArrayList;
+import structures.Pair;
+
+/**
+* La clase LocalSearchImprover es un decorador de IAlgoritme: toma la solución de otro
+* algoritmo y la mejora aplicando búsquedas locales (por ejemplo TwoOpt) hasta que
+* ninguna de ellas encuentra más mejoras.
+* El algoritmo decorado no se modifica, se trabaja sobre una copia de su solución.
+*/
+public class LocalSearchImprover implements IAlgoritme {
+    /**
+     * El algoritmo que genera la solución inicial.
+     */
+    private final IAlgoritme base;
+    /**
+     * Las búsquedas locales que se aplican, en este orden.
+     */
+    private final ILocalSearch[] cerques;
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * La disposición mejorada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición mejorada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private boolean solutionReady;
+
+    /**
+    * Constructor del decorador.
+    * @param base El algoritmo que genera la solución inicial.
+    * @param relationMatrix La matriz de relaciones de productos, la misma que usa el algoritmo base.
+    * @param cerques Las búsquedas locales que se aplicarán.
+    * @throws IllegalArgumentException si el algoritmo base es nulo o no se da ninguna búsqueda local.
+    */
+    public LocalSearchImprover(IAlgoritme base, ArrayList<ArrayList<Integer>> relationMatrix, ILocalSearch... cerques) {
+        if (base == null) throw new IllegalArgumentException("L'algorisme base no pot ser null.");
+        if (cerques == null || cerques.length == 0) throw new IllegalArgumentException("Cal com a mínim una cerca local.");
+        this.base = base;
+        this.relationMatrix = relationMatrix;
+        this.cerques = cerques;
+        cost = -1;
+        solutionReady = false;
+    }
+
+    /**
+    * Genera la solución mejorando la del algoritmo base.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        ArrayList<Integer> inicial = base.getSolution();
+        int[] tour = new int[inicial.size()];
+        for (int i = 0; i < tour.length; ++i) tour[i] = inicial.get(i);
+
+        int[][] w = ComputeCost.toArray(relationMatrix);
+        boolean millorat = true;
+        while (millorat) {
+            millorat = false;
+            for (ILocalSearch cerca : cerques) {
+                if (cerca.improve(tour, w) > 0) millorat = true;
+            }
+            // Amb una sola cerca, improve ja acaba en un òptim local
+            if (cerques.length == 1) break;
+        }
+
+        disposicio = ComputeCost.toList(tour);
+        cost = ComputeCost.getCost(tour, w);
+        solutionReady = true;
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos, tanto en el decorador como en el algoritmo base.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        base.setProductRelations(productRelations);
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Establece las relaciones ordenadas en el algoritmo base.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        base.setProductRelationsSorted(productRelationsSorted);
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve la solución mejorada. Si no está lista, primero la genera.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución mejorada. Si no está lista, primero la genera.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
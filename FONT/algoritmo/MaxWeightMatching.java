@@ -0,0 +1,653 @@
+package algoritmo;
+
+import java.util.Arrays;
+
+/**
+* La clase MaxWeightMatching calcula un emparejamiento de máximo peso en un grafo completo no
+* dirigido con el algoritmo de flores de Edmonds con variables duales (versión O(n^3) de Galil).
+* Los vértices se numeran de 0 a n-1, las aristas de 0 a m-1 y cada arista k tiene dos
+* extremos p = 2k y p = 2k+1; endpoint[p] es el vértice del extremo p. Las flores se numeran
+* de n a 2n-1.
+*/
+final class MaxWeightMatching {
+    /**
+     * Número de vértices.
+     */
+    private final int n;
+    /**
+     * Extremos y peso de cada arista.
+     */
+    private final int[] edgeI, edgeJ, edgeW;
+    /**
+     * Vértice de cada extremo de arista.
+     */
+    private final int[] endpoint;
+    /**
+     * Extremos remotos de las aristas de cada vértice.
+     */
+    private final int[][] neighbend;
+    /**
+     * Extremo remoto de la arista emparejada de cada vértice, o -1.
+     */
+    private final int[] mate;
+    /**
+     * Etiqueta de cada vértice y flor de nivel superior: 0 libre, 1 S, 2 T (5 temporal).
+     */
+    private final int[] label;
+    /**
+     * Extremo por el que se ha etiquetado cada vértice o flor.
+     */
+    private final int[] labelend;
+    /**
+     * Flor de nivel superior que contiene cada vértice.
+     */
+    private final int[] inblossom;
+    /**
+     * Flor padre de cada vértice o flor, o -1.
+     */
+    private final int[] blossomparent;
+    /**
+     * Hijos de cada flor, en orden cíclico empezando por el que contiene la base.
+     */
+    private final int[][] blossomchilds;
+    /**
+     * Extremos de las aristas que unen los hijos consecutivos de cada flor.
+     */
+    private final int[][] blossomendps;
+    /**
+     * Vértice base de cada flor, o -1 si la flor no se usa.
+     */
+    private final int[] blossombase;
+    /**
+     * Arista de menor holgura hacia un vértice S, por vértice o flor.
+     */
+    private final int[] bestedge;
+    /**
+     * Aristas de menor holgura de cada flor S hacia otras flores S.
+     */
+    private final int[][] blossombestedges;
+    /**
+     * Pila de flores no usadas.
+     */
+    private final int[] unusedblossoms;
+    /**
+     * Número de flores no usadas.
+     */
+    private int numUnused;
+    /**
+     * Variables duales de vértices y flores.
+     */
+    private final long[] dualvar;
+    /**
+     * Aristas de holgura cero que se pueden usar.
+     */
+    private final boolean[] allowedge;
+    /**
+     * Cola (pila) de vértices S pendientes de explorar.
+     */
+    private int[] queue;
+    /**
+     * Número de vértices en la cola.
+     */
+    private int queueSize;
+
+    /**
+    * Construye el problema a partir de una matriz de pesos simétrica.
+    *
+    * @param w La matriz de pesos no negativos; solo se usa el triángulo superior.
+    */
+    private MaxWeightMatching(int[][] w) {
+        n = w.length;
+        int m = n * (n - 1) / 2;
+        edgeI = new int[m];
+        edgeJ = new int[m];
+        edgeW = new int[m];
+        endpoint = new int[2 * m];
+        neighbend = new int[n][n - 1 < 0 ? 0 : n - 1];
+        int[] grau = new int[n];
+        int k = 0;
+        long maxweight = 0;
+        for (int i = 0; i < n; ++i) {
+            for (int j = i + 1; j < n; ++j) {
+                edgeI[k] = i;
+                edgeJ[k] = j;
+                edgeW[k] = w[i][j];
+                maxweight = Math.max(maxweight, w[i][j]);
+                endpoint[2 * k] = i;
+                endpoint[2 * k + 1] = j;
+                neighbend[i][grau[i]++] = 2 * k + 1;
+                neighbend[j][grau[j]++] = 2 * k;
+                ++k;
+            }
+        }
+        mate = new int[n];
+        Arrays.fill(mate, -1);
+        label = new int[2 * n];
+        labelend = new int[2 * n];
+        Arrays.fill(labelend, -1);
+        inblossom = new int[n];
+        for (int v = 0; v < n; ++v) inblossom[v] = v;
+        blossomparent = new int[2 * n];
+        Arrays.fill(blossomparent, -1);
+        blossomchilds = new int[2 * n][];
+        blossomendps = new int[2 * n][];
+        blossombase = new int[2 * n];
+        for (int v = 0; v < n; ++v) blossombase[v] = v;
+        for (int b = n; b < 2 * n; ++b) blossombase[b] = -1;
+        bestedge = new int[2 * n];
+        Arrays.fill(bestedge, -1);
+        blossombestedges = new int[2 * n][];
+        unusedblossoms = new int[n];
+        for (int b = 0; b < n; ++b) unusedblossoms[b] = n + b;
+        numUnused = n;
+        dualvar = new long[2 * n];
+        for (int v = 0; v < n; ++v) dualvar[v] = maxweight;
+        allowedge = new boolean[m];
+        queue = new int[Math.max(n, 1)];
+    }
+
+    /**
+    * Calcula un emparejamiento de máximo peso.
+    *
+    * @param w La matriz de pesos, simétrica y no negativa.
+    * @return Un vector mate en el que mate[v] es el vértice emparejado con v, o -1.
+    */
+    static int[] solve(int[][] w) {
+        MaxWeightMatching m = new MaxWeightMatching(w);
+        m.run();
+        int[] result = new int[m.n];
+        for (int v = 0; v < m.n; ++v) result[v] = m.mate[v] >= 0 ? m.endpoint[m.mate[v]] : -1;
+        return result;
+    }
+
+    /**
+    * Holgura (doble) de una arista.
+    * @param k La arista.
+    * @return La holgura.
+    */
+    private long slack(int k) {
+        return dualvar[edgeI[k]] + dualvar[edgeJ[k]] - 2L * edgeW[k];
+    }
+
+    /**
+    * Añade un vértice a la cola.
+    * @param v El vértice.
+    */
+    private void push(int v) {
+        if (queueSize == queue.length) queue = Arrays.copyOf(queue, 2 * queue.length);
+        queue[queueSize++] = v;
+    }
+
+    /**
+    * Devuelve los vértices contenidos en una flor.
+    * @param b La flor o vértice.
+    * @return Los vértices.
+    */
+    private int[] leaves(int b) {
+        int[] out = new int[n];
+        int num = leaves(b, out, 0);
+        return Arrays.copyOf(out, num);
+    }
+
+    /**
+    * Escribe los vértices contenidos en una flor a partir de una posición.
+    * @param b La flor o vértice.
+    * @param out Vector de salida.
+    * @param pos Primera posición libre.
+    * @return La nueva primera posición libre.
+    */
+    private int leaves(int b, int[] out, int pos) {
+        if (b < n) {
+            out[pos++] = b;
+            return pos;
+        }
+        for (int t : blossomchilds[b]) pos = leaves(t, out, pos);
+        return pos;
+    }
+
+    /**
+    * Etiqueta un vértice (y su flor) como S o T.
+    * @param w El vértice.
+    * @param t La etiqueta.
+    * @param p El extremo por el que se llega.
+    */
+    private void assignLabel(int w, int t, int p) {
+        int b = inblossom[w];
+        label[w] = label[b] = t;
+        labelend[w] = labelend[b] = p;
+        bestedge[w] = bestedge[b] = -1;
+        if (t == 1) {
+            for (int v : leaves(b)) push(v);
+        }
+        else if (t == 2) {
+            int base = blossombase[b];
+            assignLabel(endpoint[mate[base]], 1, mate[base] ^ 1);
+        }
+    }
+
+    /**
+    * Sigue hacia atrás los caminos alternantes desde v y w para encontrar una nueva flor o un
+    * camino de aumento.
+    * @param v Un vértice.
+    * @param w Otro vértice.
+    * @return La base de la nueva flor, o -1 si hay un camino de aumento.
+    */
+    private int scanBlossom(int v, int w) {
+        int[] path = new int[2 * n];
+        int num = 0;
+        int base = -1;
+        while (v != -1 || w != -1) {
+            int b = inblossom[v];
+            if ((label[b] & 4) != 0) {
+                base = blossombase[b];
+                break;
+            }
+            path[num++] = b;
+            label[b] = 5;
+            if (labelend[b] == -1) {
+                v = -1;
+            }
+            else {
+                v = endpoint[labelend[b]];
+                b = inblossom[v];
+                v = endpoint[labelend[b]];
+            }
+            if (w != -1) {
+                int t = v; v = w; w = t;
+            }
+        }
+        for (int i = 0; i < num; ++i) label[path[i]] = 1;
+        return base;
+    }
+
+    /**
+    * Construye una nueva flor con la base dada a partir de la arista k.
+    * @param base La base.
+    * @param k La arista que cierra la flor.
+    */
+    private void addBlossom(int base, int k) {
+        int v = edgeI[k], w = edgeJ[k];
+        int bb = inblossom[base];
+        int bv = inblossom[v];
+        int bw = inblossom[w];
+        int b = unusedblossoms[--numUnused];
+        blossombase[b] = base;
+        blossomparent[b] = -1;
+        blossomparent[bb] = b;
+        int[] path = new int[2 * n];
+        int[] endps = new int[2 * n];
+        int num = 0;
+        while (bv != bb) {
+            blossomparent[bv] = b;
+            path[num] = bv;
+            endps[num++] = labelend[bv];
+            v = endpoint[labelend[bv]];
+            bv = inblossom[v];
+        }
+        path[num] = bb;
+        // Invertir el tram recorregut des de v
+        for (int i = 0, j = num; i < j; ++i, --j) { int t = path[i]; path[i] = path[j]; path[j] = t; }
+        for (int i = 0, j = num - 1; i < j; ++i, --j) { int t = endps[i]; endps[i] = endps[j]; endps[j] = t; }
+        int numPath = num + 1;
+        int numEndps = num;
+        endps[numEndps++] = 2 * k;
+        while (bw != bb) {
+            blossomparent[bw] = b;
+            path[numPath++] = bw;
+            endps[numEndps++] = labelend[bw] ^ 1;
+            w = endpoint[labelend[bw]];
+            bw = inblossom[w];
+        }
+        blossomchilds[b] = Arrays.copyOf(path, numPath);
+        blossomendps[b] = Arrays.copyOf(endps, numEndps);
+        label[b] = 1;
+        labelend[b] = labelend[bb];
+        dualvar[b] = 0;
+        for (int x : leaves(b)) {
+            if (label[inblossom[x]] == 2) push(x);
+            inblossom[x] = b;
+        }
+        int[] bestedgeto = new int[2 * n];
+        Arrays.fill(bestedgeto, -1);
+        for (int c : blossomchilds[b]) {
+            if (blossombestedges[c] == null) {
+                for (int x : leaves(c)) {
+                    for (int p : neighbend[x]) considerBestEdge(p >> 1, b, bestedgeto);
+                }
+            }
+            else {
+                for (int kk : blossombestedges[c]) considerBestEdge(kk, b, bestedgeto);
+            }
+            blossombestedges[c] = null;
+            bestedge[c] = -1;
+        }
+        int num2 = 0;
+        for (int kk : bestedgeto) if (kk != -1) ++num2;
+        int[] llista = new int[num2];
+        num2 = 0;
+        for (int kk : bestedgeto) if (kk != -1) llista[num2++] = kk;
+        blossombestedges[b] = llista;
+        bestedge[b] = -1;
+        for (int kk : llista) {
+            if (bestedge[b] == -1 || slack(kk) < slack(bestedge[b])) bestedge[b] = kk;
+        }
+    }
+
+    /**
+    * Actualiza la mejor arista de la flor b hacia otra flor S.
+    * @param k La arista.
+    * @param b La flor.
+    * @param bestedgeto Mejor arista hacia cada flor.
+    */
+    private void considerBestEdge(int k, int b, int[] bestedgeto) {
+        int j = inblossom[edgeJ[k]] == b ? edgeI[k] : edgeJ[k];
+        int bj = inblossom[j];
+        if (bj != b && label[bj] == 1 && (bestedgeto[bj] == -1 || slack(k) < slack(bestedgeto[bj]))) {
+            bestedgeto[bj] = k;
+        }
+    }
+
+    /**
+    * Deshace una flor.
+    * @param b La flor.
+    * @param endstage Si es true, se está al final de una etapa y se deshacen recursivamente
+    * las subflores de variable dual cero.
+    */
+    private void expandBlossom(int b, boolean endstage) {
+        int[] childs = blossomchilds[b];
+        for (int s : childs) {
+            blossomparent[s] = -1;
+            if (s < n) {
+                inblossom[s] = s;
+            }
+            else if (endstage && dualvar[s] == 0) {
+                expandBlossom(s, endstage);
+            }
+            else {
+                for (int v : leaves(s)) inblossom[v] = s;
+            }
+        }
+        if (!endstage && label[b] == 2) {
+            int[] endps = blossomendps[b];
+            int len = childs.length;
+            int entrychild = inblossom[endpoint[labelend[b] ^ 1]];
+            int j = indexOf(childs, entrychild);
+            int jstep, endptrick;
+            if ((j & 1) != 0) {
+                j -= len;
+                jstep = 1;
+                endptrick = 0;
+            }
+            else {
+                jstep = -1;
+                endptrick = 1;
+            }
+            int p = labelend[b];
+            while (j != 0) {
+                label[endpoint[p ^ 1]] = 0;
+                label[endpoint[endps[mod(j - endptrick, len)] ^ endptrick ^ 1]] = 0;
+                assignLabel(endpoint[p ^ 1], 2, p);
+                allowedge[endps[mod(j - endptrick, len)] >> 1] = true;
+                j += jstep;
+                p = endps[mod(j - endptrick, len)] ^ endptrick;
+                allowedge[p >> 1] = true;
+                j += jstep;
+            }
+            int bv = childs[mod(j, len)];
+            label[endpoint[p ^ 1]] = label[bv] = 2;
+            labelend[endpoint[p ^ 1]] = labelend[bv] = p;
+            bestedge[bv] = -1;
+            j += jstep;
+            while (childs[mod(j, len)] != entrychild) {
+                bv = childs[mod(j, len)];
+                if (label[bv] == 1) {
+                    j += jstep;
+                    continue;
+                }
+                int found = -1;
+                for (int v : leaves(bv)) {
+                    if (label[v] != 0) {
+                        found = v;
+                        break;
+                    }
+                }
+                if (found >= 0) {
+                    label[found] = 0;
+                    label[endpoint[mate[blossombase[bv]]]] = 0;
+                    assignLabel(found, 2, labelend[found]);
+                }
+                j += jstep;
+            }
+        }
+        label[b] = labelend[b] = -1;
+        blossomchilds[b] = blossomendps[b] = null;
+        blossombase[b] = -1;
+        blossombestedges[b] = null;
+        bestedge[b] = -1;
+        unusedblossoms[numUnused++] = b;
+    }
+
+    /**
+    * Intercambia las aristas emparejadas de una flor a lo largo del camino par desde v hasta
+    * la base, de modo que v pasa a ser la nueva base.
+    * @param b La flor.
+    * @param v El vértice que pasa a ser la base.
+    */
+    private void augmentBlossom(int b, int v) {
+        int t = v;
+        while (blossomparent[t] != b) t = blossomparent[t];
+        if (t >= n) augmentBlossom(t, v);
+        int[] childs = blossomchilds[b];
+        int[] endps = blossomendps[b];
+        int len = childs.length;
+        int i = indexOf(childs, t);
+        int j = i;
+        int jstep, endptrick;
+        if ((i & 1) != 0) {
+            j -= len;
+            jstep = 1;
+            endptrick = 0;
+        }
+        else {
+            jstep = -1;
+            endptrick = 1;
+        }
+        while (j != 0) {
+            j += jstep;
+            t = childs[mod(j, len)];
+            int p = endps[mod(j - endptrick, len)] ^ endptrick;
+            if (t >= n) augmentBlossom(t, endpoint[p]);
+            j += jstep;
+            t = childs[mod(j, len)];
+            if (t >= n) augmentBlossom(t, endpoint[p ^ 1]);
+            mate[endpoint[p]] = p ^ 1;
+            mate[endpoint[p ^ 1]] = p;
+        }
+        blossomchilds[b] = rotate(childs, i);
+        blossomendps[b] = rotate(endps, i);
+        blossombase[b] = blossombase[blossomchilds[b][0]];
+    }
+
+    /**
+    * Aumenta el emparejamiento a lo largo del camino que pasa por la arista k.
+    * @param k La arista.
+    */
+    private void augmentMatching(int k) {
+        for (int lado = 0; lado < 2; ++lado) {
+            int s = lado == 0 ? edgeI[k] : edgeJ[k];
+            int p = lado == 0 ? 2 * k + 1 : 2 * k;
+            while (true) {
+                int bs = inblossom[s];
+                if (bs >= n) augmentBlossom(bs, s);
+                mate[s] = p;
+                if (labelend[bs] == -1) break;
+                int t = endpoint[labelend[bs]];
+                int bt = inblossom[t];
+                s = endpoint[labelend[bt]];
+                int j = endpoint[labelend[bt] ^ 1];
+                if (bt >= n) augmentBlossom(bt, j);
+                mate[j] = labelend[bt];
+                p = labelend[bt] ^ 1;
+            }
+        }
+    }
+
+    /**
+    * Bucle principal: una etapa por cada aumento del emparejamiento.
+    */
+    private void run() {
+        for (int etapa = 0; etapa < n; ++etapa) {
+            Arrays.fill(label, 0);
+            Arrays.fill(bestedge, -1);
+            for (int b = n; b < 2 * n; ++b) blossombestedges[b] = null;
+            Arrays.fill(allowedge, false);
+            queueSize = 0;
+            for (int v = 0; v < n; ++v) {
+                if (mate[v] == -1 && label[inblossom[v]] == 0) assignLabel(v, 1, -1);
+            }
+            boolean augmented = false;
+            while (true) {
+                while (queueSize > 0 && !augmented) {
+                    int v = queue[--queueSize];
+                    for (int p : neighbend[v]) {
+                        int k = p >> 1;
+                        int w = endpoint[p];
+                        if (inblossom[v] == inblossom[w]) continue;
+                        long kslack = 0;
+                        if (!allowedge[k]) {
+                            kslack = slack(k);
+                            if (kslack <= 0) allowedge[k] = true;
+                        }
+                        if (allowedge[k]) {
+                            if (label[inblossom[w]] == 0) {
+                                assignLabel(w, 2, p ^ 1);
+                            }
+                            else if (label[inblossom[w]] == 1) {
+                                int base = scanBlossom(v, w);
+                                if (base >= 0) {
+                                    addBlossom(base, k);
+                                }
+                                else {
+                                    augmentMatching(k);
+                                    augmented = true;
+                                    break;
+                                }
+                            }
+                            else if (label[w] == 0) {
+                                label[w] = 2;
+                                labelend[w] = p ^ 1;
+                            }
+                        }
+                        else if (label[inblossom[w]] == 1) {
+                            int b = inblossom[v];
+                            if (bestedge[b] == -1 || kslack < slack(bestedge[b])) bestedge[b] = k;
+                        }
+                        else if (label[w] == 0) {
+                            if (bestedge[w] == -1 || kslack < slack(bestedge[w])) bestedge[w] = k;
+                        }
+                    }
+                }
+                if (augmented) break;
+
+                // Actualització de les variables duals
+                int deltatype = 1;
+                long delta = Long.MAX_VALUE;
+                for (int v = 0; v < n; ++v) delta = Math.min(delta, dualvar[v]);
+                int deltaedge = -1, deltablossom = -1;
+                for (int v = 0; v < n; ++v) {
+                    if (label[inblossom[v]] == 0 && bestedge[v] != -1) {
+                        long d = slack(bestedge[v]);
+                        if (d < delta) {
+                            delta = d;
+                            deltatype = 2;
+                            deltaedge = bestedge[v];
+                        }
+                    }
+                }
+                for (int b = 0; b < 2 * n; ++b) {
+                    if (blossomparent[b] == -1 && label[b] == 1 && bestedge[b] != -1) {
+                        long d = slack(bestedge[b]) / 2;
+                        if (d < delta) {
+                            delta = d;
+                            deltatype = 3;
+                            deltaedge = bestedge[b];
+                        }
+                    }
+                }
+                for (int b = n; b < 2 * n; ++b) {
+                    if (blossombase[b] >= 0 && blossomparent[b] == -1 && label[b] == 2 && dualvar[b] < delta) {
+                        delta = dualvar[b];
+                        deltatype = 4;
+                        deltablossom = b;
+                    }
+                }
+                for (int v = 0; v < n; ++v) {
+                    if (label[inblossom[v]] == 1) dualvar[v] -= delta;
+                    else if (label[inblossom[v]] == 2) dualvar[v] += delta;
+                }
+                for (int b = n; b < 2 * n; ++b) {
+                    if (blossombase[b] >= 0 && blossomparent[b] == -1) {
+                        if (label[b] == 1) dualvar[b] += delta;
+                        else if (label[b] == 2) dualvar[b] -= delta;
+                    }
+                }
+                if (deltatype == 1) {
+                    break;
+                }
+                else if (deltatype == 2) {
+                    allowedge[deltaedge] = true;
+                    int i = edgeI[deltaedge];
+                    if (label[inblossom[i]] == 0) i = edgeJ[deltaedge];
+                    push(i);
+                }
+                else if (deltatype == 3) {
+                    allowedge[deltaedge] = true;
+                    push(edgeI[deltaedge]);
+                }
+                else {
+                    expandBlossom(deltablossom, false);
+                }
+            }
+            if (!augmented) break;
+            for (int b = n; b < 2 * n; ++b) {
+                if (blossomparent[b] == -1 && blossombase[b] >= 0 && label[b] == 1 && dualvar[b] == 0) {
+                    expandBlossom(b, true);
+                }
+            }
+        }
+    }
+
+    /**
+    * Posición de un elemento en un vector.
+    * @param a El vector.
+    * @param x El elemento.
+    * @return La posición, o -1.
+    */
+    private static int indexOf(int[] a, int x) {
+        for (int i = 0; i < a.length; ++i) if (a[i] == x) return i;
+        return -1;
+    }
+
+    /**
+    * Módulo no negativo, para indexar como con índices negativos.
+    * @param j El índice.
+    * @param len La longitud.
+    * @return j módulo len, entre 0 y len-1.
+    */
+    private static int mod(int j, int len) {
+        int r = j % len;
+        return r < 0 ? r + len : r;
+    }
+
+    /**
+    * Rota un vector para que empiece por la posición i.
+    * @param a El vector.
+    * @param i La nueva primera posición.
+    * @return El vector rotado.
+    */
+    private static int[] rotate(int[] a, int i) {
+        int[] r = new int[a.length];
+        for (int k = 0; k < a.length; ++k) r[k] = a[(i + k) % a.length];
+        return r;
+    }
+}
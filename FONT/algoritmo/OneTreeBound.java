@@ -0,0 +1,93 @@
+package algoritmo;
+
+import interfaces.IUpperBound;
+
+/**
+* La clase OneTreeBound acota el coste restante con un 1-árbol de expansión máxima: el camino
+* que falta une los productos pendientes con un camino (que es un árbol de expansión de ellos)
+* y lo conecta con el último producto colocado y con el primero. Por tanto su coste no supera
+* el del árbol de expansión máximo de los pendientes más la mejor relación de cada extremo.
+* El árbol se calcula con Prim sobre la matriz densa en O(k^2).
+* Entre pendientes se usa max(w[u][v], w[v][u]) y en los extremos la mejor relación en cualquiera
+* de los dos sentidos, así que la cota es válida en matrices no simétricas.
+*/
+public class OneTreeBound implements IUpperBound {
+    /**
+     * Matriz de relaciones entre productos.
+     */
+    private int[][] relations;
+    /**
+     * Peso de cada arista sin dirección: max(w[u][v], w[v][u]).
+     */
+    private int[][] simetrica;
+    /**
+     * Vectores auxiliares de cada hilo: los productos que aún no están en el árbol
+     * y su mejor relación con el árbol.
+     */
+    private final ThreadLocal<int[][]> scratch = ThreadLocal.withInitial(() -> new int[2][0]);
+
+    /**
+    * Guarda la matriz de relaciones y calcula el peso sin dirección de cada arista.
+    * @param relations Matriz de relaciones entre productos.
+    */
+    @Override
+    public void prepare(int[][] relations) {
+        this.relations = relations;
+        int n = relations.length;
+        simetrica = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) simetrica[i][j] = Math.max(relations[i][j], relations[j][i]);
+        }
+    }
+
+    /**
+    * Devuelve el coste del árbol de expansión máximo de los pendientes más la mejor relación
+    * de last y de first con algún pendiente.
+    * @param last Último producto colocado.
+    * @param first Primer producto de la disposición.
+    * @param pending Productos pendientes de colocar.
+    * @param numPending Número de productos pendientes.
+    * @return La cota superior del coste restante.
+    */
+    @Override
+    public int bound(int last, int first, int[] pending, int numPending) {
+        if (numPending == 0) return relations[last][first];
+
+        int[][] aux = scratch.get();
+        if (aux[0].length < numPending) {
+            aux = new int[2][relations.length];
+            scratch.set(aux);
+        }
+        int[] fora = aux[0];
+        int[] best = aux[1];
+
+        int millorLast = -1, millorFirst = -1;
+        for (int k = 0; k < numPending; ++k) {
+            int u = pending[k];
+            if (simetrica[last][u] > millorLast) millorLast = simetrica[last][u];
+            if (simetrica[u][first] > millorFirst) millorFirst = simetrica[u][first];
+            fora[k] = u;
+            best[k] = Integer.MIN_VALUE;
+        }
+
+        // Prim dens: els productes encara fora de l'arbre ocupen les primeres "restants" posicions
+        int total = millorLast + millorFirst;
+        int restants = numPending - 1;
+        int actual = fora[restants];
+        while (restants > 0) {
+            int[] fila = simetrica[actual];
+            int seguent = 0;
+            for (int k = 0; k < restants; ++k) {
+                int r = fila[fora[k]];
+                if (r > best[k]) best[k] = r;
+                if (best[k] > best[seguent]) seguent = k;
+            }
+            total += best[seguent];
+            actual = fora[seguent];
+            --restants;
+            fora[seguent] = fora[restants];
+            best[seguent] = best[restants];
+        }
+        return total;
+    }
+}
@@ -0,0 +1,265 @@
+package algoritmo;
+
+import interfaces.ILocalSearch;
+import interfaces.ITour;
+
+/**
+* La clase OrOpt implementa la búsqueda local Or-opt: mueve tramos de uno a tres productos
+* consecutivos a otra posición de la estantería, opcionalmente invertidos.
+* La variación de coste de cada movimiento se calcula a partir de las seis relaciones
+* afectadas (tres que se quitan y tres que se añaden), suponiendo que la matriz es simétrica.
+* Con listas de candidatos (CandidateLists) un tramo solo se prueba junto a los candidatos de sus
+* extremos, y los productos se examinan desde una cola con don't-look bits, de modo que cada
+* pasada es casi lineal en lugar de O(n^2).
+*/
+public class OrOpt implements ILocalSearch {
+    /**
+     * Longitud máxima de los tramos que se mueven.
+     */
+    public static final int MAX_LONGITUD_TRAM = 3;
+    /**
+     * Número mínimo de productos para usar las listas de candidatos.
+     */
+    private static final int MIN_PRODUCTES_CANDIDATS = 8;
+
+    /**
+     * Los candidatos de cada producto, ordenados de mayor a menor relación, o null para probar
+     * todas las posiciones.
+     */
+    private final int[][] candidats;
+
+    /**
+    * Constructor de la búsqueda Or-opt que prueba todas las posiciones.
+    */
+    public OrOpt() {
+        this(null);
+    }
+
+    /**
+    * Constructor de la búsqueda Or-opt con listas de candidatos.
+    * @param candidats Los candidatos de cada producto ordenados de mayor a menor relación, o null
+    * para probar todas las posiciones.
+    */
+    public OrOpt(int[][] candidats) {
+        this.candidats = candidats;
+    }
+
+    /**
+    * Aplica movimientos Or-opt de primera mejora hasta llegar a un óptimo local.
+    * @param tour Disposición de los productos, se modifica in situ.
+    * @param relations Matriz de relaciones entre productos.
+    * @return La mejora total del coste conseguida.
+    */
+    @Override
+    public int improve(int[] tour, int[][] relations) {
+        int n = tour.length;
+        if (candidats != null && candidats.length == n && n >= MIN_PRODUCTES_CANDIDATS) {
+            return improveCandidats(tour, relations);
+        }
+        int[] buffer = new int[n];
+        int total = 0;
+        boolean millorat = true;
+        while (millorat) {
+            millorat = false;
+            for (int len = 1; len <= MAX_LONGITUD_TRAM; ++len) {
+                // Cal que quedin com a mínim tres productes fora del tram perquè el moviment canviï res
+                if (n < len + 3) break;
+                for (int i = 0; i < n; ++i) {
+                    int delta = improveSegment(tour, relations, i, len, buffer);
+                    if (delta > 0) {
+                        total += delta;
+                        millorat = true;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+    * Busca la mejor posición para el tramo de longitud len que empieza en la posición i
+    * y, si mejora el coste, lo mueve allí.
+    * @param tour Disposición de los productos.
+    * @param w Matriz de relaciones entre productos.
+    * @param i Posición del primer producto del tramo.
+    * @param len Longitud del tramo.
+    * @param buffer Vector auxiliar de la misma longitud que tour.
+    * @return La mejora del coste conseguida, o 0 si no se ha movido el tramo.
+    */
+    private int improveSegment(int[] tour, int[][] w, int i, int len, int[] buffer) {
+        int n = tour.length;
+        int s1 = tour[i];
+        int sL = tour[(i + len - 1) % n];
+        int p = tour[(i - 1 + n) % n];
+        int q = tour[(i + len) % n];
+        int guanyTreure = w[p][q] - w[p][s1] - w[sL][q];
+
+        int millorDelta = 0;
+        int millorJ = -1;
+        boolean millorInvertit = false;
+        // Relacions (a, b) que no toquen el tram, excepte (p, q) que és on ja era
+        for (int k = i + len; k < i + n - 1; ++k) {
+            int a = tour[k % n];
+            int b = tour[(k + 1) % n];
+            int base = guanyTreure - w[a][b];
+            int delta = base + w[a][s1] + w[sL][b];
+            if (delta > millorDelta) {
+                millorDelta = delta;
+                millorJ = k;
+                millorInvertit = false;
+            }
+            if (len > 1) {
+                delta = base + w[a][sL] + w[s1][b];
+                if (delta > millorDelta) {
+                    millorDelta = delta;
+                    millorJ = k;
+                    millorInvertit = true;
+                }
+            }
+        }
+        if (millorJ < 0) return 0;
+
+        // Reconstruir: de q fins a a, el tram, i de b fins a p
+        int pos = 0;
+        for (int k = i + len; k <= millorJ; ++k) buffer[pos++] = tour[k % n];
+        if (millorInvertit) {
+            for (int k = len - 1; k >= 0; --k) buffer[pos++] = tour[(i + k) % n];
+        }
+        else {
+            for (int k = 0; k < len; ++k) buffer[pos++] = tour[(i + k) % n];
+        }
+        for (int k = millorJ + 1; k < i + n; ++k) buffer[pos++] = tour[k % n];
+        System.arraycopy(buffer, 0, tour, 0, n);
+        return millorDelta;
+    }
+
+    /**
+    * Aplica movimientos Or-opt con las listas de candidatos hasta que la cola queda vacía. Para cada
+    * producto t se prueban los tramos que empiezan o acaban en t, y cada tramo solo se coloca junto a
+    * un candidato c de uno de sus extremos, entre c y uno de sus dos vecinos.
+    * @param tour Disposición de los productos, se modifica in situ.
+    * @param w Matriz de relaciones entre productos.
+    * @return La mejora total del coste conseguida.
+    */
+    private int improveCandidats(int[] tour, int[][] w) {
+        ITour t = TwoOpt.creaTour(tour);
+        DontLookQueue cua = new DontLookQueue(tour.length);
+        for (int x : tour) cua.push(x);
+        int total = improve(t, w, cua);
+        System.arraycopy(t.toArray(), 0, tour, 0, tour.length);
+        return total;
+    }
+
+    /**
+    * Aplica movimientos Or-opt con las listas de candidatos examinando solo los productos de la
+    * cola, hasta que queda vacía. Permite reoptimizar solo alrededor de un cambio.
+    * @param t La disposición, se modifica in situ.
+    * @param w Matriz de relaciones entre productos.
+    * @param cua Los productos pendientes de examinar.
+    * @return La mejora total del coste conseguida.
+    */
+    int improve(ITour t, int[][] w, DontLookQueue cua) {
+        int[] tram = new int[MAX_LONGITUD_TRAM];
+        int total = 0;
+        while (!cua.isEmpty()) {
+            int x = cua.pop();
+            int millorDelta = 0, millorS1 = -1, millorSL = -1, millorA = -1, millorB = -1;
+            boolean millorInvertit = false;
+            for (int len = 1; len <= MAX_LONGITUD_TRAM; ++len) {
+                for (int sentit = 0; sentit < (len == 1 ? 1 : 2); ++sentit) {
+                    // Tram de len productes que comença (sentit 0) o acaba (sentit 1) en x
+                    int s1 = x;
+                    if (sentit == 1) {
+                        for (int k = 1; k < len; ++k) s1 = t.prev(s1);
+                    }
+                    int sL = s1;
+                    tram[0] = s1;
+                    for (int k = 1; k < len; ++k) {
+                        sL = t.next(sL);
+                        tram[k] = sL;
+                    }
+                    int p = t.prev(s1), q = t.next(sL);
+                    int guanyTreure = w[p][q] - w[p][s1] - w[sL][q];
+                    for (int e = 0; e < (len == 1 ? 1 : 2); ++e) {
+                        int extrem = e == 0 ? s1 : sL;
+                        for (int c : candidats[extrem]) {
+                            if (dinsTram(tram, len, c)) continue;
+                            // La relació on s'insereix és (c, següent) o (anterior, c)
+                            for (int costat = 0; costat < 2; ++costat) {
+                                int a = costat == 0 ? c : t.prev(c);
+                                int b = costat == 0 ? t.next(c) : c;
+                                if (dinsTram(tram, len, a) || dinsTram(tram, len, b)) continue;
+                                int base = guanyTreure - w[a][b];
+                                int delta = base + w[a][s1] + w[sL][b];
+                                if (delta > millorDelta) {
+                                    millorDelta = delta;
+                                    millorS1 = s1;
+                                    millorSL = sL;
+                                    millorA = a;
+                                    millorB = b;
+                                    millorInvertit = false;
+                                }
+                                delta = base + w[a][sL] + w[s1][b];
+                                if (len > 1 && delta > millorDelta) {
+                                    millorDelta = delta;
+                                    millorS1 = s1;
+                                    millorSL = sL;
+                                    millorA = a;
+                                    millorB = b;
+                                    millorInvertit = true;
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            if (millorDelta > 0) {
+                int p = t.prev(millorS1), q = t.next(millorSL);
+                mouTram(t, p, millorS1, millorSL, q, millorA, millorB, millorInvertit);
+                total += millorDelta;
+                cua.push(x);
+                cua.push(p);
+                cua.push(q);
+                cua.push(millorS1);
+                cua.push(millorSL);
+                cua.push(millorA);
+                cua.push(millorB);
+            }
+        }
+        return total;
+    }
+
+    /**
+    * Indica si un producto forma parte del tramo.
+    * @param tram Los productos del tramo.
+    * @param len Longitud del tramo.
+    * @param x El producto.
+    * @return true si x está en el tramo.
+    */
+    private static boolean dinsTram(int[] tram, int len, int x) {
+        for (int k = 0; k < len; ++k) {
+            if (tram[k] == x) return true;
+        }
+        return false;
+    }
+
+    /**
+    * Mueve el tramo s1..sL, que está entre p y q, entre a y b (b es el siguiente de a) con dos o
+    * tres movimientos 2-opt: el primero deja el tramo invertido después de a y el resto de la
+    * disposición entre p y a; el segundo vuelve a poner ese resto en su sentido, y el tercero, si el
+    * tramo no se quiere invertido, lo endereza.
+    * @param t La disposición.
+    * @param p El producto anterior al tramo.
+    * @param s1 El primer producto del tramo.
+    * @param sL El último producto del tramo.
+    * @param q El producto siguiente al tramo.
+    * @param a El producto después del cual se coloca el tramo.
+    * @param b El siguiente de a.
+    * @param invertit true si el tramo se coloca invertido (a, sL, ..., s1, b).
+    */
+    static void mouTram(ITour t, int p, int s1, int sL, int q, int a, int b, boolean invertit) {
+        t.flip(p, s1, a, b);
+        t.flip(p, a, q, sL);
+        if (!invertit && s1 != sL) t.flip(a, sL, s1, b);
+    }
+}
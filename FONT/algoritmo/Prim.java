@@ -2,8 +2,6 @@ package algoritmo;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.PriorityQueue;
 import java.util.Random;
 
     /**
@@ -13,59 +11,126 @@ import java.util.Random;
 public class Prim {
     /**
     * Implementa el algoritmo de Prim para encontrar el árbol de expansión mínimo (MST) de un gráfico determinado.
-    * El gráfico se representa como una matriz de adyacencia.
+    * El gráfico se representa como una matriz de adyacencia. Empieza por un nodo aleatorio.
     *
     * @param graph Una matriz de adyacencia que representa el gráfico donde graph[i][j] es el peso del borde entre los nodos i y j.
     * @return Una lista de adyacencia que representa el MST del gráfico determinado.
+    * @throws IllegalArgumentException si el grafo está vacío.
 */
     public static ArrayList<ArrayList<Integer>> primsAlgorithm(ArrayList<ArrayList<Integer>> graph) {
-        
-        //creem graf buit, serà el resultat
-        ArrayList<ArrayList<Integer>> result = new ArrayList<>();
+        if (graph.isEmpty()) throw new IllegalArgumentException("El graf no pot estar buit.");
+        //comencem per un producte aleatori
+        Random rnd = new Random();
+        return primsAlgorithm(graph, rnd.nextInt(graph.size()));
+    }
+
+    /**
+    * Implementa el algoritmo de Prim para grafos densos empezando por un nodo dado.
+    * En lugar de una cola de prioridad, guarda para cada nodo fuera del árbol la mejor relación
+    * con el árbol (best) y el nodo del árbol que la da (parent), y en cada paso elige el siguiente
+    * nodo con una búsqueda lineal. Coste O(n^2) en tiempo y O(n) de memoria adicional.
+    *
+    * @param graph Una matriz de adyacencia que representa el gráfico donde graph[i][j] es el peso del borde entre los nodos i y j.
+    * @param root El nodo por el que se empieza.
+    * @return Una lista de adyacencia que representa el MST del gráfico determinado.
+    * @throws IllegalArgumentException si el grafo está vacío o el nodo inicial no existe.
+    */
+    public static ArrayList<ArrayList<Integer>> primsAlgorithm(ArrayList<ArrayList<Integer>> graph, int root) {
         int n = graph.size();
+        if (n == 0) throw new IllegalArgumentException("El graf no pot estar buit.");
+        if (root < 0 || root >= n) throw new IllegalArgumentException("El node inicial no existeix.");
+
+        //creem graf buit, serà el resultat
+        ArrayList<ArrayList<Integer>> result = new ArrayList<>(n);
         for (int i = 0; i < n; i++) {
             result.add(new ArrayList<>());
         }
 
-        //creem cua de prioritats
-        PriorityQueue<List<Object>> pq = new PriorityQueue<>((e1, e2) -> Integer.compare((int)e2.get(0), (int)e1.get(0)));
+        //best[v]: millor afinitat de v amb l'arbre, parent[v]: node de l'arbre que la dona
+        int[] best = new int[n];
+        int[] parent = new int[n];
+        boolean[] visited = new boolean[n];
+        Arrays.fill(best, Integer.MIN_VALUE);
+        Arrays.fill(parent, -1);
 
-        //comencem per un producte aleatori
-        Random rnd = new Random();
-        int first_prod = rnd.nextInt(graph.size());
-        // int first_prod = 0;
-        //l'afegim a la cua
-        //la cua tindrà elements:
-        //{cost (1/afinitat productes acumulats), actual, pare} 
-        pq.add(Arrays.asList(0, first_prod, first_prod));
-        //inicialitzar tot el vector de visitat a false
-        ArrayList<Boolean> visited = new ArrayList<>();
-        for (int i = 0; i < graph.size(); ++i) visited.add(false);
-        while(!pq.isEmpty()) {
-            List<Object> entry = pq.poll();
-            int node_actual = (int)entry.get(1);
-            int node_pare = (int)entry.get(2);
-
-            //si ja ha estat visitat, seguent iteració
-            if(visited.get(node_actual)) continue;
-            //marcar visitat
-            visited.set(node_actual, true);
+        int node_actual = root;
+        for (int step = 0; step < n; ++step) {
+            visited[node_actual] = true;
+            int node_pare = parent[node_actual];
             //primera iteració no ho farà
-            if (node_actual != node_pare) {
+            if (node_pare >= 0) {
                 result.get(node_actual).add(node_pare);
                 result.get(node_pare).add(node_actual);
             }
-            //afegir nodes adjacents a la cua
-            for (int i = 0; i < graph.size(); ++i) {
-                if(i != node_actual && !visited.get(i)) {
-                    pq.add(Arrays.asList(graph.get(node_actual).get(i), i, node_actual));
+            //actualitzar els nodes no visitats i triar el següent
+            ArrayList<Integer> fila = graph.get(node_actual);
+            int seguent = -1;
+            for (int i = 0; i < n; ++i) {
+                if (visited[i]) continue;
+                int pes = fila.get(i);
+                if (pes > best[i]) {
+                    best[i] = pes;
+                    parent[i] = node_actual;
                 }
+                if (seguent < 0 || best[i] > best[seguent]) seguent = i;
             }
+            node_actual = seguent;
         }
-        //retorna graf amb llista d'adjacències   
+        //retorna graf amb llista d'adjacències
         return result;
     }
 
+    /**
+    * Implementa el algoritmo de Prim denso sobre arrays primitivos, para un subconjunto de nodos y con
+    * los pesos penalizados: el peso de la arista {u, v} es s[u][v] - pi[u] - pi[v]. No reserva memoria,
+    * de modo que se puede llamar en cada nodo de una búsqueda. Empieza siempre por nodes[numNodes-1].
+    *
+    * @param s Matriz simétrica de pesos.
+    * @param pi Penalización de cada nodo.
+    * @param nodes Los nodos del árbol (solo se leen las numNodes primeras posiciones); se reordenan.
+    * @param numNodes Número de nodos del árbol, como mínimo 1.
+    * @param best Vector auxiliar de como mínimo numNodes posiciones.
+    * @param parent Vector auxiliar de como mínimo numNodes posiciones.
+    * @param grau Si no es null, se suma a cada nodo el número de aristas del árbol que lo tocan.
+    * @return El peso penalizado del árbol de expansión máximo.
+    */
+    public static double primsAlgorithm(double[][] s, double[] pi, int[] nodes, int numNodes, double[] best, int[] parent, int[] grau) {
+        double total = 0;
+        int restants = numNodes - 1;
+        int node_actual = nodes[restants];
+        for (int k = 0; k < restants; ++k) {
+            best[k] = Double.NEGATIVE_INFINITY;
+            parent[k] = -1;
+        }
+        while (restants > 0) {
+            //els nodes encara fora de l'arbre ocupen les primeres "restants" posicions
+            double[] fila = s[node_actual];
+            double pa = pi[node_actual];
+            int seguent = 0;
+            for (int k = 0; k < restants; ++k) {
+                int u = nodes[k];
+                double pes = fila[u] - pa - pi[u];
+                if (pes > best[k]) {
+                    best[k] = pes;
+                    parent[k] = node_actual;
+                }
+                if (best[k] > best[seguent]) seguent = k;
+            }
+            total += best[seguent];
+            node_actual = nodes[seguent];
+            if (grau != null) {
+                ++grau[node_actual];
+                ++grau[parent[seguent]];
+            }
+            --restants;
+            nodes[seguent] = nodes[restants];
+            best[seguent] = best[restants];
+            parent[seguent] = parent[restants];
+            nodes[restants] = node_actual;
+        }
+        return total;
+    }
+
     /**
     * El método principal para ejecutar el algoritmo de Prim en un grado.
     * Inicializa un gráfico representado como una matriz de adyacencia con pesos,
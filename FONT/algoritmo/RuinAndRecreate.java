@@ -0,0 +1,605 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import structures.Pair;
+
+/**
+* La clase RuinAndRecreate implementa la interfaz IAlgoritme con una búsqueda de vecindario grande
+* (LNS) de tipo ruin-and-recreate, con presupuesto de tiempo. Parte de la solución de
+* GreedySolutionGenerator y en cada iteración:
+* - Destruye: quita de la disposición un grupo de hasta k productos relacionados entre sí. Empieza
+*   por un producto aleatorio y va añadiendo el primer producto aún no quitado de la lista de
+*   relaciones ordenadas de alguno de los ya quitados.
+* - Reconstruye: inserta los productos quitados, en orden aleatorio, en la posición donde más
+*   aumentan el coste.
+* - Acepta el resultado si no empeora el coste; si no, deshace la iteración.
+* La disposición es una lista doblemente enlazada (vectores de siguiente y anterior), de modo que
+* quitar, insertar y deshacer son O(1) por producto y cada iteración cuesta O(k·n), lo que cuesta
+* buscar la mejor posición de cada producto. El coste se calcula con las relaciones originales
+* (sin suponer simetría).
+* La búsqueda se reparte entre varios hilos, cada uno con su propia copia de la disposición; cada
+* cierto número de iteraciones cada hilo publica su mejor disposición si supera la mejor global,
+* o adopta la global si es mejor que la suya.
+*/
+public class RuinAndRecreate implements IAlgoritme {
+    /**
+     * Tiempo límite por defecto en milisegundos.
+     */
+    public static final long TEMPS_LIMIT_DEFECTE = 5_000;
+    /**
+     * Número máximo de productos que se quitan en cada iteración por defecto.
+     */
+    public static final int MIDA_RUINA_DEFECTE = 10;
+    /**
+     * Número de iteraciones entre sincronizaciones con la mejor disposición global.
+     */
+    private static final int INTERVAL_SINCRONITZACIO = 256;
+    /**
+     * Número de iteraciones entre consultas del reloj.
+     */
+    private static final int ITERACIONS_PER_CONSULTA = 32;
+    /**
+     * La instancia única de la clase RuinAndRecreate.
+     */
+    private static final RuinAndRecreate instance = new RuinAndRecreate();
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * Las relaciones de productos ordenadas, para la solución inicial y los grupos de productos.
+     */
+    private ArrayList<ArrayList<Pair<Integer, Integer>>> relationMatrixSorted;
+    /**
+     * La disposición generada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición generada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private boolean solutionReady;
+    /**
+     * Tiempo límite de la búsqueda en milisegundos.
+     */
+    private long tempsLimit;
+    /**
+     * Número máximo de iteraciones de cada hilo.
+     */
+    private long maxIteracions;
+    /**
+     * Número máximo de productos que se quitan en cada iteración.
+     */
+    private int midaRuina;
+    /**
+     * Número de hilos.
+     */
+    private int numFils;
+    /**
+     * Semilla del generador aleatorio.
+     */
+    private long seed;
+    /**
+     * Número total de iteraciones de la última ejecución, sumando todos los hilos.
+     */
+    private long iteracions;
+
+    /**
+    * Constructor privado para la clase RuinAndRecreate.
+    */
+    private RuinAndRecreate() {
+        reset();
+    }
+
+    /**
+    * Devuelve la instancia singleton de RuinAndRecreate.
+    *
+    * @return la instancia singleton de RuinAndRecreate
+    */
+    public static RuinAndRecreate getInstance() {
+        return instance;
+    }
+
+    /**
+    * Restablece el estado y la configuración de RuinAndRecreate.
+    */
+    public void reset() {
+        relationMatrix = null;
+        relationMatrixSorted = null;
+        disposicio = null;
+        cost = -1;
+        solutionReady = false;
+        tempsLimit = TEMPS_LIMIT_DEFECTE;
+        maxIteracions = Long.MAX_VALUE;
+        midaRuina = MIDA_RUINA_DEFECTE;
+        numFils = Runtime.getRuntime().availableProcessors();
+        seed = 0;
+        iteracions = 0;
+    }
+
+    /**
+    * Establece el tiempo de búsqueda.
+    * @param millis Tiempo límite en milisegundos.
+    * @throws IllegalArgumentException si el tiempo no es positivo.
+    */
+    public void setTempsLimit(long millis) {
+        if (millis <= 0) throw new IllegalArgumentException("El temps límit ha de ser positiu.");
+        tempsLimit = millis;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el número máximo de iteraciones de cada hilo. La búsqueda se detiene en cuanto se
+    * llega a este número o se agota el tiempo límite.
+    * @param iteracions El número máximo de iteraciones.
+    * @throws IllegalArgumentException si el número no es positivo.
+    */
+    public void setMaxIteracions(long iteracions) {
+        if (iteracions <= 0) throw new IllegalArgumentException("El nombre d'iteracions ha de ser positiu.");
+        maxIteracions = iteracions;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el número máximo de productos que se quitan en cada iteración.
+    * @param mida El número máximo de productos.
+    * @throws IllegalArgumentException si el número no es positivo.
+    */
+    public void setMidaRuina(int mida) {
+        if (mida <= 0) throw new IllegalArgumentException("La mida de la ruïna ha de ser positiva.");
+        midaRuina = mida;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece el número de hilos.
+    * @param fils El número de hilos.
+    * @throws IllegalArgumentException si el número no es positivo.
+    */
+    public void setNumFils(int fils) {
+        if (fils <= 0) throw new IllegalArgumentException("El nombre de fils ha de ser positiu.");
+        numFils = fils;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece la semilla del generador aleatorio.
+    * @param seed La semilla.
+    */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve el número total de iteraciones de la última ejecución, sumando todos los hilos.
+    * @return El número de iteraciones.
+    */
+    public long getIteracions() {
+        return iteracions;
+    }
+
+    /**
+    * Genera la solución repartiendo las iteraciones entre los hilos.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        int n = relationMatrix.size();
+        ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades = relationMatrixSorted;
+        if (ordenades == null || ordenades.size() != n) ordenades = LinKernighan.sortRelations(relationMatrix);
+        int[][] w = ComputeCost.toArray(relationMatrix);
+        int[] llavor = GreedySolutionGenerator.solucioInicial(w, ordenades);
+        iteracions = 0;
+
+        // Amb menys de quatre productes no queden prou productes per reinserir-ne cap
+        if (n < 4) {
+            disposicio = ComputeCost.toList(llavor);
+            cost = ComputeCost.getCost(llavor, w);
+            solutionReady = true;
+            return;
+        }
+
+        // Es queden com a màxim n - 3 productes fora, perquè la disposició parcial tingui tres productes
+        int mida = Math.min(midaRuina, n - 3);
+        int[][] veins = CandidateLists.build(ordenades, Math.min(n - 1, 2 * mida));
+
+        long fi = System.nanoTime() + tempsLimit * 1_000_000L;
+        MillorGlobal global = new MillorGlobal(llavor, ComputeCost.getCost(llavor, w));
+        SplittableRandom rnd = new SplittableRandom(seed);
+        AtomicBoolean atura = new AtomicBoolean();
+        Fil[] fils = new Fil[numFils];
+        for (int k = 0; k < numFils; ++k) fils[k] = new Fil(w, veins, mida, llavor, global, rnd.split(), fi, maxIteracions, atura);
+
+        Thread[] threads = new Thread[numFils];
+        for (int k = 1; k < numFils; ++k) {
+            threads[k] = new Thread(fils[k], "RuinAndRecreate-" + k);
+            threads[k].start();
+        }
+        // El fil que crida també treballa; si falla, els altres fils s'aturen igualment
+        fils[0].run();
+        try {
+            for (int k = 1; k < numFils; ++k) threads[k].join();
+        }
+        catch (InterruptedException e) {
+            atura.set(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Cerca interrompuda.", e);
+        }
+        for (Fil fil : fils) {
+            if (fil.error != null) throw new IllegalStateException("Error en la cerca d'un fil.", fil.error);
+        }
+
+        for (Fil fil : fils) iteracions += fil.iteracio;
+        disposicio = ComputeCost.toList(global.tour);
+        cost = global.cost;
+        solutionReady = true;
+    }
+
+    /**
+     * La mejor disposición encontrada por todos los hilos, protegida por su monitor.
+     */
+    private static final class MillorGlobal {
+        /**
+         * La mejor disposición.
+         */
+        private final int[] tour;
+        /**
+         * Su coste.
+         */
+        private int cost;
+
+        /**
+        * Constructor.
+        * @param tour La disposición inicial; se copia.
+        * @param cost Su coste.
+        */
+        MillorGlobal(int[] tour, int cost) {
+            this.tour = tour.clone();
+            this.cost = cost;
+        }
+
+        /**
+        * Sincroniza un hilo con la mejor disposición global: si la del hilo es mejor, la publica;
+        * si es peor, copia la global en desti.
+        * @param millor La mejor disposición del hilo.
+        * @param millorCost Su coste.
+        * @param desti Vector donde se copia la disposición global si es mejor.
+        * @return El coste de la disposición global después de sincronizar.
+        */
+        synchronized int sincronitza(int[] millor, int millorCost, int[] desti) {
+            if (millorCost > cost) {
+                System.arraycopy(millor, 0, tour, 0, tour.length);
+                cost = millorCost;
+            }
+            else if (cost > millorCost) {
+                System.arraycopy(tour, 0, desti, 0, tour.length);
+            }
+            return cost;
+        }
+    }
+
+    /**
+     * Un hilo de la búsqueda, con su propia copia de la disposición.
+     */
+    private static final class Fil implements Runnable {
+        /**
+         * La matriz de relaciones, compartida solo en lectura.
+         */
+        private final int[][] w;
+        /**
+         * Los productos más relacionados con cada producto, de mayor a menor relación.
+         */
+        private final int[][] veins;
+        /**
+         * Número máximo de productos que se quitan en cada iteración.
+         */
+        private final int mida;
+        /**
+         * La mejor disposición global.
+         */
+        private final MillorGlobal global;
+        /**
+         * Generador aleatorio propio del hilo.
+         */
+        private final SplittableRandom rnd;
+        /**
+         * Instante (System.nanoTime) en el que se acaba el tiempo.
+         */
+        private final long fi;
+        /**
+         * Número máximo de iteraciones.
+         */
+        private final long maxIteracions;
+        /**
+         * Indicador compartido por todos los hilos para detenerse si alguno falla.
+         */
+        private final AtomicBoolean atura;
+        /**
+         * La disposición actual como lista doblemente enlazada.
+         */
+        private final int[] succ, pred;
+        /**
+         * Indica si un producto está fuera de la disposición.
+         */
+        private final boolean[] fora;
+        /**
+         * Productos quitados en la iteración actual, en orden, con su anterior y su siguiente en
+         * el momento de quitarlos (para deshacer).
+         */
+        private final int[] trets, anteriors, seguents;
+        /**
+         * Mejor disposición encontrada por el hilo, y vector auxiliar (para copiar la global y
+         * para el orden de inserción).
+         */
+        private final int[] millorTour, auxiliar;
+        /**
+         * Coste de la disposición actual y de la mejor del hilo.
+         */
+        private int actual, millorCost;
+        /**
+         * Número de iteraciones completadas.
+         */
+        long iteracio;
+        /**
+         * La excepción con la que ha fallado el hilo, o null.
+         */
+        volatile Throwable error;
+
+        /**
+        * Constructor de un hilo.
+        * @param w La matriz de relaciones.
+        * @param veins Los productos más relacionados con cada producto.
+        * @param mida Número máximo de productos que se quitan en cada iteración.
+        * @param llavor La disposición inicial.
+        * @param global La mejor disposición global.
+        * @param rnd El generador aleatorio del hilo.
+        * @param fi Instante en el que se acaba el tiempo.
+        * @param maxIteracions Número máximo de iteraciones.
+        * @param atura Indicador compartido para detener todos los hilos.
+        */
+        Fil(int[][] w, int[][] veins, int mida, int[] llavor, MillorGlobal global, SplittableRandom rnd, long fi, long maxIteracions, AtomicBoolean atura) {
+            this.w = w;
+            this.veins = veins;
+            this.mida = mida;
+            this.global = global;
+            this.rnd = rnd;
+            this.fi = fi;
+            this.maxIteracions = maxIteracions;
+            this.atura = atura;
+            int n = w.length;
+            succ = new int[n];
+            pred = new int[n];
+            fora = new boolean[n];
+            trets = new int[mida];
+            anteriors = new int[mida];
+            seguents = new int[mida];
+            millorTour = llavor.clone();
+            auxiliar = new int[n];
+            carrega(llavor);
+            millorCost = actual;
+        }
+
+        /**
+        * Sustituye la disposición actual por otra.
+        * @param tour La nueva disposición.
+        */
+        private void carrega(int[] tour) {
+            int n = tour.length;
+            for (int i = 0; i < n; ++i) {
+                succ[tour[i]] = tour[i + 1 == n ? 0 : i + 1];
+                pred[tour[i]] = tour[i == 0 ? n - 1 : i - 1];
+            }
+            actual = ComputeCost.getCost(tour, w);
+        }
+
+        /**
+        * Ejecuta la búsqueda; si falla, guarda la excepción y detiene los demás hilos.
+        */
+        @Override
+        public void run() {
+            try {
+                cerca();
+            }
+            catch (Throwable e) {
+                error = e;
+                atura.set(true);
+            }
+        }
+
+        /**
+        * Busca hasta agotar el tiempo o las iteraciones, o hasta que algún hilo falle.
+        */
+        private void cerca() {
+            while (iteracio < maxIteracions) {
+                if (iteracio % ITERACIONS_PER_CONSULTA == 0 && (System.nanoTime() >= fi || atura.get())) break;
+                int k = 1 + rnd.nextInt(mida);
+                int candidat = actual + destrueix(k) + reconstrueix(k);
+                ++iteracio;
+                if (candidat < actual) desfes(k);
+                else {
+                    actual = candidat;
+                    if (actual > millorCost) {
+                        millorCost = actual;
+                        int c = trets[0];
+                        for (int i = 0; i < millorTour.length; ++i) {
+                            millorTour[i] = c;
+                            c = succ[c];
+                        }
+                    }
+                }
+                if (iteracio % INTERVAL_SINCRONITZACIO == 0) sincronitza();
+            }
+            sincronitza();
+        }
+
+        /**
+        * Sincroniza el hilo con la mejor disposición global y, si esta es mejor que la del hilo, la
+        * adopta como disposición actual.
+        */
+        private void sincronitza() {
+            int costGlobal = global.sincronitza(millorTour, millorCost, auxiliar);
+            if (costGlobal > millorCost) {
+                System.arraycopy(auxiliar, 0, millorTour, 0, auxiliar.length);
+                millorCost = costGlobal;
+                carrega(auxiliar);
+            }
+        }
+
+        /**
+        * Quita de la disposición un grupo de k productos relacionados.
+        * @param k Número de productos a quitar.
+        * @return La variación del coste.
+        */
+        private int destrueix(int k) {
+            int n = w.length;
+            int delta = 0;
+            for (int t = 0; t < k; ++t) {
+                int u = -1;
+                if (t > 0) {
+                    // El primer producte encara a la disposició de la llista d'un dels ja trets
+                    for (int x : veins[trets[rnd.nextInt(t)]]) {
+                        if (!fora[x]) {
+                            u = x;
+                            break;
+                        }
+                    }
+                }
+                // El primer producte del grup, o un qualsevol si la llista està esgotada
+                while (u < 0 || fora[u]) u = rnd.nextInt(n);
+                int p = pred[u], s = succ[u];
+                delta += w[p][s] - w[p][u] - w[u][s];
+                succ[p] = s;
+                pred[s] = p;
+                fora[u] = true;
+                trets[t] = u;
+                anteriors[t] = p;
+                seguents[t] = s;
+            }
+            return delta;
+        }
+
+        /**
+        * Inserta los k productos quitados, en orden aleatorio, cada uno entre los dos productos
+        * consecutivos de la disposición donde más aumenta el coste.
+        * @param k Número de productos quitados.
+        * @return La variación del coste.
+        */
+        private int reconstrueix(int k) {
+            // Es barregen els índexs d'inserció sense tocar l'ordre de trets, que cal per desfer
+            int[] ordre = auxiliar;
+            for (int t = 0; t < k; ++t) ordre[t] = t;
+            for (int t = k - 1; t > 0; --t) {
+                int r = rnd.nextInt(t + 1);
+                int aux = ordre[t];
+                ordre[t] = ordre[r];
+                ordre[r] = aux;
+            }
+            // El següent de l'últim producte tret no s'ha tret
+            int inici = seguents[k - 1];
+            int delta = 0;
+            for (int t = 0; t < k; ++t) {
+                int u = trets[ordre[t]];
+                int millorA = inici, millorGuany = Integer.MIN_VALUE;
+                int a = inici;
+                do {
+                    int b = succ[a];
+                    int guany = w[a][u] + w[u][b] - w[a][b];
+                    if (guany > millorGuany) {
+                        millorGuany = guany;
+                        millorA = a;
+                    }
+                    a = b;
+                } while (a != inici);
+                int b = succ[millorA];
+                succ[millorA] = u;
+                pred[u] = millorA;
+                succ[u] = b;
+                pred[b] = u;
+                fora[u] = false;
+                delta += millorGuany;
+            }
+            return delta;
+        }
+
+        /**
+        * Deshace la iteración: vuelve a quitar los productos insertados y los coloca donde
+        * estaban, en orden inverso al que se quitaron.
+        * @param k Número de productos quitados.
+        */
+        private void desfes(int k) {
+            for (int t = 0; t < k; ++t) {
+                int u = trets[t];
+                succ[pred[u]] = succ[u];
+                pred[succ[u]] = pred[u];
+            }
+            for (int t = k - 1; t >= 0; --t) {
+                int u = trets[t], p = anteriors[t], s = seguents[t];
+                succ[p] = u;
+                pred[u] = p;
+                succ[u] = s;
+                pred[s] = u;
+            }
+        }
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Establece las relaciones ordenadas, que usan el algoritmo voraz de la solución inicial y la
+    * elección de los grupos de productos.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    * @throws IllegalArgumentException si las relaciones son nulas o están vacías.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        if (productRelationsSorted == null || productRelationsSorted.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrixSorted = productRelationsSorted;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Devuelve la solución. Si la solución aún no se ha generado, la genera.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si la solución aún no se ha generado, la genera.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
@@ -0,0 +1,481 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import java.util.ArrayList;
+import java.util.Arrays;
+import structures.Pair;
+
+/**
+* La clase Serdyukov implementa la interfaz IAlgoritme con el algoritmo de aproximación de
+* Serdyukov para el ciclo hamiltoniano de peso máximo. En matrices simétricas de relaciones no
+* negativas garantiza al menos 3/4 del coste óptimo si el número de productos n es par, y
+* (3n - 1)/(4n) si es impar.
+* Parte de un 2-emparejamiento C (caminos y ciclos) de peso al menos el óptimo y de un
+* emparejamiento de peso máximo M, calculado con MaxWeightMatching. De cada ciclo de C quita una
+* arista y la pasa a M sin cerrar ningún ciclo, de modo que quedan dos conjuntos de caminos cuyo
+* peso total es w(C) + w(M), y w(M) es al menos la mitad del óptimo (o (n - 1)/(2n) si n es
+* impar). Cada conjunto se une en una única disposición y se devuelve la mejor de las dos.
+* Primero se usa como C la asignación de Hungarian, en O(n^3), que puede contener ciclos de dos
+* productos (la misma relación dos veces) que no siempre se pueden pasar a M. Si el resultado ya
+* alcanza la garantía respecto a la cota de la asignación o a la de Held-Karp (LagrangianBound)
+* no se hace nada más; si no, C se recalcula como un 2-emparejamiento simple de peso máximo
+* (ciclos de al menos tres productos), que siempre se puede repartir. Para eso se emparejan dos
+* copias de cada producto; las parejas que quedan emparejadas dos veces se sustituyen por un
+* gadget que solo deja usar la relación una vez y se vuelve a emparejar. Cada ronda es O(m^3)
+* con m = 2n más dos vértices por gadget y en matrices con muchos empates hacen falta decenas de
+* rondas, pero en matrices aleatorias de hasta 200 productos solo se ha llegado a este caso en
+* algunas de 20 productos o menos.
+*/
+public class Serdyukov implements IAlgoritme {
+    /**
+     * La instancia única de la clase Serdyukov.
+     */
+    private static final Serdyukov instance = new Serdyukov();
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * La disposición generada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición generada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private boolean solutionReady;
+
+    /**
+    * Constructor privado para la clase Serdyukov.
+    */
+    private Serdyukov() {
+        reset();
+    }
+
+    /**
+    * Devuelve la instancia singleton de Serdyukov.
+    *
+    * @return la instancia singleton de Serdyukov
+    */
+    public static Serdyukov getInstance() {
+        return instance;
+    }
+
+    /**
+    * Restablece el estado de Serdyukov.
+    */
+    public void reset() {
+        relationMatrix = null;
+        disposicio = null;
+        cost = -1;
+        solutionReady = false;
+    }
+
+    /**
+    * Genera la solución.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        int[][] w = ComputeCost.toArray(relationMatrix);
+        int n = w.length;
+        if (n < 4) {
+            // Amb menys de quatre productes totes les disposicions són equivalents
+            disposicio = new ArrayList<>();
+            for (int i = 0; i < n; ++i) disposicio.add(i);
+            cost = ComputeCost.getCost(disposicio, relationMatrix);
+            solutionReady = true;
+            return;
+        }
+
+        int[][] simetrica = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            for (int j = 0; j < n; ++j) simetrica[i][j] = i == j ? 0 : Math.max(w[i][j], 0) + Math.max(w[j][i], 0);
+        }
+        int[] mate = MaxWeightMatching.solve(simetrica);
+
+        // L'assignació dona un 2-aparellament que pot usar dues vegades la mateixa relació; el
+        // seu pes és una cota superior del doble de l'òptim
+        int[] succ = Hungarian.maxAssignment(simetrica, true);
+        int[][] veins = new int[n][2];
+        long cota = 0;
+        for (int i = 0; i < n; ++i) {
+            veins[i][0] = succ[i];
+            veins[succ[i]][1] = i;
+            cota += simetrica[i][succ[i]];
+        }
+        int[] tour = millorDisposicio(veins, mate, simetrica, w);
+        int millorCost = ComputeCost.getCost(tour, w);
+        // Si ja s'arriba a la garantia respecte a alguna cota no cal el 2-aparellament simple,
+        // que és molt més car. La de Held-Karp és molt més ajustada quan l'assignació repeteix
+        // relacions pesades
+        if (!garantit(millorCost, cota, n)) {
+            LagrangianBound heldKarp = new LagrangianBound();
+            heldKarp.prepare(w);
+            if (!garantit(millorCost, 2L * heldKarp.getCotaArrel(), n)) {
+                int[] alternatiu = millorDisposicio(dosAparellament(simetrica), mate, simetrica, w);
+                int costAlternatiu = ComputeCost.getCost(alternatiu, w);
+                if (costAlternatiu > millorCost) {
+                    tour = alternatiu;
+                    millorCost = costAlternatiu;
+                }
+            }
+        }
+        disposicio = ComputeCost.toList(tour);
+        cost = millorCost;
+        solutionReady = true;
+    }
+
+    /**
+    * Indica si un coste ya cumple la garantía del algoritmo respecto a una cota superior.
+    * @param cost El coste de la disposición.
+    * @param cotaDoble El doble de una cota superior del coste óptimo.
+    * @param n Número de productos.
+    * @return true si el coste es al menos 3/4 de la cota, o (3n - 1)/(4n) si n es impar.
+    */
+    private static boolean garantit(long cost, long cotaDoble, int n) {
+        return n % 2 == 0 ? 8 * cost >= 3 * cotaDoble : 8L * n * cost >= (3L * n - 1) * cotaDoble;
+    }
+
+    /**
+    * Aplica el algoritmo a un 2-emparejamiento C y un emparejamiento M: de cada ciclo de C quita
+    * la relación más débil que se puede pasar a M sin cerrar ningún ciclo, une cada una de las
+    * dos colecciones de caminos en una disposición y devuelve la mejor.
+    * @param veins Los dos vecinos de cada producto en C, o -1.
+    * @param mate La pareja de cada producto en M, o -1.
+    * @param s La matriz simétrica de pesos.
+    * @param w La matriz de relaciones.
+    * @return La mejor de las dos disposiciones.
+    */
+    private static int[] millorDisposicio(int[][] veins, int[] mate, int[][] s, int[][] w) {
+        int n = mate.length;
+        int[] veiA1 = new int[n], veiB1 = new int[n], veiA2 = new int[n], veiB2 = new int[n];
+        transfereix(veins, mate, s, veiA1, veiB1, veiA2, veiB2);
+        int[] camins1 = new int[n];
+        int[] inici1 = new int[n + 1];
+        int numCamins1 = camins(veiA1, veiB1, camins1, inici1);
+        int[] camins2 = new int[n];
+        int[] inici2 = new int[n + 1];
+        int numCamins2 = camins(veiA2, veiB2, camins2, inici2);
+
+        int[] tour1 = uneix(camins1, inici1, numCamins1, w);
+        int[] tour2 = uneix(camins2, inici2, numCamins2, w);
+        return ComputeCost.getCost(tour1, w) >= ComputeCost.getCost(tour2, w) ? tour1 : tour2;
+    }
+
+    /**
+    * Reparte C y M en dos colecciones de caminos: de cada ciclo de C quita la relación más débil
+    * que se puede pasar a M sin cerrar ningún ciclo. En un ciclo de al menos tres productos
+    * siempre hay una, porque sus productos son extremos de caminos de M y un camino solo tiene
+    * dos extremos. Los ciclos de dos productos (la misma relación dos veces) se tratan primero,
+    * pero pueden no tener ninguna; entonces solo se quita la relación repetida de C.
+    * @param veins Los dos vecinos de cada producto en C, o -1.
+    * @param mate La pareja de cada producto en M, o -1.
+    * @param s La matriz simétrica de pesos.
+    * @param veiA1 Vector donde se escribe el primer vecino de cada producto en C sin las relaciones quitadas.
+    * @param veiB1 Vector donde se escribe el segundo vecino de cada producto en C sin las relaciones quitadas.
+    * @param veiA2 Vector donde se escribe el primer vecino de cada producto en M con las relaciones añadidas.
+    * @param veiB2 Vector donde se escribe el segundo vecino de cada producto en M con las relaciones añadidas.
+    */
+    private static void transfereix(int[][] veins, int[] mate, int[][] s, int[] veiA1, int[] veiB1, int[] veiA2, int[] veiB2) {
+        int n = mate.length;
+        Arrays.fill(veiA2, -1);
+        Arrays.fill(veiB2, -1);
+        int[] pare = new int[n];
+        for (int i = 0; i < n; ++i) pare[i] = i;
+        for (int i = 0; i < n; ++i) {
+            veiA1[i] = veins[i][0];
+            veiB1[i] = veins[i][1];
+            if (mate[i] > i) {
+                afegeixVei(veiA2, veiB2, i, mate[i]);
+                afegeixVei(veiA2, veiB2, mate[i], i);
+                pare[find(pare, i)] = find(pare, mate[i]);
+            }
+        }
+
+        // Els productes que no són extrem de cap camí de C queden en un cicle
+        boolean[] visitat = new boolean[n];
+        for (int i = 0; i < n; ++i) {
+            if (visitat[i] || veiB1[i] >= 0) continue;
+            int anterior = -1, c = i;
+            while (c >= 0) {
+                visitat[c] = true;
+                int seguent = veiA1[c] != anterior ? veiA1[c] : veiB1[c];
+                anterior = c;
+                c = seguent;
+            }
+        }
+
+        // Primer els cicles de dos productes, que són els únics que poden fallar
+        for (int passada = 0; passada < 2; ++passada) {
+            for (int i = 0; i < n; ++i) {
+                if (visitat[i] || (passada == 0) != (veiA1[i] == veiB1[i])) continue;
+                int tall = -1, tallSeguent = -1;
+                int anterior = veiB1[i], c = i;
+                do {
+                    visitat[c] = true;
+                    int d = veiA1[c] != anterior ? veiA1[c] : veiB1[c];
+                    if (find(pare, c) != find(pare, d) && (tall < 0 || s[c][d] < s[tall][tallSeguent])) {
+                        tall = c;
+                        tallSeguent = d;
+                    }
+                    anterior = c;
+                    c = d;
+                } while (c != i);
+                if (tall < 0) {
+                    treuVei(veiA1, veiB1, i, veiA1[i]);
+                    treuVei(veiA1, veiB1, veiA1[i], i);
+                    continue;
+                }
+                treuVei(veiA1, veiB1, tall, tallSeguent);
+                treuVei(veiA1, veiB1, tallSeguent, tall);
+                afegeixVei(veiA2, veiB2, tall, tallSeguent);
+                afegeixVei(veiA2, veiB2, tallSeguent, tall);
+                pare[find(pare, tall)] = find(pare, tallSeguent);
+            }
+        }
+    }
+
+    /**
+    * Añade v como vecino de u en la colección de caminos.
+    * @param veiA Primer vecino de cada producto, o -1.
+    * @param veiB Segundo vecino de cada producto, o -1.
+    * @param u Un producto.
+    * @param v Su nuevo vecino.
+    */
+    private static void afegeixVei(int[] veiA, int[] veiB, int u, int v) {
+        if (veiA[u] < 0) veiA[u] = v;
+        else veiB[u] = v;
+    }
+
+    /**
+    * Quita v de los vecinos de u.
+    * @param veiA Primer vecino de cada producto, o -1.
+    * @param veiB Segundo vecino de cada producto, o -1.
+    * @param u Un producto.
+    * @param v Un vecino de u.
+    */
+    private static void treuVei(int[] veiA, int[] veiB, int u, int v) {
+        if (veiA[u] == v) veiA[u] = veiB[u];
+        veiB[u] = -1;
+    }
+
+    /**
+    * Escribe los caminos de una colección en la que cada producto tiene como mucho dos vecinos
+    * y no hay ciclos.
+    * @param veiA Primer vecino de cada producto, o -1.
+    * @param veiB Segundo vecino de cada producto, o -1.
+    * @param camins Vector donde se escriben los productos de los caminos, uno detrás de otro.
+    * @param inici Vector donde se escribe la posición de inicio de cada camino (con un centinela al final).
+    * @return El número de caminos.
+    */
+    private static int camins(int[] veiA, int[] veiB, int[] camins, int[] inici) {
+        int n = veiA.length;
+        boolean[] visitat = new boolean[n];
+        int numCamins = 0, pos = 0;
+        for (int s = 0; s < n; ++s) {
+            if (visitat[s] || (veiA[s] >= 0 && veiB[s] >= 0)) continue;
+            inici[numCamins++] = pos;
+            int anterior = -1, c = s;
+            while (c >= 0) {
+                visitat[c] = true;
+                camins[pos++] = c;
+                int seguent = veiA[c] != anterior ? veiA[c] : veiB[c];
+                anterior = c;
+                c = seguent;
+            }
+        }
+        inici[numCamins] = pos;
+        return numCamins;
+    }
+
+    /**
+    * Calcula un 2-emparejamiento simple de peso máximo: cada producto tiene como mucho dos
+    * vecinos y ninguna relación se usa dos veces, de modo que los componentes son caminos y
+    * ciclos de al menos tres productos. Se empareja con MaxWeightMatching un grafo con dos copias
+    * de cada producto; si dos productos quedan emparejados dos veces entre sí, su relación se
+    * sustituye por el gadget de arista (dos vértices nuevos unidos entre sí y cada uno a las
+    * copias de un producto, que obligan a usarla como mucho una vez) y se vuelve a emparejar.
+    * Cuando no queda ninguna pareja doble el resultado es óptimo, porque cada ronda resuelve
+    * una relajación del problema.
+    * @param s La matriz simétrica de pesos no negativos.
+    * @return Los dos vecinos de cada producto, o -1.
+    */
+    private static int[][] dosAparellament(int[][] s) {
+        int n = s.length;
+        int max = 0;
+        for (int[] fila : s) {
+            for (int x : fila) max = Math.max(max, x);
+        }
+        // Més pesat que qualsevol relació: un gadget a mitges sempre es pot millorar
+        int pesGadget = max + 1;
+        ArrayList<int[]> gadgets = new ArrayList<>();
+        boolean[][] ambGadget = new boolean[n][n];
+        while (true) {
+            int mida = 2 * n + 2 * gadgets.size();
+            int[][] h = new int[mida][mida];
+            for (int u = 0; u < n; ++u) {
+                for (int v = u + 1; v < n; ++v) {
+                    if (ambGadget[u][v]) continue;
+                    for (int a = 2 * u; a < 2 * u + 2; ++a) {
+                        for (int b = 2 * v; b < 2 * v + 2; ++b) h[a][b] = h[b][a] = 2 * s[u][v];
+                    }
+                }
+            }
+            for (int k = 0; k < gadgets.size(); ++k) {
+                int u = gadgets.get(k)[0], v = gadgets.get(k)[1];
+                int eu = 2 * n + 2 * k, ev = eu + 1;
+                h[eu][ev] = h[ev][eu] = 2 * pesGadget;
+                for (int a = 0; a < 2; ++a) {
+                    h[2 * u + a][eu] = h[eu][2 * u + a] = pesGadget + s[u][v];
+                    h[2 * v + a][ev] = h[ev][2 * v + a] = pesGadget + s[u][v];
+                }
+            }
+            int[] mate = MaxWeightMatching.solve(h);
+
+            int[][] veins = new int[n][2];
+            for (int[] fila : veins) Arrays.fill(fila, -1);
+            boolean doble = false;
+            for (int u = 0; u < n; ++u) {
+                for (int a = 2 * u; a < 2 * u + 2; ++a) {
+                    int p = mate[a];
+                    int v;
+                    if (p < 0 || h[a][p] == 0) continue;
+                    if (p < 2 * n) {
+                        v = p / 2;
+                    }
+                    else {
+                        // La relació s'usa si l'altre vèrtex del gadget està aparellat amb l'altre producte
+                        if (mate[p ^ 1] < 0) continue;
+                        int[] gadget = gadgets.get((p - 2 * n) / 2);
+                        v = gadget[0] == u ? gadget[1] : gadget[0];
+                    }
+                    if (veins[u][0] == v) {
+                        doble = true;
+                        if (!ambGadget[u][v]) {
+                            ambGadget[u][v] = ambGadget[v][u] = true;
+                            gadgets.add(new int[] {Math.min(u, v), Math.max(u, v)});
+                        }
+                    }
+                    else if (veins[u][0] < 0) {
+                        veins[u][0] = v;
+                    }
+                    else {
+                        veins[u][1] = v;
+                    }
+                }
+            }
+            if (!doble) return veins;
+        }
+    }
+
+    /**
+    * Busca el representante de un producto en el union-find.
+    * @param pare Vector de padres del union-find.
+    * @param x El producto.
+    * @return El representante de su componente.
+    */
+    private static int find(int[] pare, int x) {
+        while (pare[x] != x) {
+            pare[x] = pare[pare[x]];
+            x = pare[x];
+        }
+        return x;
+    }
+
+    /**
+    * Une una colección de caminos en una única disposición: desde el extremo del último camino
+    * añadido se continúa por el extremo libre con más relación, en el sentido que convenga.
+    * @param camins Los productos de todos los caminos, uno detrás de otro.
+    * @param inici Posición de inicio de cada camino en camins (con un centinela al final).
+    * @param numCamins Número de caminos.
+    * @param w La matriz de relaciones.
+    * @return La disposición.
+    */
+    private static int[] uneix(int[] camins, int[] inici, int numCamins, int[][] w) {
+        int[] tour = new int[camins.length];
+        boolean[] usat = new boolean[numCamins];
+        int pos = 0;
+        int actual = 0;
+        boolean invertit = false;
+        for (int k = 0; k < numCamins; ++k) {
+            usat[actual] = true;
+            int a = inici[actual], b = inici[actual + 1];
+            if (invertit) {
+                for (int i = b - 1; i >= a; --i) tour[pos++] = camins[i];
+            }
+            else {
+                for (int i = a; i < b; ++i) tour[pos++] = camins[i];
+            }
+            int ultim = tour[pos - 1];
+            int millor = -1, millorPes = Integer.MIN_VALUE;
+            for (int q = 0; q < numCamins; ++q) {
+                if (usat[q]) continue;
+                int primer = camins[inici[q]], darrer = camins[inici[q + 1] - 1];
+                if (w[ultim][primer] > millorPes) {
+                    millorPes = w[ultim][primer];
+                    millor = q;
+                    invertit = false;
+                }
+                if (w[ultim][darrer] > millorPes) {
+                    millorPes = w[ultim][darrer];
+                    millor = q;
+                    invertit = true;
+                }
+            }
+            actual = millor;
+        }
+        return tour;
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Este algoritmo no necesita las relaciones ordenadas.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    * @throws UnsupportedOperationException siempre.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        throw new UnsupportedOperationException("Not necessary.");
+    }
+
+    /**
+    * Devuelve la solución. Si la solución aún no se ha generado, la genera.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si la solución aún no se ha generado, la genera.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
@@ -0,0 +1,482 @@
+package algoritmo;
+
+import interfaces.IAlgoritme;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import structures.Pair;
+
+/**
+* La clase SimulatedAnnealing implementa la interfaz IAlgoritme con un recocido simulado
+* con presupuesto de tiempo: cuanto más tiempo se le deja, mejor es la solución, y se detiene
+* en cuanto se agota el tiempo.
+* Parte de la solución de GreedySolutionGenerator y aplica movimientos aleatorios de
+* intercambio, inversión de tramo (2-opt) e inserción, cuyo efecto en el coste se calcula
+* en O(1). Guarda siempre la mejor disposición encontrada, de modo que con start() se puede
+* lanzar la búsqueda en segundo plano y consultar getSolution() en cualquier momento.
+*/
+public class SimulatedAnnealing implements IAlgoritme {
+    /**
+     * Esquemas de enfriamiento: la temperatura se calcula según la fracción de tiempo consumida.
+     */
+    public enum Cooling {
+        /**
+         * Decrecimiento exponencial (geométrico) de la temperatura inicial a la final.
+         */
+        EXPONENTIAL,
+        /**
+         * Decrecimiento lineal de la temperatura inicial a la final.
+         */
+        LINEAR
+    }
+
+    /**
+     * Tiempo límite por defecto en milisegundos.
+     */
+    public static final long TEMPS_LIMIT_DEFECTE = 5_000;
+    /**
+     * Temperatura inicial por defecto (las relaciones van de 0 a 100).
+     */
+    public static final double TEMPERATURA_INICIAL_DEFECTE = 20.0;
+    /**
+     * Temperatura final por defecto.
+     */
+    public static final double TEMPERATURA_FINAL_DEFECTE = 0.05;
+    /**
+     * Número de iteraciones entre consultas del reloj.
+     */
+    private static final int ITERACIONS_PER_CONSULTA = 512;
+    /**
+     * La instancia única de la clase SimulatedAnnealing.
+     */
+    private static final SimulatedAnnealing instance = new SimulatedAnnealing();
+
+    /**
+     * La matriz de relaciones de productos.
+     */
+    private ArrayList<ArrayList<Integer>> relationMatrix;
+    /**
+     * Las relaciones de productos ordenadas, para la solución inicial.
+     */
+    private ArrayList<ArrayList<Pair<Integer, Integer>>> relationMatrixSorted;
+    /**
+     * La disposición generada.
+     */
+    private ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición generada.
+     */
+    private int cost;
+    /**
+     * Un indicador de si la solución está lista.
+     */
+    private volatile boolean solutionReady;
+    /**
+     * Indica si hay una búsqueda en marcha.
+     */
+    private volatile boolean running;
+    /**
+     * Tiempo límite de la búsqueda en milisegundos.
+     */
+    private long tempsLimit;
+    /**
+     * Semilla del generador aleatorio.
+     */
+    private long seed;
+    /**
+     * Temperaturas inicial y final.
+     */
+    private double temperaturaInicial, temperaturaFinal;
+    /**
+     * Esquema de enfriamiento.
+     */
+    private Cooling cooling;
+    /**
+     * Mejor disposición encontrada por la búsqueda en marcha (protegida por lock).
+     */
+    private int[] millorTour;
+    /**
+     * Coste de millorTour.
+     */
+    private int millorCost;
+    /**
+     * Objeto de sincronización entre la búsqueda y las consultas.
+     */
+    private final Object lock = new Object();
+
+    /**
+    * Constructor privado para la clase SimulatedAnnealing.
+    */
+    private SimulatedAnnealing() {
+        reset();
+    }
+
+    /**
+    * Devuelve la instancia singleton de SimulatedAnnealing.
+    *
+    * @return la instancia singleton de SimulatedAnnealing
+    */
+    public static SimulatedAnnealing getInstance() {
+        return instance;
+    }
+
+    /**
+    * Restablece el estado y la configuración de SimulatedAnnealing.
+    * @throws IllegalStateException si hay una búsqueda en marcha.
+    */
+    public void reset() {
+        checkNotRunning();
+        relationMatrix = null;
+        relationMatrixSorted = null;
+        disposicio = null;
+        cost = -1;
+        solutionReady = false;
+        tempsLimit = TEMPS_LIMIT_DEFECTE;
+        seed = 0;
+        temperaturaInicial = TEMPERATURA_INICIAL_DEFECTE;
+        temperaturaFinal = TEMPERATURA_FINAL_DEFECTE;
+        cooling = Cooling.EXPONENTIAL;
+    }
+
+    /**
+    * Establece el tiempo de búsqueda.
+    * @param millis Tiempo límite en milisegundos.
+    * @throws IllegalArgumentException si el tiempo no es positivo.
+    */
+    public void setTempsLimit(long millis) {
+        if (millis <= 0) throw new IllegalArgumentException("El temps límit ha de ser positiu.");
+        checkNotRunning();
+        tempsLimit = millis;
+        solutionReady = false;
+    }
+
+    /**
+    * Establece la semilla del generador aleatorio.
+    * @param seed La semilla.
+    */
+    public void setSeed(long seed) {
+        checkNotRunning();
+        this.seed = seed;
+        solutionReady = false;
+    }
+
+    /**
+    * Configura el enfriamiento.
+    * @param cooling El esquema de enfriamiento.
+    * @param inicial La temperatura inicial.
+    * @param fin La temperatura final.
+    * @throws IllegalArgumentException si las temperaturas no son positivas o la final supera la inicial.
+    */
+    public void setCooling(Cooling cooling, double inicial, double fin) {
+        if (cooling == null || inicial <= 0 || fin <= 0 || fin > inicial) {
+            throw new IllegalArgumentException("Refredament no vàlid.");
+        }
+        checkNotRunning();
+        this.cooling = cooling;
+        temperaturaInicial = inicial;
+        temperaturaFinal = fin;
+        solutionReady = false;
+    }
+
+    /**
+    * Lanza la búsqueda en un hilo en segundo plano. Mientras dura, getSolution() y getCost()
+    * devuelven la mejor solución encontrada hasta el momento.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    public void start() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        synchronized (lock) {
+            if (running) return;
+            prepare();
+        }
+        Thread fil = new Thread(this::anneal, "SimulatedAnnealing");
+        fil.setDaemon(true);
+        fil.start();
+    }
+
+    /**
+    * Indica si hay una búsqueda en marcha.
+    * @return true si la búsqueda aún no ha agotado su tiempo.
+    */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+    * Comprueba que no hay ninguna búsqueda en marcha.
+    * @throws IllegalStateException si hay una búsqueda en marcha.
+    */
+    private void checkNotRunning() {
+        if (running) throw new IllegalStateException("Hi ha una cerca en marxa.");
+    }
+
+    /**
+    * Genera la solución de forma síncrona.
+    * @throws IllegalStateException si la matriz de relaciones no está inicializada.
+    */
+    private void generateSolution() {
+        if (relationMatrix == null || relationMatrix.isEmpty()) {
+            throw new IllegalStateException("Matriu de relacions no inicialitzada.");
+        }
+        synchronized (lock) {
+            prepare();
+        }
+        anneal();
+    }
+
+    /**
+    * Calcula la solución inicial con el algoritmo voraz y marca la búsqueda como en marcha.
+    * Se llama con lock adquirido.
+    */
+    private void prepare() {
+        ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades = relationMatrixSorted;
+        if (ordenades == null || ordenades.size() != relationMatrix.size()) {
+            ordenades = LinKernighan.sortRelations(relationMatrix);
+        }
+        int[][] w = ComputeCost.toArray(relationMatrix);
+        millorTour = GreedySolutionGenerator.solucioInicial(w, ordenades);
+        millorCost = ComputeCost.getCost(millorTour, w);
+        solutionReady = false;
+        running = true;
+    }
+
+    /**
+    * Bucle principal del recocido simulado.
+    */
+    private void anneal() {
+        try {
+            int[][] original = ComputeCost.toArray(relationMatrix);
+            int[] tour;
+            synchronized (lock) {
+                tour = millorTour.clone();
+            }
+            int n = tour.length;
+            // Es treballa amb w[i][j] = r[i][j] + r[j][i], perquè els increments O(1) suposen
+            // una matriu simètrica; en matrius simètriques el cost és exactament el doble
+            int[][] w = new int[n][n];
+            for (int i = 0; i < n; ++i) {
+                for (int j = 0; j < n; ++j) w[i][j] = original[i][j] + original[j][i];
+            }
+            int actual = ComputeCost.getCost(tour, w);
+            int millorSimetric = actual;
+            SplittableRandom rnd = new SplittableRandom(seed);
+            long inici = System.nanoTime();
+            long durada = tempsLimit * 1_000_000L;
+            double temperatura = temperaturaInicial;
+
+            while (n >= 4) {
+                for (int it = 0; it < ITERACIONS_PER_CONSULTA; ++it) {
+                    int i = rnd.nextInt(n);
+                    int j = rnd.nextInt(n - 1);
+                    if (j >= i) ++j;
+                    int tipus = rnd.nextInt(3);
+                    int delta;
+                    if (tipus == 0) delta = deltaSwap(tour, w, i, j);
+                    else if (tipus == 1) delta = deltaReverse(tour, w, Math.min(i, j), Math.max(i, j));
+                    else delta = deltaInsert(tour, w, i, j);
+
+                    if (delta >= 0 || rnd.nextDouble() < Math.exp(delta / (2 * temperatura))) {
+                        if (tipus == 0) swap(tour, i, j);
+                        else if (tipus == 1) reverse(tour, Math.min(i, j), Math.max(i, j));
+                        else insert(tour, i, j);
+                        actual += delta;
+                        if (actual > millorSimetric) {
+                            millorSimetric = actual;
+                            synchronized (lock) {
+                                System.arraycopy(tour, 0, millorTour, 0, n);
+                                millorCost = ComputeCost.getCost(tour, original);
+                            }
+                        }
+                    }
+                }
+                double fraccio = (double) (System.nanoTime() - inici) / durada;
+                if (fraccio >= 1.0) break;
+                temperatura = temperature(fraccio);
+            }
+
+            synchronized (lock) {
+                disposicio = ComputeCost.toList(millorTour);
+                cost = millorCost;
+                solutionReady = true;
+            }
+        } finally {
+            running = false;
+        }
+    }
+
+    /**
+    * Calcula la temperatura según el esquema de enfriamiento.
+    * @param fraccio Fracción del tiempo consumida, entre 0 y 1.
+    * @return La temperatura.
+    */
+    private double temperature(double fraccio) {
+        if (cooling == Cooling.LINEAR) {
+            return temperaturaInicial + (temperaturaFinal - temperaturaInicial) * fraccio;
+        }
+        return temperaturaInicial * Math.pow(temperaturaFinal / temperaturaInicial, fraccio);
+    }
+
+    /**
+    * Calcula la variación del coste de intercambiar los productos de las posiciones i y j.
+    * @param t La disposición.
+    * @param w La matriz de relaciones.
+    * @param i Una posición.
+    * @param j Otra posición, distinta de i.
+    * @return La variación del coste.
+    */
+    static int deltaSwap(int[] t, int[][] w, int i, int j) {
+        int n = t.length;
+        if ((i + 1) % n == j) return deltaSwapAdjacent(t, w, i, j);
+        if ((j + 1) % n == i) return deltaSwapAdjacent(t, w, j, i);
+        int a = t[(i - 1 + n) % n], b = t[i], c = t[(i + 1) % n];
+        int d = t[(j - 1 + n) % n], e = t[j], f = t[(j + 1) % n];
+        return w[a][e] + w[e][c] + w[d][b] + w[b][f] - w[a][b] - w[b][c] - w[d][e] - w[e][f];
+    }
+
+    /**
+    * Calcula la variación del coste de intercambiar dos productos consecutivos.
+    * @param t La disposición.
+    * @param w La matriz de relaciones.
+    * @param i Posición del primero.
+    * @param j Posición del segundo (la siguiente a i).
+    * @return La variación del coste.
+    */
+    private static int deltaSwapAdjacent(int[] t, int[][] w, int i, int j) {
+        int n = t.length;
+        int a = t[(i - 1 + n) % n], b = t[i], e = t[j], f = t[(j + 1) % n];
+        return w[a][e] + w[b][f] - w[a][b] - w[e][f];
+    }
+
+    /**
+    * Calcula la variación del coste de invertir el tramo t[i..j].
+    * @param t La disposición.
+    * @param w La matriz de relaciones.
+    * @param i Primera posición del tramo.
+    * @param j Última posición del tramo, mayor que i.
+    * @return La variación del coste.
+    */
+    static int deltaReverse(int[] t, int[][] w, int i, int j) {
+        int n = t.length;
+        // Invertir tot el cicle (o tot menys un) no canvia el cost
+        if (j - i + 1 >= n - 1) return 0;
+        int a = t[(i - 1 + n) % n], b = t[i], c = t[j], d = t[(j + 1) % n];
+        return w[a][c] + w[b][d] - w[a][b] - w[c][d];
+    }
+
+    /**
+    * Calcula la variación del coste de mover el producto de la posición i justo detrás
+    * del de la posición j.
+    * @param t La disposición.
+    * @param w La matriz de relaciones.
+    * @param i Posición del producto que se mueve.
+    * @param j Posición del producto detrás del cual se inserta, distinta de i.
+    * @return La variación del coste.
+    */
+    static int deltaInsert(int[] t, int[][] w, int i, int j) {
+        int n = t.length;
+        if ((j + 1) % n == i) return 0;
+        int a = t[(i - 1 + n) % n], b = t[i], c = t[(i + 1) % n];
+        int x = t[j], y = t[(j + 1) % n];
+        return w[a][c] - w[a][b] - w[b][c] + w[x][b] + w[b][y] - w[x][y];
+    }
+
+    /**
+    * Intercambia los productos de las posiciones i y j.
+    * @param t La disposición.
+    * @param i Una posición.
+    * @param j Otra posición.
+    */
+    private static void swap(int[] t, int i, int j) {
+        int tmp = t[i];
+        t[i] = t[j];
+        t[j] = tmp;
+    }
+
+    /**
+    * Invierte el tramo t[i..j].
+    * @param t La disposición.
+    * @param i Primera posición.
+    * @param j Última posición.
+    */
+    private static void reverse(int[] t, int i, int j) {
+        while (i < j) swap(t, i++, j--);
+    }
+
+    /**
+    * Mueve el producto de la posición i justo detrás del de la posición j.
+    * @param t La disposición.
+    * @param i Posición del producto que se mueve.
+    * @param j Posición del producto detrás del cual se inserta.
+    */
+    private static void insert(int[] t, int i, int j) {
+        int b = t[i];
+        if (i < j) {
+            System.arraycopy(t, i + 1, t, i, j - i);
+            t[j] = b;
+        }
+        else if (i > j + 1) {
+            System.arraycopy(t, j + 1, t, j + 2, i - j - 1);
+            t[j + 1] = b;
+        }
+    }
+
+    /**
+    * Establece la matriz de relaciones de productos.
+    * @param productRelations Una ArrayList 2D que representa la matriz de relaciones de productos.
+    * @throws IllegalArgumentException si la matriz es nula o está vacía.
+    */
+    @Override
+    public void setProductRelations(ArrayList<ArrayList<Integer>> productRelations) {
+        if (productRelations == null || productRelations.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        checkNotRunning();
+        relationMatrix = productRelations;
+        solutionReady = false;
+        cost = -1;
+    }
+
+    /**
+    * Establece las relaciones de productos ordenadas, que usa la solución voraz inicial.
+    * @param productRelationsSorted Las relaciones de productos ordenadas.
+    * @throws IllegalArgumentException si las relaciones ordenadas son nulas o están vacías.
+    */
+    @Override
+    public void setProductRelationsSorted(ArrayList<ArrayList<Pair<Integer, Integer>>> productRelationsSorted) {
+        if (productRelationsSorted == null || productRelationsSorted.isEmpty()) {
+            throw new IllegalArgumentException("La matriu d'adjacències no pot ser null o estar buida.");
+        }
+        checkNotRunning();
+        relationMatrixSorted = productRelationsSorted;
+        solutionReady = false;
+    }
+
+    /**
+    * Devuelve la solución. Si hay una búsqueda en marcha devuelve la mejor encontrada hasta
+    * ahora; si no hay solución, la genera agotando el tiempo límite.
+    * @return Una lista de enteros que representa la disposición.
+    */
+    @Override
+    public ArrayList<Integer> getSolution() {
+        synchronized (lock) {
+            if (running) return ComputeCost.toList(millorTour);
+        }
+        if (!solutionReady) generateSolution();
+        return disposicio;
+    }
+
+    /**
+    * Devuelve el coste de la solución. Si hay una búsqueda en marcha devuelve el de la mejor
+    * encontrada hasta ahora; si no hay solución, la genera agotando el tiempo límite.
+    * @return el coste de la solución
+    */
+    @Override
+    public int getCost() {
+        synchronized (lock) {
+            if (running) return millorCost;
+        }
+        if (!solutionReady) generateSolution();
+        return cost;
+    }
+}
@@ -3,6 +3,9 @@ package algoritmo;
 import interfaces.IAlgoritme;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 import structures.Pair;
 
 /**
@@ -11,6 +14,9 @@ import structures.Pair;
 * La clase incluye métodos para establecer la matriz de distancia, restablecer el estado, generar una solución y recuperar la solución y su costo.
 * La solución se genera utilizando el algoritmo de Prim para construir un árbol de expansión mínimo y una búsqueda en profundidad (DFS) para obtener un orden de recorrido.
 * El orden de recorrido se procesa para eliminar duplicados, lo que da como resultado una aproximación de circuito hamiltoniano.
+* En modo multiarrel el árbol se construye una sola vez y se hace el recorrido desde cada posible
+* raíz en paralelo, quedándose con el de mayor coste. Con una semilla explícita el resultado es
+* reproducible.
 */
 public class TSPApproximator implements IAlgoritme {
     /**
@@ -33,6 +39,14 @@ public class TSPApproximator implements IAlgoritme {
      * El coste de la solución.
      */
     private int cost;
+    /**
+     * Indica si se prueban todas las raíces del recorrido.
+     */
+    private boolean multiArrel;
+    /**
+     * La semilla del generador aleatorio, o null para una semilla aleatoria en cada ejecución.
+     */
+    private Long seed;
 
     /**
     * Constructor privado para la clase TSPAppimator.
@@ -54,6 +68,39 @@ public class TSPApproximator implements IAlgoritme {
         disposition = null;
         cost = -1;
         solReady = false;
+        multiArrel = false;
+        seed = null;
+    }
+
+    /**
+    * Selecciona si el recorrido se hace desde todas las raíces posibles (en paralelo) y se
+    * devuelve el mejor, o desde una sola raíz.
+    *
+    * @param multiArrel true para probar todas las raíces.
+    */
+    public void setMultiArrel(boolean multiArrel) {
+        this.multiArrel = multiArrel;
+        solReady = false;
+    }
+
+    /**
+    * Indica si se prueban todas las raíces del recorrido.
+    *
+    * @return true si se prueban todas las raíces.
+    */
+    public boolean isMultiArrel() {
+        return multiArrel;
+    }
+
+    /**
+    * Establece la semilla con la que se eligen la raíz de Prim y, en modo simple, la del
+    * recorrido, de modo que el resultado es reproducible.
+    *
+    * @param seed La semilla.
+    */
+    public void setSeed(long seed) {
+        this.seed = seed;
+        solReady = false;
     }
 
     /**
@@ -106,8 +153,15 @@ public class TSPApproximator implements IAlgoritme {
             throw new IllegalStateException("Matriu de distàncies no inicialitzada.");
         }
         // Implementació del algoritme aproximat per TSP (Travelling Salesman Problem)
-        ArrayList<ArrayList<Integer>> minSpanTree = Prim.primsAlgorithm(distanceMatrix);
-        ArrayList<Integer> recorregut = DFS.dfs(minSpanTree);
+        Random rnd = seed == null ? new Random() : new Random(seed);
+        ArrayList<ArrayList<Integer>> minSpanTree = Prim.primsAlgorithm(distanceMatrix, rnd.nextInt(distanceMatrix.size()));
+        if (multiArrel) {
+            this.disposition = ComputeCost.toList(millorRecorregut(minSpanTree));
+            cost = ComputeCost.getCost(disposition, distanceMatrix);
+            solReady = true;
+            return;
+        }
+        ArrayList<Integer> recorregut = DFS.dfs(minSpanTree, rnd.nextInt(distanceMatrix.size()));
         ArrayList<Integer> recorregutSenseRepetits = new ArrayList<>();
         HashSet<Integer> checkSet = new HashSet<>();
         for (int i = 0; i < recorregut.size(); ++i) {
@@ -122,6 +176,70 @@ public class TSPApproximator implements IAlgoritme {
 
     }
 
+    /**
+    * Hace el recorrido del árbol desde cada raíz en paralelo y devuelve el de mayor coste
+    * (en caso de empate, el de la raíz más pequeña, para que sea determinista).
+    * Las raíces se reparten en bloques y cada bloque reutiliza sus vectores auxiliares.
+    *
+    * @param arbre El árbol de expansión como lista de adyacencia.
+    * @return El mejor recorrido.
+    */
+    private int[] millorRecorregut(ArrayList<ArrayList<Integer>> arbre) {
+        int n = arbre.size();
+        int[][] w = ComputeCost.toArray(distanceMatrix);
+        int[][] adj = new int[n][];
+        for (int i = 0; i < n; ++i) {
+            adj[i] = new int[arbre.get(i).size()];
+            for (int k = 0; k < adj[i].length; ++k) adj[i][k] = arbre.get(i).get(k);
+        }
+        int[] costos = new int[n];
+        int numBlocs = Math.min(n, 4 * ForkJoinPool.getCommonPoolParallelism());
+        IntStream.range(0, numBlocs).parallel().forEach(b -> {
+            int[] pila = new int[2 * n];
+            int[] visitat = new int[n];
+            for (int r = b; r < n; r += numBlocs) costos[r] = recorregut(adj, w, r, pila, visitat, null);
+        });
+        int millor = 0;
+        for (int r = 1; r < n; ++r) {
+            if (costos[r] > costos[millor]) millor = r;
+        }
+        int[] tour = new int[n];
+        recorregut(adj, w, millor, new int[2 * n], new int[n], tour);
+        return tour;
+    }
+
+    /**
+    * Recorre el árbol en profundidad desde una raíz, en el mismo orden que DFS.dfs, y calcula
+    * el coste del recorrido a medida que avanza.
+    *
+    * @param adj El árbol como listas de adyacencia.
+    * @param w La matriz de relaciones.
+    * @param arrel La raíz.
+    * @param pila Vector auxiliar de tamaño 2n.
+    * @param visitat Vector auxiliar de tamaño n; un nodo está visitado si vale arrel+1.
+    * @param tour Si no es null, se escribe en él el recorrido.
+    * @return El coste (cíclico) del recorrido.
+    */
+    private static int recorregut(int[][] adj, int[][] w, int arrel, int[] pila, int[] visitat, int[] tour) {
+        int marca = arrel + 1;
+        int cim = 0;
+        pila[cim++] = arrel;
+        int anterior = -1, cost = 0, pos = 0;
+        while (cim > 0) {
+            int prod = pila[--cim];
+            if (visitat[prod] == marca) continue;
+            visitat[prod] = marca;
+            if (tour != null) tour[pos++] = prod;
+            if (anterior >= 0) cost += w[anterior][prod];
+            anterior = prod;
+            for (int vert : adj[prod]) {
+                if (visitat[vert] != marca) pila[cim++] = vert;
+            }
+        }
+        if (anterior != arrel) cost += w[anterior][arrel];
+        return cost;
+    }
+
     /**
     * Devuelve la solución para la aproximación TSP (problema del viajante de comercio).
     * Si la solución no está lista, primero genera la solución.
@@ -0,0 +1,175 @@
+package algoritmo;
+
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+* La clase TaulaTransposicio guarda, para cada estado de una búsqueda exacta (productos pendientes
+* y último producto colocado), el mejor coste parcial con el que se ha llegado a él. Un nodo que
+* llega a un estado ya visitado con un coste parcial que no es mejor está dominado y se puede podar.
+* Los estados se identifican con un hash de Zobrist de 64 bits, que se actualiza en O(1) al colocar
+* o retirar un producto; una colisión de hash es posible pero tiene una probabilidad despreciable.
+* La memoria es fija: cada cubeta tiene dos entradas, una que conserva el estado con más productos
+* pendientes (el que poda un subárbol mayor) y otra que se reemplaza siempre.
+* Se puede consultar desde varios hilos sin bloqueos: cada entrada guarda la clave combinada (xor)
+* con los datos, de modo que una entrada escrita a medias no coincide con ninguna clave.
+*/
+public class TaulaTransposicio {
+    /**
+     * Semilla de los valores aleatorios del hash, fija para que la búsqueda sea reproducible.
+     */
+    private static final long LLAVOR = 0x5DEECE66DL;
+
+    /**
+     * Valor de hash de cada producto pendiente.
+     */
+    private final long[] zProducte;
+    /**
+     * Valor de hash de cada producto como último colocado.
+     */
+    private final long[] zUltim;
+    /**
+     * Valor de hash de cada producto como segundo de la disposición.
+     */
+    private final long[] zSegon;
+    /**
+     * Clave de cada entrada combinada (xor) con sus datos.
+     */
+    private final long[] claus;
+    /**
+     * Datos de cada entrada: el coste parcial en los 32 bits altos y el número de pendientes en los bajos.
+     */
+    private final long[] dades;
+    /**
+     * Máscara para obtener la cubeta a partir de la clave.
+     */
+    private final int mascara;
+    /**
+     * Número de consultas hechas.
+     */
+    private final LongAdder consultes = new LongAdder();
+    /**
+     * Número de consultas que han encontrado el estado dominado.
+     */
+    private final LongAdder encerts = new LongAdder();
+
+    /**
+    * Constructor de la tabla.
+    * @param numProductes Número de productos de la matriz de relaciones.
+    * @param capacitat Número máximo de entradas; se redondea a la potencia de dos superior.
+    * @throws IllegalArgumentException si alguno de los parámetros no es positivo.
+    */
+    public TaulaTransposicio(int numProductes, int capacitat) {
+        if (numProductes <= 0) throw new IllegalArgumentException("El nombre de productes ha de ser positiu.");
+        if (capacitat <= 0) throw new IllegalArgumentException("La mida de la taula ha de ser positiva.");
+        Random rnd = new Random(LLAVOR);
+        zProducte = new long[numProductes];
+        zUltim = new long[numProductes];
+        zSegon = new long[numProductes];
+        for (int i = 0; i < numProductes; ++i) {
+            zProducte[i] = rnd.nextLong();
+            zUltim[i] = rnd.nextLong();
+            zSegon[i] = rnd.nextLong();
+        }
+        int entrades = Math.max(2, Integer.highestOneBit(Math.min(capacitat, 1 << 30) - 1) << 1);
+        claus = new long[entrades];
+        dades = new long[entrades];
+        mascara = entrades / 2 - 1;
+    }
+
+    /**
+    * Devuelve el valor de hash de un producto pendiente. El hash del conjunto de pendientes es
+    * el xor de los valores de sus productos.
+    * @param producte El producto.
+    * @return Su valor de hash.
+    */
+    public long hashProducte(int producte) {
+        return zProducte[producte];
+    }
+
+    /**
+    * Calcula la clave de un estado.
+    * @param hashPendents Hash del conjunto de productos pendientes.
+    * @param ultim Último producto colocado.
+    * @param segon Segundo producto de la disposición si limita las disposiciones válidas, o -1.
+    * @return La clave del estado.
+    */
+    public long clau(long hashPendents, int ultim, int segon) {
+        long clau = hashPendents ^ zUltim[ultim];
+        return segon < 0 ? clau : clau ^ zSegon[segon];
+    }
+
+    /**
+    * Indica si el estado ya se ha alcanzado con un coste parcial mayor o igual. Si no es así,
+    * guarda el coste parcial para el estado.
+    * @param clau La clave del estado.
+    * @param numPendents Número de productos pendientes en el estado.
+    * @param cost El coste parcial con el que se ha llegado.
+    * @return true si el nodo está dominado y se puede podar.
+    */
+    public boolean dominat(long clau, int numPendents, int cost) {
+        consultes.increment();
+        int i = ((int) (clau ^ (clau >>> 32)) & mascara) << 1;
+        for (int s = i; s <= i + 1; ++s) {
+            long d = dades[s];
+            if ((claus[s] ^ d) == clau) {
+                if ((int) (d >>> 32) >= cost) {
+                    encerts.increment();
+                    return true;
+                }
+                guarda(s, clau, numPendents, cost);
+                return false;
+            }
+        }
+        //entrada nova: la primera es queda l'estat amb més pendents, la segona es reemplaça sempre
+        if ((int) dades[i] <= numPendents) guarda(i, clau, numPendents, cost);
+        else guarda(i + 1, clau, numPendents, cost);
+        return false;
+    }
+
+    /**
+    * Escribe una entrada de la tabla.
+    * @param s Posición de la entrada.
+    * @param clau La clave del estado.
+    * @param numPendents Número de productos pendientes en el estado.
+    * @param cost El coste parcial.
+    */
+    private void guarda(int s, long clau, int numPendents, int cost) {
+        long d = ((long) cost << 32) | (numPendents & 0xffffffffL);
+        dades[s] = d;
+        claus[s] = clau ^ d;
+    }
+
+    /**
+    * Devuelve el número de entradas de la tabla.
+    * @return la capacidad de la tabla.
+    */
+    public int getCapacitat() {
+        return claus.length;
+    }
+
+    /**
+    * Devuelve el número de consultas hechas.
+    * @return el número de consultas.
+    */
+    public long getConsultes() {
+        return consultes.sum();
+    }
+
+    /**
+    * Devuelve el número de consultas que han encontrado el estado dominado.
+    * @return el número de aciertos.
+    */
+    public long getEncerts() {
+        return encerts.sum();
+    }
+
+    /**
+    * Devuelve la fracción de consultas que han podado el nodo.
+    * @return la tasa de aciertos, entre 0 y 1, o 0 si no se ha hecho ninguna consulta.
+    */
+    public double getTaxaEncerts() {
+        long total = consultes.sum();
+        return total == 0 ? 0 : (double) encerts.sum() / total;
+    }
+}
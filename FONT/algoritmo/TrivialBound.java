@@ -0,0 +1,35 @@
+package algoritmo;
+
+import interfaces.IUpperBound;
+
+/**
+* La clase TrivialBound es la cota que usaba originalmente BruteForce2: supone que cada
+* una de las relaciones que faltan puede valer 100.
+*/
+public class TrivialBound implements IUpperBound {
+    /**
+     * Valor máximo de una relación entre dos productos.
+     */
+    private static final int MAX_RELACIO = 100;
+
+    /**
+    * No necesita preparar nada.
+    * @param relations Matriz de relaciones entre productos.
+    */
+    @Override
+    public void prepare(int[][] relations) {
+    }
+
+    /**
+    * Devuelve 100 por cada relación que falta por sumar.
+    * @param last Último producto colocado.
+    * @param first Primer producto de la disposición.
+    * @param pending Productos pendientes de colocar.
+    * @param numPending Número de productos pendientes.
+    * @return La cota superior del coste restante.
+    */
+    @Override
+    public int bound(int last, int first, int[] pending, int numPending) {
+        return MAX_RELACIO * (numPending + 1);
+    }
+}
@@ -0,0 +1,65 @@
+package algoritmo;
+
+import interfaces.IUpperBound;
+
+/**
+* La clase TwoBestBound acota el coste restante sumando las dos mejores relaciones de cada
+* producto pendiente y la mejor de los dos extremos del camino, y dividiendo entre dos
+* (cada relación del camino se cuenta desde sus dos extremos).
+* Cada relación se cuenta como max(w[u][v], w[v][u]), así que la cota es válida en matrices
+* no simétricas.
+*/
+public class TwoBestBound implements IUpperBound {
+    /**
+     * Mejor relación de cada producto con otro producto.
+     */
+    private int[] millor;
+    /**
+     * Suma de las dos mejores relaciones de cada producto.
+     */
+    private int[] duesMillors;
+
+    /**
+    * Calcula las dos mejores relaciones de cada producto, tomando cada relación en el sentido
+    * en que es mayor.
+    * @param relations Matriz de relaciones entre productos.
+    */
+    @Override
+    public void prepare(int[][] relations) {
+        int n = relations.length;
+        millor = new int[n];
+        duesMillors = new int[n];
+        for (int i = 0; i < n; ++i) {
+            int b1 = -1, b2 = -1;
+            for (int j = 0; j < n; ++j) {
+                if (j == i) continue;
+                int r = Math.max(relations[i][j], relations[j][i]);
+                if (r > b1) {
+                    b2 = b1;
+                    b1 = r;
+                }
+                else if (r > b2) b2 = r;
+            }
+            if (b1 < 0) b1 = 0;
+            // Amb un sol veí les dues relacions del cicle són amb el mateix producte
+            if (b2 < 0) b2 = b1;
+            millor[i] = b1;
+            duesMillors[i] = b1 + b2;
+        }
+    }
+
+    /**
+    * Devuelve la mitad de la suma de las mejores relaciones que puede tener cada producto del camino restante.
+    * @param last Último producto colocado.
+    * @param first Primer producto de la disposición.
+    * @param pending Productos pendientes de colocar.
+    * @param numPending Número de productos pendientes.
+    * @return La cota superior del coste restante.
+    */
+    @Override
+    public int bound(int last, int first, int[] pending, int numPending) {
+        int suma = millor[last] + millor[first];
+        for (int k = 0; k < numPending; ++k) suma += duesMillors[pending[k]];
+        return suma / 2;
+    }
+}
@@ -0,0 +1,185 @@
+package algoritmo;
+
+import interfaces.ILocalSearch;
+import interfaces.ITour;
+import structures.TwoLevelList;
+
+/**
+* La clase TwoOpt implementa la búsqueda local 2-opt: invierte un tramo de la estantería
+* cuando así se sustituyen dos relaciones por otras dos de mayor valor.
+* La variación de coste de cada movimiento se calcula en O(1) a partir de las cuatro
+* relaciones afectadas, suponiendo que la matriz es simétrica (el tramo invertido
+* conserva sus relaciones internas).
+* Con listas de candidatos (CandidateLists) solo se prueban los movimientos que añaden una relación
+* entre un producto y uno de sus candidatos, y los productos se examinan desde una cola con
+* don't-look bits, de modo que cada pasada es casi lineal en lugar de O(n^2).
+*/
+public class TwoOpt implements ILocalSearch {
+    /**
+     * Número mínimo de productos para usar las listas de candidatos.
+     */
+    private static final int MIN_PRODUCTES_CANDIDATS = 8;
+    /**
+     * Número mínimo de productos para guardar la disposición en una TwoLevelList en lugar de un
+     * vector: por debajo invertir los tramos directamente es más rápido.
+     */
+    static final int MIN_PRODUCTES_DOS_NIVELLS = 5000;
+
+    /**
+     * Los candidatos de cada producto, ordenados de mayor a menor relación, o null para probar
+     * todos los movimientos.
+     */
+    private final int[][] candidats;
+
+    /**
+    * Constructor de la búsqueda 2-opt que prueba todos los movimientos.
+    */
+    public TwoOpt() {
+        this(null);
+    }
+
+    /**
+    * Constructor de la búsqueda 2-opt con listas de candidatos.
+    * @param candidats Los candidatos de cada producto ordenados de mayor a menor relación, o null
+    * para probar todos los movimientos.
+    */
+    public TwoOpt(int[][] candidats) {
+        this.candidats = candidats;
+    }
+
+    /**
+    * Aplica movimientos 2-opt de primera mejora hasta llegar a un óptimo local.
+    * @param tour Disposición de los productos, se modifica in situ.
+    * @param relations Matriz de relaciones entre productos.
+    * @return La mejora total del coste conseguida.
+    */
+    @Override
+    public int improve(int[] tour, int[][] relations) {
+        int n = tour.length;
+        if (n < 4) return 0;
+        if (candidats != null && candidats.length == n && n >= MIN_PRODUCTES_CANDIDATS) {
+            return improveCandidats(tour, relations);
+        }
+
+        int total = 0;
+        boolean millorat = true;
+        while (millorat) {
+            millorat = false;
+            for (int i = 0; i < n - 2; ++i) {
+                // Per i = 0 el tram fins a n-1 tocaria les dues mateixes relacions
+                int limit = (i == 0) ? n - 1 : n;
+                for (int j = i + 2; j < limit; ++j) {
+                    int delta = gain(tour, relations, i, j);
+                    if (delta > 0) {
+                        reverse(tour, i + 1, j);
+                        total += delta;
+                        millorat = true;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+    * Aplica movimientos 2-opt con las listas de candidatos hasta que la cola queda vacía. Para cada
+    * producto t1 y cada vecino t2 se prueba añadir la relación (t1, t3) con un candidato t3 que
+    * tenga más relación con t1 que t2 (los candidatos están ordenados, así que se para en el primero
+    * que no la tiene) y se aplica el mejor movimiento.
+    * @param tour Disposición de los productos, se modifica in situ.
+    * @param w Matriz de relaciones entre productos.
+    * @return La mejora total del coste conseguida.
+    */
+    private int improveCandidats(int[] tour, int[][] w) {
+        ITour t = creaTour(tour);
+        DontLookQueue cua = new DontLookQueue(tour.length);
+        for (int x : tour) cua.push(x);
+        int total = improve(t, w, cua);
+        System.arraycopy(t.toArray(), 0, tour, 0, tour.length);
+        return total;
+    }
+
+    /**
+    * Aplica movimientos 2-opt con las listas de candidatos examinando solo los productos de la
+    * cola, hasta que queda vacía. Permite reoptimizar solo alrededor de un cambio.
+    * @param t La disposición, se modifica in situ.
+    * @param w Matriz de relaciones entre productos.
+    * @param cua Los productos pendientes de examinar.
+    * @return La mejora total del coste conseguida.
+    */
+    int improve(ITour t, int[][] w, DontLookQueue cua) {
+        int total = 0;
+        while (!cua.isEmpty()) {
+            int t1 = cua.pop();
+            int millorDelta = 0, millorT2 = -1, millorT3 = -1, millorT4 = -1;
+            for (int sentit = 0; sentit < 2; ++sentit) {
+                int t2 = sentit == 0 ? t.next(t1) : t.prev(t1);
+                for (int t3 : candidats[t1]) {
+                    if (w[t1][t3] <= w[t1][t2]) break;
+                    int t4 = sentit == 0 ? t.next(t3) : t.prev(t3);
+                    if (t3 == t2 || t4 == t1) continue;
+                    int delta = w[t1][t3] + w[t2][t4] - w[t1][t2] - w[t3][t4];
+                    if (delta > millorDelta) {
+                        millorDelta = delta;
+                        millorT2 = t2;
+                        millorT3 = t3;
+                        millorT4 = t4;
+                    }
+                }
+            }
+            if (millorDelta > 0) {
+                t.flip(t1, millorT2, millorT3, millorT4);
+                total += millorDelta;
+                cua.push(t1);
+                cua.push(millorT2);
+                cua.push(millorT3);
+                cua.push(millorT4);
+            }
+        }
+        return total;
+    }
+
+    /**
+    * Crea la disposición sobre la que trabajan las búsquedas con listas de candidatos: un vector
+    * si hay pocos productos y una TwoLevelList si hay muchos.
+    * @param tour Los productos en orden.
+    * @return La disposición.
+    */
+    static ITour creaTour(int[] tour) {
+        if (tour.length >= MIN_PRODUCTES_DOS_NIVELLS) return new TwoLevelList(tour);
+        return new ArrayTour(tour.clone());
+    }
+
+    /**
+    * Calcula la mejora de invertir el tramo tour[i+1..j], que sustituye las relaciones
+    * (tour[i], tour[i+1]) y (tour[j], tour[j+1]) por (tour[i], tour[j]) y (tour[i+1], tour[j+1]).
+    * @param tour Disposición de los productos.
+    * @param relations Matriz de relaciones entre productos.
+    * @param i Posición anterior al tramo.
+    * @param j Última posición del tramo.
+    * @return La variación del coste (positiva si mejora).
+    */
+    static int gain(int[] tour, int[][] relations, int i, int j) {
+        int a = tour[i];
+        int b = tour[i + 1];
+        int c = tour[j];
+        int d = tour[(j + 1) % tour.length];
+        return relations[a][c] + relations[b][d] - relations[a][b] - relations[c][d];
+    }
+
+    /**
+    * Invierte el tramo tour[from..to] in situ.
+    * @param tour Disposición de los productos.
+    * @param from Primera posición del tramo.
+    * @param to Última posición del tramo.
+    */
+    static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int tmp = tour[from];
+            tour[from] = tour[to];
+            tour[to] = tmp;
+            ++from;
+            --to;
+        }
+    }
+}
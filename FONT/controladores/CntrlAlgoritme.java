@@ -1,18 +1,39 @@
 package controladores;
 
+import algoritmo.AntColony;
+import algoritmo.AssignmentBound;
 import algoritmo.BruteForce2;
 import algoritmo.BruteForceGenerator;
+import algoritmo.CandidateLists;
 import algoritmo.ComputeCost;
+import algoritmo.GeneticAlgorithm;
+import algoritmo.GreedyEdge;
 import algoritmo.GreedySolutionGenerator;
+import algoritmo.HeldKarp;
+import algoritmo.InsertionHeuristic;
+import algoritmo.IteratedLocalSearch;
+import algoritmo.LinKernighan;
+import algoritmo.LocalSearchImprover;
+import algoritmo.OrOpt;
+import algoritmo.RuinAndRecreate;
+import algoritmo.Serdyukov;
+import algoritmo.SimulatedAnnealing;
 import algoritmo.TSPApproximator;
+import algoritmo.TwoOpt;
 import interfaces.IAlgoritme;
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import structures.InformeSolucio;
 import structures.Pair;
 
 /**
 * La clase CntrlAlgoritme es un controlador singleton que administra distintos generadores de algoritmos
 * para resolver problemas. Proporciona métodos para establecer el algoritmo a utilizar y para recuperar la
 * solución y su coste.
+* Cada vez que se genera una solución se calcula también, en paralelo con el algoritmo, una cota superior
+* del coste óptimo (AssignmentBound) y la distancia de la solución a la cota. La solución no espera a la
+* cota, que es O(n^3) y puede tardar mucho más que un algoritmo voraz: si aún no está, el informe se
+* completa cuando acaba.
 */
 public class CntrlAlgoritme {
 
@@ -25,6 +46,26 @@ public class CntrlAlgoritme {
      * Instancia singleton de la clase CntrlAlgoritme.
      */
     private static final CntrlAlgoritme cntrlAlg = new CntrlAlgoritme();
+    /**
+     * Matriz de relaciones establecida en los algoritmos.
+     */
+    private static ArrayList<ArrayList<Integer>> relacions = null;
+    /**
+     * Versión de la matriz de relaciones: aumenta cada vez que cambia.
+     */
+    private static int versioRelacions = 0;
+    /**
+     * Versión de la matriz para la que se ha calculado la última cota superior.
+     */
+    private static int versioCota = -1;
+    /**
+     * Cálculo (posiblemente en curso) de la cota superior de la versión versioCota.
+     */
+    private static CompletableFuture<Integer> cota = null;
+    /**
+     * Informe de la última solución generada.
+     */
+    private static volatile InformeSolucio informe = null;
 
     
     /**
@@ -51,6 +92,16 @@ public class CntrlAlgoritme {
      * Este método configura el generador para que utilice un algoritmo voraz para la generación de soluciones.
      */
     public void GreedyGenerator() {
+      GreedySolutionGenerator.getInstance().setMultiStart(false);
+      generator = GreedySolutionGenerator.getInstance();
+    }
+
+    /**
+     * Inicializa GreedySolutionGenerator en modo multiarranque, que construye la solución desde la
+     * mejor relación de cada producto en paralelo y se queda con la mejor.
+     */
+    public void GreedyMultiStart() {
+      GreedySolutionGenerator.getInstance().setMultiStart(true);
       generator = GreedySolutionGenerator.getInstance();
     }
 
@@ -61,6 +112,16 @@ public class CntrlAlgoritme {
      * y la asigna a la variable del generador.
      */
     public void TSPApproximatorGenerator() {
+      TSPApproximator.getInstance().setMultiArrel(false);
+      generator = TSPApproximator.getInstance();
+    }
+
+    /**
+     * Inicializa TSPApproximator en modo multiarrel, que construye el árbol una vez y hace el
+     * recorrido desde todas las raíces en paralelo, quedándose con el mejor.
+     */
+    public void TSPApproximatorMultiRoot() {
+      TSPApproximator.getInstance().setMultiArrel(true);
       generator = TSPApproximator.getInstance();
     }
 
@@ -70,6 +131,15 @@ public class CntrlAlgoritme {
      * Este método establece el generador en la instancia singleton de BruteForceGenerator.
      */
     public void BruteForceGenerator() {
+      BruteForceGenerator.getInstance().setParallel(false);
+      generator = BruteForceGenerator.getInstance();
+    }
+
+    /**
+     * Inicializa BruteForceGenerator en modo paralelo, que reparte la enumeración entre todos los núcleos.
+     */
+    public void BruteForceParallel() {
+      BruteForceGenerator.getInstance().setParallel(true);
       generator = BruteForceGenerator.getInstance();
     }
 
@@ -77,9 +147,149 @@ public class CntrlAlgoritme {
      * Inicializa BruteForce2 obteniendo una instancia de él.
      */
     public void BruteForce2() {
+      BruteForce2.getInstance().setParallel(false);
+      generator = BruteForce2.getInstance();
+    }
+
+    /**
+     * Inicializa BruteForce2 en modo paralelo, que reparte la búsqueda entre todos los núcleos.
+     */
+    public void BruteForce2Parallel() {
+      BruteForce2.getInstance().setParallel(true);
       generator = BruteForce2.getInstance();
     }
 
+    /**
+     * Inicializa HeldKarp obteniendo una instancia de él.
+     * Algoritmo exacto de programación dinámica, útil hasta unos 22 productos.
+     */
+    public void HeldKarp() {
+      generator = HeldKarp.getInstance();
+    }
+
+    /**
+     * Inicializa LinKernighan obteniendo una instancia de él.
+     * Búsqueda local de profundidad variable para supermercados grandes, con tiempo límite.
+     */
+    public void LinKernighan() {
+      generator = LinKernighan.getInstance();
+    }
+
+    /**
+     * Inicializa SimulatedAnnealing obteniendo una instancia de él.
+     * Recocido simulado con tiempo límite que guarda siempre la mejor solución encontrada.
+     */
+    public void SimulatedAnnealing() {
+      generator = SimulatedAnnealing.getInstance();
+    }
+
+    /**
+     * Inicializa GeneticAlgorithm obteniendo una instancia de él.
+     * Algoritmo genético de islas, con una población por núcleo y tiempo límite.
+     */
+    public void GeneticAlgorithm() {
+      generator = GeneticAlgorithm.getInstance();
+    }
+
+    /**
+     * Inicializa AntColony obteniendo una instancia de él.
+     * Colonia de hormigas que construyen disposiciones en paralelo, con tiempo límite.
+     */
+    public void AntColony() {
+      generator = AntColony.getInstance();
+    }
+
+    /**
+     * Inicializa Serdyukov obteniendo una instancia de él.
+     * Aproximación con garantía de 3/4 del óptimo en tiempo O(n^3).
+     */
+    public void Serdyukov() {
+      generator = Serdyukov.getInstance();
+    }
+
+    /**
+     * Inicializa GreedyEdge obteniendo una instancia de él.
+     * Construcción voraz por aristas con union-find, en tiempo O(n^2).
+     */
+    public void GreedyEdge() {
+      generator = GreedyEdge.getInstance();
+    }
+
+    /**
+     * Inicializa InsertionHeuristic con la inserción de máxima ganancia.
+     */
+    public void CheapestInsertion() {
+      InsertionHeuristic.getInstance().setMesLlunya(false);
+      generator = InsertionHeuristic.getInstance();
+    }
+
+    /**
+     * Inicializa InsertionHeuristic con la inserción del producto más lejano.
+     */
+    public void FarthestInsertion() {
+      InsertionHeuristic.getInstance().setMesLlunya(true);
+      generator = InsertionHeuristic.getInstance();
+    }
+
+    /**
+     * Inicializa IteratedLocalSearch obteniendo una instancia de él.
+     * Búsqueda local iterada con perturbaciones double-bridge y tiempo límite, partiendo de Greedy.
+     */
+    public void IteratedLocalSearch() {
+      generator = IteratedLocalSearch.getInstance();
+    }
+
+    /**
+     * Inicializa RuinAndRecreate obteniendo una instancia de él.
+     * Búsqueda de vecindario grande que quita y reinserta grupos de productos relacionados, en
+     * varios hilos y con tiempo límite.
+     */
+    public void RuinAndRecreate() {
+      generator = RuinAndRecreate.getInstance();
+    }
+
+    /**
+     * Decora el algoritmo seleccionado con una búsqueda local 2-opt, que mejora su solución
+     * invirtiendo tramos de la estantería hasta que no queda ninguna mejora.
+     * Si se dan las relaciones ordenadas, solo se prueban los movimientos de las listas de candidatos.
+     * @param relMatrix Matriz de relaciones entre productos.
+     * @param relSorted Relaciones ordenadas de cada producto, o null para probar todos los movimientos.
+     * @throws NullPointerException Si no se selecciona ningún algoritmo.
+     */
+    public void TwoOpt(ArrayList<ArrayList<Integer>> relMatrix, ArrayList<ArrayList<Pair<Integer,Integer>>> relSorted) {
+      if (generator == null) throw new NullPointerException("No hi ha cap algorisme seleccionat.");
+      int[][] candidats = relSorted == null ? null : CandidateLists.build(relSorted, CandidateLists.NUM_CANDIDATS);
+      generator = new LocalSearchImprover(generator, relMatrix, new TwoOpt(candidats));
+    }
+
+    /**
+     * Decora el algoritmo seleccionado con una búsqueda local Or-opt, que mejora su solución
+     * moviendo tramos de uno a tres productos a otra posición de la estantería.
+     * Si se dan las relaciones ordenadas, solo se prueban los movimientos de las listas de candidatos.
+     * @param relMatrix Matriz de relaciones entre productos.
+     * @param relSorted Relaciones ordenadas de cada producto, o null para probar todos los movimientos.
+     * @throws NullPointerException Si no se selecciona ningún algoritmo.
+     */
+    public void OrOpt(ArrayList<ArrayList<Integer>> relMatrix, ArrayList<ArrayList<Pair<Integer,Integer>>> relSorted) {
+      if (generator == null) throw new NullPointerException("No hi ha cap algorisme seleccionat.");
+      int[][] candidats = relSorted == null ? null : CandidateLists.build(relSorted, CandidateLists.NUM_CANDIDATS);
+      generator = new LocalSearchImprover(generator, relMatrix, new OrOpt(candidats));
+    }
+
+    /**
+     * Decora el algoritmo seleccionado alternando 2-opt y Or-opt hasta que ninguna de las dos
+     * búsquedas locales encuentra más mejoras.
+     * Si se dan las relaciones ordenadas, solo se prueban los movimientos de las listas de candidatos.
+     * @param relMatrix Matriz de relaciones entre productos.
+     * @param relSorted Relaciones ordenadas de cada producto, o null para probar todos los movimientos.
+     * @throws NullPointerException Si no se selecciona ningún algoritmo.
+     */
+    public void TwoOptOrOpt(ArrayList<ArrayList<Integer>> relMatrix, ArrayList<ArrayList<Pair<Integer,Integer>>> relSorted) {
+      if (generator == null) throw new NullPointerException("No hi ha cap algorisme seleccionat.");
+      int[][] candidats = relSorted == null ? null : CandidateLists.build(relSorted, CandidateLists.NUM_CANDIDATS);
+      generator = new LocalSearchImprover(generator, relMatrix, new TwoOpt(candidats), new OrOpt(candidats));
+    }
+
     /**
      * Calcula el coste de una solución dada.
      * @param disp Dispoción de los productos.
@@ -105,11 +315,97 @@ public class CntrlAlgoritme {
 
     /**
      * Recupera la solución generada por el generador.
+     * Mientras el algoritmo genera la solución se calcula la cota superior del coste óptimo,
+     * que queda disponible con getCotaSuperior() y getGap() cuando acaba.
      *
      * @return Una nueva ArrayList que contiene la solución.
      */
     public ArrayList<Integer> getSolution() {
-        return new ArrayList<>(generator.getSolution());
+        return new ArrayList<>(getInforme().getDisposicio());
+    }
+
+    /**
+     * Genera la solución con el algoritmo seleccionado y, en paralelo, la cota superior del coste
+     * óptimo. La cota solo se vuelve a calcular si la matriz de relaciones ha cambiado, y no se
+     * espera a que acabe: si aún no está, el informe devuelto tiene la cota a -1 y
+     * getCotaSuperior() y getGap() la dan cuando acaba.
+     *
+     * @return El informe con la solución, su coste y, si ya se conoce, la cota superior.
+     * @throws NullPointerException Si no se selecciona ningún algoritmo.
+     */
+    public InformeSolucio getInforme() {
+        if (generator == null) throw new NullPointerException("No hi ha cap algorisme seleccionat.");
+        CompletableFuture<Integer> futur = relacions == null ? null : calculaCota();
+        ArrayList<Integer> solucio = generator.getSolution();
+        int cost = generator.getCost();
+        Integer cotaFeta = futur == null ? null : futur.getNow(null);
+        InformeSolucio nou = new InformeSolucio(solucio, cost, cotaFeta == null ? -1 : cotaFeta);
+        setInforme(nou);
+        if (futur != null && cotaFeta == null) futur.thenAccept(c -> completaInforme(nou, c));
+        return nou;
+    }
+
+    /**
+     * Guarda el informe de la última solución.
+     *
+     * @param nou El informe.
+     */
+    private static synchronized void setInforme(InformeSolucio nou) {
+        informe = nou;
+    }
+
+    /**
+     * Completa con la cota superior el informe que se ha devuelto sin ella, si aún es el de la
+     * última solución.
+     *
+     * @param pendent El informe sin cota.
+     * @param cotaSuperior La cota superior.
+     */
+    private static synchronized void completaInforme(InformeSolucio pendent, int cotaSuperior) {
+        if (informe == pendent) informe = new InformeSolucio(pendent.getDisposicio(), pendent.getCost(), cotaSuperior);
+    }
+
+    /**
+     * Devuelve el cálculo de la cota superior de la matriz de relaciones, que se empieza en otro
+     * hilo si la matriz ha cambiado desde la última cota.
+     *
+     * @return El cálculo de la cota superior.
+     */
+    private static synchronized CompletableFuture<Integer> calculaCota() {
+        if (cota == null || versioCota != versioRelacions) {
+            versioCota = versioRelacions;
+            int[][] w = ComputeCost.toArray(relacions);
+            cota = CompletableFuture.supplyAsync(() -> AssignmentBound.upperBound(w));
+        }
+        return cota;
+    }
+
+    /**
+     * Indica que la matriz de relaciones se ha modificado sin volver a establecerla, de modo que
+     * la próxima solución vuelve a calcular la cota superior.
+     */
+    public void relacionsModificades() {
+        synchronized (CntrlAlgoritme.class) {
+            ++versioRelacions;
+        }
+    }
+
+    /**
+     * Devuelve la cota superior del coste óptimo calculada con la última solución.
+     *
+     * @return La cota superior, o -1 si no se ha generado ninguna solución.
+     */
+    public int getCotaSuperior() {
+        return informe == null ? -1 : informe.getCotaSuperior();
+    }
+
+    /**
+     * Devuelve la distancia de la última solución a la cota superior, en porcentaje de la cota.
+     *
+     * @return El porcentaje, o 0 si no se ha generado ninguna solución.
+     */
+    public double getGap() {
+        return informe == null ? 0 : informe.getGap();
     }
 
 
@@ -120,6 +416,8 @@ public class CntrlAlgoritme {
      */
     public void setProductRelations(ArrayList<ArrayList<Integer>> distances) {
         generator.setProductRelations(distances);
+        if (distances != relacions) relacionsModificades();
+        relacions = distances;
     }
 
 
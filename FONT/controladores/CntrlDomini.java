@@ -82,22 +82,82 @@ public class CntrlDomini {
     }
 
     /**
-     * Establece el algoritmo actual a partir de su nombre
+     * Establece el algoritmo actual a partir de su nombre.
+     * El nombre puede acabar en "+2opt" y/o "+oropt" para mejorar la solución
+     * del algoritmo con estas búsquedas locales.
      * @param algorithmName El nombre del algoritmo
      */
     private void setCurrentAlgorism(String algorithmName) {
-      if (algorithmName.toLowerCase().equals("bruteforce2")){
+      String nom = algorithmName.toLowerCase();
+      boolean twoOpt = false;
+      boolean orOpt = false;
+      while (nom.endsWith("+2opt") || nom.endsWith("+oropt")) {
+        if (nom.endsWith("+2opt")) twoOpt = true;
+        else orOpt = true;
+        nom = nom.substring(0, nom.lastIndexOf('+'));
+      }
+
+      if (nom.equals("bruteforce2")){
         cntrlAlgoritme.BruteForce2();
       }
-      if (algorithmName.toLowerCase().equals("bruteforce")){
+      if (nom.equals("bruteforce2parallel")){
+        cntrlAlgoritme.BruteForce2Parallel();
+      }
+      if (nom.equals("bruteforce")){
         cntrlAlgoritme.BruteForceGenerator();
       }
-      if (algorithmName.toLowerCase().equals("greedy")){
+      if (nom.equals("bruteforceparallel")){
+        cntrlAlgoritme.BruteForceParallel();
+      }
+      if (nom.equals("greedy")){
         cntrlAlgoritme.GreedyGenerator();
       }
-      if (algorithmName.toLowerCase().equals("tspapproximation")){
+      if (nom.equals("greedymultistart")){
+        cntrlAlgoritme.GreedyMultiStart();
+      }
+      if (nom.equals("tspapproximation")){
         cntrlAlgoritme.TSPApproximatorGenerator();
       }
+      if (nom.equals("tspapproximationmultiroot")){
+        cntrlAlgoritme.TSPApproximatorMultiRoot();
+      }
+      if (nom.equals("heldkarp")){
+        cntrlAlgoritme.HeldKarp();
+      }
+      if (nom.equals("linkernighan")){
+        cntrlAlgoritme.LinKernighan();
+      }
+      if (nom.equals("simulatedannealing")){
+        cntrlAlgoritme.SimulatedAnnealing();
+      }
+      if (nom.equals("geneticalgorithm")){
+        cntrlAlgoritme.GeneticAlgorithm();
+      }
+      if (nom.equals("antcolony")){
+        cntrlAlgoritme.AntColony();
+      }
+      if (nom.equals("serdyukov")){
+        cntrlAlgoritme.Serdyukov();
+      }
+      if (nom.equals("greedyedge")){
+        cntrlAlgoritme.GreedyEdge();
+      }
+      if (nom.equals("cheapestinsertion")){
+        cntrlAlgoritme.CheapestInsertion();
+      }
+      if (nom.equals("farthestinsertion")){
+        cntrlAlgoritme.FarthestInsertion();
+      }
+      if (nom.equals("iteratedlocalsearch")){
+        cntrlAlgoritme.IteratedLocalSearch();
+      }
+      if (nom.equals("ruinandrecreate")){
+        cntrlAlgoritme.RuinAndRecreate();
+      }
+
+      if (twoOpt && orOpt) cntrlAlgoritme.TwoOptOrOpt(actual.getProductRelations(), actual.getProductRelationsSorted());
+      else if (twoOpt) cntrlAlgoritme.TwoOpt(actual.getProductRelations(), actual.getProductRelationsSorted());
+      else if (orOpt) cntrlAlgoritme.OrOpt(actual.getProductRelations(), actual.getProductRelationsSorted());
     }
 
     /**
@@ -140,6 +200,14 @@ public class CntrlDomini {
     public int getCostSolution() {
       return cntrlAlgoritme.getSolutionCost();
     }
+
+    /**
+     * Devuelve la cota superior del coste óptimo calculada con la solución actual.
+     * @return la cota superior, o -1 si no se ha generado ninguna solución
+     */
+    public int getCotaSuperiorSolution() {
+      return cntrlAlgoritme.getCotaSuperior();
+    }
     
     /**
      * Devuelve la solución actual generada por el algoritmo.
@@ -382,11 +450,38 @@ public class CntrlDomini {
       cntrlAlgoritme.setProductRelations(actual.getProductRelations());
       cntrlAlgoritme.BruteForce2();
       cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.setProductRelationsSorted(actual.getProductRelationsSorted());
       cntrlAlgoritme.GreedyGenerator();
       cntrlAlgoritme.setProductRelations(actual.getProductRelations());
       cntrlAlgoritme.setProductRelationsSorted(actual.getProductRelationsSorted());
       cntrlAlgoritme.TSPApproximatorGenerator();
       cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.HeldKarp();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.LinKernighan();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.setProductRelationsSorted(actual.getProductRelationsSorted());
+      cntrlAlgoritme.SimulatedAnnealing();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.setProductRelationsSorted(actual.getProductRelationsSorted());
+      cntrlAlgoritme.GeneticAlgorithm();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.setProductRelationsSorted(actual.getProductRelationsSorted());
+      cntrlAlgoritme.AntColony();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.setProductRelationsSorted(actual.getProductRelationsSorted());
+      cntrlAlgoritme.Serdyukov();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.GreedyEdge();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.CheapestInsertion();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.IteratedLocalSearch();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.setProductRelationsSorted(actual.getProductRelationsSorted());
+      cntrlAlgoritme.RuinAndRecreate();
+      cntrlAlgoritme.setProductRelations(actual.getProductRelations());
+      cntrlAlgoritme.setProductRelationsSorted(actual.getProductRelationsSorted());
     }
 
     /**
@@ -423,6 +518,7 @@ public class CntrlDomini {
     public void altaProducte(String nom, String descripcio, float preu, String icon, ArrayList<Integer> relacions) {
         if (actual == null) throw new IllegalStateException("No hay supermercado seleccionado");
         actual.altaProducte(nom, descripcio, preu, icon, relacions);
+        cntrlAlgoritme.relacionsModificades();
     }
 
     /**
@@ -613,6 +709,7 @@ public class CntrlDomini {
     public void modificarRelacioProducte(String producte1, String producte2, int relacio) {
         if (actual == null) throw new IllegalStateException("No hay supermercado seleccionado");
         actual.modificarRelacioProducte(producte1, producte2, relacio);
+        cntrlAlgoritme.relacionsModificades();
     }
 
     /**
@@ -624,6 +721,7 @@ public class CntrlDomini {
     public void modificarRelacionsProducte(String producte, ArrayList<Integer> relacions) {
       if (actual == null) throw new IllegalStateException("No hay supermercado seleccionado");
       actual.modificarRelacionsProducte(producte, relacions);
+      cntrlAlgoritme.relacionsModificades();
     }
 
     /**
@@ -344,6 +344,14 @@ public class CntrlView {
       return cntrlDomini.getCostSolution();
     }
 
+    /**
+     * Obtiene la cota superior del coste óptimo calculada con la solución.
+     * @return la cota superior, o -1 si no se conoce.
+     */
+    public int getCotaSuperior() {
+      return cntrlDomini.getCotaSuperiorSolution();
+    }
+
     /**
      * Carga los supermercados.
      * @throws RuntimeException si hay un problema al cargar los supermercados.
@@ -5,9 +5,14 @@ import algoritmo.BruteForceGenerator;
 import algoritmo.ComputeCost;
 import algoritmo.DFS;
 import algoritmo.GreedySolutionGenerator;
+import algoritmo.LagrangianBound;
+import algoritmo.OneTreeBound;
 import algoritmo.Prim;
 import algoritmo.TSPApproximator;
+import algoritmo.TrivialBound;
+import algoritmo.TwoBestBound;
 import controladores.CntrlAlgoritme;
+import interfaces.IUpperBound;
 import java.util.*;
 import structures.Pair;
 
@@ -238,6 +243,17 @@ public class DriverAlgoritmo {
       System.out.println("Resultado del algoritmo de Fuerza Bruta: " + result);
       System.out.println("Cost: "+ bruteForce.getCost());
 
+      //Compara els nodes explorats amb cada cota
+      IUpperBound[] cotes = {new TrivialBound(), new TwoBestBound(), new OneTreeBound(), new LagrangianBound()};
+      for (IUpperBound cota : cotes) {
+        bruteForce.setBound(cota);
+        start = System.nanoTime();
+        int cost = bruteForce.getCost();
+        end = System.nanoTime();
+        System.out.println(cota.getClass().getSimpleName() + ": cost " + cost + ", nodes explorats " + bruteForce.getNodesExplorats()
+            + ", temps " + (end - start) / 1_000_000_000.0 + " segons");
+      }
+      bruteForce.setBound(new LagrangianBound());
   }
 
     
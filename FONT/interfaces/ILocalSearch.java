@@ -0,0 +1,16 @@
+package interfaces;
+
+/**
+ * Movimiento de búsqueda local que mejora una disposición ya construida.
+ * Las implementaciones modifican la disposición in situ y solo aplican movimientos
+ * que aumentan el coste (la suma cíclica de relaciones).
+ */
+public interface ILocalSearch {
+    /**
+     * Aplica movimientos de mejora sobre la disposición hasta que no queda ninguno.
+     * @param tour Disposición de los productos, se modifica in situ.
+     * @param relations Matriz de relaciones entre productos.
+     * @return La mejora total del coste conseguida (0 si no se ha encontrado ninguna).
+     */
+    int improve(int[] tour, int[][] relations);
+}
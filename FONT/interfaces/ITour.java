@@ -0,0 +1,56 @@
+package interfaces;
+
+import java.util.ArrayList;
+
+/**
+ * Disposición cíclica de los productos sobre la que trabajan las búsquedas locales. Permite
+ * recorrerla en los dos sentidos y aplicar movimientos 2-opt sin reconstruirla.
+ */
+public interface ITour {
+    /**
+     * Devuelve el producto siguiente en la disposición.
+     * @param x El producto.
+     * @return El siguiente producto.
+     */
+    int next(int x);
+
+    /**
+     * Devuelve el producto anterior en la disposición.
+     * @param x El producto.
+     * @return El producto anterior.
+     */
+    int prev(int x);
+
+    /**
+     * Indica si b está en el camino que va de a hasta c en el sentido de la disposición
+     * (incluyendo los extremos).
+     * @param a Inicio del camino.
+     * @param b El producto que se consulta.
+     * @param c Final del camino.
+     * @return true si b está entre a y c.
+     */
+    boolean between(int a, int b, int c);
+
+    /**
+     * Sustituye las relaciones {a, b} y {c, d} por {a, c} y {b, d} invirtiendo uno de los dos
+     * caminos que quedan entre ellas. Hace falta que b vaya después de a y d después de c, o que
+     * a vaya después de b y c después de d.
+     * @param a Extremo de la primera relación.
+     * @param b El otro extremo de la primera relación.
+     * @param c Extremo de la segunda relación.
+     * @param d El otro extremo de la segunda relación.
+     */
+    void flip(int a, int b, int c, int d);
+
+    /**
+     * Devuelve los productos en el orden de la disposición.
+     * @return La disposición como vector.
+     */
+    int[] toArray();
+
+    /**
+     * Devuelve los productos en el orden de la disposición, en el formato de IAlgoritme.getSolution.
+     * @return La disposición como lista.
+     */
+    ArrayList<Integer> toList();
+}
@@ -0,0 +1,41 @@
+package interfaces;
+
+/**
+ * Cota superior del coste que aún puede sumar una disposición parcial. La utilizan los
+ * algoritmos de ramificación y poda para descartar los nodos que no pueden mejorar la
+ * mejor solución encontrada.
+ * Después de prepare() las implementaciones solo leen datos, por lo que se pueden consultar
+ * desde varios hilos a la vez.
+ */
+public interface IUpperBound {
+    /**
+     * Prepara la cota para una matriz de relaciones concreta.
+     * @param relations Matriz de relaciones entre productos.
+     */
+    void prepare(int[][] relations);
+
+    /**
+     * Devuelve una cota superior del coste del camino que sale de last, pasa por todos los
+     * productos pendientes y vuelve al producto first.
+     * @param last Último producto colocado.
+     * @param first Primer producto de la disposición.
+     * @param pending Productos pendientes de colocar (solo se leen las numPending primeras posiciones).
+     * @param numPending Número de productos pendientes.
+     * @return Una cota superior del coste restante.
+     */
+    int bound(int last, int first, int[] pending, int numPending);
+
+    /**
+     * Igual que bound(last, first, pending, numPending), pero sabiendo que el nodo se poda si la cota
+     * no supera llindar. Las cotas iterativas pueden parar en cuanto la cota baja de llindar.
+     * @param last Último producto colocado.
+     * @param first Primer producto de la disposición.
+     * @param pending Productos pendientes de colocar (solo se leen las numPending primeras posiciones).
+     * @param numPending Número de productos pendientes.
+     * @param llindar Valor de la cota a partir del cual el nodo se poda.
+     * @return Una cota superior del coste restante.
+     */
+    default int bound(int last, int first, int[] pending, int numPending, int llindar) {
+        return bound(last, first, pending, numPending);
+    }
+}
@@ -0,0 +1,79 @@
+package structures;
+
+import java.util.ArrayList;
+
+/**
+ * Resultado de una ejecución de un algoritmo: la disposición, su coste y una cota superior del
+ * coste de cualquier disposición, con la que se sabe como máximo a qué distancia del óptimo está.
+ */
+public class InformeSolucio {
+    /**
+     * La disposición generada.
+     */
+    private final ArrayList<Integer> disposicio;
+    /**
+     * El coste de la disposición.
+     */
+    private final int cost;
+    /**
+     * Cota superior del coste de cualquier disposición, o -1 si no se conoce.
+     */
+    private final int cotaSuperior;
+
+    /**
+     * Constructor del informe.
+     * @param disposicio La disposición generada.
+     * @param cost El coste de la disposición.
+     * @param cotaSuperior Cota superior del coste de cualquier disposición, o -1 si no se conoce.
+     */
+    public InformeSolucio(ArrayList<Integer> disposicio, int cost, int cotaSuperior) {
+        this.disposicio = disposicio;
+        this.cost = cost;
+        this.cotaSuperior = cotaSuperior;
+    }
+
+    /**
+     * Devuelve la disposición generada.
+     * @return la disposición.
+     */
+    public ArrayList<Integer> getDisposicio() {
+        return disposicio;
+    }
+
+    /**
+     * Devuelve el coste de la disposición.
+     * @return el coste.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Devuelve la cota superior del coste de cualquier disposición.
+     * @return la cota superior, o -1 si no se conoce.
+     */
+    public int getCotaSuperior() {
+        return cotaSuperior;
+    }
+
+    /**
+     * Devuelve la diferencia entre la cota superior y el coste, en porcentaje de la cota.
+     * El coste óptimo está entre el coste de la disposición y la cota, así que la disposición
+     * está como mucho a este porcentaje del óptimo.
+     * @return el porcentaje, o 0 si la cota no es positiva.
+     */
+    public double getGap() {
+        return gap(cost, cotaSuperior);
+    }
+
+    /**
+     * Calcula la diferencia entre una cota superior y un coste, en porcentaje de la cota.
+     * @param cost El coste de una disposición.
+     * @param cotaSuperior La cota superior.
+     * @return el porcentaje, o 0 si la cota no es positiva.
+     */
+    public static double gap(int cost, int cotaSuperior) {
+        if (cotaSuperior <= 0) return 0;
+        return 100.0 * (cotaSuperior - cost) / cotaSuperior;
+    }
+}
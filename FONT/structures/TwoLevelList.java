@@ -0,0 +1,306 @@
+package structures;
+
+import interfaces.ITour;
+import java.util.ArrayList;
+
+/**
+* Disposición cíclica en una lista de dos niveles: los productos se reparten en unos sqrt(n)
+* segmentos, cada uno un tramo de un vector con un bit que indica si se recorre al revés, y los
+* segmentos forman una lista doblemente enlazada. next, prev y between son O(1); flip invierte un
+* camino partiendo como mucho dos segmentos en sus extremos y girando los segmentos de en medio
+* (cambiar su bit y su orden en la lista), en O(sqrt(n)). Las particiones van creando segmentos;
+* cuando hay demasiados, la lista se reconstruye en O(n), de modo que el coste amortizado de cada
+* flip sigue siendo O(sqrt(n)).
+*/
+public class TwoLevelList implements ITour {
+    /**
+     * Número de productos.
+     */
+    private final int n;
+    /**
+     * Tamaño de los segmentos al reconstruir la lista.
+     */
+    private final int midaSegment;
+    /**
+     * Número de segmentos a partir del cual se reconstruye la lista.
+     */
+    private final int maxSegments;
+    /**
+     * Los productos; cada segmento es un tramo de este vector.
+     */
+    private final int[] ordre;
+    /**
+     * La posición de cada producto en ordre.
+     */
+    private final int[] pos;
+    /**
+     * El segmento de cada producto.
+     */
+    private final int[] seg;
+    /**
+     * Primera y última posición en ordre de cada segmento.
+     */
+    private final int[] inici, fi;
+    /**
+     * Indica si cada segmento se recorre de fi a inici.
+     */
+    private final boolean[] rev;
+    /**
+     * Segmento siguiente y anterior de cada segmento en el sentido de la disposición.
+     */
+    private final int[] seguent, anterior;
+    /**
+     * Número de orden de cada segmento, contando desde uno cualquiera.
+     */
+    private final int[] rang;
+    /**
+     * Vector auxiliar con los segmentos de un camino.
+     */
+    private final int[] cami;
+    /**
+     * Número de segmentos.
+     */
+    private int numSegments;
+
+    /**
+    * Construye la lista a partir de una disposición.
+    * @param tour Los productos en el orden de la disposición; no se modifica.
+    * @throws IllegalArgumentException si la disposición está vacía.
+    */
+    public TwoLevelList(int[] tour) {
+        if (tour == null || tour.length == 0) throw new IllegalArgumentException("La disposició no pot ser buida.");
+        n = tour.length;
+        midaSegment = Math.max(8, (int) Math.sqrt(n));
+        int segmentsInicials = (n + midaSegment - 1) / midaSegment;
+        maxSegments = segmentsInicials + midaSegment;
+        ordre = new int[n];
+        pos = new int[n];
+        seg = new int[n];
+        int capacitat = maxSegments + 2;
+        inici = new int[capacitat];
+        fi = new int[capacitat];
+        rev = new boolean[capacitat];
+        seguent = new int[capacitat];
+        anterior = new int[capacitat];
+        rang = new int[capacitat];
+        cami = new int[capacitat];
+        reconstrueix(tour);
+    }
+
+    /**
+    * Reparte la disposición en segmentos de midaSegment productos, sin invertir.
+    * @param tour Los productos en el orden de la disposición.
+    */
+    private void reconstrueix(int[] tour) {
+        System.arraycopy(tour, 0, ordre, 0, n);
+        numSegments = (n + midaSegment - 1) / midaSegment;
+        for (int s = 0; s < numSegments; ++s) {
+            inici[s] = s * midaSegment;
+            fi[s] = Math.min(n, (s + 1) * midaSegment) - 1;
+            rev[s] = false;
+            seguent[s] = s + 1 == numSegments ? 0 : s + 1;
+            anterior[s] = s == 0 ? numSegments - 1 : s - 1;
+            rang[s] = s;
+            for (int p = inici[s]; p <= fi[s]; ++p) {
+                pos[ordre[p]] = p;
+                seg[ordre[p]] = s;
+            }
+        }
+    }
+
+    /**
+    * Devuelve el primer producto de un segmento en el sentido de la disposición.
+    * @param s El segmento.
+    * @return Su primer producto.
+    */
+    private int cap(int s) {
+        return rev[s] ? ordre[fi[s]] : ordre[inici[s]];
+    }
+
+    /**
+    * Devuelve el último producto de un segmento en el sentido de la disposición.
+    * @param s El segmento.
+    * @return Su último producto.
+    */
+    private int cua(int s) {
+        return rev[s] ? ordre[inici[s]] : ordre[fi[s]];
+    }
+
+    @Override
+    public int next(int x) {
+        int s = seg[x], p = pos[x];
+        if (!rev[s]) {
+            if (p < fi[s]) return ordre[p + 1];
+        }
+        else if (p > inici[s]) return ordre[p - 1];
+        return cap(seguent[s]);
+    }
+
+    @Override
+    public int prev(int x) {
+        int s = seg[x], p = pos[x];
+        if (!rev[s]) {
+            if (p > inici[s]) return ordre[p - 1];
+        }
+        else if (p < fi[s]) return ordre[p + 1];
+        return cua(anterior[s]);
+    }
+
+    /**
+    * Devuelve la posición de un producto en la disposición, contando desde el primer producto
+    * del segmento de rango 0.
+    * @param x El producto.
+    * @return Una clave que crece en el sentido de la disposición.
+    */
+    private long clau(int x) {
+        int s = seg[x];
+        int desplacament = rev[s] ? fi[s] - pos[x] : pos[x] - inici[s];
+        return (long) rang[s] * n + desplacament;
+    }
+
+    @Override
+    public boolean between(int a, int b, int c) {
+        long ka = clau(a), kb = clau(b), kc = clau(c);
+        if (ka <= kc) return ka <= kb && kb <= kc;
+        return kb >= ka || kb <= kc;
+    }
+
+    @Override
+    public void flip(int a, int b, int c, int d) {
+        if (next(a) == b) reverse(b, c);
+        else reverse(a, d);
+    }
+
+    /**
+    * Invierte el camino que va de a hasta b en el sentido de la disposición, o el complementario
+    * si tiene menos segmentos (las relaciones que quedan son las mismas).
+    * @param a Primer producto del camino.
+    * @param b Último producto del camino.
+    */
+    private void reverse(int a, int b) {
+        // Invertir tota la disposició no canvia cap relació
+        if (a == b || next(b) == a) return;
+        separaAbans(a);
+        separaDespres(b);
+        int sa = seg[a], sb = seg[b];
+        int longitud = 1;
+        for (int s = sa; s != sb; s = seguent[s]) ++longitud;
+        if (2 * longitud > numSegments) {
+            int s = seguent[sb];
+            sb = anterior[sa];
+            sa = s;
+            longitud = numSegments - longitud;
+        }
+
+        // Es giren els segments del camí: cada un canvia de sentit i l'ordre s'inverteix
+        int p = anterior[sa], q = seguent[sb];
+        int s = sa;
+        for (int k = 0; k < longitud; ++k) {
+            cami[k] = s;
+            rev[s] = !rev[s];
+            s = seguent[s];
+        }
+        int previ = p;
+        for (int k = longitud - 1; k >= 0; --k) {
+            seguent[previ] = cami[k];
+            anterior[cami[k]] = previ;
+            previ = cami[k];
+        }
+        seguent[previ] = q;
+        anterior[q] = previ;
+
+        if (numSegments > maxSegments) {
+            reconstrueix(toArray());
+            return;
+        }
+        s = p;
+        for (int k = 0; k < numSegments; ++k) {
+            rang[s] = k;
+            s = seguent[s];
+        }
+    }
+
+    /**
+    * Parte el segmento de x para que x sea su primer producto en el sentido de la disposición.
+    * El segmento nuevo se queda la parte más pequeña, que es la única a la que se cambia el
+    * segmento de cada producto.
+    * @param x El producto.
+    */
+    private void separaAbans(int x) {
+        int s = seg[x];
+        if (cap(s) == x) return;
+        int p = pos[x];
+        // Trams de ordre que queden davant de x i a partir de x
+        int d0, d1, e0, e1;
+        if (!rev[s]) {
+            d0 = inici[s];
+            d1 = p - 1;
+            e0 = p;
+            e1 = fi[s];
+        }
+        else {
+            d0 = p + 1;
+            d1 = fi[s];
+            e0 = inici[s];
+            e1 = p;
+        }
+        int t = numSegments++;
+        rev[t] = rev[s];
+        if (d1 - d0 <= e1 - e0) {
+            // El segment nou és el de davant
+            inici[t] = d0;
+            fi[t] = d1;
+            inici[s] = e0;
+            fi[s] = e1;
+            int a = anterior[s];
+            seguent[a] = t;
+            anterior[t] = a;
+            seguent[t] = s;
+            anterior[s] = t;
+        }
+        else {
+            inici[t] = e0;
+            fi[t] = e1;
+            inici[s] = d0;
+            fi[s] = d1;
+            int b = seguent[s];
+            seguent[s] = t;
+            anterior[t] = s;
+            seguent[t] = b;
+            anterior[b] = t;
+        }
+        for (int q = inici[t]; q <= fi[t]; ++q) seg[ordre[q]] = t;
+    }
+
+    /**
+    * Parte el segmento de x para que x sea su último producto en el sentido de la disposición.
+    * @param x El producto.
+    */
+    private void separaDespres(int x) {
+        if (cua(seg[x]) != x) separaAbans(next(x));
+    }
+
+    @Override
+    public int[] toArray() {
+        int[] result = new int[n];
+        int k = 0;
+        int s = seg[ordre[0]];
+        for (int c = 0; c < numSegments; ++c) {
+            if (rev[s]) {
+                for (int p = fi[s]; p >= inici[s]; --p) result[k++] = ordre[p];
+            }
+            else {
+                for (int p = inici[s]; p <= fi[s]; ++p) result[k++] = ordre[p];
+            }
+            s = seguent[s];
+        }
+        return result;
+    }
+
+    @Override
+    public ArrayList<Integer> toList() {
+        ArrayList<Integer> result = new ArrayList<>(n);
+        for (int x : toArray()) result.add(x);
+        return result;
+    }
+}
@@ -41,7 +41,7 @@ public class Runner {
                 }
 
                 // Identifiquem i comprovem tots els mètodes anotats com @Test
-                for (Method method : testClass.getDeclaredMethods()) {
+                for (Method method : testClass.getMethods()) {
                     if (method.isAnnotationPresent(Test.class)) {
                         String methodName = method.getName();
                         if (failedTests.contains(methodName)) {
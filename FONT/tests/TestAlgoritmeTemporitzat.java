@@ -0,0 +1,251 @@
+package tests;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import algoritmo.ComputeCost;
+import algoritmo.GreedySolutionGenerator;
+import interfaces.IAlgoritme;
+import structures.Pair;
+
+/**
+* Base de las clases de prueba de los algoritmos que parten de la solución de
+* GreedySolutionGenerator y la mejoran con un tiempo límite. Contiene las utilidades comunes
+* (carga y generación de matrices, coste voraz, comprobación de la solución) y las pruebas que
+* comparten todos ellos; cada subclase añade las propias de su algoritmo.
+*/
+public abstract class TestAlgoritmeTemporitzat {
+    /**
+     * Path de los archivos de prueba.
+     */
+    protected static final String PATH = "./FONT/tests/inputs/algorisme/";
+
+    /**
+     * Matriz de adyacencia de los productos.
+     */
+    protected ArrayList<ArrayList<Integer>> adjMatrix;
+
+    /**
+     * Coste óptimo de la solución (si el archivo lo incluye).
+     */
+    protected int costOptim;
+
+    /**
+     * Devuelve la instancia singleton del algoritmo que se prueba.
+     * @return El algoritmo.
+     */
+    protected abstract IAlgoritme algoritme();
+
+    /**
+     * Resetea la instancia singleton del algoritmo y le da la configuración de las pruebas.
+     */
+    protected abstract void reinicia();
+
+    /**
+     * Establece el tiempo límite del algoritmo.
+     * @param millis Tiempo límite en milisegundos.
+     */
+    protected abstract void setTempsLimit(long millis);
+
+    /**
+     * Número de productos de la prueba del tiempo límite.
+     * @return El número de productos.
+     */
+    protected int midaProvaTemps() {
+        return 300;
+    }
+
+    /**
+     * Tiempo máximo que puede tardar la prueba del tiempo límite, incluido el algoritmo voraz.
+     * @return El tiempo en milisegundos.
+     */
+    protected long margeProvaTemps() {
+        return 2000;
+    }
+
+    /**
+     * Resetea la instancia singleton y el algoritmo voraz antes de cada prueba.
+     */
+    @Before
+    public void ferReset() {
+        reinicia();
+        GreedySolutionGenerator.getInstance().reset();
+    }
+
+    /**
+     * Carga la matriz de relaciones desde un archivo de texto.
+     * @param fileName Nombre del archivo de texto.
+     * @param readCostOptim Indica si se debe leer el coste óptimo del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    protected void loadTestData(String fileName, boolean readCostOptim) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(PATH + fileName));
+        int numProd = Integer.parseInt(lines.get(0).trim());
+        adjMatrix = new ArrayList<>(numProd);
+        for (int i = 1; i <= numProd; i++) {
+            ArrayList<Integer> row = new ArrayList<>(numProd);
+            for (String value : lines.get(i).trim().split(" ")) {
+                row.add(Integer.valueOf(value));
+            }
+            adjMatrix.add(row);
+        }
+        if (readCostOptim) costOptim = Integer.parseInt(lines.get(numProd + 1).trim());
+        algoritme().setProductRelations(adjMatrix);
+    }
+
+    /**
+     * Genera una matriz de relaciones simétrica aleatoria.
+     * @param n Número de productos.
+     * @param seed Semilla del generador aleatorio.
+     */
+    protected void generaMatriu(int n, long seed) {
+        Random rnd = new Random(seed);
+        int[][] m = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            m[i][i] = -1;
+            for (int j = i + 1; j < n; ++j) {
+                m[i][j] = m[j][i] = rnd.nextInt(101);
+            }
+        }
+        adjMatrix = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            ArrayList<Integer> row = new ArrayList<>(n);
+            for (int j = 0; j < n; ++j) row.add(m[i][j]);
+            adjMatrix.add(row);
+        }
+        algoritme().setProductRelations(adjMatrix);
+    }
+
+    /**
+     * Calcula el coste de la solución de GreedySolutionGenerator para la matriz cargada.
+     * @return El coste de la solución voraz.
+     */
+    protected int costGreedy() {
+        ArrayList<ArrayList<Pair<Integer, Integer>>> sorted = new ArrayList<>();
+        for (int i = 0; i < adjMatrix.size(); ++i) {
+            ArrayList<Pair<Integer, Integer>> row = new ArrayList<>();
+            for (int j = 0; j < adjMatrix.size(); ++j) {
+                if (i != j) row.add(new Pair<>(adjMatrix.get(i).get(j), j));
+            }
+            row.sort((a, b) -> b.getFirst().compareTo(a.getFirst()));
+            sorted.add(row);
+        }
+        GreedySolutionGenerator greedy = GreedySolutionGenerator.getInstance();
+        greedy.reset();
+        greedy.setProductRelations(adjMatrix);
+        greedy.setProductRelationsSorted(sorted);
+        return greedy.getCost();
+    }
+
+    /**
+     * Comprueba que la solución contiene todos los productos exactamente una vez.
+     * @param solution Solución a verificar.
+     */
+    protected void checkPermutacio(ArrayList<Integer> solution) {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < adjMatrix.size(); ++i) expected.add(i);
+        assertEquals("La solució no té tots els productes exactament.", adjMatrix.size(), solution.size());
+        assertEquals("La solució no té tots els productes exactament.", expected, new HashSet<>(solution));
+    }
+
+    /**
+     * Comprueba que la solución es una permutación y que el coste corresponde a la disposición.
+     */
+    protected void checkSolucioCorrecta() {
+        ArrayList<Integer> solution = algoritme().getSolution();
+        checkPermutacio(solution);
+        assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), algoritme().getCost());
+    }
+
+    /**
+     * Prueba con un producto.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio1prod() throws IOException {
+        loadTestData("1prod.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, algoritme().getCost());
+    }
+
+    /**
+     * Prueba con tres productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio3prod() throws IOException {
+        loadTestData("3prod.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, algoritme().getCost());
+    }
+
+    /**
+     * Prueba con diez productos: la solución no es peor que la voraz ni mejor que la óptima.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio10prod() throws IOException {
+        loadTestData("10prod.txt", true);
+        checkSolucioCorrecta();
+        assertTrue(algoritme().getCost() >= costGreedy());
+        assertTrue(algoritme().getCost() <= costOptim);
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos: la solución no es peor que la voraz.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prod() throws IOException {
+        loadTestData("48prod.txt", false);
+        checkSolucioCorrecta();
+        assertTrue("La solució és pitjor que la del Greedy.", algoritme().getCost() >= costGreedy());
+    }
+
+    /**
+     * Prueba que el tiempo límite se respeta.
+     */
+    @Test
+    public void testTempsLimit() {
+        generaMatriu(midaProvaTemps(), 7);
+        setTempsLimit(200);
+        long inici = System.currentTimeMillis();
+        checkSolucioCorrecta();
+        long temps = System.currentTimeMillis() - inici;
+        // Marge per a la solució voraz inicial i la conversió de la matriu
+        assertTrue("No s'ha respectat el temps límit: " + temps + " ms.", temps < margeProvaTemps());
+    }
+
+    /**
+     * Prueba con un tiempo límite no positivo.
+     */
+    @Test
+    public void testTempsLimitNegatiuThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            setTempsLimit(0);
+        });
+    }
+
+    /**
+     * Prueba a obtener la solución sin haber establecido la matriz de relaciones.
+     */
+    @Test
+    public void testGetSolutionWithoutSetProductRelations() {
+        assertThrows(IllegalStateException.class, () -> {
+            algoritme().getSolution();
+        });
+    }
+}
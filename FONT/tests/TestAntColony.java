@@ -0,0 +1,101 @@
+package tests;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+
+import algoritmo.AntColony;
+import interfaces.IAlgoritme;
+
+/**
+* Clase de prueba para el algoritmo AntColony.
+*/
+public class TestAntColony extends TestAlgoritmeTemporitzat {
+    /**
+     * Instancia singleton de AntColony.
+     */
+    private static AntColony aco;
+
+    /**
+     * Inicializa la instancia singleton de AntColony.
+     */
+    @BeforeClass
+    public static void setUp() {
+        aco = AntColony.getInstance();
+    }
+
+    @Override
+    protected IAlgoritme algoritme() {
+        return aco;
+    }
+
+    /**
+     * Resetea la instancia singleton con un tiempo límite corto.
+     */
+    @Override
+    protected void reinicia() {
+        aco.reset();
+        aco.setTempsLimit(300);
+    }
+
+    @Override
+    protected void setTempsLimit(long millis) {
+        aco.setTempsLimit(millis);
+    }
+
+    /**
+     * Prueba con diez productos y una sola hormiga: la solución no es peor que la voraz ni mejor que la óptima.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio10prodUnaFormiga() throws IOException {
+        loadTestData("10prod.txt", true);
+        aco.setNumFormigues(1);
+        checkSolucioCorrecta();
+        assertTrue(aco.getCost() >= costGreedy());
+        assertTrue(aco.getCost() <= costOptim);
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos y varias hormigas.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prodFormigues() throws IOException {
+        loadTestData("48prod.txt", false);
+        aco.setNumFormigues(8);
+        checkSolucioCorrecta();
+        assertTrue("AntColony empitjora el Greedy.", aco.getCost() >= costGreedy());
+        assertTrue(aco.getGeneracions() > 0);
+    }
+
+    /**
+     * Prueba que se respeta el número máximo de generaciones.
+     */
+    @Test
+    public void testMaxGeneracions() {
+        generaMatriu(30, 5);
+        aco.setTempsLimit(60_000);
+        aco.setMaxGeneracions(10);
+        checkSolucioCorrecta();
+        assertEquals(10, aco.getGeneracions());
+    }
+
+    /**
+     * Prueba parámetros no válidos.
+     */
+    @Test
+    public void testParametresInvalidsThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            aco.setNumFormigues(0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            aco.setMaxGeneracions(0);
+        });
+    }
+}
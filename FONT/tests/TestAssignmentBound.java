@@ -0,0 +1,189 @@
+package tests;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import algoritmo.AssignmentBound;
+import algoritmo.ComputeCost;
+import algoritmo.HeldKarp;
+import controladores.CntrlAlgoritme;
+import structures.InformeSolucio;
+
+/**
+* Clase de prueba para la cota superior de asignación y el informe de distancia al óptimo.
+*/
+public class TestAssignmentBound {
+    /**
+     * Path de los archivos de prueba.
+     */
+    private static final String PATH = "./FONT/tests/inputs/algorisme/";
+
+    /**
+     * Carga la matriz de relaciones desde un archivo de texto.
+     * @param fileName Nombre del archivo de texto.
+     * @return La matriz de relaciones.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private ArrayList<ArrayList<Integer>> loadTestData(String fileName) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(PATH + fileName));
+        int numProd = Integer.parseInt(lines.get(0).trim());
+        ArrayList<ArrayList<Integer>> adjMatrix = new ArrayList<>(numProd);
+        for (int i = 1; i <= numProd; i++) {
+            ArrayList<Integer> row = new ArrayList<>(numProd);
+            for (String value : lines.get(i).trim().split(" ")) {
+                row.add(Integer.valueOf(value));
+            }
+            adjMatrix.add(row);
+        }
+        return adjMatrix;
+    }
+
+    /**
+     * Genera una matriz de relaciones simétrica aleatoria.
+     * @param n Número de productos.
+     * @param seed Semilla del generador aleatorio.
+     * @return La matriz de relaciones.
+     */
+    private ArrayList<ArrayList<Integer>> generaMatriu(int n, long seed) {
+        Random rnd = new Random(seed);
+        int[][] m = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            m[i][i] = -1;
+            for (int j = i + 1; j < n; ++j) {
+                m[i][j] = m[j][i] = rnd.nextInt(101);
+            }
+        }
+        ArrayList<ArrayList<Integer>> adjMatrix = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            ArrayList<Integer> row = new ArrayList<>(n);
+            for (int j = 0; j < n; ++j) row.add(m[i][j]);
+            adjMatrix.add(row);
+        }
+        return adjMatrix;
+    }
+
+    /**
+     * Prueba los casos de uno, dos y tres productos, en los que la cota es exacta.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testCotaExactaPocsProductes() throws IOException {
+        String[] fitxers = {"1prod.txt", "2prod.txt", "3prod.txt"};
+        HeldKarp heldKarp = HeldKarp.getInstance();
+        for (String fitxer : fitxers) {
+            ArrayList<ArrayList<Integer>> adjMatrix = loadTestData(fitxer);
+            heldKarp.reset();
+            heldKarp.setProductRelations(adjMatrix);
+            assertEquals(heldKarp.getCost(), AssignmentBound.upperBound(ComputeCost.toArray(adjMatrix)));
+        }
+    }
+
+    /**
+     * Prueba que la cota nunca es menor que el óptimo, en matrices aleatorias y en los archivos de prueba.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testCotaSuperiorOptim() throws IOException {
+        HeldKarp heldKarp = HeldKarp.getInstance();
+        for (int seed = 0; seed < 30; ++seed) {
+            ArrayList<ArrayList<Integer>> adjMatrix = generaMatriu(4 + seed % 9, seed);
+            heldKarp.reset();
+            heldKarp.setProductRelations(adjMatrix);
+            int cota = AssignmentBound.upperBound(ComputeCost.toArray(adjMatrix));
+            assertTrue("La cota " + cota + " és menor que l'òptim " + heldKarp.getCost() + ".", cota >= heldKarp.getCost());
+        }
+        String[] fitxers = {"5prod.txt", "10prod.txt", "15prod.txt", "all0.txt", "all100.txt"};
+        for (String fitxer : fitxers) {
+            ArrayList<ArrayList<Integer>> adjMatrix = loadTestData(fitxer);
+            heldKarp.reset();
+            heldKarp.setProductRelations(adjMatrix);
+            assertTrue(AssignmentBound.upperBound(ComputeCost.toArray(adjMatrix)) >= heldKarp.getCost());
+        }
+    }
+
+    /**
+     * Espera a que el controlador tenga la cota de la última solución.
+     * @param cntrl El controlador.
+     * @return La cota superior.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    private int esperaCota(CntrlAlgoritme cntrl) throws InterruptedException {
+        long limit = System.currentTimeMillis() + 60000;
+        while (cntrl.getCotaSuperior() < 0 && System.currentTimeMillis() < limit) Thread.sleep(10);
+        return cntrl.getCotaSuperior();
+    }
+
+    /**
+     * Prueba que el controlador devuelve la cota y la distancia a la cota con cada solución.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     * @throws InterruptedException Si se interrumpe la espera de la cota.
+     */
+    @Test
+    public void testInformeControlador() throws IOException, InterruptedException {
+        CntrlAlgoritme cntrl = CntrlAlgoritme.getInstance();
+        ArrayList<ArrayList<Integer>> adjMatrix = loadTestData("48prod.txt");
+        cntrl.TSPApproximatorGenerator();
+        cntrl.setProductRelations(adjMatrix);
+        InformeSolucio informe = cntrl.getInforme();
+        assertEquals(ComputeCost.getCost(informe.getDisposicio(), adjMatrix), informe.getCost());
+        int cota = esperaCota(cntrl);
+        assertEquals(AssignmentBound.upperBound(ComputeCost.toArray(adjMatrix)), cota);
+        assertTrue(cota >= informe.getCost());
+        assertTrue(cntrl.getGap() >= 0 && cntrl.getGap() <= 100);
+        assertEquals(InformeSolucio.gap(informe.getCost(), cota), cntrl.getGap(), 0.0);
+
+        // Amb la mateixa matriu la cota ja hi és
+        informe = cntrl.getInforme();
+        assertEquals(cota, informe.getCotaSuperior());
+
+        // Amb una altra matriu la cota es torna a calcular
+        adjMatrix = generaMatriu(30, 3);
+        cntrl.setProductRelations(adjMatrix);
+        cntrl.getSolution();
+        assertEquals(AssignmentBound.upperBound(ComputeCost.toArray(adjMatrix)), esperaCota(cntrl));
+
+        // I també si es modifica la mateixa matriu i s'avisa el controlador
+        adjMatrix.get(0).set(1, 1000);
+        adjMatrix.get(1).set(0, 1000);
+        cntrl.relacionsModificades();
+        cntrl.getSolution();
+        assertEquals(AssignmentBound.upperBound(ComputeCost.toArray(adjMatrix)), esperaCota(cntrl));
+    }
+
+    /**
+     * Prueba que la solución no espera a la cota: con mil productos la aproximación del árbol acaba mucho antes
+     * que la asignación, y la cota se añade al informe cuando acaba.
+     * @throws InterruptedException Si se interrumpe la espera de la cota.
+     */
+    @Test
+    public void testInformeNoEsperaCota() throws InterruptedException {
+        CntrlAlgoritme cntrl = CntrlAlgoritme.getInstance();
+        ArrayList<ArrayList<Integer>> adjMatrix = generaMatriu(1000, 5);
+        cntrl.TSPApproximatorGenerator();
+        cntrl.setProductRelations(adjMatrix);
+        InformeSolucio informe = cntrl.getInforme();
+        assertEquals(-1, informe.getCotaSuperior());
+        int cota = esperaCota(cntrl);
+        assertTrue(cota >= informe.getCost());
+        assertEquals(AssignmentBound.upperBound(ComputeCost.toArray(adjMatrix)), cota);
+    }
+
+    /**
+     * Prueba el cálculo del porcentaje de distancia a la cota.
+     */
+    @Test
+    public void testGap() {
+        assertEquals(25.0, InformeSolucio.gap(75, 100), 1e-9);
+        assertEquals(0.0, InformeSolucio.gap(100, 100), 1e-9);
+        assertEquals(0.0, InformeSolucio.gap(0, 0), 1e-9);
+    }
+}
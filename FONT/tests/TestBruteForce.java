@@ -204,6 +204,26 @@ public class TestBruteForce {
   //17 productes triga massa temps
 
 
+  /**
+   * Prueba que el modo paralelo encuentra el mismo coste que el secuencial, también con
+   * menos productos que posiciones de partición.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testParallelMateixCost() throws IOException {
+    String[] fitxers = {"1prod.txt", "2prod.txt", "3prod.txt", "5prod.txt", "9prod.txt"};
+    for (String fitxer : fitxers) {
+      loadTestData("./FONT/tests/inputs/algorisme/" + fitxer);
+      int costSequencial = bfg.getCost();
+      bfg.setParallel(true);
+      ArrayList<Integer> solution = bfg.getSolution();
+      checkSolucioCorrecta(solution);
+      assertEquals("El mode paral·lel no troba el mateix cost.", costSequencial, bfg.getCost());
+      bfg.setParallel(false);
+    }
+  }
+
+
   //--------------------------------------------------------------------------------
   //------------------------TESTOS ROBUSTESA----------------------------------------
   //--------------------------------------------------------------------------------
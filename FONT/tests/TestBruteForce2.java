@@ -5,16 +5,25 @@ import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.io.IOException;
 
 
 import algoritmo.BruteForce2;
+import algoritmo.ComputeCost;
+import algoritmo.HeldKarp;
+import algoritmo.LagrangianBound;
+import algoritmo.OneTreeBound;
+import algoritmo.TrivialBound;
+import algoritmo.TwoBestBound;
+import interfaces.IUpperBound;
 import org.junit.Test;
 import org.junit.BeforeClass;
 import org.junit.Before;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 
 /**
@@ -33,6 +42,11 @@ public class TestBruteForce2 {
    */
   static int numProd;
 
+  /**
+   * Matriz de relaciones cargada.
+   */
+  private ArrayList<ArrayList<Integer>> adjMatrix;
+
   /**
    * Reinicia la instancia de BruteForceGenerator antes de cada prueba.
    */
@@ -60,7 +74,7 @@ public class TestBruteForce2 {
     numProd = Integer.parseInt(lines.get(0).trim());
 
     // Entrada de matriz de adyacencia
-    ArrayList<ArrayList<Integer>> adjMatrix = new ArrayList<>(numProd);
+    adjMatrix = new ArrayList<>(numProd);
     for (int i = 1; i <= numProd; i++) {
         ArrayList<Integer> row = new ArrayList<>(numProd);
         for (String value : lines.get(i).trim().split(" ")) {
@@ -206,6 +220,196 @@ public class TestBruteForce2 {
   //17 productes triga massa temps
 
 
+  /**
+   * Prueba que el modo paralelo encuentra el mismo coste que el secuencial.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testParallelMateixCost() throws IOException {
+    String[] fitxers = {"5prod.txt", "7prod.txt", "9prod.txt", "10prod.txt"};
+    for (String fitxer : fitxers) {
+      loadTestData("./FONT/tests/inputs/algorisme/" + fitxer);
+      int costSequencial = bfg.getCost();
+      bfg.setParallel(true);
+      ArrayList<Integer> solution = bfg.getSolution();
+      checkSolucioCorrecta(solution);
+      assertEquals("El mode paral·lel no troba el mateix cost.", costSequencial, bfg.getCost());
+      bfg.setParallel(false);
+    }
+  }
+
+  /**
+   * Prueba el modo paralelo con un solo producto.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testParallel1prod() throws IOException {
+    bfg.setParallel(true);
+    loadTestData("./FONT/tests/inputs/algorisme/1prod.txt");
+    execTest();
+    assertEquals(0, bfg.getCost());
+  }
+
+  /**
+   * Prueba que todas las cotas encuentran el mismo coste y que las cotas ajustadas
+   * exploran menos nodos que la cota trivial.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testCotesMateixCostMenysNodes() throws IOException {
+    loadTestData("./FONT/tests/inputs/algorisme/10prod.txt");
+    bfg.setBound(new TrivialBound());
+    int costTrivial = bfg.getCost();
+    long nodesTrivial = bfg.getNodesExplorats();
+
+    IUpperBound[] cotes = {new TwoBestBound(), new OneTreeBound(), new LagrangianBound()};
+    for (IUpperBound cota : cotes) {
+      bfg.setBound(cota);
+      checkSolucioCorrecta(bfg.getSolution());
+      assertEquals("La cota " + cota.getClass().getSimpleName() + " no troba l'òptim.", costTrivial, bfg.getCost());
+      assertTrue("La cota " + cota.getClass().getSimpleName() + " no redueix els nodes explorats.", bfg.getNodesExplorats() < nodesTrivial);
+    }
+  }
+
+  /**
+   * Prueba que la tabla de transposición no cambia el coste óptimo, reduce los nodos explorados
+   * e informa de su tasa de aciertos, también con una tabla muy pequeña.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testTaulaTransposicio() throws IOException {
+    loadTestData("./FONT/tests/inputs/algorisme/10prod.txt");
+    bfg.setBound(new TrivialBound());
+    bfg.setMemoritzacio(false);
+    int costSenseTaula = bfg.getCost();
+    long nodesSenseTaula = bfg.getNodesExplorats();
+    assertEquals(0.0, bfg.getTaxaEncerts(), 0.0);
+
+    bfg.setMemoritzacio(true);
+    checkSolucioCorrecta(bfg.getSolution());
+    assertEquals(costSenseTaula, bfg.getCost());
+    assertTrue("La taula no redueix els nodes explorats.", bfg.getNodesExplorats() < nodesSenseTaula);
+    assertTrue(bfg.getTaxaEncerts() > 0 && bfg.getTaxaEncerts() <= 1);
+
+    for (boolean parallel : new boolean[]{false, true}) {
+      bfg.setParallel(parallel);
+      bfg.setMidaTaula(4);
+      checkSolucioCorrecta(bfg.getSolution());
+      assertEquals(costSenseTaula, bfg.getCost());
+    }
+  }
+
+  /**
+   * Prueba que no se puede establecer una tabla de transposición sin entradas.
+   */
+  @Test
+  public void testMidaTaulaNoPositiva() {
+    assertThrows(IllegalArgumentException.class, () -> bfg.setMidaTaula(0));
+  }
+
+  /**
+   * Prueba que la cota de Held-Karp de la raíz no es menor que el óptimo y que, con la cota en cada
+   * nodo, se encuentra el óptimo, también en matrices no simétricas.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testLagrangianBound() throws IOException {
+    HeldKarp heldKarp = HeldKarp.getInstance();
+    Random rnd = new Random(8);
+    for (int t = 0; t < 20; ++t) {
+      int n = 4 + t % 9;
+      adjMatrix = new ArrayList<>();
+      for (int i = 0; i < n; ++i) {
+        ArrayList<Integer> row = new ArrayList<>();
+        for (int j = 0; j < n; ++j) row.add(i == j ? -1 : rnd.nextInt(101));
+        adjMatrix.add(row);
+      }
+      if (t % 2 == 0) {
+        for (int i = 0; i < n; ++i) {
+          for (int j = 0; j < i; ++j) adjMatrix.get(i).set(j, adjMatrix.get(j).get(i));
+        }
+      }
+      numProd = n;
+      heldKarp.reset();
+      heldKarp.setProductRelations(adjMatrix);
+      int optim = heldKarp.getCost();
+
+      LagrangianBound cota = new LagrangianBound();
+      cota.prepare(ComputeCost.toArray(adjMatrix));
+      assertTrue("La cota de l'arrel és menor que l'òptim.", cota.getCotaArrel() >= optim);
+
+      bfg.reset();
+      bfg.setBound(new LagrangianBound());
+      bfg.setProductRelations(adjMatrix);
+      checkSolucioCorrecta(bfg.getSolution());
+      assertEquals(optim, bfg.getCost());
+    }
+
+    loadTestData("./FONT/tests/inputs/algorisme/17prod.txt");
+    heldKarp.reset();
+    heldKarp.setProductRelations(adjMatrix);
+    checkSolucioCorrecta(bfg.getSolution());
+    assertEquals(heldKarp.getCost(), bfg.getCost());
+  }
+
+  /**
+   * Prueba que todas las cotas encuentran el óptimo en matrices no simétricas, donde una
+   * cota que solo lee un sentido de cada relación puede podar la disposición óptima.
+   */
+  @Test
+  public void testCotesMatriuNoSimetrica() {
+    HeldKarp heldKarp = HeldKarp.getInstance();
+    Random rnd = new Random(9);
+    for (int t = 0; t < 20; ++t) {
+      int n = 4 + t % 7;
+      adjMatrix = new ArrayList<>();
+      for (int i = 0; i < n; ++i) {
+        ArrayList<Integer> row = new ArrayList<>();
+        for (int j = 0; j < n; ++j) row.add(i == j ? -1 : rnd.nextInt(101));
+        adjMatrix.add(row);
+      }
+      numProd = n;
+      heldKarp.reset();
+      heldKarp.setProductRelations(adjMatrix);
+      int optim = heldKarp.getCost();
+
+      IUpperBound[] cotes = {new TwoBestBound(), new OneTreeBound(), new LagrangianBound()};
+      for (IUpperBound cota : cotes) {
+        bfg.reset();
+        bfg.setBound(cota);
+        bfg.setProductRelations(adjMatrix);
+        checkSolucioCorrecta(bfg.getSolution());
+        assertEquals("La cota " + cota.getClass().getSimpleName() + " no troba l'òptim.", optim, bfg.getCost());
+      }
+    }
+  }
+
+  /**
+   * Prueba que con una matriz no simétrica no se descartan las disposiciones inversas:
+   * la única disposición óptima es 0, 3, 2, 1, que no cumple path[1] &lt; path[n-1].
+   */
+  @Test
+  public void testMatriuNoSimetrica() {
+    adjMatrix = new ArrayList<>();
+    for (int i = 0; i < 4; ++i) {
+      ArrayList<Integer> row = new ArrayList<>();
+      for (int j = 0; j < 4; ++j) row.add(i == j ? -1 : 0);
+      adjMatrix.add(row);
+    }
+    adjMatrix.get(0).set(3, 100);
+    adjMatrix.get(3).set(2, 100);
+    adjMatrix.get(2).set(1, 100);
+    adjMatrix.get(1).set(0, 100);
+    numProd = 4;
+    bfg.setBound(new TrivialBound());
+    bfg.setProductRelations(adjMatrix);
+    for (boolean parallel : new boolean[]{false, true}) {
+      bfg.setParallel(parallel);
+      checkSolucioCorrecta(bfg.getSolution());
+      assertEquals(400, bfg.getCost());
+    }
+  }
+
   //--------------------------------------------------------------------------------
   //------------------------TESTOS ROBUSTESA----------------------------------------
   //--------------------------------------------------------------------------------
@@ -258,11 +462,11 @@ public class TestBruteForce2 {
   }
   
   /**
-   * Prueba con una matriz de relaciones mezcladas.
+   * Prueba con una matriz de relaciones ordenada nula.
    */
   @Test
   public void testSetProductRelationsSortedThrowsException() {
-    assertThrows(UnsupportedOperationException.class, () -> {
+    assertThrows(IllegalArgumentException.class, () -> {
       bfg.setProductRelationsSorted(null);
     });
   }
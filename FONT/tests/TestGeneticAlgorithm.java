@@ -0,0 +1,102 @@
+package tests;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+
+import algoritmo.GeneticAlgorithm;
+import interfaces.IAlgoritme;
+
+/**
+* Clase de prueba para el algoritmo GeneticAlgorithm.
+*/
+public class TestGeneticAlgorithm extends TestAlgoritmeTemporitzat {
+    /**
+     * Instancia singleton de GeneticAlgorithm.
+     */
+    private static GeneticAlgorithm ga;
+
+    /**
+     * Inicializa la instancia singleton de GeneticAlgorithm.
+     */
+    @BeforeClass
+    public static void setUp() {
+        ga = GeneticAlgorithm.getInstance();
+    }
+
+    @Override
+    protected IAlgoritme algoritme() {
+        return ga;
+    }
+
+    /**
+     * Resetea la instancia singleton con un tiempo límite corto.
+     */
+    @Override
+    protected void reinicia() {
+        ga.reset();
+        ga.setTempsLimit(300);
+    }
+
+    @Override
+    protected void setTempsLimit(long millis) {
+        ga.setTempsLimit(millis);
+    }
+
+    /**
+     * Prueba con diez productos y una sola isla: la solución no es peor que la voraz ni mejor que la óptima.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio10prodUnaIlla() throws IOException {
+        loadTestData("10prod.txt", true);
+        ga.setNumIlles(1);
+        checkSolucioCorrecta();
+        assertTrue(ga.getCost() >= costGreedy());
+        assertTrue(ga.getCost() <= costOptim);
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos y varias islas.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prodIlles() throws IOException {
+        loadTestData("48prod.txt", false);
+        ga.setNumIlles(4);
+        checkSolucioCorrecta();
+        assertTrue("GeneticAlgorithm empitjora el Greedy.", ga.getCost() >= costGreedy());
+        assertTrue(ga.getGeneracions() > 0);
+    }
+
+    /**
+     * Prueba que se respeta el número máximo de generaciones.
+     */
+    @Test
+    public void testMaxGeneracions() {
+        generaMatriu(30, 5);
+        ga.setNumIlles(2);
+        ga.setTempsLimit(60_000);
+        ga.setMaxGeneracions(10);
+        checkSolucioCorrecta();
+        assertEquals(20, ga.getGeneracions());
+    }
+
+    /**
+     * Prueba parámetros no válidos.
+     */
+    @Test
+    public void testParametresInvalidsThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            ga.setNumIlles(0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            ga.setMaxGeneracions(0);
+        });
+    }
+}
@@ -459,4 +459,84 @@ public class TestGreedy {
 
         execTestWithOptimCost();
     }
+
+    // ------------------------------------------------------------------------------ //
+    // -----------------------------TESTS SENSE ESTAT------------------------------- //
+    // ------------------------------------------------------------------------------ //
+
+    /**
+     * Test de la construcción sin estado: da la misma disposición que el modo simple y no
+     * cambia la configuración ni la solución de la instancia.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testConstrueixSenseEstat() throws IOException {
+        loadTestData(PATH + "48prod.txt", false);
+        ArrayList<Integer> simple = new ArrayList<>(greedy.getSolution());
+        greedy.setMultiStart(true);
+        ArrayList<Integer> multi = new ArrayList<>(greedy.getSolution());
+
+        int[][] ordre = new int[adjMatrixSorted.size()][];
+        for (int i = 0; i < ordre.length; ++i) {
+            ordre[i] = new int[adjMatrixSorted.get(i).size()];
+            for (int k = 0; k < ordre[i].length; ++k) ordre[i][k] = adjMatrixSorted.get(i).get(k).getSecond();
+        }
+        int[] disposicio = GreedySolutionGenerator.construeix(ComputeCost.toArray(adjMatrix), ordre);
+        assertEquals(simple, ComputeCost.toList(disposicio));
+        assertTrue(greedy.isMultiStart());
+        assertEquals(multi, greedy.getSolution());
+    }
+
+    // ------------------------------------------------------------------------------ //
+    // -----------------------------TESTS MULTIARRANCADA----------------------------- //
+    // ------------------------------------------------------------------------------ //
+
+    /**
+     * Test del modo multiarranque: la solución es correcta y no es peor que la del modo simple,
+     * que es una de las construcciones que prueba.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testMultiStartNoEmpitjora() throws IOException {
+        String[] fitxers = {"10prod.txt", "17prod.txt", "26prod.txt", "48prod.txt"};
+        for (String fitxer : fitxers) {
+            greedy.reset();
+            loadTestData(PATH + fitxer, false);
+            int costSimple = greedy.getCost();
+
+            greedy.setMultiStart(true);
+            execTest();
+            assertTrue("El multiarrencada no pot ser pitjor que el greedy simple (" + fitxer + ").", greedy.getCost() >= costSimple);
+
+            // Les k relacions més grans inclouen la del greedy simple
+            greedy.setNumLlavors(5);
+            execTest();
+            assertTrue("El multiarrencada no pot ser pitjor que el greedy simple (" + fitxer + ").", greedy.getCost() >= costSimple);
+        }
+    }
+
+    /**
+     * Test para verificar que el modo multiarranque es determinista.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testMultiStartDeterminista() throws IOException {
+        loadTestData(PATH + "48prod.txt", false);
+        greedy.setMultiStart(true);
+        ArrayList<Integer> solucio1 = new ArrayList<>(greedy.getSolution());
+        greedy.setProductRelations(adjMatrix);
+        greedy.setProductRelationsSorted(adjMatrixSorted);
+        ArrayList<Integer> solucio2 = greedy.getSolution();
+        assertArrayEquals("Ha de donar la mateixa solució.", solucio1.toArray(new Integer[0]), solucio2.toArray(new Integer[0]));
+    }
+
+    /**
+     * Test para verificar que el número de llavors no puede ser negativo.
+     */
+    @Test
+    public void testNumLlavorsNegatiu() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            greedy.setNumLlavors(-1);
+        });
+    }
 }
\ No newline at end of file
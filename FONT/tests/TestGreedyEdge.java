@@ -0,0 +1,222 @@
+package tests;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import algoritmo.ComputeCost;
+import algoritmo.HeldKarp;
+import algoritmo.GreedyEdge;
+
+/**
+* Clase de prueba para el algoritmo GreedyEdge.
+*/
+public class TestGreedyEdge {
+    /**
+     * Instancia singleton de GreedyEdge.
+     */
+    private static GreedyEdge greedyEdge;
+
+    /**
+     * Path de los archivos de prueba.
+     */
+    private static final String PATH = "./FONT/tests/inputs/algorisme/";
+
+    /**
+     * Matriz de adyacencia de los productos.
+     */
+    private ArrayList<ArrayList<Integer>> adjMatrix;
+
+    /**
+     * Coste óptimo de la solución (si el archivo lo incluye).
+     */
+    private int costOptim;
+
+    /**
+     * Inicializa la instancia singleton de GreedyEdge.
+     */
+    @BeforeClass
+    public static void setUp() {
+        greedyEdge = GreedyEdge.getInstance();
+    }
+
+    /**
+     * Resetea la instancia singleton antes de cada prueba.
+     */
+    @Before
+    public void ferReset() {
+        greedyEdge.reset();
+        HeldKarp.getInstance().reset();
+    }
+
+    /**
+     * Carga la matriz de relaciones desde un archivo de texto.
+     * @param fileName Nombre del archivo de texto.
+     * @param readCostOptim Indica si se debe leer el coste óptimo del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private void loadTestData(String fileName, boolean readCostOptim) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(PATH + fileName));
+        int numProd = Integer.parseInt(lines.get(0).trim());
+        adjMatrix = new ArrayList<>(numProd);
+        for (int i = 1; i <= numProd; i++) {
+            ArrayList<Integer> row = new ArrayList<>(numProd);
+            for (String value : lines.get(i).trim().split(" ")) {
+                row.add(Integer.valueOf(value));
+            }
+            adjMatrix.add(row);
+        }
+        if (readCostOptim) costOptim = Integer.parseInt(lines.get(numProd + 1).trim());
+        greedyEdge.setProductRelations(adjMatrix);
+    }
+
+    /**
+     * Genera una matriz de relaciones simétrica aleatoria.
+     * @param n Número de productos.
+     * @param seed Semilla del generador aleatorio.
+     */
+    private void generaMatriu(int n, long seed) {
+        Random rnd = new Random(seed);
+        int[][] m = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            m[i][i] = -1;
+            for (int j = i + 1; j < n; ++j) {
+                m[i][j] = m[j][i] = rnd.nextInt(101);
+            }
+        }
+        adjMatrix = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            ArrayList<Integer> row = new ArrayList<>(n);
+            for (int j = 0; j < n; ++j) row.add(m[i][j]);
+            adjMatrix.add(row);
+        }
+        greedyEdge.setProductRelations(adjMatrix);
+    }
+
+    /**
+     * Comprueba que la solución contiene todos los productos exactamente una vez
+     * y que el coste corresponde a la disposición.
+     */
+    private void checkSolucioCorrecta() {
+        ArrayList<Integer> solution = greedyEdge.getSolution();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < adjMatrix.size(); ++i) expected.add(i);
+        assertEquals("La solució no té tots els productes exactament.", adjMatrix.size(), solution.size());
+        assertEquals("La solució no té tots els productes exactament.", expected, new HashSet<>(solution));
+        assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), greedyEdge.getCost());
+    }
+
+    /**
+     * Prueba con un producto.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio1prod() throws IOException {
+        loadTestData("1prod.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, greedyEdge.getCost());
+    }
+
+    /**
+     * Prueba con tres productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio3prod() throws IOException {
+        loadTestData("3prod.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, greedyEdge.getCost());
+    }
+
+    /**
+     * Prueba con diez productos: la construcción voraz por aristas llega a la mitad del óptimo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio10prod() throws IOException {
+        loadTestData("10prod.txt", true);
+        checkSolucioCorrecta();
+        assertTrue(2 * greedyEdge.getCost() >= costOptim);
+        assertTrue(greedyEdge.getCost() <= costOptim);
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prod() throws IOException {
+        loadTestData("48prod.txt", false);
+        checkSolucioCorrecta();
+    }
+
+    /**
+     * Prueba con matrices aleatorias: la solución es correcta y no supera el óptimo de HeldKarp.
+     */
+    @Test
+    public void testMatriusAleatories() {
+        HeldKarp heldKarp = HeldKarp.getInstance();
+        for (int seed = 0; seed < 30; ++seed) {
+            generaMatriu(3 + seed % 10, seed);
+            checkSolucioCorrecta();
+            heldKarp.setProductRelations(adjMatrix);
+            assertTrue(greedyEdge.getCost() <= heldKarp.getCost());
+        }
+    }
+
+    /**
+     * Prueba con una matriz sin relaciones y con una matriz con todas las relaciones iguales.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testRelacionsIguals() throws IOException {
+        loadTestData("all0.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, greedyEdge.getCost());
+        loadTestData("all100.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, greedyEdge.getCost());
+    }
+
+    /**
+     * Prueba con trescientos productos aleatorios.
+     */
+    @Test
+    public void testSolucio300prod() {
+        generaMatriu(300, 17);
+        checkSolucioCorrecta();
+    }
+
+    /**
+     * Prueba que las relaciones ordenadas no son necesarias.
+     */
+    @Test
+    public void testSetProductRelationsSortedThrowsException() {
+        assertThrows(UnsupportedOperationException.class, () -> {
+            greedyEdge.setProductRelationsSorted(null);
+        });
+    }
+
+    /**
+     * Prueba a obtener la solución sin haber establecido la matriz de relaciones.
+     */
+    @Test
+    public void testGetSolutionWithoutSetProductRelations() {
+        assertThrows(IllegalStateException.class, () -> {
+            greedyEdge.getSolution();
+        });
+    }
+}
@@ -0,0 +1,269 @@
+package tests;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.io.IOException;
+
+
+import algoritmo.BruteForce2;
+import algoritmo.ComputeCost;
+import algoritmo.HeldKarp;
+import org.junit.Test;
+import org.junit.BeforeClass;
+import org.junit.Before;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+
+/**
+* Clase de prueba para HeldKarp.
+*
+* Esta clase contiene varios casos de prueba para verificar la optimalidad y la solidez de HeldKarp.
+*/
+public class TestHeldKarp {
+  /**
+   * Instancia de HeldKarp que se utilizará en las pruebas.
+   */
+  static HeldKarp hk;
+
+  /**
+   * Path de los archivos de prueba.
+   */
+  private static final String PATH = "./FONT/tests/inputs/algorisme/";
+
+  /**
+   * Número de productos en la matriz de relaciones.
+   */
+  static int numProd;
+
+  /**
+   * Matriz de relaciones cargada.
+   */
+  private ArrayList<ArrayList<Integer>> adjMatrix;
+
+  /**
+   * Coste óptimo de la solución.
+   */
+  private int costOptim;
+
+  /**
+   * Reinicia la instancia de HeldKarp antes de cada prueba.
+   */
+  @Before
+  public void ferReset() {
+    hk.reset();
+  }
+
+  /**
+   * Inicializa la instancia de HeldKarp antes de todas las pruebas.
+   */
+  @BeforeClass
+  static public void setUp() {
+    hk = HeldKarp.getInstance();
+  }
+
+  /**
+   * Carga los datos de prueba desde un archivo.
+   * @param fileName Nombre del archivo que contiene los datos de prueba.
+   * @param readCostOptim Indica si se debe leer el coste óptimo del archivo.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  private void loadTestData(String fileName, boolean readCostOptim) throws IOException {
+    List<String> lines = Files.readAllLines(Paths.get(fileName));
+    numProd = Integer.parseInt(lines.get(0).trim());
+
+    // Entrada de matriz de adyacencia
+    adjMatrix = new ArrayList<>(numProd);
+    for (int i = 1; i <= numProd; i++) {
+        ArrayList<Integer> row = new ArrayList<>(numProd);
+        for (String value : lines.get(i).trim().split(" ")) {
+            row.add(Integer.valueOf(value));
+        }
+        adjMatrix.add(row);
+    }
+    if (readCostOptim) costOptim = Integer.parseInt(lines.get(numProd + 1).trim());
+
+    hk.setProductRelations(adjMatrix);
+  }
+
+  /**
+   * Verifica que la solución generada contenga todos los productos exactamente una vez.
+   * @param solution Solución generada por el algoritmo.
+   */
+  private void checkSolucioCorrecta(ArrayList<Integer> solution) {
+    Set<Integer> expectedNumbers = new HashSet<>();
+    for (int i = 0; i < numProd; i++) {
+        expectedNumbers.add(i);
+    }
+    assertEquals("La solució no té tots els productes exactament.", numProd, solution.size());
+    assertEquals("La solució no té tots els productes exactament.", expectedNumbers, new HashSet<>(solution));
+  }
+
+  /**
+  * Ejecuta una prueba comprobando que la solución es válida y de coste óptimo.
+  * @param fileName Nombre del archivo que contiene los datos de prueba.
+  * @throws IOException si hay un problema al leer el archivo.
+  */
+  private void execTest(String fileName) throws IOException {
+    loadTestData(PATH + fileName, true);
+    ArrayList<Integer> solution = hk.getSolution();
+    checkSolucioCorrecta(solution);
+    assertEquals("El cost no és l'òptim.", costOptim, hk.getCost());
+    assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), hk.getCost());
+  }
+
+  //--------------------------------------------------------------------------------
+  //------------------------------TESTOS OPTIMALITAT--------------------------------
+  //--------------------------------------------------------------------------------
+
+  /**
+   * Prueba con un solo producto.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSolucio1prod() throws IOException {
+    execTest("1prod.txt");
+  }
+
+  /**
+   * Prueba con dos productos.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSolucio2prod() throws IOException {
+    execTest("2prod.txt");
+  }
+
+  /**
+   * Prueba con tres productos.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSolucio3prod() throws IOException {
+    execTest("3prod.txt");
+  }
+
+  /**
+   * Prueba con cinco productos.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSolucio5prod() throws IOException {
+    execTest("5prod.txt");
+  }
+
+  /**
+   * Prueba con nueve productos.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSolucio9prod() throws IOException {
+    execTest("9prod.txt");
+  }
+
+  /**
+   * Prueba con catorce productos. El coste guardado en el archivo corresponde a una versión
+   * anterior de la matriz, así que se compara con el resultado de BruteForce2.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSolucio14prod() throws IOException {
+    loadTestData(PATH + "10prod2.txt", false);
+    BruteForce2 bf = BruteForce2.getInstance();
+    bf.reset();
+    bf.setProductRelations(adjMatrix);
+    ArrayList<Integer> solution = hk.getSolution();
+    checkSolucioCorrecta(solution);
+    assertEquals("El cost no és l'òptim.", bf.getCost(), hk.getCost());
+    assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), hk.getCost());
+  }
+
+  /**
+   * Prueba con quince productos, fuera del alcance de los algoritmos de fuerza bruta.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSolucio15prod() throws IOException {
+    execTest("15prod.txt");
+  }
+
+  /**
+   * Prueba con una matriz de relaciones llena.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testGetSolutionFullRelations() throws IOException {
+    execTest("all100.txt");
+  }
+
+  /**
+   * Prueba con una matriz de relaciones con pocas relaciones.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSoluciofewRelations() throws IOException {
+    execTest("fewRelations.txt");
+  }
+
+  //--------------------------------------------------------------------------------
+  //------------------------TESTOS ROBUSTESA----------------------------------------
+  //--------------------------------------------------------------------------------
+
+  /**
+   * Prueba con diecisiete productos: solo comprueba que la solución es válida y coherente.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testSolucio17prod() throws IOException {
+    loadTestData(PATH + "17prod.txt", false);
+    ArrayList<Integer> solution = hk.getSolution();
+    checkSolucioCorrecta(solution);
+    assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), hk.getCost());
+  }
+
+  /**
+   * Prueba que con demasiados productos se lanza una excepción.
+   * @throws IOException si hay un problema al leer el archivo.
+   */
+  @Test
+  public void testTooManyProductsThrowsException() throws IOException {
+    loadTestData(PATH + "26prod.txt", false);
+    assertThrows(IllegalStateException.class, () -> {
+      hk.getSolution();
+    });
+  }
+
+  /**
+   * Prueba con una matriz de relaciones nula.
+   */
+  @Test
+  public void testNullMatrixThrowsException() {
+    assertThrows(IllegalArgumentException.class, () -> {
+      hk.setProductRelations(null);
+    });
+  }
+
+  /**
+   * Prueba a obtener la solución sin haber establecido la matriz de relaciones.
+   */
+  @Test
+  public void testGetSolutionWithoutSetProductRelations() {
+    assertThrows(IllegalStateException.class, () -> {
+      hk.getSolution();
+    });
+  }
+
+  /**
+   * Prueba con una matriz de relaciones ordenada.
+   */
+  @Test
+  public void testSetProductRelationsSortedThrowsException() {
+    assertThrows(UnsupportedOperationException.class, () -> {
+      hk.setProductRelationsSorted(null);
+    });
+  }
+}
@@ -0,0 +1,314 @@
+package tests;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import algoritmo.ComputeCost;
+import algoritmo.HeldKarp;
+import algoritmo.InsertionHeuristic;
+
+/**
+* Clase de prueba para el algoritmo InsertionHeuristic.
+*/
+public class TestInsertionHeuristic {
+    /**
+     * Instancia singleton de InsertionHeuristic.
+     */
+    private static InsertionHeuristic insercio;
+
+    /**
+     * Path de los archivos de prueba.
+     */
+    private static final String PATH = "./FONT/tests/inputs/algorisme/";
+
+    /**
+     * Matriz de adyacencia de los productos.
+     */
+    private ArrayList<ArrayList<Integer>> adjMatrix;
+
+    /**
+     * Coste óptimo de la solución (si el archivo lo incluye).
+     */
+    private int costOptim;
+
+    /**
+     * Inicializa la instancia singleton de InsertionHeuristic.
+     */
+    @BeforeClass
+    public static void setUp() {
+        insercio = InsertionHeuristic.getInstance();
+    }
+
+    /**
+     * Resetea la instancia singleton antes de cada prueba.
+     */
+    @Before
+    public void ferReset() {
+        insercio.reset();
+        HeldKarp.getInstance().reset();
+    }
+
+    /**
+     * Carga la matriz de relaciones desde un archivo de texto.
+     * @param fileName Nombre del archivo de texto.
+     * @param readCostOptim Indica si se debe leer el coste óptimo del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private void loadTestData(String fileName, boolean readCostOptim) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(PATH + fileName));
+        int numProd = Integer.parseInt(lines.get(0).trim());
+        adjMatrix = new ArrayList<>(numProd);
+        for (int i = 1; i <= numProd; i++) {
+            ArrayList<Integer> row = new ArrayList<>(numProd);
+            for (String value : lines.get(i).trim().split(" ")) {
+                row.add(Integer.valueOf(value));
+            }
+            adjMatrix.add(row);
+        }
+        if (readCostOptim) costOptim = Integer.parseInt(lines.get(numProd + 1).trim());
+        insercio.setProductRelations(adjMatrix);
+    }
+
+    /**
+     * Genera una matriz de relaciones simétrica aleatoria.
+     * @param n Número de productos.
+     * @param seed Semilla del generador aleatorio.
+     */
+    private void generaMatriu(int n, long seed) {
+        Random rnd = new Random(seed);
+        int[][] m = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            m[i][i] = -1;
+            for (int j = i + 1; j < n; ++j) {
+                m[i][j] = m[j][i] = rnd.nextInt(101);
+            }
+        }
+        adjMatrix = new ArrayList<>(n);
+        for (int i = 0; i < n; ++i) {
+            ArrayList<Integer> row = new ArrayList<>(n);
+            for (int j = 0; j < n; ++j) row.add(m[i][j]);
+            adjMatrix.add(row);
+        }
+        insercio.setProductRelations(adjMatrix);
+    }
+
+    /**
+     * Comprueba que la solución contiene todos los productos exactamente una vez
+     * y que el coste corresponde a la disposición.
+     */
+    private void checkSolucioCorrecta() {
+        ArrayList<Integer> solution = insercio.getSolution();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < adjMatrix.size(); ++i) expected.add(i);
+        assertEquals("La solució no té tots els productes exactament.", adjMatrix.size(), solution.size());
+        assertEquals("La solució no té tots els productes exactament.", expected, new HashSet<>(solution));
+        assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), insercio.getCost());
+    }
+
+    /**
+     * Prueba con un producto.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio1prod() throws IOException {
+        loadTestData("1prod.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, insercio.getCost());
+    }
+
+    /**
+     * Prueba con tres productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio3prod() throws IOException {
+        loadTestData("3prod.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, insercio.getCost());
+    }
+
+    /**
+     * Prueba con diez productos, con los dos modos: la solución no supera el óptimo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio10prod() throws IOException {
+        loadTestData("10prod.txt", true);
+        for (boolean mesLlunya : new boolean[] {false, true}) {
+            insercio.setMesLlunya(mesLlunya);
+            checkSolucioCorrecta();
+            assertTrue(insercio.getCost() <= costOptim);
+        }
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos, con los dos modos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prod() throws IOException {
+        loadTestData("48prod.txt", false);
+        checkSolucioCorrecta();
+        insercio.setMesLlunya(true);
+        checkSolucioCorrecta();
+    }
+
+    /**
+     * Prueba con matrices aleatorias, con los dos modos: la solución es correcta y no supera el
+     * óptimo de HeldKarp.
+     */
+    @Test
+    public void testMatriusAleatories() {
+        HeldKarp heldKarp = HeldKarp.getInstance();
+        for (int seed = 0; seed < 30; ++seed) {
+            generaMatriu(3 + seed % 10, seed);
+            heldKarp.setProductRelations(adjMatrix);
+            for (boolean mesLlunya : new boolean[] {false, true}) {
+                insercio.setMesLlunya(mesLlunya);
+                checkSolucioCorrecta();
+                assertTrue(insercio.getCost() <= heldKarp.getCost());
+            }
+        }
+    }
+
+    /**
+     * Prueba con una matriz sin relaciones y con una matriz con todas las relaciones iguales.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testRelacionsIguals() throws IOException {
+        loadTestData("all0.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, insercio.getCost());
+        loadTestData("all100.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, insercio.getCost());
+    }
+
+    /**
+     * Construcción de referencia que en cada paso recorre toda la disposición para cada producto
+     * pendiente, con los mismos criterios de desempate que InsertionHeuristic: el producto de menor
+     * índice y, para la posición, la relación que sale del producto mayor.
+     * @param w La matriz de relaciones.
+     * @param mesLlunya true para insertar el producto más lejano, false para el de máxima ganancia.
+     * @return La disposición.
+     */
+    private ArrayList<Integer> insercioReferencia(int[][] w, boolean mesLlunya) {
+        int n = w.length;
+        int a0 = 0, b0 = 1;
+        for (int i = 0; i < n; ++i) {
+            for (int j = i + 1; j < n; ++j) {
+                if (w[i][j] + w[j][i] > w[a0][b0] + w[b0][a0]) {
+                    a0 = i;
+                    b0 = j;
+                }
+            }
+        }
+        int[] succ = new int[n];
+        boolean[] colocat = new boolean[n];
+        succ[a0] = b0;
+        succ[b0] = a0;
+        colocat[a0] = colocat[b0] = true;
+        for (int mida = 2; mida < n; ++mida) {
+            int k = -1, a = -1, millorValor = 0;
+            for (int u = 0; u < n; ++u) {
+                if (colocat[u]) continue;
+                int proximitat = Integer.MIN_VALUE, posicio = -1, guany = 0;
+                for (int p = 0; p < n; ++p) {
+                    if (!colocat[p]) continue;
+                    proximitat = Math.max(proximitat, Math.max(w[u][p], w[p][u]));
+                    int g = w[p][u] + w[u][succ[p]] - w[p][succ[p]];
+                    if (posicio < 0 || g > guany || (g == guany && p > posicio)) {
+                        posicio = p;
+                        guany = g;
+                    }
+                }
+                boolean millor = mesLlunya ? proximitat < millorValor : guany > millorValor;
+                if (k < 0 || millor) {
+                    k = u;
+                    a = posicio;
+                    millorValor = mesLlunya ? proximitat : guany;
+                }
+            }
+            succ[k] = succ[a];
+            succ[a] = k;
+            colocat[k] = true;
+        }
+        ArrayList<Integer> tour = new ArrayList<>(n);
+        int c = a0;
+        for (int pos = 0; pos < n; ++pos) {
+            tour.add(c);
+            c = succ[c];
+        }
+        return tour;
+    }
+
+    /**
+     * Prueba que los dos modos construyen la misma disposición que la construcción de referencia,
+     * también con matrices no simétricas y con muchas relaciones iguales, donde muchos productos
+     * comparten la mejor posición.
+     */
+    @Test
+    public void testIgualQueReferencia() {
+        Random rnd = new Random(21);
+        for (int t = 0; t < 40; ++t) {
+            int n = 3 + rnd.nextInt(60);
+            int valors = t % 2 == 0 ? 101 : 3;
+            adjMatrix = new ArrayList<>(n);
+            for (int i = 0; i < n; ++i) {
+                ArrayList<Integer> row = new ArrayList<>(n);
+                for (int j = 0; j < n; ++j) row.add(i == j ? -1 : 50 * rnd.nextInt(valors) / Math.max(1, (valors - 1) / 2));
+                adjMatrix.add(row);
+            }
+            insercio.setProductRelations(adjMatrix);
+            for (boolean mesLlunya : new boolean[] {false, true}) {
+                insercio.setMesLlunya(mesLlunya);
+                checkSolucioCorrecta();
+                assertEquals(insercioReferencia(ComputeCost.toArray(adjMatrix), mesLlunya), insercio.getSolution());
+            }
+        }
+    }
+
+    /**
+     * Prueba con trescientos productos aleatorios.
+     */
+    @Test
+    public void testSolucio300prod() {
+        generaMatriu(300, 17);
+        checkSolucioCorrecta();
+    }
+
+    /**
+     * Prueba que las relaciones ordenadas no son necesarias.
+     */
+    @Test
+    public void testSetProductRelationsSortedThrowsException() {
+        assertThrows(UnsupportedOperationException.class, () -> {
+            insercio.setProductRelationsSorted(null);
+        });
+    }
+
+    /**
+     * Prueba a obtener la solución sin haber establecido la matriz de relaciones.
+     */
+    @Test
+    public void testGetSolutionWithoutSetProductRelations() {
+        assertThrows(IllegalStateException.class, () -> {
+            insercio.getSolution();
+        });
+    }
+}
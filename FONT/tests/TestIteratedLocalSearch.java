@@ -0,0 +1,110 @@
+package tests;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import algoritmo.IteratedLocalSearch;
+import interfaces.IAlgoritme;
+
+/**
+* Clase de prueba para el algoritmo IteratedLocalSearch.
+*/
+public class TestIteratedLocalSearch extends TestAlgoritmeTemporitzat {
+    /**
+     * Instancia singleton de IteratedLocalSearch.
+     */
+    private static IteratedLocalSearch ils;
+
+    /**
+     * Inicializa la instancia singleton de IteratedLocalSearch.
+     */
+    @BeforeClass
+    public static void setUp() {
+        ils = IteratedLocalSearch.getInstance();
+    }
+
+    @Override
+    protected IAlgoritme algoritme() {
+        return ils;
+    }
+
+    /**
+     * Resetea la instancia singleton con un tiempo límite corto.
+     */
+    @Override
+    protected void reinicia() {
+        ils.reset();
+        ils.setTempsLimit(300);
+    }
+
+    @Override
+    protected void setTempsLimit(long millis) {
+        ils.setTempsLimit(millis);
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos con cada criterio de aceptación.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prodAcceptacions() throws IOException {
+        loadTestData("48prod.txt", false);
+        int greedy = costGreedy();
+        for (IteratedLocalSearch.Acceptance acceptance : IteratedLocalSearch.Acceptance.values()) {
+            ils.setAcceptance(acceptance);
+            checkSolucioCorrecta();
+            assertTrue("IteratedLocalSearch empitjora el Greedy.", ils.getCost() >= greedy);
+        }
+    }
+
+    /**
+     * Prueba que con la misma semilla y el mismo número de perturbaciones la solución es la misma,
+     * y que más perturbaciones no la empeoran.
+     */
+    @Test
+    public void testDeterminista() {
+        generaMatriu(300, 5);
+        ils.setTempsLimit(60_000);
+        ils.setSeed(7);
+        ils.setMaxIteracions(200);
+        ArrayList<Integer> primera = new ArrayList<>(ils.getSolution());
+        int cost = ils.getCost();
+        ils.setProductRelations(adjMatrix);
+        checkSolucioCorrecta();
+        assertEquals(primera, ils.getSolution());
+        assertEquals(cost, ils.getCost());
+        ils.setMaxIteracions(2000);
+        checkSolucioCorrecta();
+        assertTrue("Més pertorbacions han empitjorat la solució.", ils.getCost() >= cost);
+    }
+
+    /**
+     * Prueba que la búsqueda mejora la solución voraz en una matriz aleatoria.
+     */
+    @Test
+    public void testMilloraGreedy() {
+        generaMatriu(200, 9);
+        checkSolucioCorrecta();
+        assertTrue("IteratedLocalSearch no millora el Greedy.", ils.getCost() > costGreedy());
+    }
+
+    /**
+     * Prueba parámetros no válidos.
+     */
+    @Test
+    public void testParametresInvalidsThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            ils.setMaxIteracions(0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            ils.setAcceptance(null);
+        });
+    }
+}
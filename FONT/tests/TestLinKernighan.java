@@ -0,0 +1,62 @@
+package tests;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+
+import algoritmo.LinKernighan;
+import interfaces.IAlgoritme;
+
+/**
+* Clase de prueba para el algoritmo LinKernighan.
+*/
+public class TestLinKernighan extends TestAlgoritmeTemporitzat {
+    /**
+     * Instancia singleton de LinKernighan.
+     */
+    private static LinKernighan lk;
+
+    /**
+     * Inicializa la instancia singleton de LinKernighan.
+     */
+    @BeforeClass
+    public static void setUp() {
+        lk = LinKernighan.getInstance();
+    }
+
+    @Override
+    protected IAlgoritme algoritme() {
+        return lk;
+    }
+
+    @Override
+    protected void reinicia() {
+        lk.reset();
+    }
+
+    @Override
+    protected void setTempsLimit(long millis) {
+        lk.setTempsLimit(millis);
+    }
+
+    @Override
+    protected int midaProvaTemps() {
+        return 2000;
+    }
+
+    @Override
+    protected long margeProvaTemps() {
+        return 5000;
+    }
+
+    /**
+     * Prueba con quinientos productos aleatorios: debe mejorar la solución voraz.
+     */
+    @Test
+    public void testSolucio500prod() {
+        generaMatriu(500, 42);
+        checkSolucioCorrecta();
+        assertTrue("LinKernighan no millora el Greedy.", lk.getCost() > costGreedy());
+    }
+}
@@ -0,0 +1,301 @@
+package tests;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import algoritmo.CandidateLists;
+import algoritmo.ComputeCost;
+import algoritmo.GreedySolutionGenerator;
+import algoritmo.LocalSearchImprover;
+import algoritmo.TSPApproximator;
+import algoritmo.OrOpt;
+import algoritmo.TwoOpt;
+import structures.Pair;
+
+/**
+* Clase de prueba para la búsqueda local OrOpt.
+*/
+public class TestOrOpt {
+    /**
+     * Path de los archivos de prueba.
+     */
+    private static final String PATH = "./FONT/tests/inputs/algorisme/";
+
+    /**
+     * Matriz de adyacencia de los productos.
+     */
+    private ArrayList<ArrayList<Integer>> adjMatrix;
+
+    /**
+     * Matriz de adyacencia de los productos ordenada.
+     */
+    private ArrayList<ArrayList<Pair<Integer, Integer>>> adjMatrixSorted;
+
+    /**
+     * Resetea los algoritmos base antes de cada prueba.
+     */
+    @Before
+    public void ferReset() {
+        GreedySolutionGenerator.getInstance().reset();
+        TSPApproximator.getInstance().reset();
+    }
+
+    /**
+     * Carga la matriz de relaciones desde un archivo de texto.
+     * @param fileName Nombre del archivo de texto.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private void loadTestData(String fileName) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(PATH + fileName));
+        int numProd = Integer.parseInt(lines.get(0).trim());
+        adjMatrix = new ArrayList<>(numProd);
+        adjMatrixSorted = new ArrayList<>(numProd);
+        for (int i = 1; i <= numProd; i++) {
+            ArrayList<Integer> row = new ArrayList<>(numProd);
+            ArrayList<Pair<Integer, Integer>> rowSorted = new ArrayList<>(numProd);
+            int j = 0;
+            for (String value : lines.get(i).trim().split(" ")) {
+                row.add(Integer.valueOf(value));
+                rowSorted.add(new Pair<>(Integer.valueOf(value), j));
+                ++j;
+            }
+            rowSorted.sort(Comparator.comparing(Pair<Integer, Integer>::getFirst).reversed());
+            adjMatrix.add(row);
+            adjMatrixSorted.add(rowSorted);
+        }
+    }
+
+    /**
+     * Comprueba que la solución contiene todos los productos exactamente una vez.
+     * @param solution Solución a verificar.
+     */
+    private void checkSolucioCorrecta(ArrayList<Integer> solution) {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < adjMatrix.size(); ++i) expected.add(i);
+        assertEquals("La solució no té tots els productes exactament.", adjMatrix.size(), solution.size());
+        assertEquals("La solució no té tots els productes exactament.", expected, new HashSet<>(solution));
+    }
+
+    /**
+     * Comprueba que ningún movimiento de un tramo de uno a tres productos mejora la solución.
+     * @param solution Solución a verificar.
+     */
+    private void checkOptimLocal(ArrayList<Integer> solution) {
+        int n = solution.size();
+        int cost = ComputeCost.getCost(solution, adjMatrix);
+        for (int len = 1; len <= OrOpt.MAX_LONGITUD_TRAM && len + 3 <= n; ++len) {
+            for (int i = 0; i + len <= n; ++i) {
+                ArrayList<Integer> resta = new ArrayList<>(solution);
+                List<Integer> tram = new ArrayList<>(resta.subList(i, i + len));
+                resta.subList(i, i + len).clear();
+                for (int pos = 0; pos <= resta.size(); ++pos) {
+                    for (int invertit = 0; invertit < 2; ++invertit) {
+                        ArrayList<Integer> veina = new ArrayList<>(resta);
+                        List<Integer> t = new ArrayList<>(tram);
+                        if (invertit == 1) Collections.reverse(t);
+                        veina.addAll(pos, t);
+                        assertTrue("La solució no és un òptim local d'Or-opt.", ComputeCost.getCost(veina, adjMatrix) <= cost);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Mejora la solución de Greedy y comprueba que es válida, no empeora y es un óptimo local.
+     * @param fileName Nombre del archivo de prueba.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private void execGreedyTest(String fileName) throws IOException {
+        loadTestData(fileName);
+        GreedySolutionGenerator greedy = GreedySolutionGenerator.getInstance();
+        greedy.setProductRelations(adjMatrix);
+        greedy.setProductRelationsSorted(adjMatrixSorted);
+        int costGreedy = greedy.getCost();
+
+        LocalSearchImprover millorat = new LocalSearchImprover(greedy, adjMatrix, new OrOpt());
+        ArrayList<Integer> solution = millorat.getSolution();
+        checkSolucioCorrecta(solution);
+        assertTrue("Or-opt ha empitjorat la solució.", millorat.getCost() >= costGreedy);
+        assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), millorat.getCost());
+        checkOptimLocal(solution);
+    }
+
+    /**
+     * Prueba con un producto.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testGreedy1prod() throws IOException {
+        execGreedyTest("1prod.txt");
+    }
+
+    /**
+     * Prueba con tres productos (Or-opt no tiene movimientos posibles).
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testGreedy3prod() throws IOException {
+        execGreedyTest("3prod.txt");
+    }
+
+    /**
+     * Prueba con diez productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testGreedy10prod() throws IOException {
+        execGreedyTest("10prod.txt");
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testGreedy48prod() throws IOException {
+        execGreedyTest("48prod.txt");
+    }
+
+    /**
+     * Prueba la mejora de la solución de TSPApproximator.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testTSP26prod() throws IOException {
+        loadTestData("26prod.txt");
+        TSPApproximator tsp = TSPApproximator.getInstance();
+        tsp.setProductRelations(adjMatrix);
+        int costTsp = tsp.getCost();
+
+        LocalSearchImprover millorat = new LocalSearchImprover(tsp, adjMatrix, new OrOpt());
+        ArrayList<Integer> solution = millorat.getSolution();
+        checkSolucioCorrecta(solution);
+        assertTrue("Or-opt ha empitjorat la solució.", millorat.getCost() >= costTsp);
+        checkOptimLocal(solution);
+    }
+
+    /**
+     * Prueba la combinación de 2-opt y Or-opt: el resultado es óptimo local de ambas búsquedas.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testTwoOptOrOpt48prod() throws IOException {
+        loadTestData("48prod.txt");
+        GreedySolutionGenerator greedy = GreedySolutionGenerator.getInstance();
+        greedy.setProductRelations(adjMatrix);
+        greedy.setProductRelationsSorted(adjMatrixSorted);
+        int costGreedy = greedy.getCost();
+
+        LocalSearchImprover millorat = new LocalSearchImprover(greedy, adjMatrix, new TwoOpt(), new OrOpt());
+        ArrayList<Integer> solution = millorat.getSolution();
+        checkSolucioCorrecta(solution);
+        assertTrue("La cerca local ha empitjorat la solució.", millorat.getCost() >= costGreedy);
+        assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), millorat.getCost());
+        checkOptimLocal(solution);
+    }
+
+    /**
+     * Prueba que Or-opt no hace nada en una disposición de dos productos.
+     */
+    @Test
+    public void testDosProductes() {
+        int[] tour = {1, 0};
+        int[][] w = {{-1, 50}, {50, -1}};
+        assertEquals(0, new OrOpt().improve(tour, w));
+        assertEquals(1, tour[0]);
+        assertEquals(0, tour[1]);
+    }
+
+    /**
+     * Genera una matriz de relaciones simétrica aleatoria, como int[][].
+     * @param n Número de productos.
+     * @param rnd Generador aleatorio.
+     * @return La matriz.
+     */
+    private static int[][] matriuAleatoria(int n, Random rnd) {
+        int[][] w = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            w[i][i] = -1;
+            for (int j = i + 1; j < n; ++j) w[i][j] = w[j][i] = rnd.nextInt(101);
+        }
+        return w;
+    }
+
+    /**
+     * Genera una disposición aleatoria.
+     * @param n Número de productos.
+     * @param rnd Generador aleatorio.
+     * @return La disposición.
+     */
+    private static int[] disposicioAleatoria(int n, Random rnd) {
+        int[] tour = new int[n];
+        for (int i = 0; i < n; ++i) tour[i] = i;
+        for (int i = n - 1; i > 0; --i) {
+            int j = rnd.nextInt(i + 1);
+            int tmp = tour[i];
+            tour[i] = tour[j];
+            tour[j] = tmp;
+        }
+        return tour;
+    }
+
+    /**
+     * Comprueba que la disposición contiene todos los productos exactamente una vez.
+     * @param tour La disposición.
+     */
+    private static void checkPermutacio(int[] tour) {
+        boolean[] vist = new boolean[tour.length];
+        for (int x : tour) {
+            assertTrue("La solució no té tots els productes exactament.", !vist[x]);
+            vist[x] = true;
+        }
+    }
+
+    /**
+     * Prueba Or-opt con listas de candidatos sobre disposiciones aleatorias: la solución es válida
+     * y la mejora devuelta es la variación real del coste. Combinado con 2-opt con candidatos en
+     * 48prod, el resultado no empeora el de Greedy.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testCandidats() throws IOException {
+        Random rnd = new Random(11);
+        for (int n : new int[] {8, 9, 60, 500}) {
+            int[][] w = matriuAleatoria(n, rnd);
+            int[] tour = disposicioAleatoria(n, rnd);
+            int abans = ComputeCost.getCost(tour, w);
+            int millora = new OrOpt(CandidateLists.build(w, CandidateLists.NUM_CANDIDATS)).improve(tour, w);
+            checkPermutacio(tour);
+            assertTrue(millora > 0);
+            assertEquals("La millora no correspon al cost.", abans + millora, ComputeCost.getCost(tour, w));
+        }
+
+        loadTestData("48prod.txt");
+        GreedySolutionGenerator greedy = GreedySolutionGenerator.getInstance();
+        greedy.setProductRelations(adjMatrix);
+        greedy.setProductRelationsSorted(adjMatrixSorted);
+        int costGreedy = greedy.getCost();
+        int[][] candidats = CandidateLists.build(adjMatrixSorted, CandidateLists.NUM_CANDIDATS);
+        LocalSearchImprover millorat = new LocalSearchImprover(greedy, adjMatrix, new TwoOpt(candidats), new OrOpt(candidats));
+        ArrayList<Integer> solution = millorat.getSolution();
+        checkSolucioCorrecta(solution);
+        assertTrue("La cerca local ha empitjorat la solució.", millorat.getCost() >= costGreedy);
+        assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), millorat.getCost());
+    }
+}
@@ -8,6 +8,7 @@ import static org.junit.Assert.assertThrows;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Random;
 
 /**
 * Esta clase contiene pruebas unitarias para la implementación del algoritmo de Prim.
@@ -159,6 +160,119 @@ public class TestPrim {
         }
     }
 
+    /**
+     * Prueba que, empiece por el nodo que empiece, el árbol tiene n-1 aristas, conecta todos
+     * los nodos y tiene el mismo peso (el del árbol de expansión de peso máximo).
+     */
+    @Test
+    public void testArrelsDiferents() {
+        int n = 40;
+        Random rnd = new Random(3);
+        ArrayList<ArrayList<Integer>> graph = new ArrayList<>();
+        for (int i = 0; i < n; i++) graph.add(new ArrayList<>(Arrays.asList(new Integer[n])));
+        for (int i = 0; i < n; i++) {
+            graph.get(i).set(i, -1);
+            for (int j = i + 1; j < n; j++) {
+                int pes = rnd.nextInt(101);
+                graph.get(i).set(j, pes);
+                graph.get(j).set(i, pes);
+            }
+        }
+
+        int pesEsperat = -1;
+        for (int root = 0; root < n; root++) {
+            ArrayList<ArrayList<Integer>> result = Prim.primsAlgorithm(graph, root);
+            int arestes = 0, pes = 0;
+            for (int i = 0; i < n; i++) {
+                for (int j : result.get(i)) {
+                    ++arestes;
+                    pes += graph.get(i).get(j);
+                }
+            }
+            assertEquals(2 * (n - 1), arestes);
+            if (pesEsperat < 0) pesEsperat = pes;
+            assertEquals(pesEsperat, pes);
+
+            boolean[] visitat = new boolean[n];
+            ArrayList<Integer> pila = new ArrayList<>(Arrays.asList(root));
+            visitat[root] = true;
+            int visitats = 1;
+            while (!pila.isEmpty()) {
+                int u = pila.remove(pila.size() - 1);
+                for (int v : result.get(u)) {
+                    if (!visitat[v]) {
+                        visitat[v] = true;
+                        ++visitats;
+                        pila.add(v);
+                    }
+                }
+            }
+            assertEquals(n, visitats);
+        }
+    }
+
+    /**
+     * Prueba la versión sobre arrays primitivos: sin penalizaciones da el mismo peso que la versión
+     * con listas, con penalizaciones el peso baja en grau * pi de cada nodo, y solo usa los nodos indicados.
+     */
+    @Test
+    public void testPrimitiuPenalitzat() {
+        int n = 30;
+        Random rnd = new Random(5);
+        ArrayList<ArrayList<Integer>> graph = new ArrayList<>();
+        double[][] s = new double[n][n];
+        for (int i = 0; i < n; i++) graph.add(new ArrayList<>(Arrays.asList(new Integer[n])));
+        for (int i = 0; i < n; i++) {
+            graph.get(i).set(i, -1);
+            s[i][i] = -1;
+            for (int j = i + 1; j < n; j++) {
+                int pes = rnd.nextInt(101);
+                graph.get(i).set(j, pes);
+                graph.get(j).set(i, pes);
+                s[i][j] = s[j][i] = pes;
+            }
+        }
+        int pesLlistes = 0;
+        ArrayList<ArrayList<Integer>> result = Prim.primsAlgorithm(graph, 0);
+        for (int i = 0; i < n; i++) {
+            for (int j : result.get(i)) pesLlistes += graph.get(i).get(j);
+        }
+
+        int[] nodes = new int[n];
+        for (int i = 0; i < n; i++) nodes[i] = i;
+        double[] pi = new double[n];
+        int[] grau = new int[n];
+        double pes = Prim.primsAlgorithm(s, pi, nodes, n, new double[n], new int[n], grau);
+        assertEquals(pesLlistes / 2.0, pes, 1e-9);
+        assertEquals(2 * (n - 1), Arrays.stream(grau).sum());
+
+        // Una penalització constant no canvia l'arbre, només el pes
+        Arrays.fill(pi, 1.5);
+        int[] grau2 = new int[n];
+        double pesPenalitzat = Prim.primsAlgorithm(s, pi, nodes, n, new double[n], new int[n], grau2);
+        assertEquals(pes - 2 * 1.5 * (n - 1), pesPenalitzat, 1e-9);
+
+        // Només els nodes indicats formen part de l'arbre
+        int[] subconjunt = {3, 7, 11};
+        int[] grau3 = new int[n];
+        Arrays.fill(pi, 0);
+        double pesSubconjunt = Prim.primsAlgorithm(s, pi, subconjunt, 3, new double[3], new int[3], grau3);
+        double esperat = s[3][7] + s[3][11] + s[7][11] - Math.min(s[3][7], Math.min(s[3][11], s[7][11]));
+        assertEquals(esperat, pesSubconjunt, 1e-9);
+        assertEquals(4, Arrays.stream(grau3).sum());
+    }
+
+    /**
+     * Prueba con un nodo inicial que no existe.
+     */
+    @Test
+    public void testArrelInexistent() {
+        ArrayList<ArrayList<Integer>> graph = new ArrayList<>();
+        graph.add(new ArrayList<>(Arrays.asList(0, 1)));
+        graph.add(new ArrayList<>(Arrays.asList(1, 0)));
+        assertThrows(IllegalArgumentException.class, () -> Prim.primsAlgorithm(graph, 2));
+    }
+
 //--------------------------------------------------------------------------------
 //------------------------TESTOS FUNCIONALS---------------------------------------
 //--------------------------------------------------------------------------------
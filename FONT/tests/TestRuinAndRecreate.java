@@ -0,0 +1,130 @@
+package tests;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import algoritmo.RuinAndRecreate;
+import interfaces.IAlgoritme;
+
+/**
+* Clase de prueba para el algoritmo RuinAndRecreate.
+*/
+public class TestRuinAndRecreate extends TestAlgoritmeTemporitzat {
+    /**
+     * Instancia singleton de RuinAndRecreate.
+     */
+    private static RuinAndRecreate rr;
+
+    /**
+     * Inicializa la instancia singleton de RuinAndRecreate.
+     */
+    @BeforeClass
+    public static void setUp() {
+        rr = RuinAndRecreate.getInstance();
+    }
+
+    @Override
+    protected IAlgoritme algoritme() {
+        return rr;
+    }
+
+    /**
+     * Resetea la instancia singleton con un tiempo límite corto.
+     */
+    @Override
+    protected void reinicia() {
+        rr.reset();
+        rr.setTempsLimit(300);
+    }
+
+    @Override
+    protected void setTempsLimit(long millis) {
+        rr.setTempsLimit(millis);
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos con varios hilos y varios tamaños de grupo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prodMidesRuina() throws IOException {
+        loadTestData("48prod.txt", false);
+        int greedy = costGreedy();
+        rr.setNumFils(4);
+        for (int mida : new int[] {1, 10, 100}) {
+            rr.setMidaRuina(mida);
+            checkSolucioCorrecta();
+            assertTrue("RuinAndRecreate empitjora el Greedy.", rr.getCost() >= greedy);
+        }
+    }
+
+    /**
+     * Prueba que con un solo hilo, la misma semilla y el mismo número de iteraciones la solución
+     * es la misma, y que más iteraciones no la empeoran.
+     */
+    @Test
+    public void testDeterminista() {
+        generaMatriu(300, 5);
+        rr.setTempsLimit(60_000);
+        rr.setNumFils(1);
+        rr.setSeed(7);
+        rr.setMaxIteracions(500);
+        ArrayList<Integer> primera = new ArrayList<>(rr.getSolution());
+        int cost = rr.getCost();
+        assertEquals(500, rr.getIteracions());
+        rr.setProductRelations(adjMatrix);
+        checkSolucioCorrecta();
+        assertEquals(primera, rr.getSolution());
+        assertEquals(cost, rr.getCost());
+        rr.setMaxIteracions(5000);
+        checkSolucioCorrecta();
+        assertTrue("Més iteracions han empitjorat la solució.", rr.getCost() >= cost);
+    }
+
+    /**
+     * Prueba que con varios hilos cada uno hace sus iteraciones y la solución es correcta.
+     */
+    @Test
+    public void testFils() {
+        generaMatriu(150, 13);
+        rr.setTempsLimit(60_000);
+        rr.setNumFils(3);
+        rr.setMaxIteracions(1000);
+        checkSolucioCorrecta();
+        assertEquals(3000, rr.getIteracions());
+        assertTrue(rr.getCost() >= costGreedy());
+    }
+
+    /**
+     * Prueba que la búsqueda mejora la solución voraz en una matriz aleatoria.
+     */
+    @Test
+    public void testMilloraGreedy() {
+        generaMatriu(200, 9);
+        checkSolucioCorrecta();
+        assertTrue("RuinAndRecreate no millora el Greedy.", rr.getCost() > costGreedy());
+    }
+
+    /**
+     * Prueba parámetros no válidos.
+     */
+    @Test
+    public void testParametresInvalidsThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            rr.setMaxIteracions(0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            rr.setMidaRuina(0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            rr.setNumFils(0);
+        });
+    }
+}
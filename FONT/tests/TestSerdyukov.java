@@ -0,0 +1,254 @@
+package tests;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import algoritmo.ComputeCost;
+import algoritmo.HeldKarp;
+import algoritmo.Serdyukov;
+
+/**
+* Clase de prueba para el algoritmo Serdyukov.
+*/
+public class TestSerdyukov {
+    /**
+     * Instancia singleton de Serdyukov.
+     */
+    private static Serdyukov serdyukov;
+
+    /**
+     * Path de los archivos de prueba.
+     */
+    private static final String PATH = "./FONT/tests/inputs/algorisme/";
+
+    /**
+     * Matriz de adyacencia de los productos.
+     */
+    private ArrayList<ArrayList<Integer>> adjMatrix;
+
+    /**
+     * Coste óptimo de la solución (si el archivo lo incluye).
+     */
+    private int costOptim;
+
+    /**
+     * Inicializa la instancia singleton de Serdyukov.
+     */
+    @BeforeClass
+    public static void setUp() {
+        serdyukov = Serdyukov.getInstance();
+    }
+
+    /**
+     * Resetea la instancia singleton antes de cada prueba.
+     */
+    @Before
+    public void ferReset() {
+        serdyukov.reset();
+        HeldKarp.getInstance().reset();
+    }
+
+    /**
+     * Carga la matriz de relaciones desde un archivo de texto.
+     * @param fileName Nombre del archivo de texto.
+     * @param readCostOptim Indica si se debe leer el coste óptimo del archivo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private void loadTestData(String fileName, boolean readCostOptim) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(PATH + fileName));
+        int numProd = Integer.parseInt(lines.get(0).trim());
+        adjMatrix = new ArrayList<>(numProd);
+        for (int i = 1; i <= numProd; i++) {
+            ArrayList<Integer> row = new ArrayList<>(numProd);
+            for (String value : lines.get(i).trim().split(" ")) {
+                row.add(Integer.valueOf(value));
+            }
+            adjMatrix.add(row);
+        }
+        if (readCostOptim) costOptim = Integer.parseInt(lines.get(numProd + 1).trim());
+        serdyukov.setProductRelations(adjMatrix);
+    }
+
+    /**
+     * Genera una matriz de relaciones simétrica aleatoria.
+     * @param n Número de productos.
+     * @param seed Semilla del generador aleatorio.
+     * @param tipus 0 para relaciones uniformes entre 0 y 100, 1 para que una de cada cinco valga
+     * 100 y el resto casi nada, 2 para que solo unas pocas sean muy pesadas.
+     */
+    private void generaMatriu(int n, long seed, int tipus) {
+        Random rnd = new Random(seed);
+        int[][] m = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            m[i][i] = -1;
+            for (int j = i + 1; j < n; ++j) {
+                if (tipus == 0) m[i][j] = rnd.nextInt(101);
+                else if (tipus == 1) m[i][j] = rnd.nextInt(5) == 0 ? 100 : rnd.nextInt(3);
+                else m[i][j] = rnd.nextInt(n) == 0 ? rnd.nextInt(1000) : rnd.nextInt(5);
+                m[j][i] = m[i][j];
+            }
+        }
+        setMatriu(m);
+    }
+
+    /**
+     * Establece una matriz de relaciones dada como int[][].
+     * @param m La matriz de relaciones.
+     */
+    private void setMatriu(int[][] m) {
+        adjMatrix = new ArrayList<>(m.length);
+        for (int[] fila : m) {
+            ArrayList<Integer> row = new ArrayList<>(fila.length);
+            for (int x : fila) row.add(x);
+            adjMatrix.add(row);
+        }
+        serdyukov.setProductRelations(adjMatrix);
+    }
+
+    /**
+     * Comprueba la garantía contra HeldKarp: 3/4 del óptimo si el número de productos es par y
+     * (3n - 1)/(4n) si es impar.
+     */
+    private void checkGarantia() {
+        HeldKarp heldKarp = HeldKarp.getInstance();
+        heldKarp.setProductRelations(adjMatrix);
+        long optim = heldKarp.getCost();
+        long cost = serdyukov.getCost();
+        int n = adjMatrix.size();
+        boolean garantit = n % 2 == 0 ? 4 * cost >= 3 * optim : 4L * n * cost >= (3L * n - 1) * optim;
+        assertTrue("No arriba a la garantia: " + cost + " de " + optim + " amb " + n + " productes.", garantit);
+        assertTrue(cost <= optim);
+    }
+
+    /**
+     * Comprueba que la solución contiene todos los productos exactamente una vez
+     * y que el coste corresponde a la disposición.
+     */
+    private void checkSolucioCorrecta() {
+        ArrayList<Integer> solution = serdyukov.getSolution();
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < adjMatrix.size(); ++i) expected.add(i);
+        assertEquals("La solució no té tots els productes exactament.", adjMatrix.size(), solution.size());
+        assertEquals("La solució no té tots els productes exactament.", expected, new HashSet<>(solution));
+        assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), serdyukov.getCost());
+    }
+
+    /**
+     * Prueba con un producto.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio1prod() throws IOException {
+        loadTestData("1prod.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, serdyukov.getCost());
+    }
+
+    /**
+     * Prueba con tres productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio3prod() throws IOException {
+        loadTestData("3prod.txt", true);
+        checkSolucioCorrecta();
+        assertEquals(costOptim, serdyukov.getCost());
+    }
+
+    /**
+     * Prueba con diez productos: la solución llega a 3/4 del óptimo.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio10prod() throws IOException {
+        loadTestData("10prod.txt", true);
+        checkSolucioCorrecta();
+        assertTrue(4 * serdyukov.getCost() >= 3 * costOptim);
+        assertTrue(serdyukov.getCost() <= costOptim);
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prod() throws IOException {
+        loadTestData("48prod.txt", false);
+        checkSolucioCorrecta();
+    }
+
+    /**
+     * Prueba la garantía contra HeldKarp en matrices aleatorias, también con pocas relaciones
+     * pesadas, donde la asignación repite relaciones.
+     */
+    @Test
+    public void testGarantiaTresQuarts() {
+        for (int seed = 0; seed < 200; ++seed) {
+            generaMatriu(4 + seed % 9, seed, seed % 3);
+            checkSolucioCorrecta();
+            checkGarantia();
+        }
+    }
+
+    /**
+     * Prueba la garantía en un caso en el que la asignación usa dos veces una relación que
+     * también está en el emparejamiento: solo 3-4 y 3-5 son pesadas.
+     */
+    @Test
+    public void testGarantiaRelacioRepetida() {
+        int[][] m = {
+            {-1, 2, 1, 2, 2, 0},
+            {2, -1, 2, 1, 2, 2},
+            {1, 2, -1, 0, 2, 0},
+            {2, 1, 0, -1, 100, 100},
+            {2, 2, 2, 100, -1, 2},
+            {0, 2, 0, 100, 2, -1}
+        };
+        setMatriu(m);
+        checkSolucioCorrecta();
+        checkGarantia();
+    }
+
+    /**
+     * Prueba con trescientos productos aleatorios.
+     */
+    @Test
+    public void testSolucio300prod() {
+        generaMatriu(300, 17, 0);
+        checkSolucioCorrecta();
+    }
+
+    /**
+     * Prueba que las relaciones ordenadas no son necesarias.
+     */
+    @Test
+    public void testSetProductRelationsSortedThrowsException() {
+        assertThrows(UnsupportedOperationException.class, () -> {
+            serdyukov.setProductRelationsSorted(null);
+        });
+    }
+
+    /**
+     * Prueba a obtener la solución sin haber establecido la matriz de relaciones.
+     */
+    @Test
+    public void testGetSolutionWithoutSetProductRelations() {
+        assertThrows(IllegalStateException.class, () -> {
+            serdyukov.getSolution();
+        });
+    }
+}
@@ -0,0 +1,108 @@
+package tests;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import algoritmo.ComputeCost;
+import algoritmo.SimulatedAnnealing;
+import interfaces.IAlgoritme;
+
+/**
+* Clase de prueba para el algoritmo SimulatedAnnealing.
+*/
+public class TestSimulatedAnnealing extends TestAlgoritmeTemporitzat {
+    /**
+     * Instancia singleton de SimulatedAnnealing.
+     */
+    private static SimulatedAnnealing sa;
+
+    /**
+     * Inicializa la instancia singleton de SimulatedAnnealing.
+     */
+    @BeforeClass
+    public static void setUp() {
+        sa = SimulatedAnnealing.getInstance();
+    }
+
+    @Override
+    protected IAlgoritme algoritme() {
+        return sa;
+    }
+
+    /**
+     * Resetea la instancia singleton con un tiempo límite corto.
+     */
+    @Override
+    protected void reinicia() {
+        sa.reset();
+        sa.setTempsLimit(300);
+    }
+
+    @Override
+    protected void setTempsLimit(long millis) {
+        sa.setTempsLimit(millis);
+    }
+
+    /**
+     * Espera a que acabe la búsqueda en segundo plano, si la hay.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    @After
+    public void esperaFinal() throws InterruptedException {
+        while (sa.isRunning()) Thread.sleep(10);
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos y enfriamiento lineal.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testSolucio48prodLineal() throws IOException {
+        loadTestData("48prod.txt", false);
+        sa.setCooling(SimulatedAnnealing.Cooling.LINEAR, 10.0, 0.1);
+        checkSolucioCorrecta();
+        assertTrue("SimulatedAnnealing empitjora el Greedy.", sa.getCost() >= costGreedy());
+    }
+
+    /**
+     * Prueba que durante una búsqueda en segundo plano se puede consultar la mejor solución
+     * y que esta no empeora con el tiempo.
+     * @throws InterruptedException Si se interrumpe la espera.
+     */
+    @Test
+    public void testConsultaDuranteLaCerca() throws InterruptedException {
+        generaMatriu(200, 11);
+        sa.setTempsLimit(500);
+        sa.start();
+        assertTrue(sa.isRunning());
+        ArrayList<Integer> parcial = sa.getSolution();
+        checkPermutacio(parcial);
+        int costParcial = ComputeCost.getCost(parcial, adjMatrix);
+        assertThrows(IllegalStateException.class, () -> {
+            sa.setSeed(1);
+        });
+        while (sa.isRunning()) Thread.sleep(10);
+        checkSolucioCorrecta();
+        assertTrue("La solució final és pitjor que la parcial.", sa.getCost() >= costParcial);
+    }
+
+    /**
+     * Prueba un enfriamiento no válido.
+     */
+    @Test
+    public void testRefredamentInvalidThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            sa.setCooling(SimulatedAnnealing.Cooling.EXPONENTIAL, 1.0, 2.0);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            sa.setCooling(null, 2.0, 1.0);
+        });
+    }
+}
@@ -15,6 +15,7 @@ import org.junit.BeforeClass;
 import org.junit.Before;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
 /**
  * TestTSP es una clase de prueba para la clase TSPApproximator.
@@ -276,6 +277,54 @@ public class TestTSP {
     execTest();
   }
 
+  /**
+   * Prueba que con la misma semilla se obtiene la misma solución.
+   * @throws IOException Si ocurre un error al leer el archivo.
+   */
+  @Test
+  public void testSeedReproduible() throws IOException {
+    loadTestData(PATH + "48prod.txt", false);
+    tsp.setSeed(7);
+    ArrayList<Integer> primera = new ArrayList<>(tsp.getSolution());
+    tsp.setSeed(7);
+    assertEquals(primera, tsp.getSolution());
+  }
+
+  /**
+   * Prueba el modo multiarrel: la solución es correcta, reproducible y no es peor que la
+   * del recorrido desde una sola raíz con la misma semilla (que usa el mismo árbol).
+   * @throws IOException Si ocurre un error al leer el archivo.
+   */
+  @Test
+  public void testMultiArrel48prod() throws IOException {
+    loadTestData(PATH + "48prod.txt", false);
+    for (long seed = 0; seed < 5; ++seed) {
+      tsp.setMultiArrel(false);
+      tsp.setSeed(seed);
+      int costSimple = tsp.getCost();
+
+      tsp.setMultiArrel(true);
+      tsp.setSeed(seed);
+      ArrayList<Integer> solucio = new ArrayList<>(tsp.getSolution());
+      checkSolucioCorrecta(solucio);
+      assertTrue("El mode multiarrel és pitjor que una sola arrel.", tsp.getCost() >= costSimple);
+
+      tsp.setSeed(seed);
+      assertEquals(solucio, tsp.getSolution());
+    }
+  }
+
+  /**
+   * Prueba el modo multiarrel con diez productos y el coste óptimo.
+   * @throws IOException Si ocurre un error al leer el archivo.
+   */
+  @Test
+  public void testMultiArrel10prod() throws IOException {
+    loadTestData(PATH + "10prod.txt", true);
+    tsp.setMultiArrel(true);
+    execTestWithOptimCost();
+  }
+
   //--------------------------------------------------------------------------------
   //------------------------TESTOS ROBUSTESA----------------------------------------
   //--------------------------------------------------------------------------------
@@ -0,0 +1,150 @@
+package tests;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import interfaces.ITour;
+import structures.TwoLevelList;
+
+/**
+* Clase de prueba para la estructura TwoLevelList.
+*/
+public class TestTwoLevelList {
+    /**
+     * Genera una disposición aleatoria de n productos.
+     * @param n Número de productos.
+     * @param random Generador de números aleatorios.
+     * @return La disposición.
+     */
+    private int[] disposicioAleatoria(int n, Random random) {
+        int[] tour = new int[n];
+        for (int i = 0; i < n; ++i) tour[i] = i;
+        for (int i = n - 1; i > 0; --i) {
+            int j = random.nextInt(i + 1);
+            int aux = tour[i];
+            tour[i] = tour[j];
+            tour[j] = aux;
+        }
+        return tour;
+    }
+
+    /**
+     * Invierte el tramo tour[i..j] (circular) de la disposición de referencia.
+     * @param tour La disposición.
+     * @param i Primera posición del tramo.
+     * @param j Última posición del tramo.
+     */
+    private void inverteix(int[] tour, int i, int j) {
+        int n = tour.length;
+        int longitud = (j - i + n) % n + 1;
+        for (int k = 0; k < longitud / 2; ++k) {
+            int a = (i + k) % n, b = (j - k + n) % n;
+            int aux = tour[a];
+            tour[a] = tour[b];
+            tour[b] = aux;
+        }
+    }
+
+    /**
+     * Comprueba que la lista y la disposición de referencia son el mismo ciclo, en cualquiera de
+     * los dos sentidos, y que between es coherente con el sentido de la lista.
+     * @param tour La disposición de referencia.
+     * @param lista La lista.
+     * @param random Generador de números aleatorios.
+     */
+    private void comprova(int[] tour, ITour lista, Random random) {
+        int n = tour.length;
+        boolean mateixSentit = lista.next(tour[0]) == tour[1 % n];
+        for (int i = 0; i < n; ++i) {
+            int seguent = tour[(i + 1) % n], anterior = tour[(i - 1 + n) % n];
+            assertEquals(mateixSentit ? seguent : anterior, lista.next(tour[i]));
+            assertEquals(mateixSentit ? anterior : seguent, lista.prev(tour[i]));
+        }
+        int[] pos = new int[n];
+        for (int i = 0; i < n; ++i) pos[tour[i]] = i;
+        for (int k = 0; k < 50; ++k) {
+            int a = random.nextInt(n), b = random.nextInt(n), c = random.nextInt(n);
+            // En sentit contrari, el camí de a a c de la referència és el de c a a de la llista
+            boolean esperat = (pos[b] - pos[a] + n) % n <= (pos[c] - pos[a] + n) % n;
+            assertEquals(esperat, mateixSentit ? lista.between(a, b, c) : lista.between(c, b, a));
+        }
+    }
+
+    /**
+     * Comprueba que la lista conserva la disposición con la que se construye.
+     */
+    @Test
+    public void testConstructor() {
+        int[] tour = disposicioAleatoria(100, new Random(1));
+        TwoLevelList lista = new TwoLevelList(tour);
+        assertArrayEquals(tour, lista.toArray());
+        ArrayList<Integer> llista = lista.toList();
+        assertEquals(100, llista.size());
+        for (int i = 0; i < 100; ++i) assertEquals(tour[i], (int) llista.get(i));
+        comprova(tour, lista, new Random(2));
+    }
+
+    /**
+     * Comprueba que construir la lista con una disposición vacía lanza una excepción.
+     */
+    @Test
+    public void testDisposicioBuida() {
+        assertThrows(IllegalArgumentException.class, () -> new TwoLevelList(new int[0]));
+        assertThrows(IllegalArgumentException.class, () -> new TwoLevelList(null));
+    }
+
+    /**
+     * Comprueba que los movimientos 2-opt dan el mismo ciclo que invertir los tramos sobre un
+     * vector, con tamaños que obligan a partir y reconstruir los segmentos muchas veces.
+     */
+    @Test
+    public void testFlip() {
+        Random random = new Random(3);
+        for (int n : new int[] {4, 5, 17, 64, 300, 1000}) {
+            int[] tour = disposicioAleatoria(n, random);
+            TwoLevelList lista = new TwoLevelList(tour);
+            for (int k = 0; k < 2000; ++k) {
+                int i = random.nextInt(n), j = random.nextInt(n);
+                int a = tour[i], b = tour[(i + 1) % n], c = tour[j], d = tour[(j + 1) % n];
+                if (a == c || b == c || d == a) continue;
+                // Es canvien {a, b} i {c, d} per {a, c} i {b, d} invertint el tram de b a c
+                lista.flip(a, b, c, d);
+                inverteix(tour, (i + 1) % n, j);
+                comprova(tour, lista, random);
+            }
+            int[] resultat = lista.toArray();
+            boolean[] vist = new boolean[n];
+            for (int x : resultat) {
+                assertTrue(!vist[x]);
+                vist[x] = true;
+            }
+        }
+    }
+
+    /**
+     * Comprueba que flip funciona igual dando las relaciones en el sentido contrario.
+     */
+    @Test
+    public void testFlipSentitContrari() {
+        Random random = new Random(4);
+        int n = 200;
+        int[] tour = disposicioAleatoria(n, random);
+        TwoLevelList lista = new TwoLevelList(tour);
+        for (int k = 0; k < 1000; ++k) {
+            int i = random.nextInt(n), j = random.nextInt(n);
+            int b = tour[i], a = tour[(i + 1) % n], d = tour[j], c = tour[(j + 1) % n];
+            if (a == c || a == d || b == c) continue;
+            // b va abans que a i d abans que c: es canvien {a, b} i {c, d} per {a, c} i {b, d}
+            lista.flip(a, b, c, d);
+            inverteix(tour, (i + 1) % n, j);
+            comprova(tour, lista, random);
+        }
+    }
+}
@@ -0,0 +1,334 @@
+package tests;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.assertThrows;
+
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import algoritmo.CandidateLists;
+import algoritmo.ComputeCost;
+import algoritmo.GreedySolutionGenerator;
+import algoritmo.LocalSearchImprover;
+import algoritmo.TSPApproximator;
+import algoritmo.TwoOpt;
+import structures.Pair;
+
+/**
+* Clase de prueba para la búsqueda local TwoOpt y el decorador LocalSearchImprover.
+*/
+public class TestTwoOpt {
+    /**
+     * Path de los archivos de prueba.
+     */
+    private static final String PATH = "./FONT/tests/inputs/algorisme/";
+
+    /**
+     * Matriz de adyacencia de los productos.
+     */
+    private ArrayList<ArrayList<Integer>> adjMatrix;
+
+    /**
+     * Matriz de adyacencia de los productos ordenada.
+     */
+    private ArrayList<ArrayList<Pair<Integer, Integer>>> adjMatrixSorted;
+
+    /**
+     * Resetea los algoritmos base antes de cada prueba.
+     */
+    @Before
+    public void ferReset() {
+        GreedySolutionGenerator.getInstance().reset();
+        TSPApproximator.getInstance().reset();
+    }
+
+    /**
+     * Carga la matriz de relaciones desde un archivo de texto.
+     * @param fileName Nombre del archivo de texto.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private void loadTestData(String fileName) throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get(PATH + fileName));
+        int numProd = Integer.parseInt(lines.get(0).trim());
+        adjMatrix = new ArrayList<>(numProd);
+        adjMatrixSorted = new ArrayList<>(numProd);
+        for (int i = 1; i <= numProd; i++) {
+            ArrayList<Integer> row = new ArrayList<>(numProd);
+            ArrayList<Pair<Integer, Integer>> rowSorted = new ArrayList<>(numProd);
+            int j = 0;
+            for (String value : lines.get(i).trim().split(" ")) {
+                row.add(Integer.valueOf(value));
+                rowSorted.add(new Pair<>(Integer.valueOf(value), j));
+                ++j;
+            }
+            rowSorted.sort(Comparator.comparing(Pair<Integer, Integer>::getFirst).reversed());
+            adjMatrix.add(row);
+            adjMatrixSorted.add(rowSorted);
+        }
+    }
+
+    /**
+     * Comprueba que la solución contiene todos los productos exactamente una vez.
+     * @param solution Solución a verificar.
+     */
+    private void checkSolucioCorrecta(ArrayList<Integer> solution) {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < adjMatrix.size(); ++i) expected.add(i);
+        assertEquals("La solució no té tots els productes exactament.", adjMatrix.size(), solution.size());
+        assertEquals("La solució no té tots els productes exactament.", expected, new HashSet<>(solution));
+    }
+
+    /**
+     * Comprueba que ninguna inversión de un tramo mejora la solución.
+     * @param solution Solución a verificar.
+     */
+    private void checkOptimLocal(ArrayList<Integer> solution) {
+        int cost = ComputeCost.getCost(solution, adjMatrix);
+        for (int i = 0; i < solution.size(); ++i) {
+            for (int j = i + 1; j < solution.size(); ++j) {
+                ArrayList<Integer> veina = new ArrayList<>(solution);
+                Collections.reverse(veina.subList(i, j + 1));
+                assertTrue("La solució no és un òptim local de 2-opt.", ComputeCost.getCost(veina, adjMatrix) <= cost);
+            }
+        }
+    }
+
+    /**
+     * Mejora la solución de Greedy y comprueba que es válida, no empeora y es un óptimo local.
+     * @param fileName Nombre del archivo de prueba.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    private void execGreedyTest(String fileName) throws IOException {
+        loadTestData(fileName);
+        GreedySolutionGenerator greedy = GreedySolutionGenerator.getInstance();
+        greedy.setProductRelations(adjMatrix);
+        greedy.setProductRelationsSorted(adjMatrixSorted);
+        int costGreedy = greedy.getCost();
+
+        LocalSearchImprover millorat = new LocalSearchImprover(greedy, adjMatrix, new TwoOpt());
+        ArrayList<Integer> solution = millorat.getSolution();
+        checkSolucioCorrecta(solution);
+        assertTrue("2-opt ha empitjorat la solució.", millorat.getCost() >= costGreedy);
+        assertEquals("El cost no correspon a la disposició.", ComputeCost.getCost(solution, adjMatrix), millorat.getCost());
+        checkOptimLocal(solution);
+    }
+
+    /**
+     * Prueba con un producto.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testGreedy1prod() throws IOException {
+        execGreedyTest("1prod.txt");
+    }
+
+    /**
+     * Prueba con tres productos (2-opt no tiene movimientos posibles).
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testGreedy3prod() throws IOException {
+        execGreedyTest("3prod.txt");
+    }
+
+    /**
+     * Prueba con diez productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testGreedy10prod() throws IOException {
+        execGreedyTest("10prod.txt");
+    }
+
+    /**
+     * Prueba con cuarenta y ocho productos.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testGreedy48prod() throws IOException {
+        execGreedyTest("48prod.txt");
+    }
+
+    /**
+     * Prueba la mejora de la solución de TSPApproximator.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testTSP26prod() throws IOException {
+        loadTestData("26prod.txt");
+        TSPApproximator tsp = TSPApproximator.getInstance();
+        tsp.setProductRelations(adjMatrix);
+        int costTsp = tsp.getCost();
+
+        LocalSearchImprover millorat = new LocalSearchImprover(tsp, adjMatrix, new TwoOpt());
+        ArrayList<Integer> solution = millorat.getSolution();
+        checkSolucioCorrecta(solution);
+        assertTrue("2-opt ha empitjorat la solució.", millorat.getCost() >= costTsp);
+        checkOptimLocal(solution);
+    }
+
+    /**
+     * Prueba que el decorador no modifica la solución del algoritmo base.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testNoModificaBase() throws IOException {
+        loadTestData("26prod.txt");
+        TSPApproximator tsp = TSPApproximator.getInstance();
+        tsp.setProductRelations(adjMatrix);
+        ArrayList<Integer> abans = new ArrayList<>(tsp.getSolution());
+        new LocalSearchImprover(tsp, adjMatrix, new TwoOpt()).getSolution();
+        assertEquals(abans, tsp.getSolution());
+    }
+
+    /**
+     * Prueba que el decorador necesita un algoritmo base.
+     */
+    @Test
+    public void testBaseNullThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> {
+            new LocalSearchImprover(null, adjMatrix, new TwoOpt());
+        });
+    }
+
+    /**
+     * Prueba que el decorador necesita la matriz de relaciones.
+     */
+    @Test
+    public void testSenseMatriuThrowsException() {
+        assertThrows(IllegalStateException.class, () -> {
+            new LocalSearchImprover(TSPApproximator.getInstance(), null, new TwoOpt()).getSolution();
+        });
+    }
+
+    /**
+     * Genera una matriz de relaciones simétrica aleatoria, como int[][].
+     * @param n Número de productos.
+     * @param rnd Generador aleatorio.
+     * @return La matriz.
+     */
+    private static int[][] matriuAleatoria(int n, Random rnd) {
+        int[][] w = new int[n][n];
+        for (int i = 0; i < n; ++i) {
+            w[i][i] = -1;
+            for (int j = i + 1; j < n; ++j) w[i][j] = w[j][i] = rnd.nextInt(101);
+        }
+        return w;
+    }
+
+    /**
+     * Genera una disposición aleatoria.
+     * @param n Número de productos.
+     * @param rnd Generador aleatorio.
+     * @return La disposición.
+     */
+    private static int[] disposicioAleatoria(int n, Random rnd) {
+        int[] tour = new int[n];
+        for (int i = 0; i < n; ++i) tour[i] = i;
+        for (int i = n - 1; i > 0; --i) {
+            int j = rnd.nextInt(i + 1);
+            int tmp = tour[i];
+            tour[i] = tour[j];
+            tour[j] = tmp;
+        }
+        return tour;
+    }
+
+    /**
+     * Comprueba que la disposición contiene todos los productos exactamente una vez.
+     * @param tour La disposición.
+     */
+    private static void checkPermutacio(int[] tour) {
+        boolean[] vist = new boolean[tour.length];
+        for (int x : tour) {
+            assertTrue("La solució no té tots els productes exactament.", !vist[x]);
+            vist[x] = true;
+        }
+    }
+
+    /**
+     * Prueba que las listas de candidatos construidas desde la matriz contienen los k productos con
+     * más relación, ordenados, y tienen las mismas relaciones que las construidas desde las
+     * relaciones ordenadas.
+     * @throws IOException Si ocurre un error al leer el archivo.
+     */
+    @Test
+    public void testCandidateLists() throws IOException {
+        loadTestData("48prod.txt");
+        int[][] w = ComputeCost.toArray(adjMatrix);
+        int[][] desDeMatriu = CandidateLists.build(w, 10);
+        int[][] desDeOrdenades = CandidateLists.build(adjMatrixSorted, 10);
+        for (int i = 0; i < w.length; ++i) {
+            assertEquals(10, desDeMatriu[i].length);
+            Set<Integer> candidats = new HashSet<>();
+            for (int k = 0; k < 10; ++k) {
+                int c = desDeMatriu[i][k];
+                assertTrue(c != i && candidats.add(c));
+                if (k > 0) assertTrue(w[i][desDeMatriu[i][k - 1]] >= w[i][c]);
+                assertEquals(w[i][desDeOrdenades[i][k]], w[i][c]);
+            }
+            for (int j = 0; j < w.length; ++j) {
+                if (j != i && !candidats.contains(j)) assertTrue(w[i][j] <= w[i][desDeMatriu[i][9]]);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> CandidateLists.build(w, 0));
+    }
+
+    /**
+     * Prueba que, si las relaciones ordenadas de un producto tienen menos de k productos, su lista
+     * de candidatos solo contiene esos productos.
+     */
+    @Test
+    public void testCandidateListsFilaCurta() {
+        ArrayList<ArrayList<Pair<Integer, Integer>>> ordenades = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) ordenades.add(new ArrayList<>());
+        ordenades.get(1).add(new Pair<>(9, 3));
+        ordenades.get(1).add(new Pair<>(4, 2));
+        int[][] candidats = CandidateLists.build(ordenades, 4);
+        assertEquals(0, candidats[0].length);
+        assertEquals(2, candidats[1].length);
+        assertEquals(3, candidats[1][0]);
+        assertEquals(2, candidats[1][1]);
+    }
+
+    /**
+     * Prueba 2-opt con listas de candidatos sobre disposiciones aleatorias: la solución es válida,
+     * la mejora devuelta es la variación real del coste y el resultado queda cerca del de 2-opt
+     * probando todos los movimientos.
+     */
+    @Test
+    public void testCandidats() {
+        Random rnd = new Random(7);
+        for (int n : new int[] {8, 60, 500}) {
+            int[][] w = matriuAleatoria(n, rnd);
+            int[][] candidats = CandidateLists.build(w, CandidateLists.NUM_CANDIDATS);
+            int[] tour = disposicioAleatoria(n, rnd);
+            int abans = ComputeCost.getCost(tour, w);
+            int millora = new TwoOpt(candidats).improve(tour, w);
+            checkPermutacio(tour);
+            assertTrue(millora > 0);
+            assertEquals("La millora no correspon al cost.", abans + millora, ComputeCost.getCost(tour, w));
+
+            // Ha de quedar a prop del 2-opt complet des de la mateixa disposició
+            int[] complet = disposicioAleatoria(n, new Random(n));
+            int[] ambCandidats = complet.clone();
+            new TwoOpt().improve(complet, w);
+            new TwoOpt(candidats).improve(ambCandidats, w);
+            checkPermutacio(ambCandidats);
+            assertTrue("El 2-opt amb candidats queda massa lluny del complet.",
+                100L * ComputeCost.getCost(ambCandidats, w) >= 97L * ComputeCost.getCost(complet, w));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.util.ArrayList;
 import javax.swing.*;
+import structures.InformeSolucio;
 import structures.Pair;
 import structures.Paths;
 
@@ -23,6 +24,10 @@ public class PrestatgeriaView extends JPanel {
      * Cost de la disposició actual
      */
     int cost;
+    /**
+     * Cota superior del cost de qualsevol disposició, -1 si no es coneix
+     */
+    int cotaSuperior = -1;
     /**
      * Panell inferior
      */
@@ -79,13 +84,31 @@ public class PrestatgeriaView extends JPanel {
 
       // ComboBox per seleccionar l'algorisme
 
-      String[] algoritmes = {"Seleccionar Algorisme","BruteForce", "BruteForce2", "Greedy", "TSPApproximation"};
+      String[] algoritmes = {"Seleccionar Algorisme","BruteForce", "BruteForceParallel", "BruteForce2", "BruteForce2Parallel", "Greedy", "GreedyMultiStart", "TSPApproximation", "TSPApproximationMultiRoot", "HeldKarp", "Greedy+2opt", "TSPApproximation+2opt", "Greedy+2opt+OrOpt", "LinKernighan", "SimulatedAnnealing", "GeneticAlgorithm", "AntColony", "Serdyukov", "GreedyEdge", "CheapestInsertion", "FarthestInsertion", "IteratedLocalSearch", "RuinAndRecreate"};
       String[] descriptions = {
         "Seleccioneu un algorisme per continuar",
         "Algorisme BruteForce: cerca totes les possibles solucions (triga molt)",
+        "Algorisme BruteForceParallel: BruteForce repartit entre tots els nuclis",
         "Algorisme BruteForce2: optimització de BruteForce",
+        "Algorisme BruteForce2Parallel: BruteForce2 repartit entre tots els nuclis",
         "Algorisme Greedy: solució ràpida i eficient",
-        "TSPApproximation: solució aproximada per al TSP (2-Approximation)"
+        "Algorisme GreedyMultiStart: Greedy des de la millor relació de cada producte, en paral·lel",
+        "TSPApproximation: solució aproximada per al TSP (2-Approximation)",
+        "TSPApproximationMultiRoot: TSPApproximation provant el recorregut des de tots els productes i quedant-se el millor",
+        "Algorisme HeldKarp: solució òptima per programació dinàmica (fins a 22 productes)",
+        "Greedy+2opt: solució Greedy millorada amb cerca local 2-opt",
+        "TSPApproximation+2opt: solució TSPApproximation millorada amb cerca local 2-opt",
+        "Greedy+2opt+OrOpt: solució Greedy millorada amb 2-opt i movent trams de fins a 3 productes",
+        "Algorisme LinKernighan: cerca local de profunditat variable per a supermercats grans",
+        "Algorisme SimulatedAnnealing: recuit simulat amb temps límit, millora com més temps té",
+        "Algorisme GeneticAlgorithm: algorisme genètic amb una població per nucli que intercanvien els millors",
+        "Algorisme AntColony: colònia de formigues que construeixen disposicions en paral·lel guiades per feromona",
+        "Algorisme Serdyukov: aproximació garantida d'almenys 3/4 de l'òptim en temps polinòmic",
+        "Algorisme GreedyEdge: uneix les relacions més fortes sense tancar cicles, molt ràpid",
+        "Algorisme CheapestInsertion: insereix cada vegada el producte i la posició que més augmenten el cost",
+        "Algorisme FarthestInsertion: insereix primer els productes amb menys relació amb la prestatgeria",
+        "Algorisme IteratedLocalSearch: pertorba la solució Greedy amb double-bridges i la reoptimitza amb 2-opt i Or-opt (5 segons)",
+        "Algorisme RuinAndRecreate: treu grups de productes relacionats i els reinsereix on més sumen, en paral·lel (5 segons)"
       };
       
       JComboBox<String> algorithmComboBox = new JComboBox<>(algoritmes);
@@ -127,6 +150,7 @@ public class PrestatgeriaView extends JPanel {
                       // Realizar el cálculo
                       productNamesIcons = cntrlView.getSolution(selectedAlgorithm);
                       cost = cntrlView.getCost();
+                      cotaSuperior = cntrlView.getCotaSuperior();
                       SwingUtilities.invokeLater(this::repaintWithModifiedDisp); // Actualizar la UI en el hilo de eventos
                   } catch (Exception i) {
                       SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this, "No s'ha pogut generar solució: " + i.getMessage(), "Error", JOptionPane.ERROR_MESSAGE));
@@ -188,6 +212,7 @@ public class PrestatgeriaView extends JPanel {
       try {
         productNamesIcons = cntrlView.getProductNamesIconsDisposition();
         cost = cntrlView.getCostDisposition();
+        cotaSuperior = -1;
       } catch (Exception e) {
       }
       this.removeAll(); // Limpia todos los componentes del panel principal
@@ -239,6 +264,9 @@ public class PrestatgeriaView extends JPanel {
 
         // Etiqueta de cost actual
         String costText = (cost == -1) ? "No hi ha disposicó": "Puntuació d'optimalitat: " + cost;  
+        if (cost != -1 && cotaSuperior >= 0) {
+          costText += String.format(" (cota superior: %d, com a molt a un %.1f%% de l'òptim)", cotaSuperior, InformeSolucio.gap(cost, cotaSuperior));
+        }
         JLabel costLabel = new JLabel(costText, SwingConstants.CENTER);
         costLabel.setFont(new Font("SansSerif", Font.PLAIN, 16));
         topPanel.add(costLabel, BorderLayout.SOUTH);